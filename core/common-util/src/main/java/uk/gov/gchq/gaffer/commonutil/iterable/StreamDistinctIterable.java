@@ -0,0 +1,31 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import uk.gov.gchq.gaffer.commonutil.stream.DistinctStreamSupplier;
+
+/**
+ * A {@code StreamDistinctIterable} is a {@link StreamIterable} that lazily
+ * removes duplicate items from the input {@link Iterable}.
+ *
+ * @param <T> the type of items in the iterable
+ */
+public class StreamDistinctIterable<T> extends StreamIterable<T> {
+    public StreamDistinctIterable(final Iterable<T> input) {
+        super(new DistinctStreamSupplier<>(input));
+    }
+}
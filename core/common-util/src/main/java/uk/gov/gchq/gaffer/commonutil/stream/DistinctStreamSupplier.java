@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.stream;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+
+/**
+ * A {@link uk.gov.gchq.gaffer.commonutil.stream.StreamSupplier} which lazily
+ * removes duplicate objects from the input. Only the distinct objects seen so
+ * far are held in memory.
+ *
+ * @param <T> the type of input objects
+ */
+public class DistinctStreamSupplier<T> implements StreamSupplier<T> {
+    private final Iterable<T> input;
+
+    /**
+     * Default constructor.
+     *
+     * @param input the input iterable
+     */
+    public DistinctStreamSupplier(final Iterable<T> input) {
+        this.input = input;
+    }
+
+    @Override
+    public void close() throws IOException {
+        CloseableUtil.close(input);
+    }
+
+    @Override
+    public Stream<T> get() {
+        return Streams.toStream(input)
+                .distinct();
+    }
+}
@@ -34,8 +34,9 @@ import java.util.function.BinaryOperator;
  * {@link Element} objects into a single element.
  */
 public class ElementAggregator extends TupleAdaptedBinaryOperatorComposite<String> {
-    private final PropertiesTuple stateTuple = new PropertiesTuple();
-    private final PropertiesTuple propertiesTuple = new PropertiesTuple();
+    // Aggregators can be shared between threads, so each thread reuses its own tuples.
+    private final ThreadLocal<PropertiesTuple> stateTuples = ThreadLocal.withInitial(PropertiesTuple::new);
+    private final ThreadLocal<PropertiesTuple> propertiesTuples = ThreadLocal.withInitial(PropertiesTuple::new);
     private boolean readOnly;
 
     /**
@@ -60,9 +61,16 @@ public class ElementAggregator extends TupleAdaptedBinaryOperatorComposite<Strin
             return properties;
         }
 
-        propertiesTuple.setProperties(properties);
+        final PropertiesTuple stateTuple = stateTuples.get();
+        final PropertiesTuple propertiesTuple = propertiesTuples.get();
         stateTuple.setProperties(state);
-        apply(stateTuple, propertiesTuple);
+        propertiesTuple.setProperties(properties);
+        try {
+            apply(stateTuple, propertiesTuple);
+        } finally {
+            stateTuple.setProperties(null);
+            propertiesTuple.setProperties(null);
+        }
         return state;
     }
 
@@ -92,12 +100,8 @@ public class ElementAggregator extends TupleAdaptedBinaryOperatorComposite<Strin
             return false;
         }
 
-        final ElementAggregator that = (ElementAggregator) obj;
-
         return new EqualsBuilder()
                 .appendSuper(super.equals(obj))
-                .append(stateTuple, that.stateTuple)
-                .append(propertiesTuple, that.propertiesTuple)
                 .isEquals();
     }
 
@@ -105,16 +109,13 @@ public class ElementAggregator extends TupleAdaptedBinaryOperatorComposite<Strin
     public int hashCode() {
         return new HashCodeBuilder(59, 13)
                 .appendSuper(super.hashCode())
-                .append(stateTuple)
-                .append(propertiesTuple)
                 .toHashCode();
     }
 
     @Override
     public String toString() {
         return new ToStringBuilder(this)
-                .append("stateTuple", stateTuple)
-                .append("propertiesTuple", propertiesTuple)
+                .append("components", components)
                 .toString();
     }
 
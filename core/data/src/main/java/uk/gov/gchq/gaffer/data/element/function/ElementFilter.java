@@ -35,24 +35,35 @@ import java.util.function.Predicate;
  * a provided {@link Element} object.
  */
 public class ElementFilter extends TupleAdaptedPredicateComposite<String> {
-    private final ElementTuple elementTuple = new ElementTuple();
+    // Filters can be shared between threads, so each thread reuses its own tuple.
+    private final ThreadLocal<ElementTuple> elementTuple = ThreadLocal.withInitial(ElementTuple::new);
     private boolean readOnly;
 
     public boolean test(final Element element) {
-        elementTuple.setElement(element);
-        return test(elementTuple);
+        final ElementTuple tuple = elementTuple.get();
+        tuple.setElement(element);
+        try {
+            return test(tuple);
+        } finally {
+            tuple.setElement(null);
+        }
     }
 
     public ValidationResult testWithValidationResult(final Element element) {
         final ValidationResult result = new ValidationResult();
-        elementTuple.setElement(element);
-        components.stream()
-                .filter(predicate -> !predicate.test(elementTuple))
-                .forEach(predicate -> result.addError(getErrorMsg(predicate)));
+        final ElementTuple tuple = elementTuple.get();
+        tuple.setElement(element);
+        try {
+            components.stream()
+                    .filter(predicate -> !predicate.test(tuple))
+                    .forEach(predicate -> result.addError(getErrorMsg(predicate, tuple)));
+        } finally {
+            tuple.setElement(null);
+        }
         return result;
     }
 
-    private String getErrorMsg(final TupleAdaptedPredicate<String, ?> predicate) {
+    private String getErrorMsg(final TupleAdaptedPredicate<String, ?> predicate, final ElementTuple elementTuple) {
         final StringBuilder builder = new StringBuilder();
         builder.append("Filter: ")
                 .append(predicate.getPredicate())
@@ -99,11 +110,8 @@ public class ElementFilter extends TupleAdaptedPredicateComposite<String> {
             return false;
         }
 
-        final ElementFilter that = (ElementFilter) obj;
-
         return new EqualsBuilder()
                 .appendSuper(super.equals(obj))
-                .append(elementTuple, that.elementTuple)
                 .isEquals();
     }
 
@@ -111,14 +119,13 @@ public class ElementFilter extends TupleAdaptedPredicateComposite<String> {
     public int hashCode() {
         return new HashCodeBuilder(19, 53)
                 .appendSuper(super.hashCode())
-                .append(elementTuple)
                 .toHashCode();
     }
 
     @Override
     public String toString() {
         return new ToStringBuilder(this)
-                .append("elementTuple", elementTuple)
+                .append("components", components)
                 .toString();
     }
 
@@ -29,7 +29,11 @@ import uk.gov.gchq.koryphe.impl.predicate.Or;
 import uk.gov.gchq.koryphe.tuple.predicate.KoryphePredicate2;
 import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
 
 import static junit.framework.TestCase.assertSame;
@@ -325,6 +329,42 @@ public class ElementFilterTest extends JSONSerialisationTest<ElementFilter> {
         assertTrue(result4);
     }
 
+    @Test
+    public void shouldTestElementsConcurrentlyWithSharedFilter() throws Exception {
+        // Given
+        final ElementFilter filter = new ElementFilter.Builder()
+                .select(TestPropertyNames.PROP_1)
+                .execute(new IsMoreThan(500))
+                .build();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<Integer>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (int thread = 0; thread < 4; thread++) {
+                results.add(executor.submit(() -> {
+                    int numPassed = 0;
+                    for (int i = 0; i < 1000; i++) {
+                        final Entity element = new Entity.Builder()
+                                .property(TestPropertyNames.PROP_1, i)
+                                .build();
+                        if (filter.test(element)) {
+                            numPassed++;
+                        }
+                    }
+                    return numPassed;
+                }));
+            }
+
+            // Then
+            for (final Future<Integer> result : results) {
+                assertEquals(499, (int) result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void shouldReturnUnmodifiableComponentsWhenLocked() {
         // Given
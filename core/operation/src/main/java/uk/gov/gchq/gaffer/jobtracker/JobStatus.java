@@ -33,5 +33,10 @@ public enum JobStatus {
     /**
      * An error occured while executing the Gaffer job.
      */
-    FAILED
+    FAILED,
+
+    /**
+     * The Gaffer job was cancelled before it completed.
+     */
+    CANCELLED
 }
@@ -61,6 +61,7 @@ import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.job.CancelJob;
 import uk.gov.gchq.gaffer.operation.impl.job.GetAllJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobResults;
@@ -75,7 +76,14 @@ import uk.gov.gchq.gaffer.operation.impl.output.ToVertices;
 import uk.gov.gchq.gaffer.operation.io.Input;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.store.job.JobCancellation;
+import uk.gov.gchq.gaffer.store.job.JobPriority;
+import uk.gov.gchq.gaffer.store.job.JobScheduler;
 import uk.gov.gchq.gaffer.store.library.GraphLibrary;
+import uk.gov.gchq.gaffer.store.metrics.CountingCloseableIterable;
+import uk.gov.gchq.gaffer.store.metrics.MetricsRegistry;
+import uk.gov.gchq.gaffer.store.metrics.MetricsServiceLoader;
+import uk.gov.gchq.gaffer.store.metrics.OperationMetricsKey;
 import uk.gov.gchq.gaffer.store.operation.GetSchema;
 import uk.gov.gchq.gaffer.store.operation.OperationChainValidator;
 import uk.gov.gchq.gaffer.store.operation.OperationUtil;
@@ -102,6 +110,7 @@ import uk.gov.gchq.gaffer.store.operation.handler.function.FilterHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.function.TransformHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.generate.GenerateElementsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.generate.GenerateObjectsHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.job.CancelJobHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.job.GetAllJobDetailsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.job.GetJobDetailsHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.job.GetJobResultsHandler;
@@ -117,7 +126,11 @@ import uk.gov.gchq.gaffer.store.operation.handler.output.ToMapHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.output.ToSetHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.output.ToStreamHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.output.ToVerticesHandler;
+import uk.gov.gchq.gaffer.store.optimiser.FunctionToViewOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.LimitPushDownOptimiser;
 import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.RedundantOutputOptimiser;
+import uk.gov.gchq.gaffer.store.optimiser.SortLimitOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaOptimiser;
@@ -134,8 +147,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import static uk.gov.gchq.gaffer.core.exception.Status.BAD_REQUEST;
+import static uk.gov.gchq.gaffer.core.exception.Status.FORBIDDEN;
+import static uk.gov.gchq.gaffer.core.exception.Status.NOT_FOUND;
+import static uk.gov.gchq.gaffer.core.exception.Status.SERVICE_UNAVAILABLE;
 
 /**
  * A {@code Store} backs a Graph and is responsible for storing the {@link
@@ -153,6 +171,7 @@ public abstract class Store {
     private final Class<? extends Serialiser> requiredParentSerialiserClass;
     private final Map<Class<? extends Operation>, OperationHandler> operationHandlers = new LinkedHashMap<>();
     protected final List<OperationChainOptimiser> opChainOptimisers = new ArrayList<>();
+    private final List<OperationChainOptimiser> coreOpChainOptimisers = new ArrayList<>();
     protected final OperationChainValidator opChainValidator;
     private final SchemaOptimiser schemaOptimiser;
     /**
@@ -175,7 +194,8 @@ public abstract class Store {
     private GraphLibrary library;
 
     private JobTracker jobTracker;
-    private ExecutorService executorService;
+    private JobScheduler jobScheduler;
+    private MetricsRegistry metricsRegistry;
     private String graphId;
 
     public Store() {
@@ -227,12 +247,14 @@ public abstract class Store {
         JSONSerialiser.update(getProperties().getJsonSerialiserClass(), getProperties().getJsonSerialiserModules());
 
         startCacheServiceLoader(properties);
+        startMetricsServiceLoader(properties);
         this.jobTracker = createJobTracker();
 
         optimiseSchema();
         validateSchemas();
+        addCoreOperationChainOptimisers();
         addOpHandlers();
-        addExecutorService();
+        addJobScheduler();
     }
 
     /**
@@ -328,28 +350,89 @@ public abstract class Store {
             }
         }
 
+        final JobPriority priority;
+        try {
+            priority = JobPriority.getPriority(operationChain);
+        } catch (final IllegalArgumentException e) {
+            throw new OperationException(e.getMessage(), e, BAD_REQUEST);
+        }
+
         final JobDetail initialJobDetail = addOrUpdateJobDetail(operationChain, context, null, JobStatus.RUNNING);
 
         final Runnable runnable = () -> {
             try {
                 handleOperation(operationChain, context);
-                addOrUpdateJobDetail(operationChain, context, null, JobStatus.FINISHED);
+                addOrUpdateJobDetail(operationChain, context, null, JobCancellation.isCancelled() ? JobStatus.CANCELLED : JobStatus.FINISHED);
             } catch (final Error e) {
                 addOrUpdateJobDetail(operationChain, context, e.getMessage(), JobStatus.FAILED);
                 throw e;
             } catch (final Exception e) {
-                LOGGER.warn("Operation chain job failed to execute", e);
-                addOrUpdateJobDetail(operationChain, context, e.getMessage(), JobStatus.FAILED);
+                if (JobCancellation.isCancelled()) {
+                    LOGGER.info("Operation chain job {} was cancelled", context.getJobId());
+                    addOrUpdateJobDetail(operationChain, context, e.getMessage(), JobStatus.CANCELLED);
+                } else {
+                    LOGGER.warn("Operation chain job failed to execute", e);
+                    addOrUpdateJobDetail(operationChain, context, e.getMessage(), JobStatus.FAILED);
+                }
             }
         };
 
-        executorService.execute(runnable);
+        try {
+            jobScheduler.submit(context.getJobId(), context.getUser().getUserId(), priority, runnable);
+        } catch (final RejectedExecutionException e) {
+            addOrUpdateJobDetail(operationChain, context, e.getMessage(), JobStatus.FAILED);
+            throw new OperationException(e.getMessage(), e, SERVICE_UNAVAILABLE);
+        }
 
         return initialJobDetail;
     }
 
+    /**
+     * Cancels a job. A queued job will not be run. A running job is flagged
+     * as cancelled and will stop the next time it checks
+     * {@link JobCancellation#checkCancelled()}.
+     *
+     * @param jobId   the id of the job to cancel.
+     * @param context the context of the user cancelling the job.
+     * @return the updated job detail.
+     * @throws OperationException if the job could not be found or the user
+     *                            did not submit the job.
+     */
+    public JobDetail cancelJob(final String jobId, final Context context) throws OperationException {
+        if (null == jobTracker) {
+            throw new OperationException("The Job Tracker has not been configured", SERVICE_UNAVAILABLE);
+        }
+
+        final JobDetail jobDetail = jobTracker.getJob(jobId, context.getUser());
+        if (null == jobDetail) {
+            throw new OperationException("Job " + jobId + " could not be found", NOT_FOUND);
+        }
+        if (null != jobDetail.getUserId() && !jobDetail.getUserId().equals(context.getUser().getUserId())) {
+            throw new OperationException("Job " + jobId + " can only be cancelled by the user that submitted it", FORBIDDEN);
+        }
+
+        if (!jobScheduler.cancel(jobId)) {
+            // The job has already completed
+            return jobDetail;
+        }
+
+        final JobDetail cancelledJobDetail = new JobDetail();
+        cancelledJobDetail.setStatus(JobStatus.CANCELLED);
+        cancelledJobDetail.setDescription("Cancelled by user " + context.getUser().getUserId());
+        final JobDetail updatedJobDetail = new JobDetail(jobDetail, cancelledJobDetail);
+        jobTracker.addOrUpdateJob(updatedJobDetail, context.getUser());
+        return updatedJobDetail;
+    }
+
+    /**
+     * Runs a task asynchronously on the job scheduler, so it shares the job
+     * threads and queue with the operation chain jobs.
+     *
+     * @param runnable the task to run.
+     * @throws RejectedExecutionException if the job queue is full.
+     */
     public void runAsync(final Runnable runnable) {
-        executorService.execute(runnable);
+        jobScheduler.submit(UUID.randomUUID().toString(), null, JobPriority.NORMAL, runnable);
     }
 
     public JobTracker getJobTracker() {
@@ -596,6 +679,30 @@ public abstract class Store {
         opChainOptimisers.addAll(newOpChainOptimisers);
     }
 
+    /**
+     * Creates the core {@link OperationChainOptimiser}s that are enabled in
+     * the store properties. These are run before any optimisers added using
+     * {@link #addOperationChainOptimisers(List)}.
+     *
+     * @return the core operation chain optimisers
+     */
+    protected List<OperationChainOptimiser> createCoreOperationChainOptimisers() {
+        final List<OperationChainOptimiser> optimisers = new ArrayList<>();
+        if (getProperties().getRedundantOutputOptimiserEnabled()) {
+            optimisers.add(new RedundantOutputOptimiser());
+        }
+        if (getProperties().getFunctionToViewOptimiserEnabled()) {
+            optimisers.add(new FunctionToViewOptimiser());
+        }
+        if (getProperties().getSortLimitOptimiserEnabled()) {
+            optimisers.add(new SortLimitOptimiser());
+        }
+        if (getProperties().getLimitPushDownOptimiserEnabled()) {
+            optimisers.add(new LimitPushDownOptimiser());
+        }
+        return optimisers;
+    }
+
     /**
      * Any additional operations that a store can handle should be registered in
      * this method by calling addOperationHandler(...)
@@ -650,7 +757,7 @@ public abstract class Store {
      * uk.gov.gchq.gaffer.operation.OperationChain}
      */
     protected OperationHandler<? extends OperationChain<?>> getOperationChainHandler() {
-        return new OperationChainHandler<>(opChainValidator, opChainOptimisers);
+        return new OperationChainHandler<>(opChainValidator, opChainOptimisers, getProperties().getOperationChainStreamingEnabled());
     }
 
     protected HashMap<String, SchemaElementDefinition> getSchemaElements() {
@@ -687,7 +794,7 @@ public abstract class Store {
         operationHandlers.put(opClass, handler);
     }
 
-    protected final OperationHandler<Operation> getOperationHandler(final Class<? extends Operation> opClass) {
+    public final OperationHandler<Operation> getOperationHandler(final Class<? extends Operation> opClass) {
         return operationHandlers.get(opClass);
     }
 
@@ -712,6 +819,7 @@ public abstract class Store {
             OperationException {
         final OperationHandler<Operation> handler = getOperationHandler(
                 operation.getClass());
+        final long startTime = null != metricsRegistry ? System.nanoTime() : 0L;
         Object result;
         try {
             if (null != handler) {
@@ -721,6 +829,9 @@ public abstract class Store {
             }
         } catch (final Exception e) {
             CloseableUtil.close(operation);
+            if (null != metricsRegistry) {
+                metricsRegistry.recordInvocation(new OperationMetricsKey(this, operation.getClass()), System.nanoTime() - startTime, false);
+            }
             throw e;
         }
 
@@ -728,17 +839,44 @@ public abstract class Store {
             CloseableUtil.close(operation);
         }
 
+        if (null != metricsRegistry) {
+            result = recordMetrics(operation, startTime, result);
+        }
+
+        return result;
+    }
+
+    private Object recordMetrics(final Operation operation, final long startTime, final Object result) {
+        final MetricsRegistry registry = metricsRegistry;
+        final OperationMetricsKey key = new OperationMetricsKey(this, operation.getClass());
+        if (result instanceof CloseableIterable) {
+            // Iterable results are often lazy, so the latency is recorded once the result has been read or closed
+            return new CountingCloseableIterable<>((CloseableIterable<?>) result,
+                    count -> registry.recordElements(key, count),
+                    () -> registry.recordInvocation(key, System.nanoTime() - startTime, true));
+        }
+        registry.recordInvocation(key, System.nanoTime() - startTime, true);
         return result;
     }
 
-    private void addExecutorService() {
+    private void addJobScheduler() {
+        // The store may be initialised more than once, so stop the threads of any previous scheduler.
+        if (null != jobScheduler) {
+            jobScheduler.shutdown();
+        }
         final Integer jobExecutorThreadCount = getProperties().getJobExecutorThreadCount();
-        LOGGER.debug("Initialising ExecutorService with " + jobExecutorThreadCount + " threads");
-        this.executorService = Executors.newFixedThreadPool(jobExecutorThreadCount, runnable -> {
-            final Thread thread = new Thread(runnable);
-            thread.setDaemon(true);
-            return thread;
-        });
+        LOGGER.debug("Initialising JobScheduler with " + jobExecutorThreadCount + " threads");
+        this.jobScheduler = new JobScheduler(jobExecutorThreadCount,
+                getProperties().getJobExecutorQueueSize(),
+                getProperties().getJobExecutorMaxJobsPerUser());
+    }
+
+    private void addCoreOperationChainOptimisers() {
+        // The store may be initialised more than once, so replace any previous core optimisers.
+        opChainOptimisers.removeAll(coreOpChainOptimisers);
+        coreOpChainOptimisers.clear();
+        coreOpChainOptimisers.addAll(createCoreOperationChainOptimisers());
+        opChainOptimisers.addAll(0, coreOpChainOptimisers);
     }
 
     private void addOpHandlers() {
@@ -770,6 +908,7 @@ public abstract class Store {
             addOperationHandler(GetJobDetails.class, new GetJobDetailsHandler());
             addOperationHandler(GetAllJobDetails.class, new GetAllJobDetailsHandler());
             addOperationHandler(GetJobResults.class, new GetJobResultsHandler());
+            addOperationHandler(CancelJob.class, new CancelJobHandler());
         }
 
         // Output
@@ -831,6 +970,11 @@ public abstract class Store {
         CacheServiceLoader.initialise(properties.getProperties());
     }
 
+    protected void startMetricsServiceLoader(final StoreProperties properties) {
+        MetricsServiceLoader.initialise(properties);
+        this.metricsRegistry = properties.getMetricsEnabled() ? MetricsServiceLoader.getRegistry() : null;
+    }
+
     public void setOriginalSchema(final Schema originalSchema) {
         this.originalSchema = originalSchema;
     }
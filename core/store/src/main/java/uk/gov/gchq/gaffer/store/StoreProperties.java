@@ -30,6 +30,8 @@ import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiserModules;
+import uk.gov.gchq.gaffer.store.metrics.DefaultMetricsRegistry;
+import uk.gov.gchq.gaffer.store.metrics.MetricsRegistry;
 import uk.gov.gchq.gaffer.store.operation.declaration.OperationDeclarations;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
@@ -67,6 +69,22 @@ public class StoreProperties implements Cloneable {
 
     public static final String EXECUTOR_SERVICE_THREAD_COUNT = "gaffer.store.job.executor.threads";
     public static final String EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT = "50";
+    public static final String JOB_EXECUTOR_QUEUE_SIZE = "gaffer.store.job.executor.queue.size";
+    public static final String JOB_EXECUTOR_QUEUE_SIZE_DEFAULT = "1000";
+    public static final String JOB_EXECUTOR_MAX_JOBS_PER_USER = "gaffer.store.job.executor.max.jobs.per.user";
+    public static final String JOB_EXECUTOR_MAX_JOBS_PER_USER_DEFAULT = "0";
+
+    public static final String LIMIT_PUSH_DOWN_OPTIMISER_ENABLED = "gaffer.store.optimiser.limit.push.down.enabled";
+    public static final String FUNCTION_TO_VIEW_OPTIMISER_ENABLED = "gaffer.store.optimiser.function.to.view.enabled";
+    public static final String REDUNDANT_OUTPUT_OPTIMISER_ENABLED = "gaffer.store.optimiser.redundant.output.enabled";
+    public static final String SORT_LIMIT_OPTIMISER_ENABLED = "gaffer.store.optimiser.sort.limit.enabled";
+
+    public static final String OPERATION_CHAIN_STREAMING_ENABLED = "gaffer.store.operation.chain.streaming.enabled";
+
+    public static final String METRICS_ENABLED = "gaffer.store.metrics.enabled";
+    public static final String METRICS_REGISTRY_CLASS = "gaffer.store.metrics.registry.class";
+    public static final String METRICS_REGISTRY_CLASS_DEFAULT = DefaultMetricsRegistry.class.getName();
+    public static final String METRICS_JMX_ENABLED = "gaffer.store.metrics.jmx.enabled";
 
     public static final String JSON_SERIALISER_CLASS = JSONSerialiser.JSON_SERIALISER_CLASS_KEY;
     public static final String JSON_SERIALISER_MODULES = JSONSerialiser.JSON_SERIALISER_MODULES;
@@ -329,6 +347,78 @@ public class StoreProperties implements Cloneable {
         set(JOB_TRACKER_ENABLED, jobTrackerEnabled.toString());
     }
 
+    /**
+     * The limit push down optimiser is disabled by default. When enabled, a
+     * truncating Limit is passed to the preceding operation as an option so
+     * stores can stop reading early.
+     *
+     * @return true if the limit push down optimiser is enabled
+     */
+    public Boolean getLimitPushDownOptimiserEnabled() {
+        return Boolean.valueOf(get(LIMIT_PUSH_DOWN_OPTIMISER_ENABLED, "false"));
+    }
+
+    public void setLimitPushDownOptimiserEnabled(final Boolean enabled) {
+        set(LIMIT_PUSH_DOWN_OPTIMISER_ENABLED, enabled.toString());
+    }
+
+    /**
+     * The function to view optimiser is disabled by default as the merged
+     * Filter and Transform operations are not validated against the schema.
+     *
+     * @return true if the function to view optimiser is enabled
+     */
+    public Boolean getFunctionToViewOptimiserEnabled() {
+        return Boolean.valueOf(get(FUNCTION_TO_VIEW_OPTIMISER_ENABLED, "false"));
+    }
+
+    public void setFunctionToViewOptimiserEnabled(final Boolean enabled) {
+        set(FUNCTION_TO_VIEW_OPTIMISER_ENABLED, enabled.toString());
+    }
+
+    /**
+     * The redundant output optimiser is disabled by default. When enabled,
+     * ToList and ToSet operations that do not change the result are removed.
+     *
+     * @return true if the redundant output optimiser is enabled
+     */
+    public Boolean getRedundantOutputOptimiserEnabled() {
+        return Boolean.valueOf(get(REDUNDANT_OUTPUT_OPTIMISER_ENABLED, "false"));
+    }
+
+    public void setRedundantOutputOptimiserEnabled(final Boolean enabled) {
+        set(REDUNDANT_OUTPUT_OPTIMISER_ENABLED, enabled.toString());
+    }
+
+    /**
+     * The sort limit optimiser is disabled by default. When enabled, a Sort
+     * followed by a truncating Limit is replaced by a Sort with a result limit.
+     *
+     * @return true if the sort limit optimiser is enabled
+     */
+    public Boolean getSortLimitOptimiserEnabled() {
+        return Boolean.valueOf(get(SORT_LIMIT_OPTIMISER_ENABLED, "false"));
+    }
+
+    public void setSortLimitOptimiserEnabled(final Boolean enabled) {
+        set(SORT_LIMIT_OPTIMISER_ENABLED, enabled.toString());
+    }
+
+    /**
+     * When streaming is enabled, ToList and ToSet operations in the middle of
+     * an operation chain are executed lazily if the next operation can stream
+     * its input.
+     *
+     * @return true if operation chain streaming is enabled
+     */
+    public Boolean getOperationChainStreamingEnabled() {
+        return Boolean.valueOf(get(OPERATION_CHAIN_STREAMING_ENABLED, "false"));
+    }
+
+    public void setOperationChainStreamingEnabled(final Boolean enabled) {
+        set(OPERATION_CHAIN_STREAMING_ENABLED, enabled.toString());
+    }
+
     public String getSchemaClassName() {
         return get(SCHEMA_CLASS, Schema.class.getName());
     }
@@ -384,10 +474,54 @@ public class StoreProperties implements Cloneable {
         set(OPERATION_DECLARATIONS, paths);
     }
 
+    public Boolean getMetricsEnabled() {
+        return Boolean.valueOf(get(METRICS_ENABLED, "false"));
+    }
+
+    public void setMetricsEnabled(final Boolean metricsEnabled) {
+        set(METRICS_ENABLED, metricsEnabled.toString());
+    }
+
+    public String getMetricsRegistryClass() {
+        return get(METRICS_REGISTRY_CLASS, METRICS_REGISTRY_CLASS_DEFAULT);
+    }
+
+    public void setMetricsRegistryClass(final Class<? extends MetricsRegistry> metricsRegistryClass) {
+        set(METRICS_REGISTRY_CLASS, metricsRegistryClass.getName());
+    }
+
+    public Boolean getMetricsJmxEnabled() {
+        return Boolean.valueOf(get(METRICS_JMX_ENABLED, "false"));
+    }
+
+    public void setMetricsJmxEnabled(final Boolean metricsJmxEnabled) {
+        set(METRICS_JMX_ENABLED, metricsJmxEnabled.toString());
+    }
+
     public Integer getJobExecutorThreadCount() {
         return Integer.parseInt(get(EXECUTOR_SERVICE_THREAD_COUNT, EXECUTOR_SERVICE_THREAD_COUNT_DEFAULT));
     }
 
+    public Integer getJobExecutorQueueSize() {
+        return Integer.parseInt(get(JOB_EXECUTOR_QUEUE_SIZE, JOB_EXECUTOR_QUEUE_SIZE_DEFAULT));
+    }
+
+    public void setJobExecutorQueueSize(final Integer queueSize) {
+        set(JOB_EXECUTOR_QUEUE_SIZE, queueSize.toString());
+    }
+
+    /**
+     * @return the maximum number of jobs a single user can have running at
+     * the same time. 0 means there is no limit.
+     */
+    public Integer getJobExecutorMaxJobsPerUser() {
+        return Integer.parseInt(get(JOB_EXECUTOR_MAX_JOBS_PER_USER, JOB_EXECUTOR_MAX_JOBS_PER_USER_DEFAULT));
+    }
+
+    public void setJobExecutorMaxJobsPerUser(final Integer maxJobsPerUser) {
+        set(JOB_EXECUTOR_MAX_JOBS_PER_USER, maxJobsPerUser.toString());
+    }
+
     public void addOperationDeclarationPaths(final String... newPaths) {
         final String newPathsCsv = StringUtils.join(newPaths, ",");
         String combinedPaths = getOperationDeclarationPaths();
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.job;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Utility methods for cooperative cancellation of jobs run by a
+ * {@link JobScheduler}.
+ * <p>
+ * While a job is running its cancellation flag is bound to the thread running
+ * the job. Long running code, such as store retrievers, should call
+ * {@link #checkCancelled()} periodically so a cancelled job stops promptly.
+ * When the current thread is not running a job the checks do nothing.
+ * </p>
+ */
+public final class JobCancellation {
+    private static final ThreadLocal<AtomicBoolean> CANCELLED = new ThreadLocal<>();
+
+    private JobCancellation() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * @return true if the job running on the current thread has been cancelled.
+     */
+    public static boolean isCancelled() {
+        final AtomicBoolean cancelled = CANCELLED.get();
+        return null != cancelled && cancelled.get();
+    }
+
+    /**
+     * Checks whether the job running on the current thread has been cancelled.
+     *
+     * @throws CancellationException if the job has been cancelled.
+     */
+    public static void checkCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException("The job has been cancelled");
+        }
+    }
+
+    /**
+     * Wraps a task so that when it is run, on any thread, it sees the
+     * cancellation flag of the job running on the current thread. This allows
+     * work handed to other threads on behalf of a job to be cancelled with it.
+     *
+     * @param task the task to wrap
+     * @param <T>  the result type of the task
+     * @return the wrapped task, or the task itself if the current thread is not running a job.
+     */
+    public static <T> Callable<T> propagate(final Callable<T> task) {
+        final AtomicBoolean cancelled = CANCELLED.get();
+        if (null == cancelled) {
+            return task;
+        }
+        return () -> {
+            final AtomicBoolean previous = CANCELLED.get();
+            CANCELLED.set(cancelled);
+            try {
+                return task.call();
+            } finally {
+                if (null == previous) {
+                    CANCELLED.remove();
+                } else {
+                    CANCELLED.set(previous);
+                }
+            }
+        };
+    }
+
+    static void bind(final AtomicBoolean cancelled) {
+        CANCELLED.set(cancelled);
+    }
+
+    static void unbind() {
+        CANCELLED.remove();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.job;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * The priority classes for jobs submitted to a {@link JobScheduler}. Queued
+ * jobs with a higher priority are started before queued jobs with a lower
+ * priority. Jobs with the same priority are started in the order they were
+ * submitted.
+ * <p>
+ * The priority of a job is set using the {@link #OPTION} operation option.
+ * </p>
+ */
+public enum JobPriority {
+    LOW,
+    NORMAL,
+    HIGH;
+
+    public static final String OPTION = "gaffer.job.priority";
+
+    /**
+     * Gets the priority of a job from the {@link #OPTION} option of the
+     * operation, ignoring case.
+     *
+     * @param operation the operation to be run as a job.
+     * @return the job priority, or {@link #NORMAL} if the option is not set.
+     * @throws IllegalArgumentException if the option is not a valid priority.
+     */
+    public static JobPriority getPriority(final Operation operation) {
+        final String priority = operation.getOption(OPTION);
+        if (null == priority) {
+            return NORMAL;
+        }
+
+        try {
+            return valueOf(priority.trim().toUpperCase(Locale.ENGLISH));
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid job priority: " + priority
+                    + ". It should be one of " + Arrays.toString(values()), e);
+        }
+    }
+}
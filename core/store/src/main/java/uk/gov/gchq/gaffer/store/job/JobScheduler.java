@@ -0,0 +1,230 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@code JobScheduler} runs asynchronous jobs on a fixed number of threads.
+ * <p>
+ * Jobs waiting for a thread are held in a bounded queue - once the queue is
+ * full further jobs are rejected rather than being queued indefinitely. Queued
+ * jobs are started in {@link JobPriority} order and each user can be limited
+ * to a maximum number of concurrently running jobs, so a single user cannot
+ * occupy every thread. Jobs held back by this limit stay queued while jobs
+ * from other users are started.
+ * </p>
+ * <p>
+ * Jobs can be cancelled. A queued job is removed from the queue. A running job
+ * is flagged as cancelled and is expected to stop cooperatively by calling
+ * {@link JobCancellation#checkCancelled()}.
+ * </p>
+ */
+public class JobScheduler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobScheduler.class);
+
+    private static final Comparator<ScheduledJob> QUEUE_ORDER = Comparator
+            .comparing((ScheduledJob job) -> job.priority).reversed()
+            .thenComparingLong(job -> job.sequence);
+
+    private final int numThreads;
+    private final int maxQueueSize;
+    private final int maxJobsPerUser;
+    private final ExecutorService executor;
+
+    private final Object lock = new Object();
+    private final TreeSet<ScheduledJob> queue = new TreeSet<>(QUEUE_ORDER);
+    private final Map<String, ScheduledJob> jobs = new HashMap<>();
+    private final Map<String, Integer> runningJobsPerUser = new HashMap<>();
+    private int numRunning;
+    private long nextSequence;
+
+    /**
+     * @param numThreads     the number of jobs that can run at the same time.
+     * @param maxQueueSize   the maximum number of jobs waiting to run.
+     * @param maxJobsPerUser the maximum number of jobs a single user can have
+     *                       running at the same time, or 0 for no limit.
+     */
+    public JobScheduler(final int numThreads, final int maxQueueSize, final int maxJobsPerUser) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("The number of job threads must be at least 1");
+        }
+        if (maxQueueSize < 0) {
+            throw new IllegalArgumentException("The job queue size must not be negative");
+        }
+        this.numThreads = numThreads;
+        this.maxQueueSize = maxQueueSize;
+        this.maxJobsPerUser = maxJobsPerUser;
+        this.executor = Executors.newFixedThreadPool(numThreads, runnable -> {
+            final Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Submits a job to be run when a thread is available.
+     *
+     * @param jobId    the job id, used to cancel the job.
+     * @param userId   the id of the user running the job, or null if the job
+     *                 is not run on behalf of a user. Jobs without a user are
+     *                 not limited by the maximum number of jobs per user.
+     * @param priority the job priority.
+     * @param job      the job to run.
+     * @throws RejectedExecutionException if the job queue is full.
+     */
+    public void submit(final String jobId, final String userId, final JobPriority priority, final Runnable job) {
+        synchronized (lock) {
+            if (queue.size() >= maxQueueSize && !canStart(userId)) {
+                throw new RejectedExecutionException("The job queue is full (" + maxQueueSize + " jobs), job " + jobId + " has been rejected");
+            }
+            final ScheduledJob scheduledJob = new ScheduledJob(jobId, userId, null != priority ? priority : JobPriority.NORMAL, nextSequence++, job);
+            jobs.put(jobId, scheduledJob);
+            queue.add(scheduledJob);
+            startQueuedJobs();
+        }
+    }
+
+    /**
+     * Cancels a job. A queued job is removed from the queue and will not be
+     * run. A running job is flagged as cancelled.
+     *
+     * @param jobId the id of the job to cancel.
+     * @return true if the job was queued or running, false if the job is
+     * unknown or has already completed.
+     */
+    public boolean cancel(final String jobId) {
+        synchronized (lock) {
+            final ScheduledJob job = jobs.get(jobId);
+            if (null == job) {
+                return false;
+            }
+            job.cancelled.set(true);
+            if (queue.remove(job)) {
+                jobs.remove(jobId, job);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @return the number of jobs waiting to run.
+     */
+    public int getQueueSize() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * @return the number of jobs currently running.
+     */
+    public int getNumRunning() {
+        synchronized (lock) {
+            return numRunning;
+        }
+    }
+
+    /**
+     * Stops any more jobs from being started. Queued jobs are discarded and
+     * running jobs are left to complete.
+     */
+    public void shutdown() {
+        synchronized (lock) {
+            queue.clear();
+            executor.shutdown();
+        }
+    }
+
+    private boolean canStart(final String userId) {
+        return numRunning < numThreads
+                && (maxJobsPerUser < 1 || null == userId || runningJobsPerUser.getOrDefault(userId, 0) < maxJobsPerUser);
+    }
+
+    private void startQueuedJobs() {
+        final Iterator<ScheduledJob> itr = queue.iterator();
+        while (numRunning < numThreads && itr.hasNext()) {
+            final ScheduledJob job = itr.next();
+            if (canStart(job.userId)) {
+                itr.remove();
+                start(job);
+            }
+        }
+    }
+
+    private void start(final ScheduledJob job) {
+        numRunning++;
+        if (null != job.userId) {
+            runningJobsPerUser.merge(job.userId, 1, Integer::sum);
+        }
+        try {
+            executor.execute(() -> run(job));
+        } catch (final RejectedExecutionException e) {
+            LOGGER.warn("Job {} was not started as the scheduler has been shutdown", job.jobId);
+            completed(job);
+        }
+    }
+
+    private void run(final ScheduledJob job) {
+        JobCancellation.bind(job.cancelled);
+        try {
+            job.runnable.run();
+        } finally {
+            JobCancellation.unbind();
+            synchronized (lock) {
+                completed(job);
+                startQueuedJobs();
+            }
+        }
+    }
+
+    private void completed(final ScheduledJob job) {
+        numRunning--;
+        if (null != job.userId) {
+            runningJobsPerUser.computeIfPresent(job.userId, (user, count) -> count > 1 ? count - 1 : null);
+        }
+        jobs.remove(job.jobId, job);
+    }
+
+    private static final class ScheduledJob {
+        private final String jobId;
+        private final String userId;
+        private final JobPriority priority;
+        private final long sequence;
+        private final Runnable runnable;
+        private final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+        private ScheduledJob(final String jobId, final String userId, final JobPriority priority,
+                             final long sequence, final Runnable runnable) {
+            this.jobId = jobId;
+            this.userId = userId;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.runnable = runnable;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.metrics;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+
+/**
+ * A {@code CountingCloseableIterable} wraps the result of an operation and
+ * counts the number of items read from each of its iterators. The count is
+ * reported once per iterator, when the iterator is exhausted or closed.
+ * <p>
+ * An optional completion listener is run once, when the first iterator is
+ * exhausted or closed or when the iterable is closed, whichever is first.
+ * As results are often lazy, this is when the work of the operation is done.
+ * </p>
+ *
+ * @param <T> the type of items in the iterable.
+ */
+public class CountingCloseableIterable<T> implements CloseableIterable<T> {
+    private final CloseableIterable<T> iterable;
+    private final LongConsumer countConsumer;
+    private final Runnable completionListener;
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    public CountingCloseableIterable(final CloseableIterable<T> iterable, final LongConsumer countConsumer) {
+        this(iterable, countConsumer, null);
+    }
+
+    public CountingCloseableIterable(final CloseableIterable<T> iterable, final LongConsumer countConsumer,
+                                     final Runnable completionListener) {
+        this.iterable = iterable;
+        this.countConsumer = countConsumer;
+        this.completionListener = completionListener;
+    }
+
+    @Override
+    public void close() {
+        complete();
+        iterable.close();
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        return new CountingCloseableIterator(iterable.iterator());
+    }
+
+    private final class CountingCloseableIterator implements CloseableIterator<T> {
+        private final CloseableIterator<T> iterator;
+        private long count;
+        private boolean reported;
+
+        private CountingCloseableIterator(final CloseableIterator<T> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            final boolean hasNext = iterator.hasNext();
+            if (!hasNext) {
+                report();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            final T next = iterator.next();
+            count++;
+            return next;
+        }
+
+        @Override
+        public void close() {
+            report();
+            iterator.close();
+        }
+
+        private void report() {
+            if (!reported) {
+                reported = true;
+                countConsumer.accept(count);
+                complete();
+            }
+        }
+    }
+
+    private void complete() {
+        if (null != completionListener && completed.compareAndSet(false, true)) {
+            completionListener.run();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.metrics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * The default {@link MetricsRegistry}. Metrics are held in memory in a
+ * {@link Histogram} per operation, store and graphId.
+ */
+public class DefaultMetricsRegistry implements MetricsRegistry {
+    private final ConcurrentMap<OperationMetricsKey, OperationMetrics> metrics = new ConcurrentHashMap<>();
+
+    @Override
+    public void recordInvocation(final OperationMetricsKey key, final long durationNanos, final boolean succeeded) {
+        getOperationMetrics(key).recordInvocation(durationNanos, succeeded);
+    }
+
+    @Override
+    public void recordElements(final OperationMetricsKey key, final long numElements) {
+        getOperationMetrics(key).recordElements(numElements);
+    }
+
+    @Override
+    public List<OperationMetricsSnapshot> getSnapshots() {
+        return metrics.values().stream()
+                .map(OperationMetrics::getSnapshot)
+                .sorted(Comparator.comparing(OperationMetricsSnapshot::getGraphId)
+                        .thenComparing(OperationMetricsSnapshot::getOperationClass))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void reset() {
+        metrics.clear();
+    }
+
+    public OperationMetrics getOperationMetrics(final OperationMetricsKey key) {
+        return metrics.computeIfAbsent(key, OperationMetrics::new);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@code Histogram} records the distribution of non-negative long values,
+ * such as latencies in nanoseconds, in a fixed amount of memory.
+ * <p>
+ * Values are counted in log-linear buckets: each power of two is split into
+ * {@value #SUB_BUCKETS} equal width buckets, so percentiles are accurate to
+ * within 12.5%. The count, sum, min and max are exact.
+ * </p>
+ * <p>
+ * Values can be recorded concurrently from multiple threads without locking.
+ * </p>
+ */
+public class Histogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int NUM_BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(NUM_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Records a value. Negative values are recorded as 0.
+     *
+     * @param value the value to record
+     */
+    public void update(final long value) {
+        final long nonNegativeValue = Math.max(0, value);
+        buckets.incrementAndGet(getBucketIndex(nonNegativeValue));
+        count.increment();
+        sum.add(nonNegativeValue);
+        min.accumulateAndGet(nonNegativeValue, Math::min);
+        max.accumulateAndGet(nonNegativeValue, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * @return the smallest value recorded, or 0 if no values have been recorded.
+     */
+    public long getMin() {
+        return 0 == getCount() ? 0 : min.get();
+    }
+
+    /**
+     * @return the largest value recorded, or 0 if no values have been recorded.
+     */
+    public long getMax() {
+        return 0 == getCount() ? 0 : max.get();
+    }
+
+    /**
+     * @return the mean of the values recorded, or 0 if no values have been recorded.
+     */
+    public double getMean() {
+        final long currentCount = getCount();
+        return 0 == currentCount ? 0 : (double) getSum() / currentCount;
+    }
+
+    /**
+     * Gets an estimate of a percentile of the recorded values.
+     *
+     * @param percentile the percentile to get, between 0 and 100.
+     * @return the estimated value at the percentile, or 0 if no values have
+     * been recorded.
+     */
+    public long getPercentile(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100, but was " + percentile);
+        }
+
+        final long currentCount = getCount();
+        if (0 == currentCount) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * currentCount));
+        long seen = 0;
+        for (int index = 0; index < NUM_BUCKETS; index++) {
+            seen += buckets.get(index);
+            if (seen >= rank) {
+                return Math.min(getBucketUpperBound(index), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    static int getBucketIndex(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int shift = exponent - SUB_BUCKET_BITS;
+        final int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long getBucketUpperBound(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKETS - 1;
+        final long subBucket = index % SUB_BUCKETS;
+        final long nextBucketLowerBound = (SUB_BUCKETS + subBucket + 1) << shift;
+        // The lower bound of the bucket after the last bucket overflows
+        return nextBucketLowerBound <= 0 ? Long.MAX_VALUE : nextBucketLowerBound - 1;
+    }
+}
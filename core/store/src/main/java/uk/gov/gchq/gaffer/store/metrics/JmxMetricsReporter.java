@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * A {@code JmxMetricsReporter} exposes the metrics in a {@link MetricsRegistry}
+ * as an MXBean in the platform MBean server.
+ */
+public class JmxMetricsReporter implements MetricsMXBean {
+    public static final String OBJECT_NAME = "uk.gov.gchq.gaffer:type=Metrics";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JmxMetricsReporter.class);
+
+    private final MetricsRegistry registry;
+    private final ObjectName objectName;
+
+    public JmxMetricsReporter(final MetricsRegistry registry) {
+        this.registry = registry;
+        try {
+            this.objectName = new ObjectName(OBJECT_NAME);
+        } catch (final JMException e) {
+            throw new IllegalArgumentException("Invalid JMX object name: " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Registers this reporter with the platform MBean server, replacing any
+     * reporter that has already been registered.
+     */
+    public void start() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(this, objectName);
+        } catch (final JMException e) {
+            LOGGER.warn("Unable to register the metrics MXBean {}", objectName, e);
+        }
+    }
+
+    /**
+     * Unregisters this reporter from the platform MBean server.
+     */
+    public void stop() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (final JMException e) {
+            LOGGER.warn("Unable to unregister the metrics MXBean {}", objectName, e);
+        }
+    }
+
+    @Override
+    public List<OperationMetricsSnapshot> getOperationMetrics() {
+        return registry.getSnapshots();
+    }
+
+    @Override
+    public void reset() {
+        registry.reset();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.metrics;
+
+import java.util.List;
+
+/**
+ * A {@code MetricsRegistry} records metrics about the operations handled by
+ * a {@link uk.gov.gchq.gaffer.store.Store}.
+ * <p>
+ * The registry used is configured with the
+ * {@link uk.gov.gchq.gaffer.store.StoreProperties#METRICS_REGISTRY_CLASS}
+ * store property, allowing metrics to be forwarded to an external metrics
+ * system. Implementations must have a no argument constructor and be thread
+ * safe.
+ * </p>
+ */
+public interface MetricsRegistry {
+    /**
+     * Records a single invocation of an operation handler. If the handler
+     * returns a {@link uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable}
+     * then the invocation is only recorded once the result has been read or
+     * closed, so the duration includes the time taken to read the result.
+     *
+     * @param key           the operation, store and graph the handler was invoked for
+     * @param durationNanos the time taken by the handler and reading its result in nanoseconds
+     * @param succeeded     false if the handler threw an exception
+     */
+    void recordInvocation(final OperationMetricsKey key, final long durationNanos, final boolean succeeded);
+
+    /**
+     * Records the number of elements read from the result of a single
+     * invocation of an operation handler.
+     *
+     * @param key         the operation, store and graph the handler was invoked for
+     * @param numElements the number of elements read from the result
+     */
+    void recordElements(final OperationMetricsKey key, final long numElements);
+
+    /**
+     * @return a snapshot of the metrics recorded for each operation.
+     */
+    List<OperationMetricsSnapshot> getSnapshots();
+
+    /**
+     * Removes all recorded metrics.
+     */
+    void reset();
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.store.StoreProperties;
+
+/**
+ * Initialised when a store with metrics enabled is initialised. Holds a single
+ * {@link MetricsRegistry} for the JVM, so metrics from every store can be
+ * read in one place, for example from the REST API. Metrics are recorded
+ * against the graphId and store class, so stores sharing the registry do not
+ * interfere with each other.
+ */
+public final class MetricsServiceLoader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetricsServiceLoader.class);
+    private static MetricsRegistry registry;
+    private static JmxMetricsReporter jmxReporter;
+
+    private MetricsServiceLoader() {
+        // private constructor to prevent instantiation
+    }
+
+    /**
+     * Creates the metrics registry from the store properties, if metrics are
+     * enabled. An existing registry of the same class is kept, so metrics are
+     * not lost when another store is initialised.
+     *
+     * @param properties the store properties
+     * @throws IllegalArgumentException if an invalid registry class is specified
+     */
+    public static synchronized void initialise(final StoreProperties properties) {
+        if (null == properties || !properties.getMetricsEnabled()) {
+            return;
+        }
+
+        final String registryClass = properties.getMetricsRegistryClass();
+        if (null == registry || !registry.getClass().getName().equals(registryClass)) {
+            try {
+                registry = Class.forName(registryClass).asSubclass(MetricsRegistry.class).newInstance();
+            } catch (final InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+                throw new IllegalArgumentException("Failed to instantiate metrics registry using class " + registryClass, e);
+            }
+            LOGGER.debug("Initialised metrics registry {}", registryClass);
+            if (null != jmxReporter) {
+                jmxReporter.stop();
+                jmxReporter = null;
+            }
+        }
+
+        if (properties.getMetricsJmxEnabled() && null == jmxReporter) {
+            jmxReporter = new JmxMetricsReporter(registry);
+            jmxReporter.start();
+        }
+    }
+
+    /**
+     * @return the metrics registry, or null if metrics have not been enabled.
+     */
+    public static synchronized MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * @return true if metrics have been enabled.
+     */
+    public static synchronized boolean isEnabled() {
+        return null != registry;
+    }
+
+    /**
+     * Stops the JMX reporter and removes the registry.
+     */
+    public static synchronized void shutdown() {
+        if (null != jmxReporter) {
+            jmxReporter.stop();
+            jmxReporter = null;
+        }
+        registry = null;
+    }
+}
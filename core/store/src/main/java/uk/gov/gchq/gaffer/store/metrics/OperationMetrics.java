@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics recorded by the {@link DefaultMetricsRegistry} for a single
+ * {@link OperationMetricsKey}.
+ */
+public class OperationMetrics {
+    private final OperationMetricsKey key;
+    private final Histogram latency = new Histogram();
+    private final Histogram elements = new Histogram();
+    private final LongAdder failures = new LongAdder();
+
+    public OperationMetrics(final OperationMetricsKey key) {
+        this.key = key;
+    }
+
+    public void recordInvocation(final long durationNanos, final boolean succeeded) {
+        latency.update(durationNanos);
+        if (!succeeded) {
+            failures.increment();
+        }
+    }
+
+    public void recordElements(final long numElements) {
+        elements.update(numElements);
+    }
+
+    public OperationMetricsKey getKey() {
+        return key;
+    }
+
+    /**
+     * @return the handler latencies in nanoseconds, including the time taken to read lazy results.
+     */
+    public Histogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @return the number of elements read from each result.
+     */
+    public Histogram getElements() {
+        return elements;
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public OperationMetricsSnapshot getSnapshot() {
+        return new OperationMetricsSnapshot.Builder()
+                .key(key)
+                .count(latency.getCount())
+                .failures(getFailures())
+                .meanLatencyMillis(toMillis(latency.getMean()))
+                .p50LatencyMillis(toMillis(latency.getPercentile(50)))
+                .p95LatencyMillis(toMillis(latency.getPercentile(95)))
+                .p99LatencyMillis(toMillis(latency.getPercentile(99)))
+                .maxLatencyMillis(toMillis(latency.getMax()))
+                .totalElements(elements.getSum())
+                .meanElements(elements.getMean())
+                .maxElements(elements.getMax())
+                .build();
+    }
+
+    private static double toMillis(final double nanos) {
+        return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
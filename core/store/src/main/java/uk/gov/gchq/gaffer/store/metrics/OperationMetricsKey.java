@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.metrics;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.store.Store;
+
+/**
+ * An {@code OperationMetricsKey} identifies the metrics recorded for a type of
+ * operation executed on a store with a particular graphId.
+ */
+public final class OperationMetricsKey {
+    private final String graphId;
+    private final String storeClass;
+    private final String operationClass;
+    private final int hashCode;
+
+    public OperationMetricsKey(final String graphId, final String storeClass, final String operationClass) {
+        this.graphId = graphId;
+        this.storeClass = storeClass;
+        this.operationClass = operationClass;
+        this.hashCode = new HashCodeBuilder(23, 5)
+                .append(graphId)
+                .append(storeClass)
+                .append(operationClass)
+                .toHashCode();
+    }
+
+    public OperationMetricsKey(final Store store, final Class<? extends Operation> operationClass) {
+        this(store.getGraphId(), store.getClass().getName(), operationClass.getName());
+    }
+
+    public String getGraphId() {
+        return graphId;
+    }
+
+    public String getStoreClass() {
+        return storeClass;
+    }
+
+    public String getOperationClass() {
+        return operationClass;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (null == obj || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final OperationMetricsKey other = (OperationMetricsKey) obj;
+        return new EqualsBuilder()
+                .append(graphId, other.graphId)
+                .append(storeClass, other.storeClass)
+                .append(operationClass, other.operationClass)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return graphId + "/" + storeClass + "/" + operationClass;
+    }
+}
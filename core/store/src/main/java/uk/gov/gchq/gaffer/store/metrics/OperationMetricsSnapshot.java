@@ -0,0 +1,215 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.metrics;
+
+/**
+ * An {@code OperationMetricsSnapshot} is a point in time summary of the
+ * metrics recorded for an operation on a store with a particular graphId.
+ * It is returned from the REST API and JMX, so only contains simple types.
+ */
+public class OperationMetricsSnapshot {
+    private String graphId;
+    private String storeClass;
+    private String operationClass;
+    private long count;
+    private long failures;
+    private double meanLatencyMillis;
+    private double p50LatencyMillis;
+    private double p95LatencyMillis;
+    private double p99LatencyMillis;
+    private double maxLatencyMillis;
+    private long totalElements;
+    private double meanElements;
+    private long maxElements;
+
+    public String getGraphId() {
+        return graphId;
+    }
+
+    public void setGraphId(final String graphId) {
+        this.graphId = graphId;
+    }
+
+    public String getStoreClass() {
+        return storeClass;
+    }
+
+    public void setStoreClass(final String storeClass) {
+        this.storeClass = storeClass;
+    }
+
+    public String getOperationClass() {
+        return operationClass;
+    }
+
+    public void setOperationClass(final String operationClass) {
+        this.operationClass = operationClass;
+    }
+
+    /**
+     * @return the number of times the operation handler has been invoked.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(final long count) {
+        this.count = count;
+    }
+
+    /**
+     * @return the number of times the operation handler has thrown an exception.
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    public void setFailures(final long failures) {
+        this.failures = failures;
+    }
+
+    public double getMeanLatencyMillis() {
+        return meanLatencyMillis;
+    }
+
+    public void setMeanLatencyMillis(final double meanLatencyMillis) {
+        this.meanLatencyMillis = meanLatencyMillis;
+    }
+
+    public double getP50LatencyMillis() {
+        return p50LatencyMillis;
+    }
+
+    public void setP50LatencyMillis(final double p50LatencyMillis) {
+        this.p50LatencyMillis = p50LatencyMillis;
+    }
+
+    public double getP95LatencyMillis() {
+        return p95LatencyMillis;
+    }
+
+    public void setP95LatencyMillis(final double p95LatencyMillis) {
+        this.p95LatencyMillis = p95LatencyMillis;
+    }
+
+    public double getP99LatencyMillis() {
+        return p99LatencyMillis;
+    }
+
+    public void setP99LatencyMillis(final double p99LatencyMillis) {
+        this.p99LatencyMillis = p99LatencyMillis;
+    }
+
+    public double getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+
+    public void setMaxLatencyMillis(final double maxLatencyMillis) {
+        this.maxLatencyMillis = maxLatencyMillis;
+    }
+
+    /**
+     * @return the total number of elements read from the operation results.
+     */
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(final long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    public double getMeanElements() {
+        return meanElements;
+    }
+
+    public void setMeanElements(final double meanElements) {
+        this.meanElements = meanElements;
+    }
+
+    public long getMaxElements() {
+        return maxElements;
+    }
+
+    public void setMaxElements(final long maxElements) {
+        this.maxElements = maxElements;
+    }
+
+    public static class Builder {
+        private final OperationMetricsSnapshot snapshot = new OperationMetricsSnapshot();
+
+        public Builder key(final OperationMetricsKey key) {
+            snapshot.setGraphId(key.getGraphId());
+            snapshot.setStoreClass(key.getStoreClass());
+            snapshot.setOperationClass(key.getOperationClass());
+            return this;
+        }
+
+        public Builder count(final long count) {
+            snapshot.setCount(count);
+            return this;
+        }
+
+        public Builder failures(final long failures) {
+            snapshot.setFailures(failures);
+            return this;
+        }
+
+        public Builder meanLatencyMillis(final double meanLatencyMillis) {
+            snapshot.setMeanLatencyMillis(meanLatencyMillis);
+            return this;
+        }
+
+        public Builder p50LatencyMillis(final double p50LatencyMillis) {
+            snapshot.setP50LatencyMillis(p50LatencyMillis);
+            return this;
+        }
+
+        public Builder p95LatencyMillis(final double p95LatencyMillis) {
+            snapshot.setP95LatencyMillis(p95LatencyMillis);
+            return this;
+        }
+
+        public Builder p99LatencyMillis(final double p99LatencyMillis) {
+            snapshot.setP99LatencyMillis(p99LatencyMillis);
+            return this;
+        }
+
+        public Builder maxLatencyMillis(final double maxLatencyMillis) {
+            snapshot.setMaxLatencyMillis(maxLatencyMillis);
+            return this;
+        }
+
+        public Builder totalElements(final long totalElements) {
+            snapshot.setTotalElements(totalElements);
+            return this;
+        }
+
+        public Builder meanElements(final double meanElements) {
+            snapshot.setMeanElements(meanElements);
+            return this;
+        }
+
+        public Builder maxElements(final long maxElements) {
+            snapshot.setMaxElements(maxElements);
+            return this;
+        }
+
+        public OperationMetricsSnapshot build() {
+            return snapshot;
+        }
+    }
+}
@@ -15,12 +15,16 @@
  */
 package uk.gov.gchq.gaffer.store.operation.handler;
 
+import uk.gov.gchq.gaffer.commonutil.iterable.StreamDistinctIterable;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
 import uk.gov.gchq.gaffer.operation.io.Input;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.job.JobCancellation;
 import uk.gov.gchq.gaffer.store.operation.OperationChainValidator;
 import uk.gov.gchq.gaffer.store.optimiser.OperationChainOptimiser;
 import uk.gov.gchq.koryphe.ValidationResult;
@@ -29,22 +33,37 @@ import java.util.List;
 
 /**
  * A {@code OperationChainHandler} handles {@link OperationChain}s.
+ * <p>
+ * If streaming is enabled, a {@link ToList} or {@link ToSet} in the middle of
+ * a chain is not executed when the handler of the next operation is a
+ * {@link StreamableOperationHandler}. Its input is instead passed lazily
+ * to the next operation, with duplicates removed for a {@link ToSet}, so
+ * the intermediate results are not all held in memory.
+ * </p>
  *
  * @param <OUT> the output type of the operation chain
  */
 public class OperationChainHandler<OUT> implements OutputOperationHandler<OperationChain<OUT>, OUT> {
     private final OperationChainValidator opChainValidator;
     private final List<OperationChainOptimiser> opChainOptimisers;
+    private final boolean streaming;
 
     @Override
     public OUT doOperation(final OperationChain<OUT> operationChain, final Context context, final Store store) throws OperationException {
+        final OperationChain<OUT> preparedOperationChain = prepareOperationChain(operationChain, context, store);
 
-        prepareOperationChain(operationChain, context, store);
-
+        final List<Operation> ops = preparedOperationChain.getOperations();
         Object result = null;
-        for (final Operation op : operationChain.getOperations()) {
+        for (int index = 0; index < ops.size(); index++) {
+            JobCancellation.checkCancelled();
+            final Operation op = ops.get(index);
             updateOperationInput(op, result);
-            result = store.handleOperation(op, context);
+            final Operation nextOp = (index + 1) < ops.size() ? ops.get(index + 1) : null;
+            if (streaming && canStream(op, nextOp, store)) {
+                result = stream(op);
+            } else {
+                result = store.handleOperation(op, context);
+            }
         }
 
         return (OUT) result;
@@ -82,8 +101,31 @@ public class OperationChainHandler<OUT> implements OutputOperationHandler<Operat
     }
 
     public OperationChainHandler(final OperationChainValidator opChainValidator, final List<OperationChainOptimiser> opChainOptimisers) {
+        this(opChainValidator, opChainOptimisers, false);
+    }
+
+    public OperationChainHandler(final OperationChainValidator opChainValidator, final List<OperationChainOptimiser> opChainOptimisers, final boolean streaming) {
         this.opChainValidator = opChainValidator;
         this.opChainOptimisers = opChainOptimisers;
+        this.streaming = streaming;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    private boolean canStream(final Operation op, final Operation nextOp, final Store store) {
+        return (op instanceof ToList || op instanceof ToSet)
+                && null != nextOp
+                && store.getOperationHandler(nextOp.getClass()) instanceof StreamableOperationHandler;
+    }
+
+    private Object stream(final Operation op) {
+        if (op instanceof ToSet) {
+            final Iterable<?> input = ((ToSet<?>) op).getInput();
+            return null == input ? null : new StreamDistinctIterable<>(input);
+        }
+        return ((ToList<?>) op).getInput();
     }
 
     private void setOperationInput(final Operation op, final Object result) {
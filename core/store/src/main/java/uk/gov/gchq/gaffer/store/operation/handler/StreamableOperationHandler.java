@@ -0,0 +1,33 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.operation.handler;
+
+/**
+ * A {@code StreamableOperationHandler} is a marker for an {@link OperationHandler}
+ * that returns a lazy {@link Iterable} over its input, reading the input at
+ * most once, in order, and only as its own results are consumed. Handlers that
+ * hold their whole input, such as sorting, or that consume all of it before
+ * returning, such as counting, must not be marked.
+ * <p>
+ * When streaming is enabled for operation chains, a {@link uk.gov.gchq.gaffer.operation.impl.output.ToList}
+ * or {@link uk.gov.gchq.gaffer.operation.impl.output.ToSet} in the middle of a
+ * chain that is followed by an operation with a streamable handler is executed
+ * lazily rather than collecting all of its input into memory.
+ * </p>
+ */
+public interface StreamableOperationHandler {
+}
@@ -23,6 +23,7 @@ import uk.gov.gchq.gaffer.operation.util.StreamFilterIterable;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.StreamableOperationHandler;
 import uk.gov.gchq.gaffer.store.operation.validator.function.FilterValidator;
 import uk.gov.gchq.gaffer.store.operation.validator.function.FunctionValidator;
 import uk.gov.gchq.gaffer.store.schema.Schema;
@@ -31,7 +32,7 @@ import uk.gov.gchq.koryphe.ValidationResult;
 import java.util.HashMap;
 import java.util.Map;
 
-public class FilterHandler implements OutputOperationHandler<Filter, Iterable<? extends Element>> {
+public class FilterHandler implements OutputOperationHandler<Filter, Iterable<? extends Element>>, StreamableOperationHandler {
 
     private final FunctionValidator<Filter> validator = new FilterValidator();
 
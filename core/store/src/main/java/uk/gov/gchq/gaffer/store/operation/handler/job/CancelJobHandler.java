@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.operation.handler.job;
+
+import uk.gov.gchq.gaffer.jobtracker.JobDetail;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.job.CancelJob;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+
+/**
+ * A {@code CancelJobHandler} handles {@link CancelJob} operations by asking
+ * the store to cancel the job.
+ */
+public class CancelJobHandler implements OutputOperationHandler<CancelJob, JobDetail> {
+    @Override
+    public JobDetail doOperation(final CancelJob operation, final Context context, final Store store) throws OperationException {
+        if (null == operation.getJobId()) {
+            throw new OperationException("A job id is required to cancel a job");
+        }
+
+        return store.cancelJob(operation.getJobId(), context);
+    }
+}
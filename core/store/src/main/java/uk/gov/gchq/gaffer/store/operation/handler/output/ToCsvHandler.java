@@ -21,6 +21,7 @@ import uk.gov.gchq.gaffer.operation.impl.output.ToCsv;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.store.operation.handler.StreamableOperationHandler;
 
 import java.util.Collections;
 
@@ -29,7 +30,7 @@ import java.util.Collections;
  * {@link uk.gov.gchq.gaffer.data.generator.ElementGenerator} to each item in the
  * input {@link Iterable}.
  */
-public class ToCsvHandler implements OutputOperationHandler<ToCsv, Iterable<? extends String>> {
+public class ToCsvHandler implements OutputOperationHandler<ToCsv, Iterable<? extends String>>, StreamableOperationHandler {
     @Override
     public Iterable<? extends String> doOperation(final ToCsv operation, final Context context, final Store store) throws OperationException {
         if (null == operation.getInput()) {
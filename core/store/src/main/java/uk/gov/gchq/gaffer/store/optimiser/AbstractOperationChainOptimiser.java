@@ -19,6 +19,7 @@ import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -48,42 +49,52 @@ public abstract class AbstractOperationChainOptimiser implements OperationChainO
             optimisedOps.addAll(addPostOperations(currentOp, nextOp));
         }
 
-        return new OperationChain<>(optimiseAll(optimisedOps));
+        final OperationChain<O> optimisedOperationChain = new OperationChain<>(optimiseAll(optimisedOps));
+        optimisedOperationChain.setOptions(operationChain.getOptions());
+        return optimisedOperationChain;
     }
 
     /**
-     * Add pre operations. By default this should just return an empty list.
+     * Add pre operations. By default this just returns an empty list.
      *
      * @param previousOp the previous operation
      * @param currentOp  the current operation
      * @return list of pre operations
      */
-    protected abstract List<Operation> addPreOperations(final Operation previousOp, final Operation currentOp);
+    protected List<Operation> addPreOperations(final Operation previousOp, final Operation currentOp) {
+        return Collections.emptyList();
+    }
 
     /**
-     * Optimises the current operation. By default this should just return the current operation.
+     * Optimises the current operation. By default this just returns the current operation.
      *
      * @param previousOp the previous operation
      * @param currentOp  the current operation
      * @param nextOp     the next operation
      * @return list of optimised operations
      */
-    protected abstract List<Operation> optimiseCurrentOperation(final Operation previousOp, final Operation currentOp, final Operation nextOp);
+    protected List<Operation> optimiseCurrentOperation(final Operation previousOp, final Operation currentOp, final Operation nextOp) {
+        return Collections.singletonList(currentOp);
+    }
 
     /**
-     * Add pre operations. By default this should just return an empty list.
+     * Add post operations. By default this just returns an empty list.
      *
      * @param currentOp the current operation
      * @param nextOp    the next operation
      * @return list of post operations
      */
-    protected abstract List<Operation> addPostOperations(final Operation currentOp, final Operation nextOp);
+    protected List<Operation> addPostOperations(final Operation currentOp, final Operation nextOp) {
+        return Collections.emptyList();
+    }
 
     /**
-     * Optimise all operations together.
+     * Optimise all operations together. By default the operations are returned unchanged.
      *
      * @param ops operations to be optimised
      * @return the optimised operations
      */
-    protected abstract List<Operation> optimiseAll(final List<Operation> ops);
+    protected List<Operation> optimiseAll(final List<Operation> ops) {
+        return ops;
+    }
 }
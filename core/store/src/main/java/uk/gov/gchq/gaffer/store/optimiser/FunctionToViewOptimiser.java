@@ -0,0 +1,203 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.GlobalViewElementDefinition;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.graph.OperationView;
+import uk.gov.gchq.gaffer.operation.impl.function.Filter;
+import uk.gov.gchq.gaffer.operation.impl.function.Transform;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunction;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@code FunctionToViewOptimiser} merges {@link Filter} and {@link Transform}
+ * operations into the {@link View} of a directly preceding {@link GetElements}
+ * or {@link GetAllElements}, so the elements are filtered and transformed by the
+ * store as they are retrieved.
+ * <p>
+ * A {@link Filter} is added to the post transform filter of each group in the
+ * View and any groups the {@link Filter} does not include are removed from the
+ * View. A {@link Transform} is appended to the transformer of each group and
+ * can only be merged if no group has a post transform filter, as the
+ * {@link Transform} must be applied after the filter.
+ * </p>
+ * <p>
+ * Operations are only merged if the View contains no global definitions and no
+ * group restricts its properties, as the properties would otherwise be removed
+ * before the {@link Filter} or {@link Transform} is applied. The merged View is
+ * not validated against the schema again, so any validation done by the
+ * {@link Filter} and {@link Transform} handlers is skipped.
+ * </p>
+ */
+public class FunctionToViewOptimiser extends AbstractOperationChainOptimiser {
+    @Override
+    protected List<Operation> optimiseAll(final List<Operation> ops) {
+        final List<Operation> optimisedOps = new ArrayList<>(ops.size());
+        for (final Operation op : ops) {
+            final Operation previousOp = optimisedOps.isEmpty() ? null : optimisedOps.get(optimisedOps.size() - 1);
+            View mergedView = null;
+            if (previousOp instanceof GetElements || previousOp instanceof GetAllElements) {
+                final View view = ((OperationView) previousOp).getView();
+                if (op instanceof Filter) {
+                    mergedView = merge(view, (Filter) op);
+                } else if (op instanceof Transform) {
+                    mergedView = merge(view, (Transform) op);
+                }
+            }
+
+            if (null != mergedView) {
+                ((OperationView) previousOp).setView(mergedView);
+            } else {
+                optimisedOps.add(op);
+            }
+        }
+        return optimisedOps;
+    }
+
+    private View merge(final View view, final Filter filter) {
+        if (null != filter.getInput() || !canMerge(view)) {
+            return null;
+        }
+
+        final boolean allGroups = null == filter.getEntities() && null == filter.getEdges();
+        final View.Builder mergedView = new View.Builder();
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEntities().entrySet()) {
+            final ElementFilter groupFilter = allGroups ? new ElementFilter() : getGroupFilter(filter.getEntities(), entry.getKey());
+            if (null != groupFilter) {
+                mergedView.entity(entry.getKey(), merge(entry.getValue(), filter.getGlobalElements(), filter.getGlobalEntities(), groupFilter));
+            }
+        }
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEdges().entrySet()) {
+            final ElementFilter groupFilter = allGroups ? new ElementFilter() : getGroupFilter(filter.getEdges(), entry.getKey());
+            if (null != groupFilter) {
+                mergedView.edge(entry.getKey(), merge(entry.getValue(), filter.getGlobalElements(), filter.getGlobalEdges(), groupFilter));
+            }
+        }
+
+        final View result = mergedView.build();
+        // An empty View would return all groups, so keep the Filter instead.
+        return result.getEntities().isEmpty() && result.getEdges().isEmpty() ? null : result;
+    }
+
+    private View merge(final View view, final Transform transform) {
+        if (null != transform.getInput() || !canMerge(view)) {
+            return null;
+        }
+
+        // A Transform without any groups does not change the elements.
+        if (null == transform.getEntities() && null == transform.getEdges()) {
+            return view;
+        }
+
+        final View.Builder mergedView = new View.Builder();
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEntities().entrySet()) {
+            final ViewElementDefinition elementDef = merge(entry.getValue(), getGroupTransformer(transform.getEntities(), entry.getKey()));
+            if (null == elementDef) {
+                return null;
+            }
+            mergedView.entity(entry.getKey(), elementDef);
+        }
+        for (final Map.Entry<String, ViewElementDefinition> entry : view.getEdges().entrySet()) {
+            final ViewElementDefinition elementDef = merge(entry.getValue(), getGroupTransformer(transform.getEdges(), entry.getKey()));
+            if (null == elementDef) {
+                return null;
+            }
+            mergedView.edge(entry.getKey(), elementDef);
+        }
+        return mergedView.build();
+    }
+
+    private ViewElementDefinition merge(final ViewElementDefinition elementDef, final ElementFilter... filters) {
+        final List<TupleAdaptedPredicate<String, ?>> functions = new ArrayList<>();
+        if (elementDef.hasPostTransformFilters()) {
+            functions.addAll(elementDef.getPostTransformFilterFunctions());
+        }
+        for (final ElementFilter filter : filters) {
+            if (null != filter) {
+                functions.addAll(filter.getComponents());
+            }
+        }
+
+        return new ViewElementDefinition.Builder()
+                .merge(elementDef)
+                .postTransformFilterFunctions(functions)
+                .build();
+    }
+
+    private ViewElementDefinition merge(final ViewElementDefinition elementDef, final ElementTransformer transformer) {
+        // The Transform handler fails for groups without a transformer, so leave the Transform to do that.
+        if (null == transformer || elementDef.hasPostTransformFilters()) {
+            return null;
+        }
+
+        final List<TupleAdaptedFunction<String, ?, ?>> functions = new ArrayList<>();
+        if (null != elementDef.getTransformFunctions()) {
+            functions.addAll(elementDef.getTransformFunctions());
+        }
+        functions.addAll(transformer.getComponents());
+
+        return new ViewElementDefinition.Builder()
+                .merge(elementDef)
+                .transformFunctions(functions)
+                .build();
+    }
+
+    private boolean canMerge(final View view) {
+        if (null == view
+                || hasDefinitions(view.getGlobalElements())
+                || hasDefinitions(view.getGlobalEntities())
+                || hasDefinitions(view.getGlobalEdges())
+                || (view.getEntities().isEmpty() && view.getEdges().isEmpty())) {
+            return false;
+        }
+
+        for (final ViewElementDefinition elementDef : view.getEntities().values()) {
+            if (!elementDef.isAllProperties()) {
+                return false;
+            }
+        }
+        for (final ViewElementDefinition elementDef : view.getEdges().values()) {
+            if (!elementDef.isAllProperties()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasDefinitions(final List<GlobalViewElementDefinition> globalDefinitions) {
+        return null != globalDefinitions && !globalDefinitions.isEmpty();
+    }
+
+    private ElementFilter getGroupFilter(final Map<String, ElementFilter> filters, final String group) {
+        return null == filters ? null : filters.get(group);
+    }
+
+    private ElementTransformer getGroupTransformer(final Map<String, ElementTransformer> transformers, final String group) {
+        return null == transformers ? null : transformers.get(group);
+    }
+}
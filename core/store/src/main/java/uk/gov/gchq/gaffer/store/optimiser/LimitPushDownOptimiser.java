@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A {@code LimitPushDownOptimiser} passes the result limit of a truncating
+ * {@link Limit} to a directly preceding {@link GetElements} or
+ * {@link GetAllElements} as the {@link #RESULT_LIMIT} option.
+ * <p>
+ * Stores may use the option as a hint to stop retrieving elements once enough
+ * have been found. The {@link Limit} is left in the chain, so stores that
+ * ignore the option still return the correct results.
+ * </p>
+ */
+public class LimitPushDownOptimiser extends AbstractOperationChainOptimiser {
+    /**
+     * Option containing the maximum number of results the operation needs to return.
+     */
+    public static final String RESULT_LIMIT = "gaffer.operation.result.limit";
+
+    /**
+     * Gets the result limit pushed down to the operation.
+     *
+     * @param operation the operation
+     * @return the result limit, or null if no limit has been pushed down
+     */
+    public static Integer getResultLimit(final Operation operation) {
+        final String resultLimit = operation.getOption(RESULT_LIMIT);
+        return null == resultLimit ? null : Integer.valueOf(resultLimit);
+    }
+
+    @Override
+    protected List<Operation> optimiseAll(final List<Operation> ops) {
+        for (int index = 1; index < ops.size(); index++) {
+            final Operation op = ops.get(index);
+            final Operation previousOp = ops.get(index - 1);
+            if (op instanceof Limit && (previousOp instanceof GetElements || previousOp instanceof GetAllElements)) {
+                pushDown((Limit) op, previousOp);
+            }
+        }
+        return ops;
+    }
+
+    private void pushDown(final Limit limit, final Operation getOp) {
+        // A non truncating limit must see all results to be able to fail.
+        if (null == limit.getResultLimit() || !limit.getTruncate() || null != limit.getInput()) {
+            return;
+        }
+
+        final Integer existingLimit = getResultLimit(getOp);
+        if (null != existingLimit && existingLimit <= limit.getResultLimit()) {
+            return;
+        }
+
+        // Copy the options as they may be shared with the original operation.
+        getOp.setOptions(null == getOp.getOptions() ? new HashMap<>() : new HashMap<>(getOp.getOptions()));
+        getOp.addOption(RESULT_LIMIT, limit.getResultLimit().toString());
+    }
+}
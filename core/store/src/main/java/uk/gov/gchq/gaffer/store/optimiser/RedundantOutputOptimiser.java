@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.CountGroups;
+import uk.gov.gchq.gaffer.operation.impl.compare.Max;
+import uk.gov.gchq.gaffer.operation.impl.compare.Min;
+import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@code RedundantOutputOptimiser} removes {@link ToList} and {@link ToSet}
+ * operations that only collect results into memory for the next operation to
+ * consume in full.
+ * <p>
+ * A {@link ToList} is removed if it is followed by an operation that reads all
+ * of its input once and does not depend on the order of its input, for example a
+ * {@link ToSet}, {@link Sort} or {@link Count}. A {@link ToSet} is only removed if
+ * it is followed by another {@link ToSet}, as removing duplicates may change the
+ * results of other operations.
+ * </p>
+ */
+public class RedundantOutputOptimiser extends AbstractOperationChainOptimiser {
+    private static final List<Class<? extends Operation>> FULL_INPUT_CONSUMERS = Collections.unmodifiableList(Arrays.asList(
+            ToList.class,
+            ToSet.class,
+            Sort.class,
+            Max.class,
+            Min.class,
+            Count.class,
+            CountGroups.class
+    ));
+
+    @Override
+    protected List<Operation> optimiseAll(final List<Operation> ops) {
+        final List<Operation> optimisedOps = new ArrayList<>(ops);
+        for (int index = optimisedOps.size() - 2; index >= 0; index--) {
+            if (isRedundant(optimisedOps.get(index), optimisedOps.get(index + 1))) {
+                optimisedOps.remove(index);
+            }
+        }
+        return optimisedOps;
+    }
+
+    private boolean isRedundant(final Operation op, final Operation nextOp) {
+        if (op instanceof ToList) {
+            return null == ((ToList) op).getInput() && isFullInputConsumer(nextOp);
+        }
+
+        if (op instanceof ToSet) {
+            return null == ((ToSet) op).getInput() && nextOp instanceof ToSet;
+        }
+
+        return false;
+    }
+
+    private boolean isFullInputConsumer(final Operation op) {
+        for (final Class<? extends Operation> opClass : FULL_INPUT_CONSUMERS) {
+            if (opClass.isInstance(op)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
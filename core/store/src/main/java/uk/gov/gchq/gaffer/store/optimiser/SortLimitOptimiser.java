@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@code SortLimitOptimiser} collapses a {@link Sort} followed by a truncating
+ * {@link Limit} into a single {@link Sort} with a result limit. The
+ * {@link uk.gov.gchq.gaffer.store.operation.handler.compare.SortHandler} then only
+ * holds the top k elements in memory rather than sorting all of them.
+ * <p>
+ * A {@link Limit} of 1 is not collapsed, as a {@link Sort} with a result limit
+ * of 1 is delegated to the
+ * {@link uk.gov.gchq.gaffer.store.operation.handler.compare.MaxHandler}, which
+ * would return the last element in the sort order rather than the first.
+ * </p>
+ */
+public class SortLimitOptimiser extends AbstractOperationChainOptimiser {
+    @Override
+    protected List<Operation> optimiseAll(final List<Operation> ops) {
+        final List<Operation> optimisedOps = new ArrayList<>(ops.size());
+        for (final Operation op : ops) {
+            final Operation previousOp = optimisedOps.isEmpty() ? null : optimisedOps.get(optimisedOps.size() - 1);
+            if (previousOp instanceof Sort && op instanceof Limit && canMerge((Limit) op)) {
+                final Sort sort = (Sort) previousOp;
+                final Integer resultLimit = ((Limit) op).getResultLimit();
+                if (null == sort.getResultLimit() || resultLimit < sort.getResultLimit()) {
+                    sort.setResultLimit(resultLimit);
+                }
+            } else {
+                optimisedOps.add(op);
+            }
+        }
+        return optimisedOps;
+    }
+
+    private boolean canMerge(final Limit limit) {
+        return null != limit.getResultLimit()
+                && limit.getResultLimit() > 1
+                && limit.getTruncate()
+                && null == limit.getInput();
+    }
+}
@@ -31,6 +31,7 @@ import uk.gov.gchq.gaffer.cache.util.CacheProperties;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.IdentifierType;
@@ -72,6 +73,7 @@ import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.job.CancelJob;
 import uk.gov.gchq.gaffer.operation.impl.job.GetAllJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobResults;
@@ -87,7 +89,11 @@ import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.tostring.StringToStringSerialiser;
+import uk.gov.gchq.gaffer.store.job.JobPriority;
 import uk.gov.gchq.gaffer.store.library.GraphLibrary;
+import uk.gov.gchq.gaffer.store.metrics.DefaultMetricsRegistry;
+import uk.gov.gchq.gaffer.store.metrics.MetricsServiceLoader;
+import uk.gov.gchq.gaffer.store.metrics.OperationMetricsSnapshot;
 import uk.gov.gchq.gaffer.store.operation.GetSchema;
 import uk.gov.gchq.gaffer.store.operation.OperationChainValidator;
 import uk.gov.gchq.gaffer.store.operation.declaration.OperationDeclaration;
@@ -113,10 +119,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -128,6 +137,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
@@ -302,6 +312,24 @@ public class StoreTest {
         verify(addElementsHandler).doOperation(addElements, context, store);
     }
 
+    @Test
+    public void shouldRunAsyncTasksAfterStoreIsReinitialised() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        given(properties.getJobExecutorThreadCount()).willReturn(1);
+        given(properties.getJobExecutorQueueSize()).willReturn(10);
+        final CountDownLatch taskRun = new CountDownLatch(1);
+        store.initialise("graphId", schema, properties);
+        store.initialise("graphId", schema, properties);
+
+        // When
+        store.runAsync(taskRun::countDown);
+
+        // Then
+        assertTrue(taskRun.await(10, TimeUnit.SECONDS));
+    }
+
     @Test
     public void shouldCloseOperationIfResultIsNotCloseable() throws Exception {
         // Given
@@ -437,6 +465,79 @@ public class StoreTest {
         assertSame(getElementsResult, result);
     }
 
+    @Test
+    public void shouldRecordOperationMetricsWhenEnabled() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        given(properties.getJobExecutorThreadCount()).willReturn(1);
+        given(properties.getMetricsEnabled()).willReturn(true);
+        given(properties.getMetricsRegistryClass()).willReturn(DefaultMetricsRegistry.class.getName());
+        final GetElements getElements = new GetElements();
+        final CloseableIterable getElementsResult = new WrappedCloseableIterable<>(Arrays.asList(new Entity("group1"), new Entity("group2")));
+        given(getElementsHandler.doOperation(getElements, context, store)).willReturn(getElementsResult);
+        store.initialise("graphId", schema, properties);
+
+        try {
+            // When
+            final CloseableIterable<? extends Element> result = store.execute(getElements, context);
+            result.forEach(element -> {
+                // consume the results
+            });
+
+            // Then
+            final List<OperationMetricsSnapshot> metrics = MetricsServiceLoader.getRegistry().getSnapshots();
+            final OperationMetricsSnapshot getElementsMetrics = metrics.stream()
+                    .filter(snapshot -> GetElements.class.getName().equals(snapshot.getOperationClass()))
+                    .findFirst()
+                    .get();
+            assertEquals("graphId", getElementsMetrics.getGraphId());
+            assertEquals(StoreImpl.class.getName(), getElementsMetrics.getStoreClass());
+            assertEquals(1, getElementsMetrics.getCount());
+            assertEquals(0, getElementsMetrics.getFailures());
+            assertEquals(2, getElementsMetrics.getTotalElements());
+        } finally {
+            MetricsServiceLoader.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldRecordOperationLatencyOnceResultHasBeenRead() throws Exception {
+        // Given
+        final Schema schema = createSchemaMock();
+        final StoreProperties properties = mock(StoreProperties.class);
+        given(properties.getJobExecutorThreadCount()).willReturn(1);
+        given(properties.getMetricsEnabled()).willReturn(true);
+        given(properties.getMetricsRegistryClass()).willReturn(DefaultMetricsRegistry.class.getName());
+        final GetElements getElements = new GetElements();
+        final CloseableIterable getElementsResult = new WrappedCloseableIterable<>(Arrays.asList(new Entity("group1"), new Entity("group2")));
+        given(getElementsHandler.doOperation(getElements, context, store)).willReturn(getElementsResult);
+        store.initialise("graphId", schema, properties);
+
+        try {
+            // When
+            final CloseableIterable<? extends Element> result = store.execute(getElements, context);
+            final boolean recordedBeforeRead = MetricsServiceLoader.getRegistry().getSnapshots().stream()
+                    .anyMatch(snapshot -> GetElements.class.getName().equals(snapshot.getOperationClass()) && snapshot.getCount() > 0);
+            final Iterator<? extends Element> itr = result.iterator();
+            Thread.sleep(50);
+            while (itr.hasNext()) {
+                itr.next();
+            }
+
+            // Then
+            assertFalse(recordedBeforeRead);
+            final OperationMetricsSnapshot getElementsMetrics = MetricsServiceLoader.getRegistry().getSnapshots().stream()
+                    .filter(snapshot -> GetElements.class.getName().equals(snapshot.getOperationClass()))
+                    .findFirst()
+                    .get();
+            assertEquals(1, getElementsMetrics.getCount());
+            assertTrue(getElementsMetrics.getMaxLatencyMillis() >= 50);
+        } finally {
+            MetricsServiceLoader.shutdown();
+        }
+    }
+
     @Test
     public void shouldReturnAllSupportedOperations() throws Exception {
         // Given
@@ -477,6 +578,7 @@ public class StoreTest {
                 GetJobDetails.class,
                 GetAllJobDetails.class,
                 GetJobResults.class,
+                CancelJob.class,
 
                 // Output
                 ToArray.class,
@@ -693,6 +795,30 @@ public class StoreTest {
         assertSame(user, contextCaptor.getValue().getUser());
     }
 
+    @Test
+    public void shouldThrowExceptionWhenJobPriorityIsInvalid() throws StoreException {
+        // Given
+        final Operation operation = mock(Operation.class);
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(operation)
+                .option(JobPriority.OPTION, "invalid")
+                .build();
+        final StoreProperties properties = mock(StoreProperties.class);
+        given(properties.getJobExecutorThreadCount()).willReturn(1);
+        given(properties.getJobTrackerEnabled()).willReturn(true);
+        final Store store = new StoreImpl();
+        store.initialise("graphId", new Schema(), properties);
+
+        // When / Then
+        try {
+            store.executeJob(opChain, store.createContext(user));
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertTrue(e.getMessage().contains("invalid"));
+            verify(jobTracker, never()).addOrUpdateJob(any(JobDetail.class), eq(user));
+        }
+    }
+
     @Test
     public void shouldExecuteOperationChainJobAndExportResults() throws OperationException, ExecutionException, InterruptedException, StoreException {
         // Given
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.job;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JobSchedulerTest {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private JobScheduler scheduler;
+
+    @After
+    public void after() {
+        if (null != scheduler) {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldStartQueuedJobsInPriorityOrder() throws InterruptedException {
+        // Given
+        scheduler = new JobScheduler(1, 10, 0);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final List<String> started = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch finished = new CountDownLatch(4);
+        scheduler.submit("blocking", "user", JobPriority.NORMAL, () -> await(blocker));
+
+        // When
+        scheduler.submit("low", "user", JobPriority.LOW, record("low", started, finished));
+        scheduler.submit("normal1", "user", JobPriority.NORMAL, record("normal1", started, finished));
+        scheduler.submit("high", "user", JobPriority.HIGH, record("high", started, finished));
+        scheduler.submit("normal2", "user", JobPriority.NORMAL, record("normal2", started, finished));
+        blocker.countDown();
+
+        // Then
+        assertTrue(finished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("high", "normal1", "normal2", "low"), started);
+    }
+
+    @Test
+    public void shouldLimitConcurrentJobsPerUser() throws InterruptedException {
+        // Given
+        scheduler = new JobScheduler(3, 10, 1);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch otherUserJobStarted = new CountDownLatch(1);
+        scheduler.submit("job1", "user1", JobPriority.NORMAL, () -> await(blocker));
+
+        // When
+        scheduler.submit("job2", "user1", JobPriority.HIGH, () -> await(blocker));
+        scheduler.submit("job3", "user2", JobPriority.LOW, () -> {
+            otherUserJobStarted.countDown();
+            await(blocker);
+        });
+
+        // Then
+        assertTrue(otherUserJobStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(1, scheduler.getQueueSize());
+        assertEquals(2, scheduler.getNumRunning());
+        blocker.countDown();
+    }
+
+    @Test
+    public void shouldNotLimitJobsWithoutAUser() throws InterruptedException {
+        // Given
+        scheduler = new JobScheduler(2, 10, 1);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch jobsStarted = new CountDownLatch(2);
+        final Runnable job = () -> {
+            jobsStarted.countDown();
+            await(blocker);
+        };
+
+        // When
+        scheduler.submit("job1", null, JobPriority.NORMAL, job);
+        scheduler.submit("job2", null, JobPriority.NORMAL, job);
+
+        // Then
+        assertTrue(jobsStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(0, scheduler.getQueueSize());
+        assertEquals(2, scheduler.getNumRunning());
+        blocker.countDown();
+    }
+
+    @Test
+    public void shouldRejectJobsWhenQueueIsFull() {
+        // Given
+        scheduler = new JobScheduler(1, 1, 0);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        scheduler.submit("job1", "user", JobPriority.NORMAL, () -> await(blocker));
+        scheduler.submit("job2", "user", JobPriority.NORMAL, () -> await(blocker));
+
+        // When / Then
+        try {
+            scheduler.submit("job3", "user", JobPriority.NORMAL, () -> await(blocker));
+            fail("Exception expected");
+        } catch (final RejectedExecutionException e) {
+            assertTrue(e.getMessage().contains("job3"));
+        } finally {
+            blocker.countDown();
+        }
+    }
+
+    @Test
+    public void shouldRemoveQueuedJobWhenCancelled() throws InterruptedException {
+        // Given
+        scheduler = new JobScheduler(1, 10, 0);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final AtomicBoolean cancelledJobRun = new AtomicBoolean(false);
+        final CountDownLatch lastJobRun = new CountDownLatch(1);
+        scheduler.submit("job1", "user", JobPriority.NORMAL, () -> await(blocker));
+        scheduler.submit("job2", "user", JobPriority.NORMAL, () -> cancelledJobRun.set(true));
+        scheduler.submit("job3", "user", JobPriority.NORMAL, lastJobRun::countDown);
+
+        // When
+        final boolean cancelled = scheduler.cancel("job2");
+        blocker.countDown();
+
+        // Then
+        assertTrue(cancelled);
+        assertTrue(lastJobRun.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertFalse(cancelledJobRun.get());
+    }
+
+    @Test
+    public void shouldFlagRunningJobWhenCancelled() throws InterruptedException {
+        // Given
+        scheduler = new JobScheduler(1, 10, 0);
+        final CountDownLatch jobStarted = new CountDownLatch(1);
+        final CountDownLatch jobFinished = new CountDownLatch(1);
+        final AtomicBoolean jobCancelled = new AtomicBoolean(false);
+        scheduler.submit("job1", "user", JobPriority.NORMAL, () -> {
+            jobStarted.countDown();
+            try {
+                while (true) {
+                    JobCancellation.checkCancelled();
+                    Thread.sleep(5);
+                }
+            } catch (final CancellationException e) {
+                jobCancelled.set(true);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                jobFinished.countDown();
+            }
+        });
+        assertTrue(jobStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // When
+        final boolean cancelled = scheduler.cancel("job1");
+
+        // Then
+        assertTrue(cancelled);
+        assertTrue(jobFinished.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(jobCancelled.get());
+    }
+
+    @Test
+    public void shouldPropagateCancellationToTasksRunOnOtherThreads() throws Exception {
+        // Given
+        scheduler = new JobScheduler(1, 10, 0);
+        final ExecutorService otherThread = Executors.newSingleThreadExecutor();
+        final CountDownLatch jobStarted = new CountDownLatch(1);
+        final CountDownLatch jobCancelled = new CountDownLatch(1);
+        final AtomicReference<Callable<Boolean>> propagated = new AtomicReference<>();
+        scheduler.submit("job1", "user", JobPriority.NORMAL, () -> {
+            propagated.set(JobCancellation.propagate(JobCancellation::isCancelled));
+            jobStarted.countDown();
+            await(jobCancelled);
+        });
+        assertTrue(jobStarted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        try {
+            // When
+            scheduler.cancel("job1");
+
+            // Then
+            assertTrue(otherThread.submit(propagated.get()).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            assertFalse(otherThread.submit(JobCancellation::isCancelled).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        } finally {
+            jobCancelled.countDown();
+            otherThread.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldNotCancelUnknownJob() {
+        // Given
+        scheduler = new JobScheduler(1, 10, 0);
+
+        // When
+        final boolean cancelled = scheduler.cancel("unknown");
+
+        // Then
+        assertFalse(cancelled);
+        assertFalse(JobCancellation.isCancelled());
+    }
+
+    private static Runnable record(final String jobId, final List<String> started, final CountDownLatch finished) {
+        return () -> {
+            started.add(jobId);
+            finished.countDown();
+        };
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.metrics;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class CountingCloseableIterableTest {
+    @Test
+    public void shouldReportCountOnceWhenIteratorIsExhausted() {
+        // Given
+        final List<Long> counts = new ArrayList<>();
+        final CountingCloseableIterable<String> iterable = new CountingCloseableIterable<>(
+                new WrappedCloseableIterable<>(Arrays.asList("a", "b", "c")), counts::add);
+
+        // When
+        try (final CloseableIterator<String> itr = iterable.iterator()) {
+            while (itr.hasNext()) {
+                itr.next();
+            }
+            itr.hasNext();
+        }
+
+        // Then
+        assertEquals(Arrays.asList(3L), counts);
+    }
+
+    @Test
+    public void shouldReportCountWhenIteratorIsClosedEarly() {
+        // Given
+        final List<Long> counts = new ArrayList<>();
+        final CountingCloseableIterable<String> iterable = new CountingCloseableIterable<>(
+                new WrappedCloseableIterable<>(Arrays.asList("a", "b", "c")), counts::add);
+
+        // When
+        try (final CloseableIterator<String> itr = iterable.iterator()) {
+            itr.next();
+        }
+
+        // Then
+        assertEquals(Arrays.asList(1L), counts);
+    }
+
+    @Test
+    public void shouldReportCountForEachIterator() {
+        // Given
+        final List<Long> counts = new ArrayList<>();
+        final CountingCloseableIterable<String> iterable = new CountingCloseableIterable<>(
+                new WrappedCloseableIterable<>(Arrays.asList("a", "b")), counts::add);
+
+        // When
+        iterable.forEach(item -> {
+            // consume the items
+        });
+        iterable.forEach(item -> {
+            // consume the items
+        });
+
+        // Then
+        assertEquals(Arrays.asList(2L, 2L), counts);
+    }
+
+    @Test
+    public void shouldRunCompletionListenerOnceWhenResultIsReadOrClosed() {
+        // Given
+        final List<Long> counts = new ArrayList<>();
+        final AtomicInteger completions = new AtomicInteger();
+        final CountingCloseableIterable<String> iterable = new CountingCloseableIterable<>(
+                new WrappedCloseableIterable<>(Arrays.asList("a", "b")), counts::add, completions::incrementAndGet);
+
+        // When
+        final int completionsBeforeRead = completions.get();
+        iterable.forEach(item -> {
+            // consume the items
+        });
+        iterable.forEach(item -> {
+            // consume the items
+        });
+        iterable.close();
+
+        // Then
+        assertEquals(0, completionsBeforeRead);
+        assertEquals(1, completions.get());
+        assertEquals(Arrays.asList(2L, 2L), counts);
+    }
+
+    @Test
+    public void shouldRunCompletionListenerWhenClosedWithoutBeingRead() {
+        // Given
+        final AtomicInteger completions = new AtomicInteger();
+        final CountingCloseableIterable<String> iterable = new CountingCloseableIterable<>(
+                new WrappedCloseableIterable<>(Arrays.asList("a", "b")), count -> {
+        }, completions::incrementAndGet);
+
+        // When
+        iterable.close();
+
+        // Then
+        assertEquals(1, completions.get());
+    }
+}
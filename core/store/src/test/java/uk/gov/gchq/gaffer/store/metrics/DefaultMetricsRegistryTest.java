@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.metrics;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DefaultMetricsRegistryTest {
+    private static final OperationMetricsKey GET_ELEMENTS = new OperationMetricsKey("graph1", "StoreClass", "GetElements");
+    private static final OperationMetricsKey GET_ELEMENTS_GRAPH_2 = new OperationMetricsKey("graph2", "StoreClass", "GetElements");
+
+    @Test
+    public void shouldRecordMetricsPerOperationStoreAndGraphId() {
+        // Given
+        final DefaultMetricsRegistry registry = new DefaultMetricsRegistry();
+
+        // When
+        registry.recordInvocation(GET_ELEMENTS, TimeUnit.MILLISECONDS.toNanos(10), true);
+        registry.recordInvocation(GET_ELEMENTS, TimeUnit.MILLISECONDS.toNanos(20), false);
+        registry.recordElements(GET_ELEMENTS, 5);
+        registry.recordElements(GET_ELEMENTS, 15);
+        registry.recordInvocation(GET_ELEMENTS_GRAPH_2, TimeUnit.MILLISECONDS.toNanos(30), true);
+
+        // Then
+        final List<OperationMetricsSnapshot> snapshots = registry.getSnapshots();
+        assertEquals(2, snapshots.size());
+
+        final OperationMetricsSnapshot graph1 = snapshots.get(0);
+        assertEquals("graph1", graph1.getGraphId());
+        assertEquals("StoreClass", graph1.getStoreClass());
+        assertEquals("GetElements", graph1.getOperationClass());
+        assertEquals(2, graph1.getCount());
+        assertEquals(1, graph1.getFailures());
+        assertEquals(15, graph1.getMeanLatencyMillis(), 0.001);
+        assertEquals(20, graph1.getMaxLatencyMillis(), 0.001);
+        assertTrue(graph1.getP50LatencyMillis() <= graph1.getP99LatencyMillis());
+        assertEquals(20, graph1.getTotalElements());
+        assertEquals(10, graph1.getMeanElements(), 0);
+        assertEquals(15, graph1.getMaxElements());
+
+        final OperationMetricsSnapshot graph2 = snapshots.get(1);
+        assertEquals("graph2", graph2.getGraphId());
+        assertEquals(1, graph2.getCount());
+        assertEquals(0, graph2.getTotalElements());
+    }
+
+    @Test
+    public void shouldRemoveMetricsWhenReset() {
+        // Given
+        final DefaultMetricsRegistry registry = new DefaultMetricsRegistry();
+        registry.recordInvocation(GET_ELEMENTS, 1, true);
+
+        // When
+        registry.reset();
+
+        // Then
+        assertTrue(registry.getSnapshots().isEmpty());
+    }
+}
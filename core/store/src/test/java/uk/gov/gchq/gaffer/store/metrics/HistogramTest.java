@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HistogramTest {
+    @Test
+    public void shouldReturnZerosWhenEmpty() {
+        // Given
+        final Histogram histogram = new Histogram();
+
+        // When / Then
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMean(), 0);
+        assertEquals(0, histogram.getPercentile(99));
+    }
+
+    @Test
+    public void shouldRecordExactCountSumMinAndMax() {
+        // Given
+        final Histogram histogram = new Histogram();
+
+        // When
+        histogram.update(5);
+        histogram.update(1000);
+        histogram.update(-1);
+
+        // Then
+        assertEquals(3, histogram.getCount());
+        assertEquals(1005, histogram.getSum());
+        assertEquals(0, histogram.getMin());
+        assertEquals(1000, histogram.getMax());
+        assertEquals(335, histogram.getMean(), 0);
+    }
+
+    @Test
+    public void shouldEstimatePercentilesWithinBucketAccuracy() {
+        // Given
+        final Histogram histogram = new Histogram();
+
+        // When
+        for (int i = 1; i <= 10000; i++) {
+            histogram.update(i);
+        }
+
+        // Then
+        assertWithinAccuracy(5000, histogram.getPercentile(50));
+        assertWithinAccuracy(9500, histogram.getPercentile(95));
+        assertWithinAccuracy(9900, histogram.getPercentile(99));
+        assertEquals(10000, histogram.getPercentile(100));
+        assertEquals(1, histogram.getPercentile(0));
+    }
+
+    @Test
+    public void shouldMapEveryValueToABucketThatContainsIt() {
+        for (final long value : new long[]{0, 1, 7, 8, 9, 15, 16, 17, 1000, 123456789, Long.MAX_VALUE}) {
+            final int index = Histogram.getBucketIndex(value);
+            assertTrue(value + " should be <= upper bound of bucket " + index, value <= Histogram.getBucketUpperBound(index));
+            if (index > 0) {
+                assertTrue(value + " should be > upper bound of bucket " + (index - 1), value > Histogram.getBucketUpperBound(index - 1));
+            }
+        }
+    }
+
+    @Test
+    public void shouldRejectInvalidPercentile() {
+        // Given
+        final Histogram histogram = new Histogram();
+
+        // When / Then
+        try {
+            histogram.getPercentile(101);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("101"));
+        }
+    }
+
+    private static void assertWithinAccuracy(final long expected, final long actual) {
+        assertTrue("Expected " + actual + " to be within 12.5% of " + expected,
+                Math.abs(actual - expected) <= expected * 0.125);
+    }
+}
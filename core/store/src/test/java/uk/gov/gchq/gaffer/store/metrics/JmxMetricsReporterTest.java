@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.store.metrics;
+
+import org.junit.After;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JmxMetricsReporterTest {
+    private JmxMetricsReporter reporter;
+
+    @After
+    public void after() {
+        if (null != reporter) {
+            reporter.stop();
+        }
+    }
+
+    @Test
+    public void shouldExposeMetricsAsMXBean() throws Exception {
+        // Given
+        final DefaultMetricsRegistry registry = new DefaultMetricsRegistry();
+        registry.recordInvocation(new OperationMetricsKey("graph1", "StoreClass", "GetElements"), 1000, true);
+        reporter = new JmxMetricsReporter(registry);
+
+        // When
+        reporter.start();
+
+        // Then
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final CompositeData[] metrics = (CompositeData[]) server.getAttribute(new ObjectName(JmxMetricsReporter.OBJECT_NAME), "OperationMetrics");
+        assertEquals(1, metrics.length);
+        assertEquals("graph1", metrics[0].get("graphId"));
+        assertEquals("GetElements", metrics[0].get("operationClass"));
+        assertEquals(1L, metrics[0].get("count"));
+    }
+
+    @Test
+    public void shouldUnregisterMXBeanWhenStopped() throws Exception {
+        // Given
+        reporter = new JmxMetricsReporter(new DefaultMetricsRegistry());
+        reporter.start();
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertTrue(server.isRegistered(new ObjectName(JmxMetricsReporter.OBJECT_NAME)));
+
+        // When
+        reporter.stop();
+
+        // Then
+        assertFalse(server.isRegistered(new ObjectName(JmxMetricsReporter.OBJECT_NAME)));
+    }
+}
@@ -44,6 +44,8 @@ import static org.junit.Assert.assertSame;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 public class OperationChainHandlerTest {
 
@@ -149,4 +151,36 @@ public class OperationChainHandlerTest {
         // Then
         assertSame(entityA, result);
     }
+
+    @Test
+    public void shouldExecuteOptimisedOperationChain() throws OperationException {
+        // Given
+        final OperationChainValidator opChainValidator = mock(OperationChainValidator.class);
+        final OperationChainOptimiser opChainOptimiser = mock(OperationChainOptimiser.class);
+        final List<OperationChainOptimiser> opChainOptimisers = Collections.singletonList(opChainOptimiser);
+
+        final OperationChainHandler opChainHandler = new OperationChainHandler(opChainValidator, opChainOptimisers);
+
+        final Context context = mock(Context.class);
+        final Store store = mock(Store.class);
+        final User user = mock(User.class);
+
+        final GetAllElements op = mock(GetAllElements.class);
+        final GetAllElements optimisedOp = mock(GetAllElements.class);
+        final OperationChain opChain = new OperationChain(Collections.singletonList(op));
+        final OperationChain optimisedOpChain = new OperationChain(Collections.singletonList(optimisedOp));
+        final Entity expectedResult = new Entity(TestGroups.ENTITY);
+
+        given(context.getUser()).willReturn(user);
+        given(opChainValidator.validate(any(), any(), any())).willReturn(new ValidationResult());
+        given(opChainOptimiser.optimise(opChain)).willReturn(optimisedOpChain);
+        given(store.handleOperation(optimisedOp, context)).willReturn(expectedResult);
+
+        // When
+        final Object result = opChainHandler.doOperation(opChain, context, store);
+
+        // Then
+        assertSame(expectedResult, result);
+        verify(store, never()).handleOperation(op, context);
+    }
 }
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.function.ExampleTransformFunction;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.function.Filter;
+import uk.gov.gchq.gaffer.operation.impl.function.Transform;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.koryphe.impl.predicate.Exists;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class FunctionToViewOptimiserTest {
+    @Test
+    public void shouldMergeFilterIntoView() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                                .postTransformFilter(new ElementFilter.Builder()
+                                        .select(TestPropertyNames.PROP_1)
+                                        .execute(new Exists())
+                                        .build())
+                                .build())
+                        .entity(TestGroups.ENTITY_2)
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+        final Filter filter = new Filter.Builder()
+                .globalElements(new ElementFilter.Builder()
+                        .select(TestPropertyNames.PROP_2)
+                        .execute(new Exists())
+                        .build())
+                .entity(TestGroups.ENTITY, new ElementFilter.Builder()
+                        .select(TestPropertyNames.COUNT)
+                        .execute(new IsMoreThan(1))
+                        .build())
+                .edge(TestGroups.EDGE)
+                .build();
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(filter)
+                .then(new ToList<>())
+                .build();
+
+        // When
+        final List<Operation> ops = new FunctionToViewOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(2, ops.size());
+        assertSame(getAllElements, ops.get(0));
+        final View view = getAllElements.getView();
+        assertEquals(1, view.getEntities().size());
+        assertEquals(3, view.getEntity(TestGroups.ENTITY).getPostTransformFilterFunctions().size());
+        assertEquals(1, view.getEdge(TestGroups.EDGE).getPostTransformFilterFunctions().size());
+
+        final ElementFilter entityFilter = view.getEntity(TestGroups.ENTITY).getPostTransformFilter();
+        assertTrue(entityFilter.test(new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .property(TestPropertyNames.PROP_1, "1")
+                .property(TestPropertyNames.PROP_2, "2")
+                .property(TestPropertyNames.COUNT, 2)
+                .build()));
+        assertFalse(entityFilter.test(new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .property(TestPropertyNames.PROP_1, "1")
+                .property(TestPropertyNames.PROP_2, "2")
+                .property(TestPropertyNames.COUNT, 1)
+                .build()));
+    }
+
+    @Test
+    public void shouldMergeTransformThenFilterIntoView() {
+        // Given
+        final GetElements getElements = new GetElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build();
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(getElements)
+                .then(new Transform.Builder()
+                        .entity(TestGroups.ENTITY, new ElementTransformer.Builder()
+                                .select(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2)
+                                .execute(new ExampleTransformFunction())
+                                .project(TestPropertyNames.PROP_3)
+                                .build())
+                        .build())
+                .then(new Filter.Builder()
+                        .entity(TestGroups.ENTITY, new ElementFilter.Builder()
+                                .select(TestPropertyNames.PROP_3)
+                                .execute(new Exists())
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final List<Operation> ops = new FunctionToViewOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(1, ops.size());
+        final ViewElementDefinition elementDef = getElements.getView().getEntity(TestGroups.ENTITY);
+        assertEquals(1, elementDef.getTransformFunctions().size());
+        assertEquals(1, elementDef.getPostTransformFilterFunctions().size());
+    }
+
+    @Test
+    public void shouldNotMergeTransformAfterPostTransformFilter() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                                .postTransformFilter(new ElementFilter.Builder()
+                                        .select(TestPropertyNames.PROP_1)
+                                        .execute(new Exists())
+                                        .build())
+                                .build())
+                        .build())
+                .build();
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(new Transform.Builder()
+                        .entity(TestGroups.ENTITY, new ElementTransformer.Builder()
+                                .select(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2)
+                                .execute(new ExampleTransformFunction())
+                                .project(TestPropertyNames.PROP_1)
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final List<Operation> ops = new FunctionToViewOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(opChain.getOperations(), ops);
+        assertNull(getAllElements.getView().getEntity(TestGroups.ENTITY).getTransformer());
+    }
+
+    @Test
+    public void shouldNotMergeFilterWhenViewRestrictsProperties() {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .excludeProperties(TestPropertyNames.PROP_1)
+                        .build())
+                .build();
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(view)
+                .build();
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(new Filter.Builder()
+                        .entity(TestGroups.ENTITY, new ElementFilter.Builder()
+                                .select(TestPropertyNames.PROP_1)
+                                .execute(new Exists())
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final List<Operation> ops = new FunctionToViewOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(opChain.getOperations(), ops);
+        assertSame(view, getAllElements.getView());
+    }
+
+    @Test
+    public void shouldNotMergeFilterThatRemovesAllGroups() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build();
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(new Filter.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+
+        // When
+        final List<Operation> ops = new FunctionToViewOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(opChain.getOperations(), ops);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class LimitPushDownOptimiserTest {
+    @Test
+    public void shouldPushLimitIntoGetElements() {
+        // Given
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed("A"))
+                .option("key", "value")
+                .build();
+        final Limit<Object> limit = new Limit<>(10);
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(getElements)
+                .then(limit)
+                .build();
+
+        // When
+        final OperationChain<?> result = new LimitPushDownOptimiser().optimise(opChain);
+
+        // Then
+        assertEquals(2, result.getOperations().size());
+        assertSame(limit, result.getOperations().get(1));
+        assertEquals(10, (int) LimitPushDownOptimiser.getResultLimit(getElements));
+        assertEquals("value", getElements.getOption("key"));
+    }
+
+    @Test
+    public void shouldPushLimitIntoGetAllElements() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(new Limit<>(5))
+                .build();
+
+        // When
+        new LimitPushDownOptimiser().optimise(opChain);
+
+        // Then
+        assertEquals(5, (int) LimitPushDownOptimiser.getResultLimit(getAllElements));
+    }
+
+    @Test
+    public void shouldNotPushNonTruncatingLimit() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(new Limit<>(5, false))
+                .build();
+
+        // When
+        new LimitPushDownOptimiser().optimise(opChain);
+
+        // Then
+        assertNull(LimitPushDownOptimiser.getResultLimit(getAllElements));
+    }
+
+    @Test
+    public void shouldNotPushLimitPastOtherOperations() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(new ToList<>())
+                .then(new Limit<>(5))
+                .build();
+
+        // When
+        new LimitPushDownOptimiser().optimise(opChain);
+
+        // Then
+        assertNull(LimitPushDownOptimiser.getResultLimit(getAllElements));
+    }
+
+    @Test
+    public void shouldKeepSmallerExistingLimit() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .option(LimitPushDownOptimiser.RESULT_LIMIT, "3")
+                .build();
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(new Limit<>(5))
+                .build();
+
+        // When
+        new LimitPushDownOptimiser().optimise(opChain);
+
+        // Then
+        assertEquals(3, (int) LimitPushDownOptimiser.getResultLimit(getAllElements));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.Count;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class RedundantOutputOptimiserTest {
+    @Test
+    public void shouldRemoveToListsBeforeToSet() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final ToSet<Object> toSet = new ToSet<>();
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(new ToList<>())
+                .then(new ToList<>())
+                .then(toSet)
+                .build();
+
+        // When
+        final List<Operation> ops = new RedundantOutputOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(Arrays.asList(getAllElements, toSet), ops);
+    }
+
+    @Test
+    public void shouldRemoveToListBeforeCount() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final Count<Object> count = new Count<>();
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(new ToList<>())
+                .then(count)
+                .build();
+
+        // When
+        final List<Operation> ops = new RedundantOutputOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(Arrays.asList(getAllElements, count), ops);
+    }
+
+    @Test
+    public void shouldRemoveToSetBeforeToSet() {
+        // Given
+        final ToSet<Object> toSet = new ToSet<>();
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new ToSet<>())
+                .then(toSet)
+                .build();
+
+        // When
+        final List<Operation> ops = new RedundantOutputOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(2, ops.size());
+        assertSame(toSet, ops.get(1));
+    }
+
+    @Test
+    public void shouldNotRemoveToSetBeforeCount() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new ToSet<>())
+                .then(new Count<>())
+                .build();
+
+        // When
+        final List<Operation> ops = new RedundantOutputOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(opChain.getOperations(), ops);
+    }
+
+    @Test
+    public void shouldNotRemoveToListBeforeLimitOrAtEndOfChain() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(new ToList<>())
+                .then(new Limit<>(10))
+                .then(new ToList<>())
+                .build();
+
+        // When
+        final List<Operation> ops = new RedundantOutputOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(opChain.getOperations(), ops);
+    }
+
+    @Test
+    public void shouldNotRemoveToListWithInput() {
+        // Given
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new ToList.Builder<>()
+                        .input("a", "b")
+                        .build())
+                .then(new ToSet<>())
+                .build();
+
+        // When
+        final List<Operation> ops = new RedundantOutputOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(opChain.getOperations(), ops);
+    }
+}
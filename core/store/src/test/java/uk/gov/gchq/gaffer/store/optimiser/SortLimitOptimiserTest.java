@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.optimiser;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.comparison.ElementPropertyComparator;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.compare.Sort;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class SortLimitOptimiserTest {
+    @Test
+    public void shouldCollapseSortAndLimitIntoLimitedSort() {
+        // Given
+        final GetAllElements getAllElements = new GetAllElements();
+        final Sort sort = createSort(null);
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(getAllElements)
+                .then(sort)
+                .then(new Limit<>(10))
+                .build();
+
+        // When
+        final List<Operation> ops = new SortLimitOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(2, ops.size());
+        assertSame(getAllElements, ops.get(0));
+        assertSame(sort, ops.get(1));
+        assertEquals(10, (int) sort.getResultLimit());
+    }
+
+    @Test
+    public void shouldKeepSmallerSortResultLimit() {
+        // Given
+        final Sort sort = createSort(5);
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(sort)
+                .then(new Limit<>(10))
+                .build();
+
+        // When
+        final List<Operation> ops = new SortLimitOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(2, ops.size());
+        assertEquals(5, (int) sort.getResultLimit());
+    }
+
+    @Test
+    public void shouldNotCollapseNonTruncatingLimit() {
+        // Given
+        final Sort sort = createSort(null);
+        final Limit<Object> limit = new Limit<>(10, false);
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(sort)
+                .then(limit)
+                .build();
+
+        // When
+        final List<Operation> ops = new SortLimitOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(3, ops.size());
+        assertSame(limit, ops.get(2));
+        assertEquals(null, sort.getResultLimit());
+    }
+
+    @Test
+    public void shouldNotCollapseLimitOfOne() {
+        // Given
+        final Sort sort = createSort(null);
+        final Limit<Object> limit = new Limit<>(1);
+        final OperationChain<?> opChain = new OperationChain.Builder()
+                .first(new GetAllElements())
+                .then(sort)
+                .then(limit)
+                .build();
+
+        // When
+        final List<Operation> ops = new SortLimitOptimiser().optimise(opChain).getOperations();
+
+        // Then
+        assertEquals(3, ops.size());
+        assertSame(limit, ops.get(2));
+        assertEquals(null, sort.getResultLimit());
+    }
+
+    private Sort createSort(final Integer resultLimit) {
+        return new Sort.Builder()
+                .comparators(new ElementPropertyComparator.Builder()
+                        .groups(TestGroups.ENTITY)
+                        .property(TestPropertyNames.COUNT)
+                        .build())
+                .resultLimit(resultLimit)
+                .build();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.integration.impl;
+
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.generator.OneToOneObjectGenerator;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.integration.AbstractStoreIT;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.Limit;
+import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToList;
+import uk.gov.gchq.gaffer.operation.impl.output.ToSet;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that operation chains executed with streaming enabled do not collect
+ * intermediate results into memory, so the memory used by a chain does not
+ * grow with the number of elements it reads.
+ */
+public class StreamingOperationChainIT extends AbstractStoreIT {
+    private static final AtomicInteger NUM_GENERATED = new AtomicInteger();
+
+    @Override
+    @Before
+    public void setup() throws Exception {
+        super.setup();
+
+        final StoreProperties streamingProperties = getStoreProperties().clone();
+        streamingProperties.setOperationChainStreamingEnabled(true);
+        graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(graph.getGraphId())
+                        .build())
+                .storeProperties(streamingProperties)
+                .addSchema(createSchema())
+                .addSchema(getStoreSchema())
+                .build();
+
+        addDefaultElements();
+        NUM_GENERATED.set(0);
+    }
+
+    @Test
+    public void shouldOnlyReadElementsRequiredByLimitWhenStreamingToList() throws OperationException {
+        // Given
+        final OperationChain<Iterable<?>> opChain = new OperationChain.Builder()
+                .first(new GetAllElements.Builder()
+                        .view(new View.Builder()
+                                .entity(TestGroups.ENTITY)
+                                .build())
+                        .build())
+                .then(new GenerateObjects.Builder<Object>()
+                        .generator(new CountingGenerator())
+                        .build())
+                .then(new ToList<>())
+                .then(new Limit<>(1))
+                .build();
+
+        // When
+        final List<?> results = Lists.newArrayList(graph.execute(opChain, getUser()));
+
+        // Then
+        final long numEntities = getEntities().values().stream()
+                .filter(e -> TestGroups.ENTITY.equals(e.getGroup()))
+                .count();
+        assertEquals(1, results.size());
+        assertTrue("Expected more than 2 entities, but there were " + numEntities, numEntities > 2);
+        assertTrue("Expected at most 2 elements to be generated, but " + NUM_GENERATED.get() + " were generated", NUM_GENERATED.get() <= 2);
+    }
+
+    @Test
+    public void shouldRemoveDuplicatesWhenStreamingToSet() throws OperationException {
+        // Given
+        final OperationChain<Iterable<?>> opChain = new OperationChain.Builder()
+                .first(new GetAllElements.Builder()
+                        .view(new View.Builder()
+                                .edge(TestGroups.EDGE)
+                                .build())
+                        .build())
+                .then(new GenerateObjects.Builder<Object>()
+                        .generator(new CountingSourceGenerator())
+                        .build())
+                .then(new ToSet<>())
+                .then(new Limit<>(2))
+                .build();
+
+        // When
+        final List<?> results = Lists.newArrayList(graph.execute(opChain, getUser()));
+
+        // Then
+        final List<Edge> edges = getEdges().values().stream()
+                .filter(e -> TestGroups.EDGE.equals(e.getGroup()))
+                .collect(Collectors.toList());
+        final Set<Object> sources = edges.stream()
+                .map(Edge::getSource)
+                .collect(Collectors.toSet());
+        assertEquals(2, results.size());
+        assertEquals(2, new HashSet<>(results).size());
+        assertTrue(sources.containsAll(results));
+        assertTrue("Expected fewer than " + edges.size() + " edges to be generated, but " + NUM_GENERATED.get() + " were generated", NUM_GENERATED.get() < edges.size());
+    }
+
+    public static class CountingGenerator implements OneToOneObjectGenerator<Object> {
+        @Override
+        public Object _apply(final Element element) {
+            NUM_GENERATED.incrementAndGet();
+            return element;
+        }
+    }
+
+    public static class CountingSourceGenerator implements OneToOneObjectGenerator<Object> {
+        @Override
+        public Object _apply(final Element element) {
+            NUM_GENERATED.incrementAndGet();
+            return ((Edge) element).getSource();
+        }
+    }
+}
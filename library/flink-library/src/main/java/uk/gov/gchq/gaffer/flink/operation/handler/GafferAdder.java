@@ -31,6 +31,7 @@ import uk.gov.gchq.gaffer.user.User;
 import java.io.Serializable;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Helper class to add {@link Element}s to a Gaffer store.
@@ -76,19 +77,25 @@ public class GafferAdder implements Serializable {
 
         if (restart && !queue.isEmpty()) {
             restart = false;
-            store.runAsync(() -> {
-                try {
-                    store.execute(new AddElements.Builder()
-                                    .input(new GafferQueue<>(queue))
-                                    .validate(validate)
-                                    .skipInvalidElements(skipInvalid)
-                                    .build(),
-                            new Context(new User()));
-                    restart = true;
-                } catch (final OperationException e) {
-                    throw new RuntimeException(e);
-                }
-            });
+            try {
+                store.runAsync(() -> {
+                    try {
+                        store.execute(new AddElements.Builder()
+                                        .input(new GafferQueue<>(queue))
+                                        .validate(validate)
+                                        .skipInvalidElements(skipInvalid)
+                                        .build(),
+                                new Context(new User()));
+                        restart = true;
+                    } catch (final OperationException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+            } catch (final RejectedExecutionException e) {
+                // The store's job queue is full - the elements stay queued
+                // and are added when the next elements arrive.
+                restart = true;
+            }
         }
     }
 }
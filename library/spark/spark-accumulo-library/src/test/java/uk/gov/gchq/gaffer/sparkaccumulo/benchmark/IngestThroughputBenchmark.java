@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.sparkaccumulo.benchmark;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.sparkaccumulo.operation.handler.MiniAccumuloClusterProvider;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the rate at which an {@link uk.gov.gchq.gaffer.accumulostore.AccumuloStore}
+ * backed by a {@link org.apache.accumulo.minicluster.MiniAccumuloCluster} ingests
+ * elements, for different numbers of ingest converter threads.
+ * <p>
+ * This is not run as part of the build. Run the main method, optionally passing
+ * the number of edges to add as the first argument and a comma separated list
+ * of converter thread counts as the second argument.
+ * </p>
+ */
+public final class IngestThroughputBenchmark {
+    private static final int DEFAULT_NUM_EDGES = 1000000;
+    private static final String DEFAULT_CONVERTER_THREADS = "1,2,4,8";
+    private static final int NUM_VERTICES = 100000;
+    private static final String EDGE_GROUP = "BasicEdge";
+
+    private IngestThroughputBenchmark() {
+        // Private constructor to prevent instantiation.
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int numEdges = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_EDGES;
+        final String[] converterThreads = (args.length > 1 ? args[1] : DEFAULT_CONVERTER_THREADS).split(",");
+        final List<Element> edges = createEdges(numEdges);
+
+        for (final String numConverterThreads : converterThreads) {
+            final Graph graph = createGraph(numConverterThreads);
+            final long start = System.currentTimeMillis();
+            graph.execute(new AddElements.Builder()
+                    .input(edges)
+                    .build(), new User());
+            final long duration = Math.max(1L, System.currentTimeMillis() - start);
+            System.out.println(String.format("%s converter threads: %,d edges in %,d ms (%,d edges per second)",
+                    numConverterThreads, numEdges, duration, (numEdges * 1000L) / duration));
+        }
+    }
+
+    private static Graph createGraph(final String numConverterThreads) throws Exception {
+        final AccumuloProperties storeProperties = MiniAccumuloClusterProvider.getAccumuloProperties().clone();
+        storeProperties.setIngestConverterThreads(numConverterThreads);
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("ingestBenchmark" + numConverterThreads)
+                        .build())
+                .addSchema(IngestThroughputBenchmark.class.getResourceAsStream("/schema/elements.json"))
+                .addSchema(IngestThroughputBenchmark.class.getResourceAsStream("/schema/types.json"))
+                .addSchema(IngestThroughputBenchmark.class.getResourceAsStream("/schema/serialisation.json"))
+                .storeProperties(storeProperties)
+                .build();
+    }
+
+    private static List<Element> createEdges(final int numEdges) {
+        final List<Element> edges = new ArrayList<>(numEdges);
+        for (int i = 0; i < numEdges; i++) {
+            edges.add(new Edge.Builder()
+                    .group(EDGE_GROUP)
+                    .source("vertex" + (i % NUM_VERTICES))
+                    .dest("vertex" + ((i * 31) % NUM_VERTICES))
+                    .directed(true)
+                    .property("columnQualifier", i % 10)
+                    .property("property1", i)
+                    .property("count", 1)
+                    .build());
+        }
+        return edges;
+    }
+}
@@ -41,6 +41,8 @@ public final class ServiceConstants {
     public static final String JOB_NOT_FOUND = "Job was not found";
     public static final String JOB_SERVICE_UNAVAILABLE = "The job service is not available";
 
+    public static final String METRICS_NOT_ENABLED = "Metrics have not been enabled in the store properties";
+
     static {
         final String apiVersion = System.getProperty(SystemProperty.REST_API_VERSION, SystemProperty.CORE_VERSION);
         GAFFER_MEDIA_TYPE = "gaffer.v" + apiVersion.charAt(0) + "; format=json";
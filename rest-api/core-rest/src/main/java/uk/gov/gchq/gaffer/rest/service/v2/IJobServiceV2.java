@@ -27,6 +27,7 @@ import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationException;
 
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
@@ -80,6 +81,16 @@ public interface IJobServiceV2 {
             @ApiResponse(code = 503, message = JOB_SERVICE_UNAVAILABLE)})
     Response details(@ApiParam(value = "a job id") @PathParam("id") final String id) throws OperationException;
 
+    @DELETE
+    @Path("{id}")
+    @ApiOperation(value = "Cancels a queued or running job", response = JobDetail.class, produces = APPLICATION_JSON)
+    @ApiResponses(value = {@ApiResponse(code = 200, message = OK),
+            @ApiResponse(code = 403, message = FORBIDDEN),
+            @ApiResponse(code = 404, message = JOB_NOT_FOUND),
+            @ApiResponse(code = 500, message = INTERNAL_SERVER_ERROR),
+            @ApiResponse(code = 503, message = JOB_SERVICE_UNAVAILABLE)})
+    Response cancel(@ApiParam(value = "a job id") @PathParam("id") final String id) throws OperationException;
+
     @GET
     @Path("{id}/results")
     @ApiOperation(value = "Get the results of a job", response = Object.class, responseContainer = "List", produces = APPLICATION_JSON)
@@ -21,6 +21,7 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 
 import uk.gov.gchq.gaffer.rest.SystemStatus;
+import uk.gov.gchq.gaffer.store.metrics.OperationMetricsSnapshot;
 
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
@@ -29,6 +30,7 @@ import javax.ws.rs.core.Response;
 
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.INTERNAL_SERVER_ERROR;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.METRICS_NOT_ENABLED;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.OK;
 
 /**
@@ -46,4 +48,13 @@ public interface IStatusServiceV2 {
             @ApiResponse(code = 500, message = INTERNAL_SERVER_ERROR),
             @ApiResponse(code = 503, message = "The service is not available")})
     Response status();
+
+    @GET
+    @Path("/metrics")
+    @ApiOperation(value = "Returns the latency and number of elements returned for each operation",
+            response = OperationMetricsSnapshot.class, responseContainer = "List", produces = APPLICATION_JSON)
+    @ApiResponses(value = {@ApiResponse(code = 200, message = OK),
+            @ApiResponse(code = 500, message = INTERNAL_SERVER_ERROR),
+            @ApiResponse(code = 503, message = METRICS_NOT_ENABLED)})
+    Response metrics();
 }
@@ -23,6 +23,7 @@ import uk.gov.gchq.gaffer.jobtracker.JobDetail;
 import uk.gov.gchq.gaffer.operation.Operation;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.job.CancelJob;
 import uk.gov.gchq.gaffer.operation.impl.job.GetAllJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobDetails;
 import uk.gov.gchq.gaffer.operation.impl.job.GetJobResults;
@@ -103,6 +104,17 @@ public class JobServiceV2 implements IJobServiceV2 {
                 .build();
     }
 
+    @Override
+    public Response cancel(final String id) throws OperationException {
+        return Response.ok(graphFactory.getGraph().execute(
+                new CancelJob.Builder()
+                        .jobId(id)
+                        .build(),
+                userFactory.createContext()))
+                .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
+                .build();
+    }
+
     @Override
     public Response results(final String id) throws OperationException {
         return Response.ok(graphFactory.getGraph().execute(
@@ -21,12 +21,15 @@ import uk.gov.gchq.gaffer.core.exception.Status;
 import uk.gov.gchq.gaffer.rest.SystemStatus;
 import uk.gov.gchq.gaffer.rest.factory.GraphFactory;
 import uk.gov.gchq.gaffer.rest.factory.UserFactory;
+import uk.gov.gchq.gaffer.store.metrics.MetricsRegistry;
+import uk.gov.gchq.gaffer.store.metrics.MetricsServiceLoader;
 
 import javax.inject.Inject;
 import javax.ws.rs.core.Response;
 
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE;
 import static uk.gov.gchq.gaffer.rest.ServiceConstants.GAFFER_MEDIA_TYPE_HEADER;
+import static uk.gov.gchq.gaffer.rest.ServiceConstants.METRICS_NOT_ENABLED;
 
 /**
  * An implementation of {@link uk.gov.gchq.gaffer.rest.service.v2.IStatusServiceV2}.
@@ -66,4 +69,26 @@ public class StatusServiceV2 implements IStatusServiceV2 {
                        .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
                        .build();
     }
+
+    @Override
+    public Response metrics() {
+        try {
+            // Ensure the graph, and therefore the metrics registry, has been created
+            graphFactory.getGraph();
+        } catch (final Exception e) {
+            throw new GafferRuntimeException("Unable to create graph.", e, Status.INTERNAL_SERVER_ERROR);
+        }
+
+        final MetricsRegistry registry = MetricsServiceLoader.getRegistry();
+        if (null == registry) {
+            return Response.status(503)
+                           .entity(METRICS_NOT_ENABLED)
+                           .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
+                           .build();
+        }
+
+        return Response.ok(registry.getSnapshots())
+                       .header(GAFFER_MEDIA_TYPE_HEADER, GAFFER_MEDIA_TYPE)
+                       .build();
+    }
 }
@@ -76,6 +76,13 @@ public class RestApiV2TestClient extends RestApiTestClient {
                 .get(SystemStatus.class);
     }
 
+    public Response getMetrics() {
+        return client.target(uriString)
+                .path("/graph/status/metrics")
+                .request()
+                .get(Response.class);
+    }
+
     public Response getProperties() {
         return client.target(uriString)
                 .path("/properties")
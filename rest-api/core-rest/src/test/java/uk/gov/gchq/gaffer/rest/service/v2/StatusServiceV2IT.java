@@ -15,11 +15,66 @@
  */
 package uk.gov.gchq.gaffer.rest.service.v2;
 
+import org.junit.After;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.rest.RestApiTestClient;
+import uk.gov.gchq.gaffer.rest.SystemProperty;
 import uk.gov.gchq.gaffer.rest.service.impl.StatusServiceIT;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+import uk.gov.gchq.gaffer.store.metrics.MetricsServiceLoader;
+
+import javax.ws.rs.core.Response;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class StatusServiceV2IT extends StatusServiceIT {
 
+    @After
+    public void shutdownMetrics() {
+        MetricsServiceLoader.shutdown();
+    }
+
+    @Test
+    public void shouldReturnServiceUnavailableWhenMetricsAreNotEnabled() {
+        // When
+        final Response response = ((RestApiV2TestClient) client).getMetrics();
+
+        // Then
+        assertEquals(503, response.getStatus());
+    }
+
+    @Test
+    public void shouldReturnOperationMetricsWhenEnabled() throws IOException {
+        // Given
+        final StoreProperties properties = StoreProperties.loadStoreProperties(StreamUtil.openStream(RestApiTestClient.class, StreamUtil.STORE_PROPERTIES));
+        properties.setMetricsEnabled(true);
+        final File propertiesFile = testFolder.newFile("metrics-store.properties");
+        try (final OutputStream out = new FileOutputStream(propertiesFile)) {
+            properties.getProperties().store(out, null);
+        }
+        System.setProperty(SystemProperty.STORE_PROPERTIES_PATH, propertiesFile.getAbsolutePath());
+        client.reinitialiseGraph();
+        client.addElements(DEFAULT_ELEMENTS);
+
+        // When
+        final Response response = ((RestApiV2TestClient) client).getMetrics();
+
+        // Then
+        assertEquals(200, response.getStatus());
+        final String metrics = response.readEntity(String.class);
+        assertTrue(metrics, metrics.contains(AddElements.class.getName()));
+        assertTrue(metrics, metrics.contains("\"graphId\""));
+    }
+
     @Override
     protected RestApiTestClient getClient() {
         return new RestApiV2TestClient();
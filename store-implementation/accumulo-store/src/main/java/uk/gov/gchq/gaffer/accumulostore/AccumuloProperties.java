@@ -17,6 +17,8 @@
 package uk.gov.gchq.gaffer.accumulostore;
 
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.sharded.ShardUtils;
+import uk.gov.gchq.gaffer.accumulostore.membership.MembershipFilterType;
 import uk.gov.gchq.gaffer.sketches.serialisation.json.SketchesJsonModules;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.koryphe.impl.binaryoperator.StringDeduplicateConcat;
@@ -33,6 +35,7 @@ import java.nio.file.Path;
 public class AccumuloProperties extends StoreProperties {
 
     public static final String KEY_PACKAGE_CLASS = "gaffer.store.accumulo.keypackage.class";
+    public static final String KEY_PACKAGE_NUM_SHARDS = "gaffer.store.accumulo.keypackage.numShards";
     public static final String INSTANCE_NAME = "accumulo.instance";
     public static final String ZOOKEEPERS = "accumulo.zookeepers";
     /**
@@ -44,25 +47,44 @@ public class AccumuloProperties extends StoreProperties {
     public static final String PASSWORD = "accumulo.password";
     public static final String THREADS_FOR_BATCH_SCANNER = "accumulo.batchScannerThreads";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "accumulo.entriesForBatchScanner";
+    public static final String BATCH_SCANNER_PREFETCH_DEPTH = "accumulo.batchScannerPrefetchDepth";
+    public static final String INGEST_CONVERTER_THREADS = "accumulo.ingestConverterThreads";
+    public static final String INGEST_CONVERTER_BATCH_SIZE = "accumulo.ingestConverterBatchSize";
+    public static final String BULK_LOAD_THREADS = "accumulo.bulkLoadThreads";
+    public static final String BULK_LOAD_MAX_ENTRIES_PER_RUN = "accumulo.bulkLoadMaxEntriesPerRun";
     public static final String CLIENT_SIDE_BLOOM_FILTER_SIZE = "accumulo.clientSideBloomFilterSize";
     public static final String FALSE_POSITIVE_RATE = "accumulo.falsePositiveRate";
+    public static final String MEMBERSHIP_FILTER_TYPE = "accumulo.membershipFilterType";
     public static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR = "accumulo.maxBloomFilterToPassToAnIterator";
     public static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER = "accumulo.maxBufferSizeForBatchWriterInBytes";
     public static final String MAX_TIME_OUT_FOR_BATCH_WRITER = "accumulo.maxTimeOutForBatchWriterInMilliseconds";
     public static final String NUM_THREADS_FOR_BATCH_WRITER = "accumulo.numThreadsForBatchWriter";
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
     public static final String ENABLE_VALIDATOR_ITERATOR = "gaffer.store.accumulo.enable.validator.iterator";
+    public static final String ENABLE_SUMMARY_TABLE = "gaffer.store.accumulo.enable.summary.table";
+    public static final String ENABLE_SUMMARY_TABLE_CARDINALITY = "gaffer.store.accumulo.enable.summary.table.cardinality";
+    public static final String ENABLE_RANGE_COALESCING = "gaffer.store.accumulo.enable.range.coalescing";
 
     // default values
     private static final String NUM_THREADS_FOR_BATCH_WRITER_DEFAULT = "10";
+    private static final String KEY_PACKAGE_NUM_SHARDS_DEFAULT = String.valueOf(ShardUtils.DEFAULT_NUM_SHARDS);
     private static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    private static final String BATCH_SCANNER_PREFETCH_DEPTH_DEFAULT = "1";
+    private static final String INGEST_CONVERTER_THREADS_DEFAULT = "1";
+    private static final String INGEST_CONVERTER_BATCH_SIZE_DEFAULT = "1000";
+    private static final String BULK_LOAD_THREADS_DEFAULT = "4";
+    private static final String BULK_LOAD_MAX_ENTRIES_PER_RUN_DEFAULT = "250000";
     private static final String CLIENT_SIDE_BLOOM_FILTER_SIZE_DEFAULT = "838860800";
     private static final String FALSE_POSITIVE_RATE_DEFAULT = "0.0002";
+    private static final String MEMBERSHIP_FILTER_TYPE_DEFAULT = MembershipFilterType.BLOCKED_BLOOM.name();
     private static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR_DEFAULT = "8388608";
     private static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER_DEFAULT = "100000000";
     private static final String MAX_TIME_OUT_FOR_BATCH_WRITER_DEFAULT = "1000";
     private static final String THREADS_FOR_BATCH_SCANNER_DEFAULT = "10";
     public static final String ENABLE_VALIDATOR_ITERATOR_DEFAULT = "true";
+    private static final String ENABLE_SUMMARY_TABLE_DEFAULT = "false";
+    private static final String ENABLE_SUMMARY_TABLE_CARDINALITY_DEFAULT = "false";
+    private static final String ENABLE_RANGE_COALESCING_DEFAULT = "true";
 
     public AccumuloProperties() {
         super(AccumuloStore.class);
@@ -283,6 +305,111 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Gets the number of batch scanners that may be opened in the background,
+     * ahead of the batch scanner currently being consumed, when retrieving
+     * elements for more seeds than fit into a single batch scanner.
+     * A value of 0 disables prefetching, so the next batch scanner is only
+     * opened once the current one has been fully consumed.
+     *
+     * @return An integer representing the number of batch scanners to prefetch.
+     */
+    public int getBatchScannerPrefetchDepth() {
+        return Integer.parseInt(get(BATCH_SCANNER_PREFETCH_DEPTH, BATCH_SCANNER_PREFETCH_DEPTH_DEFAULT));
+    }
+
+    /**
+     * Sets the number of batch scanners that may be opened in the background,
+     * ahead of the batch scanner currently being consumed.
+     *
+     * @param batchScannerPrefetchDepth the number of batch scanners to prefetch, 0 to disable prefetching.
+     */
+    public void setBatchScannerPrefetchDepth(final String batchScannerPrefetchDepth) {
+        set(BATCH_SCANNER_PREFETCH_DEPTH, batchScannerPrefetchDepth);
+    }
+
+    /**
+     * Gets the number of threads used to convert elements into Accumulo
+     * mutations when adding elements. A value of 1 converts the elements on
+     * the calling thread. With more than 1 thread the order in which the
+     * mutations are written is not guaranteed.
+     *
+     * @return An integer representing the number of threads to convert elements on.
+     */
+    public int getIngestConverterThreads() {
+        return Integer.parseInt(get(INGEST_CONVERTER_THREADS, INGEST_CONVERTER_THREADS_DEFAULT));
+    }
+
+    /**
+     * Sets the number of threads used to convert elements into Accumulo
+     * mutations when adding elements.
+     *
+     * @param ingestConverterThreads the number of threads to convert elements on, 1 to convert on the calling thread.
+     */
+    public void setIngestConverterThreads(final String ingestConverterThreads) {
+        set(INGEST_CONVERTER_THREADS, ingestConverterThreads);
+    }
+
+    /**
+     * Gets the number of elements handed to a converter thread at a time when
+     * elements are converted into mutations on more than one thread.
+     *
+     * @return An integer representing the number of elements in each conversion batch.
+     */
+    public int getIngestConverterBatchSize() {
+        return Integer.parseInt(get(INGEST_CONVERTER_BATCH_SIZE, INGEST_CONVERTER_BATCH_SIZE_DEFAULT));
+    }
+
+    /**
+     * Sets the number of elements handed to a converter thread at a time.
+     *
+     * @param ingestConverterBatchSize the number of elements in each conversion batch.
+     */
+    public void setIngestConverterBatchSize(final String ingestConverterBatchSize) {
+        set(INGEST_CONVERTER_BATCH_SIZE, ingestConverterBatchSize);
+    }
+
+    /**
+     * Gets the number of threads used to convert, sort and write elements
+     * when they are bulk loaded using
+     * {@link uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.AddElementsViaRFiles}.
+     *
+     * @return An integer representing the number of bulk load threads.
+     */
+    public int getBulkLoadThreads() {
+        return Integer.parseInt(get(BULK_LOAD_THREADS, BULK_LOAD_THREADS_DEFAULT));
+    }
+
+    /**
+     * Sets the number of threads used to convert, sort and write elements
+     * when they are bulk loaded.
+     *
+     * @param bulkLoadThreads the number of bulk load threads.
+     */
+    public void setBulkLoadThreads(final String bulkLoadThreads) {
+        set(BULK_LOAD_THREADS, bulkLoadThreads);
+    }
+
+    /**
+     * Gets the maximum number of key-value pairs each bulk load thread holds
+     * in memory before sorting them and writing them out as a run of RFiles.
+     *
+     * @return An integer representing the maximum number of key-value pairs in each sorted run.
+     */
+    public int getBulkLoadMaxEntriesPerRun() {
+        return Integer.parseInt(get(BULK_LOAD_MAX_ENTRIES_PER_RUN, BULK_LOAD_MAX_ENTRIES_PER_RUN_DEFAULT));
+    }
+
+    /**
+     * Sets the maximum number of key-value pairs each bulk load thread holds
+     * in memory before writing them out as a sorted run.
+     *
+     * @param bulkLoadMaxEntriesPerRun the maximum number of key-value pairs in each sorted run.
+     */
+    public void setBulkLoadMaxEntriesPerRun(final String bulkLoadMaxEntriesPerRun) {
+        set(BULK_LOAD_MAX_ENTRIES_PER_RUN, bulkLoadMaxEntriesPerRun);
+    }
+
     /**
      * Gets the size that should be used for the creation of bloom filters on the
      * client side.
@@ -349,6 +476,28 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR, maxBloomFilterToPassToAnIterator);
     }
 
+    /**
+     * Gets the type of filter passed to the iterators to filter edges on the
+     * vertex that was not queried for, when getting elements within or between
+     * sets. The filter is sized using the false positive rate and is no larger
+     * than the maximum bloom filter size to pass to an iterator.
+     *
+     * @return the {@link MembershipFilterType} to pass to the iterators.
+     */
+    public MembershipFilterType getMembershipFilterType() {
+        return MembershipFilterType.valueOf(get(MEMBERSHIP_FILTER_TYPE, MEMBERSHIP_FILTER_TYPE_DEFAULT));
+    }
+
+    /**
+     * Sets the type of filter passed to the iterators when getting elements
+     * within or between sets.
+     *
+     * @param membershipFilterType the name of the {@link MembershipFilterType} to pass to the iterators.
+     */
+    public void setMembershipFilterType(final String membershipFilterType) {
+        set(MEMBERSHIP_FILTER_TYPE, membershipFilterType);
+    }
+
     /**
      * Gets the key package that should be used in conjunction with this table.
      *
@@ -369,6 +518,28 @@ public class AccumuloProperties extends StoreProperties {
         set(KEY_PACKAGE_CLASS, keyPackageClass);
     }
 
+    /**
+     * Gets the number of shards that row keys are spread over by key packages
+     * that shard their row keys, such as the
+     * {@link uk.gov.gchq.gaffer.accumulostore.key.core.impl.sharded.ShardedByteEntityKeyPackage}.
+     * Other key packages ignore this property.
+     *
+     * @return An integer representing the number of shards.
+     */
+    public int getKeyPackageNumShards() {
+        return Integer.parseInt(get(KEY_PACKAGE_NUM_SHARDS, KEY_PACKAGE_NUM_SHARDS_DEFAULT));
+    }
+
+    /**
+     * Sets the number of shards that row keys are spread over. This must not
+     * be changed once elements have been added to the table.
+     *
+     * @param keyPackageNumShards the number of shards, between 1 and 255.
+     */
+    public void setKeyPackageNumShards(final String keyPackageNumShards) {
+        set(KEY_PACKAGE_NUM_SHARDS, keyPackageNumShards);
+    }
+
     /**
      * Gets the replication factor to be applied to tables created by Gaffer, if
      * not set then the table will use your general Accumulo settings default
@@ -411,6 +582,67 @@ public class AccumuloProperties extends StoreProperties {
         set(ENABLE_VALIDATOR_ITERATOR, Boolean.toString(enableValidatorIterator));
     }
 
+    /**
+     * Gets the flag determining whether a summary table of per vertex, per
+     * group element counts should be maintained alongside the main table.
+     *
+     * @return true if the summary table should be maintained.
+     */
+    public boolean getEnableSummaryTable() {
+        return Boolean.parseBoolean(get(ENABLE_SUMMARY_TABLE, ENABLE_SUMMARY_TABLE_DEFAULT));
+    }
+
+    /**
+     * Sets the flag determining whether a summary table of per vertex, per
+     * group element counts should be maintained alongside the main table.
+     *
+     * @param enableSummaryTable true if the summary table should be maintained.
+     */
+    public void setEnableSummaryTable(final boolean enableSummaryTable) {
+        set(ENABLE_SUMMARY_TABLE, Boolean.toString(enableSummaryTable));
+    }
+
+    /**
+     * Gets the flag determining whether the summary table should also hold a
+     * HyperLogLog++ sketch of the distinct neighbours of each vertex.
+     *
+     * @return true if distinct neighbour sketches should be maintained.
+     */
+    public boolean getEnableSummaryTableCardinality() {
+        return Boolean.parseBoolean(get(ENABLE_SUMMARY_TABLE_CARDINALITY, ENABLE_SUMMARY_TABLE_CARDINALITY_DEFAULT));
+    }
+
+    /**
+     * Sets the flag determining whether the summary table should also hold a
+     * HyperLogLog++ sketch of the distinct neighbours of each vertex.
+     *
+     * @param enableSummaryTableCardinality true if distinct neighbour sketches should be maintained.
+     */
+    public void setEnableSummaryTableCardinality(final boolean enableSummaryTableCardinality) {
+        set(ENABLE_SUMMARY_TABLE_CARDINALITY, Boolean.toString(enableSummaryTableCardinality));
+    }
+
+    /**
+     * Gets the flag determining whether the ranges created from a batch of
+     * seeds should be sorted and merged, and the batch scanner threads limited
+     * to the number of tablets they cover, before they are scanned.
+     *
+     * @return true if ranges should be coalesced.
+     */
+    public boolean getEnableRangeCoalescing() {
+        return Boolean.parseBoolean(get(ENABLE_RANGE_COALESCING, ENABLE_RANGE_COALESCING_DEFAULT));
+    }
+
+    /**
+     * Sets the flag determining whether the ranges created from a batch of
+     * seeds should be coalesced before they are scanned.
+     *
+     * @param enableRangeCoalescing true if ranges should be coalesced.
+     */
+    public void setEnableRangeCoalescing(final boolean enableRangeCoalescing) {
+        set(ENABLE_RANGE_COALESCING, Boolean.toString(enableRangeCoalescing));
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
@@ -17,6 +17,7 @@
 package uk.gov.gchq.gaffer.accumulostore;
 
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
 import org.apache.accumulo.core.client.BatchWriter;
@@ -49,18 +50,25 @@ import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsBetweenSets
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsInRangesHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsWithinSetHandler;
+import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetVertexStatisticsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.SampleElementsForSplitPointsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.SummariseGroupOverRangesHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.AddElementsFromHdfsHandler;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.AddElementsViaRFilesHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.ImportAccumuloKeyValueFilesHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.SampleDataForSplitPointsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.SplitStoreFromIterableHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.SplitStoreHandler;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.AddElementsViaRFiles;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.ImportAccumuloKeyValueFiles;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsBetweenSets;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsInRanges;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsWithinSet;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetVertexStatistics;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.SummariseGroupOverRanges;
+import uk.gov.gchq.gaffer.accumulostore.summary.VertexSummaryUtils;
+import uk.gov.gchq.gaffer.accumulostore.summary.VertexSummaryWriter;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.accumulostore.utils.TableUtils;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
@@ -70,6 +78,7 @@ import uk.gov.gchq.gaffer.core.exception.Status;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.hdfs.operation.AddElementsFromHdfs;
 import uk.gov.gchq.gaffer.hdfs.operation.SampleDataForSplitPoints;
 import uk.gov.gchq.gaffer.hdfs.operation.handler.HdfsSplitStoreFromFileHandler;
@@ -97,11 +106,19 @@ import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.ValidationResult;
 
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -138,9 +155,23 @@ public class AccumuloStore extends Store {
                     STORE_VALIDATION
             ));
     public static final String FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS = "Failed to create an accumulo {} from element of type {} when trying to insert elements";
+    /**
+     * The maximum number of threads used by each store to open batch scanners
+     * in the background.
+     */
+    public static final int MAX_PREFETCH_THREADS = 16;
+
+    /**
+     * The maximum number of batch scanners waiting to be opened in the
+     * background. Once this is reached batch scanners are opened on the thread
+     * that requested them.
+     */
+    public static final int MAX_QUEUED_PREFETCHES = 64;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloStore.class);
     private AccumuloKeyPackage keyPackage;
     private Connector connection = null;
+    private ThreadPoolExecutor prefetchExecutor;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
@@ -176,7 +207,35 @@ public class AccumuloStore extends Store {
         } catch (final InstantiationException | IllegalAccessException | ClassNotFoundException e) {
             throw new StoreException("Unable to construct an instance of key package: " + keyPackageClass, e);
         }
+        this.keyPackage.setProperties(getProperties());
         this.keyPackage.setSchema(getSchema());
+        addPrefetchExecutor();
+    }
+
+    /**
+     * @return the executor used by this store's retrievers to open batch
+     * scanners in the background.
+     */
+    public ExecutorService getPrefetchExecutor() {
+        return prefetchExecutor;
+    }
+
+    private void addPrefetchExecutor() {
+        // The store may be initialised more than once, so stop the threads of any previous executor.
+        if (null != prefetchExecutor) {
+            prefetchExecutor.shutdown();
+        }
+        // When the queue is full, or the executor has been shut down, the
+        // batch scanner is opened on the calling thread instead.
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_PREFETCH_THREADS, MAX_PREFETCH_THREADS,
+                60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(MAX_QUEUED_PREFETCHES),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("gaffer-accumulo-scanner-prefetch-%d")
+                        .setDaemon(true)
+                        .build(),
+                (runnable, rejectedBy) -> runnable.run());
+        executor.allowCoreThreadTimeOut(true);
+        prefetchExecutor = executor;
     }
 
     /**
@@ -302,6 +361,27 @@ public class AccumuloStore extends Store {
         return ToBytesSerialiser.class;
     }
 
+    /**
+     * Updates a Hadoop {@link Configuration} with the information needed to
+     * maintain the vertex summary table from a MapReduce job. The connection
+     * details are added in the same way as for
+     * {@link #updateConfiguration(Configuration, GraphFilters, User)}.
+     *
+     * @param conf A {@link Configuration} to be updated.
+     * @throws StoreException If there is a failure adding the user to the configuration.
+     */
+    public void updateSummaryTableConfiguration(final Configuration conf) throws StoreException {
+        try {
+            addUserToConfiguration(conf);
+        } catch (final AccumuloSecurityException e) {
+            throw new StoreException(e.getMessage(), e);
+        }
+        addZookeeperToConfiguration(conf);
+        conf.set(AccumuloStoreConstants.SUMMARY_TABLE, VertexSummaryUtils.getSummaryTableName(this));
+        conf.setBoolean(AccumuloStoreConstants.SUMMARY_TABLE_CARDINALITY, getProperties().getEnableSummaryTableCardinality());
+        LOGGER.info("Updated configuration with vertex summary table {}", conf.get(AccumuloStoreConstants.SUMMARY_TABLE));
+    }
+
     protected void addUserToConfiguration(final Configuration conf) throws AccumuloSecurityException {
         LOGGER.info("Updating configuration with user of {}", getProperties().getUser());
         InputConfigurator.setConnectorInfo(AccumuloInputFormat.class,
@@ -345,6 +425,11 @@ public class AccumuloStore extends Store {
         addOperationHandler(SampleElementsForSplitPoints.class, new SampleElementsForSplitPointsHandler());
         addOperationHandler(SampleDataForSplitPoints.class, new SampleDataForSplitPointsHandler());
         addOperationHandler(ImportAccumuloKeyValueFiles.class, new ImportAccumuloKeyValueFilesHandler());
+        addOperationHandler(AddElementsViaRFiles.class, new AddElementsViaRFilesHandler());
+
+        if (getProperties().getEnableSummaryTable()) {
+            addOperationHandler(GetVertexStatistics.class, new GetVertexStatisticsHandler());
+        }
 
         if (null == getSchema().getVertexSerialiser() || getSchema().getVertexSerialiser().preservesObjectOrdering()) {
             addOperationHandler(SummariseGroupOverRanges.class, new SummariseGroupOverRangesHandler());
@@ -391,60 +476,170 @@ public class AccumuloStore extends Store {
     }
 
     protected void insertGraphElements(final Iterable<? extends Element> elements) throws StoreException {
+        if (null == elements) {
+            throw new GafferRuntimeException("Could not find any elements to add to graph.", Status.BAD_REQUEST);
+        }
+
         // Create BatchWriter
         final BatchWriter writer = TableUtils.createBatchWriter(this);
+        final VertexSummaryWriter summaryWriter;
+        if (getProperties().getEnableSummaryTable()) {
+            summaryWriter = new VertexSummaryWriter(getSchema(), TableUtils.createSummaryBatchWriter(this), writer,
+                    getProperties().getEnableSummaryTableCardinality());
+        } else {
+            summaryWriter = null;
+        }
         // Loop through elements, convert to mutations, and add to
-        // BatchWriter.as
+        // BatchWriter.
         // The BatchWriter takes care of batching them up, sending them without
         // too high a latency, etc.
-        if (null != elements) {
-            for (final Element element : elements) {
-
-                final Pair<Key, Key> keys;
-                try {
-                    keys = keyPackage.getKeyConverter().getKeysFromElement(element);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "key", element.getGroup());
-                    continue;
-                }
-                final Value value;
-                try {
-                    value = keyPackage.getKeyConverter().getValueFromElement(element);
-                } catch (final AccumuloElementConversionException e) {
-                    LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "value", element.getGroup());
-                    continue;
+        try {
+            final int numConverterThreads = getProperties().getIngestConverterThreads();
+            if (numConverterThreads > 1) {
+                addMutationsInParallel(elements, writer, summaryWriter, numConverterThreads);
+            } else {
+                for (final Element element : elements) {
+                    addMutations(element, writer, summaryWriter);
                 }
-                final Mutation m = new Mutation(keys.getFirst().getRow());
-                m.put(keys.getFirst().getColumnFamily(), keys.getFirst().getColumnQualifier(),
-                        new ColumnVisibility(keys.getFirst().getColumnVisibility()), keys.getFirst().getTimestamp(), value);
+            }
+        } finally {
+            // The summary writer flushes the batch writer before writing its counts, so it is closed first
+            if (null != summaryWriter) {
                 try {
-                    writer.addMutation(m);
+                    summaryWriter.close();
                 } catch (final MutationsRejectedException e) {
-                    LOGGER.error("Failed to create an accumulo key mutation");
-                    continue;
+                    LOGGER.warn("Accumulo vertex summary writer failed to close", e);
                 }
-                // If the GraphElement is a Vertex then there will only be 1 key,
-                // and the second will be null.
-                // If the GraphElement is an Edge then there will be 2 keys.
-                if (null != keys.getSecond()) {
-                    final Mutation m2 = new Mutation(keys.getSecond().getRow());
-                    m2.put(keys.getSecond().getColumnFamily(), keys.getSecond().getColumnQualifier(),
-                            new ColumnVisibility(keys.getSecond().getColumnVisibility()), keys.getSecond().getTimestamp(),
-                            value);
-                    try {
-                        writer.addMutation(m2);
-                    } catch (final MutationsRejectedException e) {
-                        LOGGER.error("Failed to create an accumulo key mutation");
+            }
+            try {
+                writer.close();
+            } catch (final MutationsRejectedException e) {
+                LOGGER.warn("Accumulo batch writer failed to close", e);
+            }
+        }
+    }
+
+    /**
+     * Converts batches of elements into mutations using a bounded pool of
+     * converter threads. The calling thread reads the elements and hands each
+     * full batch to the pool, so the elements iterable is only ever consumed
+     * by a single thread. At most two batches per converter thread are
+     * queued at any time, so a slow writer applies back pressure to the caller
+     * rather than the whole input being buffered in memory. The order in which
+     * mutations are added to the writer is not guaranteed.
+     *
+     * @param elements            the elements to add
+     * @param writer              the thread safe batch writer to add the mutations to
+     * @param summaryWriter       the thread safe vertex summary writer, or null if there is no summary table
+     * @param numConverterThreads the number of threads to convert elements on
+     * @throws StoreException if interrupted whilst waiting for the converter threads
+     */
+    private void addMutationsInParallel(final Iterable<? extends Element> elements, final BatchWriter writer,
+                                        final VertexSummaryWriter summaryWriter, final int numConverterThreads)
+            throws StoreException {
+        final int batchSize = getProperties().getIngestConverterBatchSize();
+        final int maxQueuedBatches = numConverterThreads * 2;
+        final Semaphore queuedBatches = new Semaphore(maxQueuedBatches);
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        final ExecutorService converters = Executors.newFixedThreadPool(numConverterThreads, runnable -> {
+            final Thread thread = new Thread(runnable, "accumulo-ingest-converter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Element> batch = new ArrayList<>(batchSize);
+            for (final Element element : elements) {
+                batch.add(element);
+                if (batch.size() >= batchSize) {
+                    queuedBatches.acquire();
+                    if (null != failure.get()) {
+                        queuedBatches.release();
+                        break;
                     }
+                    final List<Element> fullBatch = batch;
+                    converters.execute(() -> {
+                        try {
+                            for (final Element fullBatchElement : fullBatch) {
+                                addMutations(fullBatchElement, writer, summaryWriter);
+                            }
+                        } catch (final RuntimeException e) {
+                            failure.compareAndSet(null, e);
+                        } finally {
+                            queuedBatches.release();
+                        }
+                    });
+                    batch = new ArrayList<>(batchSize);
                 }
             }
-        } else {
-            throw new GafferRuntimeException("Could not find any elements to add to graph.", Status.BAD_REQUEST);
+
+            if (null == failure.get()) {
+                // Convert the final partial batch on the calling thread
+                for (final Element element : batch) {
+                    addMutations(element, writer, summaryWriter);
+                }
+            }
+
+            // Wait for all the submitted batches to be converted
+            queuedBatches.acquire(maxQueuedBatches);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted whilst converting elements to add to the graph", e);
+        } finally {
+            converters.shutdownNow();
+        }
+
+        if (null != failure.get()) {
+            throw failure.get();
+        }
+    }
+
+    private void addMutations(final Element element, final BatchWriter writer, final VertexSummaryWriter summaryWriter) {
+        final Pair<Key, Key> keys;
+        try {
+            keys = keyPackage.getKeyConverter().getKeysFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "key", element.getGroup());
+            return;
+        }
+        final Value value;
+        try {
+            value = keyPackage.getKeyConverter().getValueFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error(FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "value", element.getGroup());
+            return;
         }
+        final Mutation m = new Mutation(keys.getFirst().getRow());
+        m.put(keys.getFirst().getColumnFamily(), keys.getFirst().getColumnQualifier(),
+                new ColumnVisibility(keys.getFirst().getColumnVisibility()), keys.getFirst().getTimestamp(), value);
         try {
-            writer.close();
+            writer.addMutation(m);
         } catch (final MutationsRejectedException e) {
-            LOGGER.warn("Accumulo batch writer failed to close", e);
+            LOGGER.error("Failed to create an accumulo key mutation");
+            return;
+        }
+        // If the GraphElement is a Vertex then there will only be 1 key,
+        // and the second will be null.
+        // If the GraphElement is an Edge then there will be 2 keys.
+        if (null != keys.getSecond()) {
+            final Mutation m2 = new Mutation(keys.getSecond().getRow());
+            m2.put(keys.getSecond().getColumnFamily(), keys.getSecond().getColumnQualifier(),
+                    new ColumnVisibility(keys.getSecond().getColumnVisibility()), keys.getSecond().getTimestamp(),
+                    value);
+            try {
+                writer.addMutation(m2);
+            } catch (final MutationsRejectedException e) {
+                LOGGER.error("Failed to create an accumulo key mutation");
+                return;
+            }
+        }
+
+        if (null != summaryWriter) {
+            try {
+                summaryWriter.add(element, keys.getFirst().getColumnVisibilityData().toArray());
+            } catch (final SerialisationException | MutationsRejectedException e) {
+                LOGGER.error("Failed to add element of group {} to the vertex summary table", element.getGroup(), e);
+            }
         }
     }
 
@@ -20,6 +20,7 @@ import org.apache.accumulo.core.client.AccumuloException;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
 import org.apache.accumulo.core.client.TableNotFoundException;
 
+import uk.gov.gchq.gaffer.accumulostore.summary.VertexSummaryUtils;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.schema.Schema;
@@ -27,8 +28,8 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 /**
  * An {@link AccumuloStore} that uses an Accumulo {@link org.apache.accumulo.core.client.mock.MockInstance} to
  * provide a {@link org.apache.accumulo.core.client.Connector}.
- * For the SingleUseMockAccumuloStore each time initialise is called the underlying table as set in the store properties
- * is deleted.
+ * For the SingleUseMockAccumuloStore each time initialise is called the underlying table as set in the store properties,
+ * and its vertex summary table, is deleted.
  */
 public class SingleUseMockAccumuloStore extends MockAccumuloStore {
     @Override
@@ -49,6 +50,11 @@ public class SingleUseMockAccumuloStore extends MockAccumuloStore {
         } catch (final StoreException | AccumuloException | AccumuloSecurityException | TableNotFoundException e) {
             // no action required
         }
+        try {
+            getConnection().tableOperations().delete(VertexSummaryUtils.getSummaryTableName(this));
+        } catch (final StoreException | AccumuloException | AccumuloSecurityException | TableNotFoundException e) {
+            // no action required
+        }
         super.preInitialise(graphId, schema, properties);
     }
 
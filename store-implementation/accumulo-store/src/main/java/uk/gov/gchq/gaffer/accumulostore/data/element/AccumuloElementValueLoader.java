@@ -57,15 +57,20 @@ public abstract class AccumuloElementValueLoader implements ElementValueLoader {
             }
         }
 
-        final Properties props;
+        // Only the requested property is deserialised from the column qualifier
+        // or value, so filters on small properties do not pay to deserialise
+        // large properties, such as sketches, that they do not use.
         if (eDef.getGroupBy().contains(name)) {
-            props = elementConverter.getPropertiesFromColumnQualifier(group, key.getColumnQualifierData().getBackingArray());
-        } else if (name.equals(schema.getVisibilityProperty())) {
+            return elementConverter.getPropertyFromColumnQualifier(group, name, key.getColumnQualifierData().getBackingArray());
+        }
+
+        final Properties props;
+        if (name.equals(schema.getVisibilityProperty())) {
             props = elementConverter.getPropertiesFromColumnVisibility(group, key.getColumnVisibilityData().getBackingArray());
         } else if (name.equals(schema.getTimestampProperty())) {
             props = elementConverter.getPropertiesFromTimestamp(group, key.getTimestamp());
         } else {
-            props = elementConverter.getPropertiesFromValue(group, value);
+            return elementConverter.getPropertyFromValue(group, name, value);
         }
         lazyProperties.putAll(props);
         return props.get(name);
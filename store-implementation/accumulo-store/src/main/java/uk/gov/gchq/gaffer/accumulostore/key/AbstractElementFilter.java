@@ -27,7 +27,6 @@ import uk.gov.gchq.gaffer.accumulostore.data.element.AccumuloEdgeValueLoader;
 import uk.gov.gchq.gaffer.accumulostore.data.element.AccumuloEntityValueLoader;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.ElementFilterException;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
-import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -92,14 +91,13 @@ public abstract class AbstractElementFilter extends Filter {
                      final IteratorEnvironment env) throws IOException {
         super.init(source, options, env);
 
-        schema = Schema.fromJson(StringUtil.toBytes(options.get(AccumuloStoreConstants.SCHEMA)));
+        schema = IteratorOptionsCache.getSchema(options.get(AccumuloStoreConstants.SCHEMA));
 
         try {
-            elementConverter = Class
-                    .forName(options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS))
-                    .asSubclass(AccumuloElementConverter.class)
-                    .getConstructor(Schema.class)
-                    .newInstance(schema);
+            elementConverter = IteratorOptionsCache.getElementConverter(
+                    options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS),
+                    options.get(AccumuloStoreConstants.SCHEMA),
+                    options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_NUM_SHARDS));
         } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
                 | InvocationTargetException | NoSuchMethodException | SecurityException e) {
             throw new ElementFilterException("Failed to load element converter from class name provided : "
@@ -108,19 +106,20 @@ public abstract class AbstractElementFilter extends Filter {
 
         if (filterType == ElementValidator.FilterType.SCHEMA_VALIDATION) {
             updateSchemaGroupsWithoutFilters();
-            elementPredicate = new ElementValidator(schema, false)::validateWithSchema;
+            elementPredicate = IteratorOptionsCache.getSchemaValidator(options.get(AccumuloStoreConstants.SCHEMA))::validateWithSchema;
         } else {
             final String viewJson = options.get(AccumuloStoreConstants.VIEW);
             if (null == viewJson) {
                 throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.VIEW);
             }
-            final View view = View.fromJson(StringUtil.toBytes(viewJson));
+            final View view = IteratorOptionsCache.getView(viewJson);
+            final ElementValidator validator = IteratorOptionsCache.getViewValidator(viewJson);
             if (filterType == ElementValidator.FilterType.PRE_AGGREGATION_FILTER) {
                 updateViewGroupsWithoutFilters(view, ViewElementDefinition::hasPreAggregationFilters);
-                elementPredicate = new ElementValidator(view)::validateInput;
+                elementPredicate = validator::validateInput;
             } else {
                 updateViewGroupsWithoutFilters(view, ViewElementDefinition::hasPostAggregationFilters);
-                elementPredicate = new ElementValidator(view)::validateAggregation;
+                elementPredicate = validator::validateAggregation;
             }
         }
     }
@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.accumulostore.key;
 
 import org.apache.accumulo.core.file.keyfunctor.KeyFunctor;
 
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
 /**
@@ -67,5 +68,15 @@ public abstract class AccumuloKeyPackage {
         this.bloomFunctor = bloomFunctor;
     }
 
+    /**
+     * Passes the store properties to the key package. This is called before
+     * {@link #setSchema(Schema)} and by default does nothing, key packages
+     * that can be configured should override it.
+     *
+     * @param properties the properties of the store using this key package
+     */
+    public void setProperties(final AccumuloProperties properties) {
+    }
+
     public abstract void setSchema(final Schema schema);
 }
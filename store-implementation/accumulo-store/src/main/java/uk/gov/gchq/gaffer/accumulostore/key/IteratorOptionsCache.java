@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.key;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.sharded.ShardUtils;
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.store.ElementValidator;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A JVM wide cache of the {@link Schema}s, {@link View}s, {@link ElementValidator}s
+ * and {@link AccumuloElementConverter}s created from the options passed to the
+ * Gaffer iterators. Each iterator is initialised for every scan session on
+ * every tablet, so without this cache the schema and view json would be
+ * deserialised for each of them.
+ * <p>
+ * Entries are keyed on the json they were created from, so a change to the
+ * schema or view results in a new entry. Each cache holds at most
+ * {@link #getMaxSize()} entries, the least recently used entries are evicted
+ * first. Lookups do not block each other, so iterators initialised on
+ * different scan threads do not contend on the cache. The maximum size can be configured with the
+ * {@value #MAX_SIZE} system property on the tablet servers.
+ * </p>
+ * <p>
+ * The cached objects are shared between iterators running on different
+ * threads, so they must not be modified.
+ * </p>
+ */
+public final class IteratorOptionsCache {
+    public static final String MAX_SIZE = "gaffer.store.accumulo.iterator.options.cache.max.size";
+    public static final String MAX_SIZE_DEFAULT = "100";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IteratorOptionsCache.class);
+
+    private static final int MAX_SIZE_VALUE = Integer.parseInt(System.getProperty(MAX_SIZE, MAX_SIZE_DEFAULT).trim());
+    private static final Cache<String, Schema> SCHEMAS = createCache();
+    private static final Cache<String, View> VIEWS = createCache();
+    private static final Cache<String, ElementValidator> SCHEMA_VALIDATORS = createCache();
+    private static final Cache<String, ElementValidator> VIEW_VALIDATORS = createCache();
+    private static final Cache<String, AccumuloElementConverter> ELEMENT_CONVERTERS = createCache();
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private IteratorOptionsCache() {
+        // Private constructor to prevent instantiation.
+    }
+
+    public static Schema getSchema(final String schemaJson) {
+        return get(SCHEMAS, schemaJson, json -> Schema.fromJson(StringUtil.toBytes(json)));
+    }
+
+    public static View getView(final String viewJson) {
+        return get(VIEWS, viewJson, json -> View.fromJson(StringUtil.toBytes(json)));
+    }
+
+    /**
+     * Gets an {@link ElementValidator} that validates elements against the
+     * schema, without the IsA validate functions.
+     *
+     * @param schemaJson the schema json
+     * @return the element validator
+     */
+    public static ElementValidator getSchemaValidator(final String schemaJson) {
+        return get(SCHEMA_VALIDATORS, schemaJson, json -> new ElementValidator(getSchema(json), false));
+    }
+
+    public static ElementValidator getViewValidator(final String viewJson) {
+        return get(VIEW_VALIDATORS, viewJson, json -> new ElementValidator(getView(json)));
+    }
+
+    public static AccumuloElementConverter getElementConverter(final String converterClass, final String schemaJson)
+            throws ClassNotFoundException, NoSuchMethodException, InstantiationException,
+            IllegalAccessException, InvocationTargetException {
+        return getElementConverter(converterClass, schemaJson, null);
+    }
+
+    /**
+     * Gets an {@link AccumuloElementConverter} of the given class, constructed
+     * with the schema and, for sharded converters, the number of shards.
+     *
+     * @param converterClass the name of the {@link AccumuloElementConverter} class
+     * @param schemaJson     the schema json
+     * @param numShards      the number of shards, may be null
+     * @return the element converter
+     * @throws ClassNotFoundException    if the converter class could not be found
+     * @throws NoSuchMethodException     if the converter does not have a constructor that takes a schema
+     * @throws InstantiationException    if the converter could not be instantiated
+     * @throws IllegalAccessException    if the converter constructor is not accessible
+     * @throws InvocationTargetException if the converter constructor throws an exception
+     */
+    public static AccumuloElementConverter getElementConverter(final String converterClass, final String schemaJson, final String numShards)
+            throws ClassNotFoundException, NoSuchMethodException, InstantiationException,
+            IllegalAccessException, InvocationTargetException {
+        final String key = converterClass + '\n' + numShards + '\n' + schemaJson;
+        AccumuloElementConverter converter = ELEMENT_CONVERTERS.getIfPresent(key);
+        if (null != converter) {
+            HITS.increment();
+        } else {
+            MISSES.increment();
+            converter = ShardUtils.createElementConverter(converterClass, getSchema(schemaJson), numShards);
+            ELEMENT_CONVERTERS.put(key, converter);
+        }
+        return converter;
+    }
+
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    public static int getMaxSize() {
+        return MAX_SIZE_VALUE;
+    }
+
+    /**
+     * Removes all the cached entries and resets the hit and miss counters.
+     */
+    public static void clear() {
+        SCHEMAS.invalidateAll();
+        VIEWS.invalidateAll();
+        SCHEMA_VALIDATORS.invalidateAll();
+        VIEW_VALIDATORS.invalidateAll();
+        ELEMENT_CONVERTERS.invalidateAll();
+        HITS.reset();
+        MISSES.reset();
+    }
+
+    private static <T> T get(final Cache<String, T> cache, final String json, final Function<String, T> factory) {
+        if (null == json) {
+            throw new IllegalArgumentException("Json is required");
+        }
+
+        T value = cache.getIfPresent(json);
+        if (null != value) {
+            HITS.increment();
+        } else {
+            MISSES.increment();
+            // Created without holding a lock, so 2 iterators may both create
+            // the value, but they will be equal.
+            value = factory.apply(json);
+            cache.put(json, value);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Iterator options cache hits: {}, misses: {}", getHits(), getMisses());
+            }
+        }
+        return value;
+    }
+
+    private static <T> Cache<String, T> createCache() {
+        // Reads do not take a lock. A single segment is used so the least
+        // recently used entry in the whole cache is evicted; only misses,
+        // which are rare once the cache is warm, take the write lock.
+        return CacheBuilder.newBuilder()
+                .concurrencyLevel(1)
+                .maximumSize(MAX_SIZE_VALUE)
+                .build();
+    }
+}
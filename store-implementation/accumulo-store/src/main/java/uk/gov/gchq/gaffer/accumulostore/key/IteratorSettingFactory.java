@@ -21,6 +21,7 @@ import org.apache.hadoop.util.bloom.BloomFilter;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.membership.MembershipFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 
@@ -46,6 +47,31 @@ public interface IteratorSettingFactory {
      */
     IteratorSetting getBloomFilterIteratorSetting(final BloomFilter filter) throws IteratorSettingException;
 
+    /**
+     * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
+     * can be used to apply an iterator that will filter elements based on their
+     * vertices membership in a given {@link MembershipFilter} to a
+     * {@link org.apache.accumulo.core.client.Scanner}.
+     *
+     * @param filter the membership filter
+     * @return A new {@link IteratorSetting} for an Iterator capable of filtering elements based on checking its serialised form for membership in a {@link MembershipFilter}
+     * @throws IteratorSettingException if an iterator setting could not be created
+     */
+    IteratorSetting getMembershipFilterIteratorSetting(final MembershipFilter filter) throws IteratorSettingException;
+
+    /**
+     * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
+     * can be used to apply an iterator that stops returning key-value pairs
+     * from a scanned range once the given number have been returned. It must
+     * only be used when every key-value pair returned by the scan is returned
+     * to the user. The limit applies to each range separately, so the client
+     * must still stop once the limit has been reached across all ranges.
+     *
+     * @param resultLimit the maximum number of key-value pairs to return from each range
+     * @return A new {@link IteratorSetting} for an Iterator that limits the number of results returned
+     */
+    IteratorSetting getResultLimitIteratorSetting(final int resultLimit);
+
     /**
      * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
      * can be used to apply an iterator that will filter elements based on
@@ -23,6 +23,7 @@ import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -68,4 +69,23 @@ public interface RangeFactory {
      */
     Range getRangeFromPair(final Pair<ElementId, ElementId> pairRange, final GraphFilters operation)
             throws RangeFactoryException;
+
+    /**
+     * Returns the Ranges representing a query for all values between the
+     * given {@link uk.gov.gchq.gaffer.data.element.id.ElementId}s. By default
+     * this is the single range from
+     * {@link #getRangeFromPair(Pair, GraphFilters)}, key designs that do not
+     * store the values between the pair contiguously should override this to
+     * return one range per contiguous block.
+     *
+     * @param pairRange the pair of element ids to get the ranges for
+     * @param operation the operation
+     * @return A List of Ranges that are required to return all elements that
+     * match the parameters of the query.
+     * @throws RangeFactoryException if a range could not be created
+     */
+    default List<Range> getRangesFromPair(final Pair<ElementId, ElementId> pairRange, final GraphFilters operation)
+            throws RangeFactoryException {
+        return Collections.singletonList(getRangeFromPair(pairRange, operation));
+    }
 }
@@ -152,6 +152,17 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return properties;
     }
 
+    @Override
+    public Object getPropertyFromValue(final String group, final String propertyName, final Value value) {
+        if (isNotEmpty(value)) {
+            final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
+            if (isStoredInValue(propertyName, elementDefinition)) {
+                return getDeserialisedProperty(value.get(), propertyName, elementDefinition, elementDefinition.getProperties(), true);
+            }
+        }
+        return null;
+    }
+
     @Override
     public Element getElementFromKey(final Key key, final boolean includeMatchedVertex) {
         final byte[] row = key.getRowData().getBackingArray();
@@ -306,6 +317,58 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return properties;
     }
 
+    @Override
+    public Object getPropertyFromColumnQualifier(final String group, final String propertyName, final byte[] bytes) {
+        if (null != bytes && bytes.length != 0) {
+            final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
+            if (elementDefinition.getGroupBy().contains(propertyName)) {
+                return getDeserialisedProperty(bytes, propertyName, elementDefinition, elementDefinition.getGroupBy(), false);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Deserialises a single property from the provided bytes. The properties
+     * before it are skipped over using their serialised lengths, so only the
+     * requested property is deserialised.
+     *
+     * @param bytes               the serialised properties
+     * @param propertyName        the property to deserialise
+     * @param elementDefinition   the schema element definition
+     * @param propertyNames       the names of the properties, in the order they are serialised
+     * @param onlyStoredInValue   if true, properties that are not stored in the value are ignored
+     * @return the deserialised property, or null if it could not be found
+     */
+    private Object getDeserialisedProperty(final byte[] bytes, final String propertyName, final SchemaElementDefinition elementDefinition,
+                                           final Iterable<String> propertyNames, final boolean onlyStoredInValue) {
+        int delimiterPosition = 0;
+        final int arrayLength = bytes.length;
+        final Iterator<String> names = propertyNames.iterator();
+        while (names.hasNext() && delimiterPosition < arrayLength) {
+            final String name = names.next();
+            if (onlyStoredInValue && !isStoredInValue(name, elementDefinition)) {
+                continue;
+            }
+            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(name);
+            final ToBytesSerialiser serialiser = (null != typeDefinition) ? (ToBytesSerialiser) typeDefinition.getSerialiser() : null;
+            if (null != serialiser) {
+                final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[delimiterPosition]);
+                final int currentPropLength = getCurrentPropLength(bytes, delimiterPosition);
+                final int from = delimiterPosition + numBytesForLength;
+                if (name.equals(propertyName)) {
+                    try {
+                        return getDeserialisedObject(serialiser, bytes, from, currentPropLength);
+                    } catch (final SerialisationException e) {
+                        throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
+                    }
+                }
+                delimiterPosition = from + currentPropLength;
+            }
+        }
+        return null;
+    }
+
     private int addDeserialisedProperty(final byte[] bytes, final int carriage, final Properties properties, final SchemaElementDefinition elementDefinition, final String propertyName) throws SerialisationException {
         int rtn = carriage;
         final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
@@ -23,12 +23,15 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyBloomFilterIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyGroupByAggregatorIterator;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyMembershipFilterIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.AggregatorIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPostAggregationFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPreAggregationFilter;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.ResultLimitIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.RowIDAggregator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ValidatorFilter;
+import uk.gov.gchq.gaffer.accumulostore.membership.MembershipFilter;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.accumulostore.utils.IteratorSettingBuilder;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
@@ -45,6 +48,18 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
                 AccumuloStoreConstants.BLOOM_FILTER_ITERATOR_NAME, CoreKeyBloomFilterIterator.class).bloomFilter(filter).build();
     }
 
+    @Override
+    public IteratorSetting getMembershipFilterIteratorSetting(final MembershipFilter filter) throws IteratorSettingException {
+        return new IteratorSettingBuilder(AccumuloStoreConstants.BLOOM_FILTER_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.BLOOM_FILTER_ITERATOR_NAME, CoreKeyMembershipFilterIterator.class).membershipFilter(filter).build();
+    }
+
+    @Override
+    public IteratorSetting getResultLimitIteratorSetting(final int resultLimit) {
+        return new IteratorSettingBuilder(AccumuloStoreConstants.RESULT_LIMIT_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.RESULT_LIMIT_ITERATOR_NAME, ResultLimitIterator.class).resultLimit(resultLimit).build();
+    }
+
     @Override
     public IteratorSetting getElementPreAggregationFilterIteratorSetting(final View view, final AccumuloStore store)
             throws IteratorSettingException {
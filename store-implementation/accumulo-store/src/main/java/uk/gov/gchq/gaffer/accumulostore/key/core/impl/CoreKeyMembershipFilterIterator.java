@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.core.impl;
+
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.Filter;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+
+import uk.gov.gchq.gaffer.accumulostore.key.exception.BloomFilterIteratorException;
+import uk.gov.gchq.gaffer.accumulostore.membership.MembershipFilter;
+import uk.gov.gchq.gaffer.accumulostore.membership.MembershipFilterType;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import uk.gov.gchq.gaffer.commonutil.ByteArrayEscapeUtils;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.Map;
+
+/**
+ * The CoreKeyMembershipFilterIterator filters out Edges based on their non searched for vertex's
+ * membership of the provided {@link MembershipFilter}. The vertex is tested in place in the
+ * row's backing array, so no objects are allocated per key.
+ */
+public class CoreKeyMembershipFilterIterator extends Filter {
+
+    protected MembershipFilter filter;
+
+    @Override
+    public boolean accept(final Key key, final Value value) {
+        final ByteSequence row = key.getRowData();
+        final byte[] vertices = row.getBackingArray();
+        final int start = row.offset();
+        final int end = start + row.length();
+        int pos = -1;
+        for (int i = end - 3; i > start; --i) {
+            if (vertices[i] == ByteArrayEscapeUtils.DELIMITER) {
+                pos = i;
+                break;
+            }
+        }
+        if (pos == -1) {
+            return true;
+        }
+        return filter.mightContain(vertices, pos + 1, end - 2 - (pos + 1));
+    }
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+
+        final byte[] bytes;
+        try {
+            bytes = options.get(AccumuloStoreConstants.MEMBERSHIP_FILTER).getBytes(AccumuloStoreConstants.BLOOM_FILTER_CHARSET);
+        } catch (final UnsupportedEncodingException e) {
+            throw new BloomFilterIteratorException("Failed to re-create serialised membership filter", e);
+        }
+
+        try {
+            filter = MembershipFilterType.deserialise(bytes);
+        } catch (final RuntimeException e) {
+            throw new BloomFilterIteratorException("Failed to re-create serialised membership filter", e);
+        }
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!super.validateOptions(options)) {
+            return false;
+        }
+        if (!options.containsKey(AccumuloStoreConstants.MEMBERSHIP_FILTER)) {
+            throw new BloomFilterIteratorException("Must set the " + AccumuloStoreConstants.MEMBERSHIP_FILTER + " option");
+        }
+
+        return true;
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.BLOOM_FILTER_ITERATOR_NAME, "Membership Filter")
+                .addNamedOption(AccumuloStoreConstants.MEMBERSHIP_FILTER,
+                        "Required: The serialised form of the membership filter that keys will be tested against")
+                .build();
+    }
+}
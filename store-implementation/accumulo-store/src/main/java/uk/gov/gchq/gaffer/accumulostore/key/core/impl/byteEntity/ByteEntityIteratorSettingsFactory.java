@@ -27,8 +27,15 @@ import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 
 public class ByteEntityIteratorSettingsFactory extends AbstractCoreKeyIteratorSettingsFactory {
-    private static final String RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR = ByteEntityRangeElementPropertyFilterIterator.class
-            .getName();
+    private final String rangeElementPropertyFilterIterator;
+
+    public ByteEntityIteratorSettingsFactory() {
+        this(ByteEntityRangeElementPropertyFilterIterator.class);
+    }
+
+    protected ByteEntityIteratorSettingsFactory(final Class<? extends ByteEntityRangeElementPropertyFilterIterator> rangeElementPropertyFilterIterator) {
+        this.rangeElementPropertyFilterIterator = rangeElementPropertyFilterIterator.getName();
+    }
 
     @Override
     public IteratorSetting getEdgeEntityDirectionFilterIteratorSetting(final GraphFilters operation) {
@@ -56,7 +63,7 @@ public class ByteEntityIteratorSettingsFactory extends AbstractCoreKeyIteratorSe
         }
 
         return new IteratorSettingBuilder(AccumuloStoreConstants.RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR_PRIORITY,
-                AccumuloStoreConstants.RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR_NAME, RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR)
+                AccumuloStoreConstants.RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR_NAME, rangeElementPropertyFilterIterator)
                 .all()
                 .includeIncomingOutgoing(inOutType)
                 .includeEdges(includeEdges)
@@ -36,7 +36,7 @@ public class ByteEntityRangeElementPropertyFilterIterator extends Filter {
     private static final Logger LOGGER = LoggerFactory.getLogger(ByteEntityRangeElementPropertyFilterIterator.class);
 
     // This converter does not have the schema so not all converter methods can be used.
-    private ByteEntityAccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(null);
+    private final ByteEntityAccumuloElementConverter converter;
     private boolean edges = false;
     private boolean entities = false;
     private boolean unDirectedEdges = false;
@@ -45,6 +45,14 @@ public class ByteEntityRangeElementPropertyFilterIterator extends Filter {
     private boolean outgoingEdges = false;
     private boolean deduplicateUndirectedEdges = false;
 
+    public ByteEntityRangeElementPropertyFilterIterator() {
+        this(new ByteEntityAccumuloElementConverter(null));
+    }
+
+    protected ByteEntityRangeElementPropertyFilterIterator(final ByteEntityAccumuloElementConverter converter) {
+        this.converter = converter;
+    }
+
     @Override
     public boolean accept(final Key key, final Value value) {
         final byte flag = getFlag(key);
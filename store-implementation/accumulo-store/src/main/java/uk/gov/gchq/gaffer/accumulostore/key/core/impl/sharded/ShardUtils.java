@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.core.impl.sharded;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+
+/**
+ * Utility methods for adding and removing the single byte shard prefix used
+ * by the {@link ShardedByteEntityKeyPackage}.
+ * <p>
+ * The shard of a row is chosen from a hash of the whole unsharded row, so the
+ * rows for the edges of a single vertex are spread over all the shards. The
+ * prefix byte for shard {@code n} is {@code n + 1}, so a prefix never equals
+ * the {@link uk.gov.gchq.gaffer.commonutil.ByteArrayEscapeUtils#DELIMITER}.
+ * </p>
+ */
+public final class ShardUtils {
+    public static final int DEFAULT_NUM_SHARDS = 16;
+    public static final int MAX_NUM_SHARDS = 255;
+
+    private ShardUtils() {
+        // private to prevent this class being instantiated.
+        // All methods are static and should be called directly.
+    }
+
+    public static void validateNumShards(final int numShards) {
+        if (numShards < 1 || numShards > MAX_NUM_SHARDS) {
+            throw new IllegalArgumentException("The number of shards must be between 1 and " + MAX_NUM_SHARDS
+                    + " but was " + numShards);
+        }
+    }
+
+    /**
+     * Creates an {@link AccumuloElementConverter} of the given class. If the
+     * class is a {@link ShardedByteEntityAccumuloElementConverter} and the
+     * number of shards is provided then the converter is created with that
+     * number of shards, so it writes rows to the same shards as the store's
+     * own converter. Otherwise the converter is constructed with just the
+     * schema.
+     *
+     * @param converterClass the name of the {@link AccumuloElementConverter} class
+     * @param schema         the schema
+     * @param numShards      the number of shards, may be null
+     * @return the element converter
+     * @throws ClassNotFoundException    if the converter class could not be found
+     * @throws NoSuchMethodException     if the converter does not have the required constructor
+     * @throws InstantiationException    if the converter could not be instantiated
+     * @throws IllegalAccessException    if the converter constructor is not accessible
+     * @throws InvocationTargetException if the converter constructor throws an exception
+     */
+    public static AccumuloElementConverter createElementConverter(final String converterClass, final Schema schema, final String numShards)
+            throws ClassNotFoundException, NoSuchMethodException, InstantiationException,
+            IllegalAccessException, InvocationTargetException {
+        final Class<? extends AccumuloElementConverter> clazz = Class.forName(converterClass)
+                .asSubclass(AccumuloElementConverter.class);
+        if (null != numShards && ShardedByteEntityAccumuloElementConverter.class.isAssignableFrom(clazz)) {
+            return clazz.getConstructor(Schema.class, int.class)
+                    .newInstance(schema, Integer.parseInt(numShards));
+        }
+        return clazz.getConstructor(Schema.class).newInstance(schema);
+    }
+
+    /**
+     * Gets the number of shards used by the given converter, so that it can
+     * be passed to iterators and MapReduce jobs.
+     *
+     * @param converter the element converter
+     * @return the number of shards, or null if the converter is not sharded
+     */
+    public static String getNumShards(final AccumuloElementConverter converter) {
+        if (converter instanceof ShardedByteEntityAccumuloElementConverter) {
+            return String.valueOf(((ShardedByteEntityAccumuloElementConverter) converter).getNumShards());
+        }
+        return null;
+    }
+
+    public static int getShard(final byte[] row, final int numShards) {
+        int hash = Arrays.hashCode(row);
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return (int) ((hash & 0xffffffffL) % numShards);
+    }
+
+    /**
+     * Prefixes the row with the shard chosen from its hash.
+     *
+     * @param row       the unsharded row
+     * @param numShards the number of shards
+     * @return the sharded row
+     */
+    public static byte[] addShard(final byte[] row, final int numShards) {
+        return addShardPrefix(row, getShard(row, numShards));
+    }
+
+    public static byte[] addShardPrefix(final byte[] row, final int shard) {
+        final byte[] shardedRow = new byte[row.length + 1];
+        shardedRow[0] = (byte) (shard + 1);
+        System.arraycopy(row, 0, shardedRow, 1, row.length);
+        return shardedRow;
+    }
+
+    public static byte[] removeShard(final byte[] shardedRow) {
+        return Arrays.copyOfRange(shardedRow, 1, shardedRow.length);
+    }
+
+    /**
+     * Copies the range once per shard, prefixing the rows of the start and end
+     * keys with each shard in turn.
+     *
+     * @param range     the unsharded range
+     * @param numShards the number of shards
+     * @return a range for each shard
+     */
+    public static Range[] addShards(final Range range, final int numShards) {
+        final Range[] ranges = new Range[numShards];
+        for (int shard = 0; shard < numShards; shard++) {
+            ranges[shard] = new Range(
+                    addShardPrefix(range.getStartKey(), shard), range.isStartKeyInclusive(),
+                    addShardPrefix(range.getEndKey(), shard), range.isEndKeyInclusive());
+        }
+        return ranges;
+    }
+
+    private static Key addShardPrefix(final Key key, final int shard) {
+        return new Key(addShardPrefix(key.getRowData().toArray(), shard),
+                key.getColumnFamilyData().toArray(),
+                key.getColumnQualifierData().toArray(),
+                key.getColumnVisibilityData().toArray(),
+                key.getTimestamp());
+    }
+}
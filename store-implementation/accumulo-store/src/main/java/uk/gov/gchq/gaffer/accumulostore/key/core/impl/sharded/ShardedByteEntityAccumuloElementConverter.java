@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.core.impl.sharded;
+
+import org.apache.accumulo.core.data.Key;
+
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.EdgeDirection;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+/**
+ * An {@link ByteEntityAccumuloElementConverter} that prefixes each row key
+ * with a shard, see {@link ShardUtils}.
+ * <p>
+ * Iterators and MapReduce jobs create converters using
+ * {@link ShardUtils#createElementConverter(String, Schema, String)}, with the
+ * number of shards passed in the
+ * {@link uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants#ACCUMULO_ELEMENT_CONVERTER_NUM_SHARDS}
+ * option. Converters created with just the schema use
+ * {@link ShardUtils#DEFAULT_NUM_SHARDS}. Reading a row does not depend on the
+ * number of shards.
+ * </p>
+ */
+public class ShardedByteEntityAccumuloElementConverter extends ByteEntityAccumuloElementConverter {
+    private final int numShards;
+
+    public ShardedByteEntityAccumuloElementConverter(final Schema schema) {
+        this(schema, ShardUtils.DEFAULT_NUM_SHARDS);
+    }
+
+    public ShardedByteEntityAccumuloElementConverter(final Schema schema, final int numShards) {
+        super(schema);
+        ShardUtils.validateNumShards(numShards);
+        this.numShards = numShards;
+    }
+
+    public int getNumShards() {
+        return numShards;
+    }
+
+    @Override
+    protected EntityId getEntityId(final byte[] row) {
+        return super.getEntityId(ShardUtils.removeShard(row));
+    }
+
+    @Override
+    protected byte[] getRowKeyFromEntity(final Entity entity) {
+        return ShardUtils.addShard(super.getRowKeyFromEntity(entity), numShards);
+    }
+
+    @Override
+    protected Pair<byte[], byte[]> getRowKeysFromEdge(final Edge edge) {
+        final Pair<byte[], byte[]> rowKeys = super.getRowKeysFromEdge(edge);
+        return new Pair<>(ShardUtils.addShard(rowKeys.getFirst(), numShards),
+                null != rowKeys.getSecond() ? ShardUtils.addShard(rowKeys.getSecond(), numShards) : null);
+    }
+
+    @Override
+    protected Entity getEntityFromKey(final Key key, final byte[] row) {
+        return super.getEntityFromKey(key, ShardUtils.removeShard(row));
+    }
+
+    @Override
+    protected EdgeDirection getSourceAndDestinationFromRowKey(final byte[] rowKey, final byte[][] sourceDestValues) {
+        return super.getSourceAndDestinationFromRowKey(ShardUtils.removeShard(rowKey), sourceDestValues);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.core.impl.sharded;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloKeyPackage;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyBloomFunctor;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+/**
+ * A key package that uses the same key design as the
+ * {@link uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage}
+ * but prefixes each row with a shard chosen from a hash of the row. The edges
+ * of a vertex with a very high degree are then spread over as many tablets as
+ * there are shards, rather than all being held in a single tablet, at the cost
+ * of querying each seed with one range per shard.
+ * <p>
+ * The number of shards is set using
+ * {@link AccumuloProperties#KEY_PACKAGE_NUM_SHARDS} and must not be changed
+ * once elements have been added. As the shard prefix comes before the vertex,
+ * the table should be split on the shard prefixes. The number of shards is
+ * passed to the iterators and to the AddElementsFromHdfs jobs, so they shard
+ * rows in the same way as the store.
+ * </p>
+ */
+public class ShardedByteEntityKeyPackage extends AccumuloKeyPackage {
+    private int numShards = ShardUtils.DEFAULT_NUM_SHARDS;
+
+    public ShardedByteEntityKeyPackage() {
+        setIteratorFactory(new ShardedByteEntityIteratorSettingsFactory());
+        setKeyFunctor(new CoreKeyBloomFunctor());
+    }
+
+    public ShardedByteEntityKeyPackage(final Schema schema) {
+        this(schema, ShardUtils.DEFAULT_NUM_SHARDS);
+    }
+
+    public ShardedByteEntityKeyPackage(final Schema schema, final int numShards) {
+        this();
+        setNumShards(numShards);
+        setSchema(schema);
+    }
+
+    public int getNumShards() {
+        return numShards;
+    }
+
+    @Override
+    public void setProperties(final AccumuloProperties properties) {
+        setNumShards(properties.getKeyPackageNumShards());
+    }
+
+    @Override
+    public void setSchema(final Schema schema) {
+        setRangeFactory(new ShardedByteEntityRangeFactory(schema, numShards));
+        setKeyConverter(new ShardedByteEntityAccumuloElementConverter(schema, numShards));
+    }
+
+    private void setNumShards(final int numShards) {
+        ShardUtils.validateNumShards(numShards);
+        this.numShards = numShards;
+    }
+}
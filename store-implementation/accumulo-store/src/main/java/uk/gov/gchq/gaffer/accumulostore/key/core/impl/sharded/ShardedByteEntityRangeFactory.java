@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.core.impl.sharded;
+
+import org.apache.accumulo.core.data.Range;
+
+import uk.gov.gchq.gaffer.accumulostore.key.RangeFactory;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityRangeFactory;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link RangeFactory} for the {@link ShardedByteEntityKeyPackage}. The
+ * ranges are created by a {@link ByteEntityRangeFactory} and each range is
+ * then copied once per shard.
+ */
+public class ShardedByteEntityRangeFactory implements RangeFactory {
+    private final ByteEntityRangeFactory rangeFactory;
+    private final int numShards;
+
+    public ShardedByteEntityRangeFactory(final Schema schema) {
+        this(schema, ShardUtils.DEFAULT_NUM_SHARDS);
+    }
+
+    public ShardedByteEntityRangeFactory(final Schema schema, final int numShards) {
+        ShardUtils.validateNumShards(numShards);
+        this.rangeFactory = new ByteEntityRangeFactory(schema);
+        this.numShards = numShards;
+    }
+
+    @Override
+    public List<Range> getRange(final ElementId elementId, final GraphFilters operation)
+            throws RangeFactoryException {
+        return addShards(rangeFactory.getRange(elementId, operation));
+    }
+
+    /**
+     * The elements between a pair of ids are stored in a separate block in
+     * each shard so cannot be returned as a single range, use
+     * {@link #getRangesFromPair(Pair, GraphFilters)} instead.
+     *
+     * @throws RangeFactoryException always
+     */
+    @Override
+    public Range getRangeFromPair(final Pair<ElementId, ElementId> pairRange, final GraphFilters operation)
+            throws RangeFactoryException {
+        throw new RangeFactoryException("Elements between a pair of ids are spread over " + numShards
+                + " shards, so a single range cannot be created");
+    }
+
+    @Override
+    public List<Range> getRangesFromPair(final Pair<ElementId, ElementId> pairRange, final GraphFilters operation)
+            throws RangeFactoryException {
+        return addShards(Collections.singletonList(rangeFactory.getRangeFromPair(pairRange, operation)));
+    }
+
+    private List<Range> addShards(final List<Range> ranges) {
+        final List<Range> shardedRanges = new ArrayList<>(ranges.size() * numShards);
+        for (final Range range : ranges) {
+            Collections.addAll(shardedRanges, ShardUtils.addShards(range, numShards));
+        }
+        return shardedRanges;
+    }
+}
@@ -21,6 +21,10 @@ import uk.gov.gchq.gaffer.accumulostore.key.AccumuloException;
 public class RangeFactoryException extends AccumuloException {
     private static final long serialVersionUID = 7169995709221692952L;
 
+    public RangeFactoryException(final String message) {
+        super(message);
+    }
+
     public RangeFactoryException(final String message, final Throwable e) {
         super(message, e);
     }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.OptionDescriber;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The ResultLimitIterator stops returning key-value pairs once the number given
+ * in the {@link AccumuloStoreConstants#RESULT_LIMIT} option have been returned
+ * since the last seek, so a tablet server stops reading a range once enough
+ * results have been found.
+ * <p>
+ * The limit is only an upper bound on the key-value pairs returned from each
+ * tablet range. The count is reset on each seek, so a query with several seeds
+ * or a range spanning several tablets can return up to the limit from each
+ * range, and a scan that is continued in a new batch is re-seeked. Key-value
+ * pairs are counted before the client converts them into elements and applies
+ * the post transform filters, so the number of elements returned is not known
+ * here. The client must always apply the limit itself; this iterator only
+ * reduces the work done by the tablet servers.
+ * </p>
+ */
+public class ResultLimitIterator extends WrappingIterator implements OptionDescriber {
+    private int resultLimit;
+    private int count;
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+        validateOptions(options);
+        resultLimit = Integer.parseInt(options.get(AccumuloStoreConstants.RESULT_LIMIT));
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final ResultLimitIterator copy = new ResultLimitIterator();
+        copy.setSource(getSource().deepCopy(env));
+        copy.resultLimit = resultLimit;
+        return copy;
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive)
+            throws IOException {
+        count = 0;
+        super.seek(range, columnFamilies, inclusive);
+    }
+
+    @Override
+    public boolean hasTop() {
+        return count < resultLimit && super.hasTop();
+    }
+
+    @Override
+    public void next() throws IOException {
+        count++;
+        if (count < resultLimit) {
+            super.next();
+        }
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        final String resultLimitOption = options.get(AccumuloStoreConstants.RESULT_LIMIT);
+        if (null == resultLimitOption) {
+            throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.RESULT_LIMIT);
+        }
+        final int limit;
+        try {
+            limit = Integer.parseInt(resultLimitOption);
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("The " + AccumuloStoreConstants.RESULT_LIMIT + " must be an integer", e);
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("The " + AccumuloStoreConstants.RESULT_LIMIT + " must be at least 1");
+        }
+        return true;
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.RESULT_LIMIT_ITERATOR_NAME,
+                "Stops returning key-value pairs once a limit has been reached")
+                .addNamedOption(AccumuloStoreConstants.RESULT_LIMIT,
+                        "Required: The maximum number of key-value pairs to return after each seek")
+                .build();
+    }
+}
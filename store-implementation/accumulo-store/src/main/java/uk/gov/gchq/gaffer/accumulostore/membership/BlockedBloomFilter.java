@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.membership;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.BloomFilterUtils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A cache blocked Bloom filter. The bits are split into 512 bit blocks and all
+ * the bits for an item are set within a single block, chosen by the item's
+ * hash, so a membership test touches one cache line rather than one per hash
+ * function. A single 64 bit hash is computed per item and the bit positions
+ * are derived from it, rather than running a hash function per bit.
+ * <p>
+ * For the same number of bits the false positive rate is slightly higher than
+ * that of a standard Bloom filter. The filter is sized using
+ * {@link BloomFilterUtils} so it is subject to the same maximum size as the
+ * {@link org.apache.hadoop.util.bloom.BloomFilter}s used previously.
+ * </p>
+ * <p>
+ * This class is its own {@link MembershipFilterBuilder}; {@link #build()}
+ * returns this filter.
+ * </p>
+ */
+public class BlockedBloomFilter implements MembershipFilter, MembershipFilterBuilder {
+    private static final int BITS_PER_BLOCK = 512;
+    private static final int LONGS_PER_BLOCK = BITS_PER_BLOCK / Long.SIZE;
+    private static final int MAX_NUM_HASHES = 16;
+
+    private final long[] bits;
+    private final int numBlocks;
+    private final int numHashes;
+
+    /**
+     * Creates an empty filter sized to achieve the given false positive rate
+     * once the expected number of items have been added, subject to the given
+     * maximum size.
+     *
+     * @param falsePositiveRate the desired false positive rate
+     * @param expectedNumItems  the number of items expected to be added
+     * @param maxSizeInBits     the maximum size of the filter in bits
+     */
+    public BlockedBloomFilter(final double falsePositiveRate, final int expectedNumItems, final int maxSizeInBits) {
+        final int numItems = Math.max(1, expectedNumItems);
+        final int size = BloomFilterUtils.calculateBloomFilterSize(falsePositiveRate, numItems, maxSizeInBits);
+        this.numBlocks = Math.max(1, (size + BITS_PER_BLOCK - 1) / BITS_PER_BLOCK);
+        this.numHashes = Math.min(MAX_NUM_HASHES,
+                BloomFilterUtils.calculateNumHashes(numBlocks * BITS_PER_BLOCK, numItems));
+        this.bits = new long[numBlocks * LONGS_PER_BLOCK];
+    }
+
+    private BlockedBloomFilter(final long[] bits, final int numHashes) {
+        this.bits = bits;
+        this.numBlocks = bits.length / LONGS_PER_BLOCK;
+        this.numHashes = numHashes;
+    }
+
+    @Override
+    public void add(final byte[] bytes) {
+        addHash(ByteArrayHash.hash64(bytes, 0, bytes.length));
+    }
+
+    void addHash(final long hash) {
+        final int blockStart = getBlockStart(hash);
+        int bitHash = (int) hash;
+        final int bitHashIncrement = getBitHashIncrement(hash);
+        for (int i = 0; i < numHashes; i++) {
+            final int bit = bitHash >>> 23;
+            bits[blockStart + (bit >>> 6)] |= 1L << bit;
+            bitHash += bitHashIncrement;
+        }
+    }
+
+    @Override
+    public MembershipFilter build() {
+        return this;
+    }
+
+    @Override
+    public boolean mightContain(final byte[] bytes, final int offset, final int length) {
+        final long hash = ByteArrayHash.hash64(bytes, offset, length);
+        final int blockStart = getBlockStart(hash);
+        int bitHash = (int) hash;
+        final int bitHashIncrement = getBitHashIncrement(hash);
+        for (int i = 0; i < numHashes; i++) {
+            final int bit = bitHash >>> 23;
+            if (0 == (bits[blockStart + (bit >>> 6)] & (1L << bit))) {
+                return false;
+            }
+            bitHash += bitHashIncrement;
+        }
+        return true;
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        final ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + 4 + (bits.length * 8));
+        buffer.put(MembershipFilterType.BLOCKED_BLOOM.getId());
+        buffer.putInt(numHashes);
+        buffer.putInt(bits.length);
+        for (final long word : bits) {
+            buffer.putLong(word);
+        }
+        return buffer.array();
+    }
+
+    static BlockedBloomFilter deserialise(final ByteBuffer buffer) {
+        final int numHashes = buffer.getInt();
+        final long[] bits = new long[buffer.getInt()];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = buffer.getLong();
+        }
+        return new BlockedBloomFilter(bits, numHashes);
+    }
+
+    public int getNumBlocks() {
+        return numBlocks;
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    // The upper half of the hash chooses the block, so the increment between
+    // bit positions is taken from a remix of the hash to keep the bits set
+    // within a block independent of the choice of block.
+    private static int getBitHashIncrement(final long hash) {
+        return (int) ByteArrayHash.mix(hash) | 1;
+    }
+
+    private int getBlockStart(final long hash) {
+        return ByteArrayHash.reduce((int) (hash >>> 32), numBlocks) * LONGS_PER_BLOCK;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.membership;
+
+/**
+ * 64 bit hashing of byte array slices for the {@link MembershipFilter}s.
+ * The hash is MurmurHash64A, which reads the bytes in place so no copy of
+ * the slice is made.
+ */
+final class ByteArrayHash {
+    private static final long SEED = 0x9747b28cL;
+    private static final long M = 0xc6a4a7935bd1e995L;
+    private static final int R = 47;
+
+    private ByteArrayHash() {
+        // private to prevent this class being instantiated.
+        // All methods are static and should be called directly.
+    }
+
+    static long hash64(final byte[] bytes, final int offset, final int length) {
+        long hash = SEED ^ (length * M);
+
+        final int numLongs = length >>> 3;
+        for (int i = 0; i < numLongs; i++) {
+            final int index = offset + (i << 3);
+            long k = (bytes[index] & 0xffL)
+                    | (bytes[index + 1] & 0xffL) << 8
+                    | (bytes[index + 2] & 0xffL) << 16
+                    | (bytes[index + 3] & 0xffL) << 24
+                    | (bytes[index + 4] & 0xffL) << 32
+                    | (bytes[index + 5] & 0xffL) << 40
+                    | (bytes[index + 6] & 0xffL) << 48
+                    | (bytes[index + 7] & 0xffL) << 56;
+            k *= M;
+            k ^= k >>> R;
+            k *= M;
+            hash ^= k;
+            hash *= M;
+        }
+
+        final int tail = offset + (numLongs << 3);
+        final int tailLength = length & 7;
+        if (tailLength > 0) {
+            for (int i = tailLength - 1; i >= 0; i--) {
+                hash ^= (bytes[tail + i] & 0xffL) << (8 * i);
+            }
+            hash *= M;
+        }
+
+        hash ^= hash >>> R;
+        hash *= M;
+        hash ^= hash >>> R;
+        return hash;
+    }
+
+    /**
+     * Finalisation step of MurmurHash3, used to derive further well mixed
+     * hashes from a 64 bit hash.
+     *
+     * @param value the value to mix
+     * @return the mixed value
+     */
+    static long mix(final long value) {
+        long mixed = value;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xff51afd7ed558ccdL;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xc4ceb9fe1a85ec53L;
+        mixed ^= mixed >>> 33;
+        return mixed;
+    }
+
+    /**
+     * Maps a 32 bit hash uniformly onto the range [0, n) without a division.
+     *
+     * @param hash the hash
+     * @param n    the size of the range
+     * @return a value in the range [0, n)
+     */
+    static int reduce(final int hash, final int n) {
+        return (int) (((hash & 0xffffffffL) * n) >>> 32);
+    }
+}
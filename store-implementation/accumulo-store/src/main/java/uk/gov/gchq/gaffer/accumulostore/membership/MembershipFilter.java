@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.membership;
+
+/**
+ * A probabilistic set of serialised vertices. A {@code MembershipFilter} never
+ * gives false negatives but may give false positives, at a rate governed by
+ * the way it was built.
+ * <p>
+ * Membership is tested directly against a slice of a byte array, so an
+ * iterator can test a section of a row without copying it.
+ * </p>
+ *
+ * @see MembershipFilterType
+ */
+public interface MembershipFilter {
+
+    /**
+     * Tests whether the given bytes may have been added to this filter.
+     *
+     * @param bytes  the array holding the bytes to test
+     * @param offset the offset of the first byte to test
+     * @param length the number of bytes to test
+     * @return false if the bytes were definitely not added, true if they may have been added.
+     */
+    boolean mightContain(final byte[] bytes, final int offset, final int length);
+
+    /**
+     * Tests whether the given bytes may have been added to this filter.
+     *
+     * @param bytes the bytes to test
+     * @return false if the bytes were definitely not added, true if they may have been added.
+     */
+    default boolean mightContain(final byte[] bytes) {
+        return mightContain(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Serialises this filter, including its {@link MembershipFilterType},
+     * so it can be recreated with {@link MembershipFilterType#deserialise(byte[])}.
+     *
+     * @return the serialised filter.
+     */
+    byte[] toByteArray();
+}
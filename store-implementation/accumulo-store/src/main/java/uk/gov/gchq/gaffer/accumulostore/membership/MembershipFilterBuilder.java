@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.membership;
+
+/**
+ * Collects serialised vertices and builds a {@link MembershipFilter} containing
+ * them. More items may be added after {@link #build()} has been called, in which
+ * case the next call to {@link #build()} returns a filter containing all the
+ * items added so far.
+ */
+public interface MembershipFilterBuilder {
+
+    /**
+     * Adds the given bytes to the filter being built.
+     *
+     * @param bytes the bytes to add
+     */
+    void add(final byte[] bytes);
+
+    /**
+     * @return a {@link MembershipFilter} containing all the items added so far.
+     */
+    MembershipFilter build();
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.membership;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The types of {@link MembershipFilter} that can be passed to the Accumulo
+ * iterators to filter edges on the vertex that was not queried for. The type
+ * to use is set in the {@link uk.gov.gchq.gaffer.accumulostore.AccumuloProperties}.
+ */
+public enum MembershipFilterType {
+    /**
+     * A {@link BlockedBloomFilter}. Items can be added after the filter has
+     * been built.
+     */
+    BLOCKED_BLOOM((byte) 1) {
+        @Override
+        public MembershipFilterBuilder createBuilder(final double falsePositiveRate, final int expectedNumItems,
+                                                     final int maxSizeInBits) {
+            return new BlockedBloomFilter(falsePositiveRate, expectedNumItems, maxSizeInBits);
+        }
+    },
+
+    /**
+     * An {@link XorFilter}. This has fewer false positives than a Bloom filter
+     * of the same size but is rebuilt each time items are added. A
+     * {@link BlockedBloomFilter} is used instead if the XOR filter would be
+     * larger than the maximum size.
+     */
+    XOR((byte) 2) {
+        @Override
+        public MembershipFilterBuilder createBuilder(final double falsePositiveRate, final int expectedNumItems,
+                                                     final int maxSizeInBits) {
+            return new XorFilter.Builder(falsePositiveRate, maxSizeInBits);
+        }
+    };
+
+    private final byte id;
+
+    MembershipFilterType(final byte id) {
+        this.id = id;
+    }
+
+    /**
+     * Creates a builder for a filter of this type.
+     *
+     * @param falsePositiveRate the desired false positive rate
+     * @param expectedNumItems  the number of items expected to be added
+     * @param maxSizeInBits     the maximum size of the filter in bits
+     * @return a new {@link MembershipFilterBuilder}
+     */
+    public abstract MembershipFilterBuilder createBuilder(final double falsePositiveRate, final int expectedNumItems,
+                                                          final int maxSizeInBits);
+
+    /**
+     * Recreates a filter from the output of {@link MembershipFilter#toByteArray()}.
+     *
+     * @param bytes the serialised filter
+     * @return the deserialised filter
+     */
+    public static MembershipFilter deserialise(final byte[] bytes) {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        final byte id = buffer.get();
+        if (BLOCKED_BLOOM.id == id) {
+            return BlockedBloomFilter.deserialise(buffer);
+        }
+        if (XOR.id == id) {
+            return XorFilter.deserialise(buffer);
+        }
+        throw new IllegalArgumentException("Unknown membership filter type: " + id);
+    }
+
+    byte getId() {
+        return id;
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.membership;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * An XOR filter, as described by Graf and Lemire in "Xor Filters: Faster and
+ * Smaller Than Bloom and Cuckoo Filters". Each item maps to one fingerprint
+ * slot in each of three blocks and the filter stores fingerprints such that
+ * the XOR of an added item's three slots equals its fingerprint.
+ * <p>
+ * A membership test reads exactly three slots. The filter uses about 1.23
+ * fingerprints per item, so an 8 bit fingerprint gives a false positive rate
+ * of about 0.4% in 9.84 bits per item and a 16 bit fingerprint gives a false
+ * positive rate of about 0.0015% in 19.7 bits per item, compared to 14.4 and
+ * 23.3 bits per item for a standard Bloom filter.
+ * </p>
+ * <p>
+ * XOR filters are immutable, so the {@link Builder} records the hash of each
+ * item added and constructs a new filter on the first call to
+ * {@link Builder#build()} after items have been added. An XOR filter with 8 bit
+ * fingerprints that would be larger than the maximum size is replaced by a
+ * {@link BlockedBloomFilter} of the maximum size.
+ * </p>
+ */
+public final class XorFilter implements MembershipFilter {
+    private static final int MAX_BUILD_ATTEMPTS = 100;
+
+    private final long seed;
+    private final int blockLength;
+    private final int fingerprintBytes;
+    private final int fingerprintMask;
+    private final byte[] fingerprints;
+
+    private XorFilter(final long seed, final int blockLength, final int fingerprintBytes, final byte[] fingerprints) {
+        this.seed = seed;
+        this.blockLength = blockLength;
+        this.fingerprintBytes = fingerprintBytes;
+        this.fingerprintMask = 1 == fingerprintBytes ? 0xff : 0xffff;
+        this.fingerprints = fingerprints;
+    }
+
+    @Override
+    public boolean mightContain(final byte[] bytes, final int offset, final int length) {
+        final long hash = ByteArrayHash.mix(ByteArrayHash.hash64(bytes, offset, length) + seed);
+        return fingerprint(hash) == (getFingerprint(h0(hash)) ^ getFingerprint(h1(hash)) ^ getFingerprint(h2(hash)));
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        final ByteBuffer buffer = ByteBuffer.allocate(1 + 8 + 4 + 1 + fingerprints.length);
+        buffer.put(MembershipFilterType.XOR.getId());
+        buffer.putLong(seed);
+        buffer.putInt(blockLength);
+        buffer.put((byte) fingerprintBytes);
+        buffer.put(fingerprints);
+        return buffer.array();
+    }
+
+    static XorFilter deserialise(final ByteBuffer buffer) {
+        final long seed = buffer.getLong();
+        final int blockLength = buffer.getInt();
+        final int fingerprintBytes = buffer.get();
+        final byte[] fingerprints = new byte[3 * blockLength * fingerprintBytes];
+        buffer.get(fingerprints);
+        return new XorFilter(seed, blockLength, fingerprintBytes, fingerprints);
+    }
+
+    public int getFingerprintBits() {
+        return fingerprintBytes * Byte.SIZE;
+    }
+
+    public int getSizeInBits() {
+        return fingerprints.length * Byte.SIZE;
+    }
+
+    private int fingerprint(final long hash) {
+        return (int) (hash ^ (hash >>> 32)) & fingerprintMask;
+    }
+
+    private int h0(final long hash) {
+        return ByteArrayHash.reduce((int) hash, blockLength);
+    }
+
+    private int h1(final long hash) {
+        return ByteArrayHash.reduce((int) Long.rotateLeft(hash, 21), blockLength) + blockLength;
+    }
+
+    private int h2(final long hash) {
+        return ByteArrayHash.reduce((int) Long.rotateLeft(hash, 42), blockLength) + 2 * blockLength;
+    }
+
+    private int getFingerprint(final int slot) {
+        if (1 == fingerprintBytes) {
+            return fingerprints[slot] & 0xff;
+        }
+        return (fingerprints[2 * slot] & 0xff) << 8 | (fingerprints[2 * slot + 1] & 0xff);
+    }
+
+    private void setFingerprint(final int slot, final int fingerprint) {
+        if (1 == fingerprintBytes) {
+            fingerprints[slot] = (byte) fingerprint;
+        } else {
+            fingerprints[2 * slot] = (byte) (fingerprint >>> 8);
+            fingerprints[2 * slot + 1] = (byte) fingerprint;
+        }
+    }
+
+    /**
+     * Builds {@link XorFilter}s. A 16 bit fingerprint is used when the desired
+     * false positive rate cannot be met with an 8 bit fingerprint, unless that
+     * would make the filter larger than the maximum size. If even an 8 bit
+     * fingerprint would make the filter larger than the maximum size then a
+     * {@link BlockedBloomFilter} of the maximum size is built instead, and
+     * any items added afterwards are added to that filter.
+     */
+    public static class Builder implements MembershipFilterBuilder {
+        private static final double EIGHT_BIT_FALSE_POSITIVE_RATE = 1.0 / 256;
+
+        private final double falsePositiveRate;
+        private final int maxSizeInBits;
+        private long[] hashes = new long[16];
+        private int numHashes;
+        private MembershipFilter builtFilter;
+        private BlockedBloomFilter bloomFilter;
+
+        public Builder(final double falsePositiveRate, final int maxSizeInBits) {
+            this.falsePositiveRate = falsePositiveRate;
+            this.maxSizeInBits = maxSizeInBits;
+        }
+
+        @Override
+        public void add(final byte[] bytes) {
+            final long hash = ByteArrayHash.hash64(bytes, 0, bytes.length);
+            if (null != bloomFilter) {
+                bloomFilter.addHash(hash);
+                return;
+            }
+            if (numHashes == hashes.length) {
+                hashes = Arrays.copyOf(hashes, hashes.length * 2);
+            }
+            hashes[numHashes++] = hash;
+            builtFilter = null;
+        }
+
+        @Override
+        public MembershipFilter build() {
+            if (null != bloomFilter) {
+                return bloomFilter;
+            }
+            if (null == builtFilter) {
+                builtFilter = buildFilter();
+            }
+            return builtFilter;
+        }
+
+        private MembershipFilter buildFilter() {
+            final long[] keys = getDistinctHashes();
+            final int blockLength = (32 + (int) Math.ceil(1.23 * keys.length)) / 3;
+            final int arrayLength = 3 * blockLength;
+            if ((long) arrayLength * 8 > maxSizeInBits) {
+                bloomFilter = new BlockedBloomFilter(falsePositiveRate, keys.length, maxSizeInBits);
+                for (final long key : keys) {
+                    bloomFilter.addHash(key);
+                }
+                hashes = null;
+                return bloomFilter;
+            }
+
+            int fingerprintBytes = 1;
+            if (falsePositiveRate < EIGHT_BIT_FALSE_POSITIVE_RATE && (long) arrayLength * 16 <= maxSizeInBits) {
+                fingerprintBytes = 2;
+            }
+
+            final long[] stackHashes = new long[keys.length];
+            final byte[] stackBlocks = new byte[keys.length];
+            long seed = 0;
+            for (int attempt = 0; attempt < MAX_BUILD_ATTEMPTS; attempt++) {
+                seed = ByteArrayHash.mix(seed + attempt + 1);
+                final XorFilter filter = new XorFilter(seed, blockLength, fingerprintBytes, new byte[arrayLength * fingerprintBytes]);
+                if (peel(filter, keys, stackHashes, stackBlocks)) {
+                    assign(filter, stackHashes, stackBlocks);
+                    return filter;
+                }
+            }
+            throw new IllegalStateException("Unable to build an XOR filter for " + keys.length + " items");
+        }
+
+        private long[] getDistinctHashes() {
+            final long[] sorted = Arrays.copyOf(hashes, numHashes);
+            Arrays.sort(sorted);
+            int numDistinct = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (0 == i || sorted[i] != sorted[i - 1]) {
+                    sorted[numDistinct++] = sorted[i];
+                }
+            }
+            return Arrays.copyOf(sorted, numDistinct);
+        }
+
+        // Repeatedly removes keys that are the only key mapped to one of their
+        // slots, recording the order they were removed in. This succeeds if
+        // every key is removed.
+        private static boolean peel(final XorFilter filter, final long[] keys, final long[] stackHashes, final byte[] stackBlocks) {
+            final int arrayLength = 3 * filter.blockLength;
+            final int[] counts = new int[arrayLength];
+            final long[] xorHashes = new long[arrayLength];
+            for (final long key : keys) {
+                final long hash = ByteArrayHash.mix(key + filter.seed);
+                for (final int slot : new int[]{filter.h0(hash), filter.h1(hash), filter.h2(hash)}) {
+                    counts[slot]++;
+                    xorHashes[slot] ^= hash;
+                }
+            }
+
+            final int[] queue = new int[arrayLength];
+            int queueSize = 0;
+            for (int slot = 0; slot < arrayLength; slot++) {
+                if (1 == counts[slot]) {
+                    queue[queueSize++] = slot;
+                }
+            }
+
+            int stackSize = 0;
+            while (queueSize > 0) {
+                final int slot = queue[--queueSize];
+                if (1 != counts[slot]) {
+                    continue;
+                }
+                final long hash = xorHashes[slot];
+                final int[] slots = {filter.h0(hash), filter.h1(hash), filter.h2(hash)};
+                stackHashes[stackSize] = hash;
+                stackBlocks[stackSize] = (byte) (slot / filter.blockLength);
+                stackSize++;
+                for (final int keySlot : slots) {
+                    counts[keySlot]--;
+                    xorHashes[keySlot] ^= hash;
+                    if (1 == counts[keySlot]) {
+                        queue[queueSize++] = keySlot;
+                    }
+                }
+            }
+            return stackSize == keys.length;
+        }
+
+        // Assigns fingerprints in the reverse of the order the keys were
+        // peeled in, so each key's chosen slot is set after its other two
+        // slots have their final values.
+        private static void assign(final XorFilter filter, final long[] stackHashes, final byte[] stackBlocks) {
+            for (int i = stackHashes.length - 1; i >= 0; i--) {
+                final long hash = stackHashes[i];
+                final int h0 = filter.h0(hash);
+                final int h1 = filter.h1(hash);
+                final int h2 = filter.h2(hash);
+                final int slot = 0 == stackBlocks[i] ? h0 : 1 == stackBlocks[i] ? h1 : h2;
+                filter.setFingerprint(slot, filter.fingerprint(hash)
+                        ^ filter.getFingerprint(h0) ^ filter.getFingerprint(h1) ^ filter.getFingerprint(h2));
+            }
+        }
+    }
+}
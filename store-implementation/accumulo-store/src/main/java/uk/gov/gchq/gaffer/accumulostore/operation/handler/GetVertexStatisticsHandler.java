@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import com.clearspring.analytics.stream.cardinality.CardinalityMergeException;
+import com.clearspring.analytics.stream.cardinality.HyperLogLogPlus;
+import org.apache.accumulo.core.client.BatchScanner;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.Authorizations;
+import org.apache.hadoop.io.Text;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetVertexStatistics;
+import uk.gov.gchq.gaffer.accumulostore.summary.VertexStatistics;
+import uk.gov.gchq.gaffer.accumulostore.summary.VertexSummaryUtils;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Looks up the input vertices in the vertex summary table. The statistics
+ * stored under each visibility the user can see are added together, so the
+ * results only describe the elements the user is able to see.
+ */
+public class GetVertexStatisticsHandler implements OutputOperationHandler<GetVertexStatistics, CloseableIterable<? extends VertexStatistics>> {
+    @Override
+    public CloseableIterable<? extends VertexStatistics> doOperation(final GetVertexStatistics operation,
+                                                                     final Context context, final Store store)
+            throws OperationException {
+        return doOperation(operation, context.getUser(), (AccumuloStore) store);
+    }
+
+    public CloseableIterable<? extends VertexStatistics> doOperation(final GetVertexStatistics operation,
+                                                                     final User user, final AccumuloStore store)
+            throws OperationException {
+        if (null == operation.getInput()) {
+            throw new OperationException("Input is required for operation: " + operation.getClass().getSimpleName());
+        }
+
+        final ToBytesSerialiser vertexSerialiser = (ToBytesSerialiser) store.getSchema().getVertexSerialiser();
+        final List<Range> ranges = new ArrayList<>();
+        try {
+            for (final EntityId seed : operation.getInput()) {
+                ranges.add(Range.exact(new Text(vertexSerialiser.serialise(seed.getVertex()))));
+            }
+        } catch (final SerialisationException e) {
+            throw new OperationException("Failed to serialise an input vertex", e);
+        }
+        if (ranges.isEmpty()) {
+            return new WrappedCloseableIterable<>(new ArrayList<>());
+        }
+
+        final Map<Key, VertexStatistics> statistics = new TreeMap<>();
+        final Map<Key, HyperLogLogPlus> sketches = new HashMap<>();
+        final BatchScanner scanner = createScanner(operation, user, store);
+        try {
+            scanner.setRanges(ranges);
+            for (final Map.Entry<Key, Value> entry : scanner) {
+                final Key key = entry.getKey();
+                final Key rowAndGroup = new Key(key.getRow(), key.getColumnFamily());
+                VertexStatistics vertexStatistics = statistics.get(rowAndGroup);
+                if (null == vertexStatistics) {
+                    vertexStatistics = new VertexStatistics(
+                            vertexSerialiser.deserialise(key.getRowData().toArray()),
+                            key.getColumnFamily().toString());
+                    statistics.put(rowAndGroup, vertexStatistics);
+                }
+                addStatistic(vertexStatistics, rowAndGroup, key.getColumnQualifier().toString(), entry.getValue(), sketches);
+            }
+        } catch (final SerialisationException e) {
+            throw new OperationException("Failed to deserialise a vertex from the summary table", e);
+        } finally {
+            scanner.close();
+        }
+
+        for (final Map.Entry<Key, HyperLogLogPlus> entry : sketches.entrySet()) {
+            statistics.get(entry.getKey()).setDistinctNeighbours(entry.getValue().cardinality());
+        }
+        return new WrappedCloseableIterable<>(new ArrayList<>(statistics.values()));
+    }
+
+    private BatchScanner createScanner(final GetVertexStatistics operation, final User user, final AccumuloStore store)
+            throws OperationException {
+        final Authorizations authorisations;
+        if (null != user && null != user.getDataAuths()) {
+            authorisations = new Authorizations(user.getDataAuths().toArray(new String[user.getDataAuths().size()]));
+        } else {
+            authorisations = new Authorizations();
+        }
+
+        final BatchScanner scanner;
+        try {
+            scanner = store.getConnection().createBatchScanner(VertexSummaryUtils.getSummaryTableName(store),
+                    authorisations, store.getProperties().getThreadsForBatchScanner());
+        } catch (final TableNotFoundException | StoreException e) {
+            throw new OperationException("Failed to create a scanner for the vertex summary table", e);
+        }
+        if (null != operation.getGroups()) {
+            for (final String group : operation.getGroups()) {
+                scanner.fetchColumnFamily(new Text(group));
+            }
+        }
+        return scanner;
+    }
+
+    private void addStatistic(final VertexStatistics vertexStatistics, final Key rowAndGroup, final String statistic,
+                              final Value value, final Map<Key, HyperLogLogPlus> sketches) throws OperationException {
+        switch (statistic) {
+            case VertexSummaryUtils.ENTITY_COUNT:
+                vertexStatistics.setEntityCount(vertexStatistics.getEntityCount() + VertexSummaryUtils.decodeCount(value.get()));
+                break;
+            case VertexSummaryUtils.OUT_EDGE_COUNT:
+                vertexStatistics.setOutEdgeCount(vertexStatistics.getOutEdgeCount() + VertexSummaryUtils.decodeCount(value.get()));
+                break;
+            case VertexSummaryUtils.IN_EDGE_COUNT:
+                vertexStatistics.setInEdgeCount(vertexStatistics.getInEdgeCount() + VertexSummaryUtils.decodeCount(value.get()));
+                break;
+            case VertexSummaryUtils.UNDIRECTED_EDGE_COUNT:
+                vertexStatistics.setUndirectedEdgeCount(vertexStatistics.getUndirectedEdgeCount() + VertexSummaryUtils.decodeCount(value.get()));
+                break;
+            case VertexSummaryUtils.DISTINCT_NEIGHBOURS:
+                try {
+                    final HyperLogLogPlus sketch = VertexSummaryUtils.deserialiseSketch(value.get());
+                    final HyperLogLogPlus existing = sketches.get(rowAndGroup);
+                    if (null == existing) {
+                        sketches.put(rowAndGroup, sketch);
+                    } else {
+                        existing.addAll(sketch);
+                    }
+                } catch (final IOException | CardinalityMergeException e) {
+                    throw new OperationException("Failed to read the distinct neighbours sketch for " + vertexStatistics.getVertex(), e);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.rfile.RFileBulkLoader;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.AddElementsViaRFiles;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.store.ValidatedElements;
+import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
+
+import java.io.IOException;
+
+public class AddElementsViaRFilesHandler implements OperationHandler<AddElementsViaRFiles> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AddElementsViaRFilesHandler.class);
+
+    @Override
+    public Void doOperation(final AddElementsViaRFiles operation,
+                            final Context context, final Store store)
+            throws OperationException {
+        doOperation(operation, context, (AccumuloStore) store);
+        return null;
+    }
+
+    public void doOperation(final AddElementsViaRFiles operation,
+                            final Context context, final AccumuloStore store)
+            throws OperationException {
+        if (null == operation.getWorkingPath()) {
+            throw new IllegalArgumentException("workingPath is required");
+        }
+
+        final String jobWorkingPath = getPathWithSlashSuffix(operation.getWorkingPath()) + context.getJobId();
+        LOGGER.info("Using working directory for RFiles: {}", jobWorkingPath);
+
+        final Iterable<? extends Element> validatedElements;
+        if (operation.isValidate()) {
+            validatedElements = new ValidatedElements(operation.getInput(), store.getSchema(), operation.isSkipInvalidElements());
+        } else {
+            validatedElements = operation.getInput();
+        }
+
+        final FileSystem fs;
+        try {
+            fs = FileSystem.get(new Configuration());
+        } catch (final IOException e) {
+            throw new OperationException("Operation failed due to filesystem error: " + e.getMessage(), e);
+        }
+
+        new RFileBulkLoader(store, fs, jobWorkingPath).load(validatedElements);
+    }
+
+    private String getPathWithSlashSuffix(final String path) {
+        if (path.endsWith("/")) {
+            return path;
+        }
+        return path + "/";
+    }
+}
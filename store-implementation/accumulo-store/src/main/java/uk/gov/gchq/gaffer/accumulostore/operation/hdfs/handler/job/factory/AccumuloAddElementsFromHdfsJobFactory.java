@@ -28,6 +28,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.sharded.ShardUtils;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.job.partitioner.GafferKeyRangePartitioner;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.mapper.AddElementsFromHdfsMapper;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.reducer.AccumuloKeyValueReducer;
@@ -75,8 +77,21 @@ public class AccumuloAddElementsFromHdfsJobFactory implements AddElementsFromHdf
             LOGGER.info("Set number of reduce tasks to {} on job conf", operation.getNumReduceTasks());
         }
 
-        jobConf.set(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS,
-                ((AccumuloStore) store).getKeyPackage().getKeyConverter().getClass().getName());
+        final AccumuloElementConverter converter = ((AccumuloStore) store).getKeyPackage().getKeyConverter();
+        jobConf.set(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS, converter.getClass().getName());
+        final String numShards = ShardUtils.getNumShards(converter);
+        if (null != numShards) {
+            jobConf.set(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_NUM_SHARDS, numShards);
+            LOGGER.info("Added {} of {} to job conf", AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_NUM_SHARDS, numShards);
+        }
+
+        if (((AccumuloStore) store).getProperties().getEnableSummaryTable()) {
+            try {
+                ((AccumuloStore) store).updateSummaryTableConfiguration(jobConf);
+            } catch (final StoreException e) {
+                throw new IOException("Unable to add the vertex summary table to the job conf", e);
+            }
+        }
 
         return jobConf;
     }
@@ -33,6 +33,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.sharded.ShardUtils;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.mapper.SampleDataForSplitPointsMapper;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.reducer.AccumuloKeyValueReducer;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
@@ -143,8 +145,13 @@ public class AccumuloSampleDataForSplitPointsJobFactory implements SampleDataFor
         jobConf.setNumReduceTasks(1);
         LOGGER.info("Set number of reduce tasks to 1 on job conf");
 
-        jobConf.set(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS,
-                ((AccumuloStore) store).getKeyPackage().getKeyConverter().getClass().getName());
+        final AccumuloElementConverter converter = ((AccumuloStore) store).getKeyPackage().getKeyConverter();
+        jobConf.set(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS, converter.getClass().getName());
+        final String numShards = ShardUtils.getNumShards(converter);
+        if (null != numShards) {
+            jobConf.set(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_NUM_SHARDS, numShards);
+            LOGGER.info("Added {} of {} to job conf", AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_NUM_SHARDS, numShards);
+        }
 
         return jobConf;
     }
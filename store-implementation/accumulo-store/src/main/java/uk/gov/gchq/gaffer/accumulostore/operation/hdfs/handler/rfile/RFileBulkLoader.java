@@ -0,0 +1,409 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.rfile;
+
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.client.Scanner;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.client.rfile.RFile;
+import org.apache.accumulo.core.client.rfile.RFileWriter;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.util.ToolRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.job.tool.ImportElementsToAccumuloTool;
+import uk.gov.gchq.gaffer.accumulostore.summary.VertexSummaryWriter;
+import uk.gov.gchq.gaffer.accumulostore.utils.TableUtils;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.StoreException;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bulk loads elements into an {@link AccumuloStore} without a MapReduce job.
+ * <p>
+ * The elements are converted into key-value pairs on a pool of threads. Each
+ * thread holds up to {@link uk.gov.gchq.gaffer.accumulostore.AccumuloProperties#getBulkLoadMaxEntriesPerRun()}
+ * key-value pairs in memory, then sorts them and writes them out as a run of
+ * RFiles, one for each tablet of the table as defined by its current split
+ * points. Once all elements have been converted the runs for each tablet are
+ * merged into a single RFile and the files are imported into the table.
+ * Key-value pairs with the same key are not aggregated by the loader; they are
+ * aggregated by the table's iterators in the same way as elements that are
+ * added individually.
+ * </p>
+ * <p>
+ * If the vertex summary table is enabled it is updated as the elements are
+ * converted.
+ * </p>
+ */
+public class RFileBulkLoader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RFileBulkLoader.class);
+    private static final String RUNS_DIR = "runs";
+    private static final String FILES_DIR = "files";
+    private static final String FAILURES_DIR = "failures";
+    private static final String RFILE_EXTENSION = ".rf";
+
+    private final AccumuloStore store;
+    private final FileSystem fs;
+    private final Path workingPath;
+    private final Path runsPath;
+    private final Path filesPath;
+    private final Path failuresPath;
+    private final int numThreads;
+    private final int batchSize;
+    private final int maxEntriesPerRun;
+    private final AtomicInteger runCounter = new AtomicInteger();
+
+    public RFileBulkLoader(final AccumuloStore store, final FileSystem fs, final String workingPath) {
+        this.store = store;
+        this.fs = fs;
+        this.workingPath = new Path(workingPath);
+        this.runsPath = new Path(workingPath, RUNS_DIR);
+        this.filesPath = new Path(workingPath, FILES_DIR);
+        this.failuresPath = new Path(workingPath, FAILURES_DIR);
+        this.numThreads = store.getProperties().getBulkLoadThreads();
+        this.batchSize = store.getProperties().getIngestConverterBatchSize();
+        this.maxEntriesPerRun = store.getProperties().getBulkLoadMaxEntriesPerRun();
+    }
+
+    /**
+     * Converts, sorts and writes the elements to RFiles and imports them into
+     * the table. The working path is deleted once the files have been
+     * successfully imported.
+     *
+     * @param elements the elements to load
+     * @throws OperationException if the elements could not be written or imported
+     */
+    public void load(final Iterable<? extends Element> elements) throws OperationException {
+        try {
+            if (fs.exists(workingPath)) {
+                throw new OperationException("Working directory already exists: " + workingPath);
+            }
+        } catch (final IOException e) {
+            throw new OperationException("Unable to check working directory " + workingPath, e);
+        }
+
+        final List<Text> splits = getSplits();
+        final ExecutorService pool = Executors.newFixedThreadPool(numThreads, runnable -> {
+            final Thread thread = new Thread(runnable, "accumulo-bulk-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        VertexSummaryWriter summaryWriter = null;
+        boolean loaded = false;
+        try {
+            if (store.getProperties().getEnableSummaryTable()) {
+                summaryWriter = new VertexSummaryWriter(store.getSchema(), TableUtils.createSummaryBatchWriter(store),
+                        store.getProperties().getEnableSummaryTableCardinality());
+            }
+            writeSortedRuns(elements, splits, pool, summaryWriter);
+            final int numFiles = mergeRuns(pool);
+            if (numFiles > 0) {
+                importFiles();
+            } else {
+                LOGGER.info("No elements to import into table {}", store.getTableName());
+            }
+            loaded = true;
+        } catch (final StoreException | IOException e) {
+            throw new OperationException("Failed to bulk load elements: " + e.getMessage(), e);
+        } finally {
+            pool.shutdownNow();
+            if (null != summaryWriter) {
+                try {
+                    // Only the counts of elements that have been imported are written
+                    if (loaded) {
+                        summaryWriter.close();
+                    } else {
+                        summaryWriter.discard();
+                    }
+                } catch (final MutationsRejectedException e) {
+                    LOGGER.warn("Accumulo vertex summary writer failed to close", e);
+                }
+            }
+        }
+
+        try {
+            fs.delete(workingPath, true);
+        } catch (final IOException e) {
+            LOGGER.warn("Unable to delete the bulk load working directory {}", workingPath, e);
+        }
+    }
+
+    private List<Text> getSplits() throws OperationException {
+        try {
+            final List<Text> splits = new ArrayList<>(store.getConnection().tableOperations().listSplits(store.getTableName()));
+            Collections.sort(splits);
+            return splits;
+        } catch (final TableNotFoundException | AccumuloSecurityException | AccumuloException | StoreException e) {
+            throw new OperationException("Unable to get the split points of table " + store.getTableName(), e);
+        }
+    }
+
+    // Converts the elements on the pool, in the same way as AccumuloStore does when adding elements
+    // on more than one thread. Each thread collects its key-value pairs in its own run.
+    private void writeSortedRuns(final Iterable<? extends Element> elements, final List<Text> splits,
+                                 final ExecutorService pool, final VertexSummaryWriter summaryWriter)
+            throws OperationException {
+        final Queue<SortedRun> runs = new ConcurrentLinkedQueue<>();
+        final ThreadLocal<SortedRun> threadRun = ThreadLocal.withInitial(() -> {
+            final SortedRun run = new SortedRun(splits);
+            runs.add(run);
+            return run;
+        });
+        final int maxQueuedBatches = numThreads * 2;
+        final Semaphore queuedBatches = new Semaphore(maxQueuedBatches);
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+
+        try {
+            List<Element> batch = new ArrayList<>(batchSize);
+            for (final Element element : elements) {
+                batch.add(element);
+                if (batch.size() >= batchSize) {
+                    queuedBatches.acquire();
+                    if (null != failure.get()) {
+                        queuedBatches.release();
+                        break;
+                    }
+                    final List<Element> fullBatch = batch;
+                    pool.execute(() -> {
+                        try {
+                            addToRun(fullBatch, threadRun.get(), summaryWriter);
+                        } catch (final Exception e) {
+                            failure.compareAndSet(null, e);
+                        } finally {
+                            queuedBatches.release();
+                        }
+                    });
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+
+            if (null == failure.get()) {
+                // Convert the final partial batch on the calling thread
+                addToRun(batch, threadRun.get(), summaryWriter);
+            }
+
+            // Wait for all the submitted batches to be converted
+            queuedBatches.acquire(maxQueuedBatches);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException("Interrupted whilst converting elements to bulk load", e);
+        } catch (final IOException | MutationsRejectedException e) {
+            failure.compareAndSet(null, e);
+        }
+
+        if (null != failure.get()) {
+            throw new OperationException("Failed to convert elements to bulk load: " + failure.get().getMessage(), failure.get());
+        }
+
+        final List<Callable<Void>> writeTasks = new ArrayList<>(runs.size());
+        for (final SortedRun run : runs) {
+            writeTasks.add(() -> {
+                run.write();
+                return null;
+            });
+        }
+        invokeAll(pool, writeTasks);
+    }
+
+    private void addToRun(final List<Element> batch, final SortedRun run, final VertexSummaryWriter summaryWriter)
+            throws IOException, MutationsRejectedException {
+        final AccumuloElementConverter converter = store.getKeyPackage().getKeyConverter();
+        for (final Element element : batch) {
+            final Pair<Key, Key> keys = converter.getKeysFromElement(element);
+            final Value value = converter.getValueFromElement(element);
+            run.add(keys.getFirst(), value);
+            if (null != keys.getSecond()) {
+                run.add(keys.getSecond(), value);
+            }
+            if (null != summaryWriter) {
+                summaryWriter.add(element, keys.getFirst().getColumnVisibilityData().toArray());
+            }
+            if (run.size() >= maxEntriesPerRun) {
+                run.write();
+            }
+        }
+    }
+
+    // Merges the runs for each tablet into a single file, returning the number of files to import
+    private int mergeRuns(final ExecutorService pool) throws IOException, OperationException {
+        if (!fs.exists(runsPath)) {
+            return 0;
+        }
+        fs.mkdirs(filesPath);
+
+        final FileStatus[] partitions = fs.listStatus(runsPath);
+        final List<Callable<Void>> mergeTasks = new ArrayList<>(partitions.length);
+        for (final FileStatus partition : partitions) {
+            mergeTasks.add(() -> {
+                mergeRuns(partition.getPath(), new Path(filesPath, "part-" + partition.getPath().getName() + RFILE_EXTENSION));
+                return null;
+            });
+        }
+        invokeAll(pool, mergeTasks);
+        return partitions.length;
+    }
+
+    private void mergeRuns(final Path partitionPath, final Path file) throws IOException {
+        final FileStatus[] runFiles = fs.listStatus(partitionPath);
+        if (1 == runFiles.length) {
+            if (!fs.rename(runFiles[0].getPath(), file)) {
+                throw new IOException("Unable to move " + runFiles[0].getPath() + " to " + file);
+            }
+            return;
+        }
+
+        final String[] runFileNames = new String[runFiles.length];
+        for (int i = 0; i < runFiles.length; i++) {
+            runFileNames[i] = runFiles[i].getPath().toString();
+        }
+        final Scanner scanner = RFile.newScanner()
+                .from(runFileNames)
+                .withFileSystem(fs)
+                .withoutSystemIterators()
+                .build();
+        try (final RFileWriter writer = createWriter(file)) {
+            for (final Map.Entry<Key, Value> entry : scanner) {
+                writer.append(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            scanner.close();
+        }
+    }
+
+    private void importFiles() throws OperationException, IOException {
+        try {
+            ToolRunner.run(new ImportElementsToAccumuloTool(filesPath.toString(), failuresPath.toString(), store), new String[0]);
+        } catch (final Exception e) {
+            throw new OperationException("Failed to import RFiles from " + filesPath + ": " + e.getMessage(), e);
+        }
+
+        if (fs.exists(failuresPath) && fs.listFiles(failuresPath, true).hasNext()) {
+            throw new OperationException("Some RFiles failed to import into table " + store.getTableName()
+                    + ", they have been moved to " + failuresPath);
+        }
+    }
+
+    private RFileWriter createWriter(final Path file) throws IOException {
+        return RFile.newWriter()
+                .to(file.toString())
+                .withFileSystem(fs)
+                .build();
+    }
+
+    private void invokeAll(final ExecutorService pool, final List<Callable<Void>> tasks) throws OperationException {
+        try {
+            for (final Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException("Interrupted whilst writing RFiles to bulk load", e);
+        } catch (final ExecutionException e) {
+            throw new OperationException("Failed to write RFiles to bulk load: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * The key-value pairs converted by a single thread since its last run was
+     * written. A run is only accessed by the thread that owns it until all
+     * elements have been converted.
+     */
+    private final class SortedRun {
+        private final List<Text> splits;
+        private final List<Map.Entry<Key, Value>> entries = new ArrayList<>();
+
+        private SortedRun(final List<Text> splits) {
+            this.splits = splits;
+        }
+
+        private void add(final Key key, final Value value) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(key, value));
+        }
+
+        private int size() {
+            return entries.size();
+        }
+
+        private void write() throws IOException {
+            if (entries.isEmpty()) {
+                return;
+            }
+
+            entries.sort(Map.Entry.comparingByKey());
+            final String runFileName = "run-" + runCounter.getAndIncrement() + RFILE_EXTENSION;
+            RFileWriter writer = null;
+            int partition = -1;
+            Text partitionEndRow = null;
+            try {
+                for (final Map.Entry<Key, Value> entry : entries) {
+                    final Text row = entry.getKey().getRow();
+                    if (null == writer || (null != partitionEndRow && row.compareTo(partitionEndRow) > 0)) {
+                        if (null != writer) {
+                            writer.close();
+                        }
+                        partition = getPartition(row);
+                        partitionEndRow = partition < splits.size() ? splits.get(partition) : null;
+                        writer = createWriter(new Path(new Path(runsPath, String.format("%05d", partition)), runFileName));
+                    }
+                    writer.append(entry.getKey(), entry.getValue());
+                }
+            } finally {
+                if (null != writer) {
+                    writer.close();
+                }
+            }
+            entries.clear();
+        }
+
+        // A tablet contains the rows after the previous split point, up to and including its own split point
+        private int getPartition(final Text row) {
+            final int index = Collections.binarySearch(splits, row);
+            return index >= 0 ? index : -(index + 1);
+        }
+    }
+}
@@ -15,16 +15,27 @@
  */
 package uk.gov.gchq.gaffer.accumulostore.operation.hdfs.mapper;
 
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.BatchWriterConfig;
+import org.apache.accumulo.core.client.Connector;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.client.mapreduce.AccumuloInputFormat;
+import org.apache.accumulo.core.client.mapreduce.lib.impl.InputConfigurator;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.conf.Configuration;
 
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.sharded.ShardUtils;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.accumulostore.summary.VertexSummaryWriter;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.hdfs.operation.mapper.GafferMapper;
-import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
@@ -32,22 +43,38 @@ import java.lang.reflect.InvocationTargetException;
 public class AddElementsFromHdfsMapper<KEY_IN, VALUE_IN>
         extends GafferMapper<KEY_IN, VALUE_IN, Key, Value> {
     private AccumuloElementConverter elementConverter;
+    private VertexSummaryWriter summaryWriter;
 
     @Override
     protected void setup(final Context context) {
         super.setup(context);
 
         try {
-            elementConverter = Class
-                    .forName(context.getConfiguration().get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS))
-                    .asSubclass(AccumuloElementConverter.class)
-                    .getConstructor(Schema.class)
-                    .newInstance(schema);
+            elementConverter = ShardUtils.createElementConverter(
+                    context.getConfiguration().get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS),
+                    schema,
+                    context.getConfiguration().get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_NUM_SHARDS));
         } catch (final ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
                 | InvocationTargetException | NoSuchMethodException | SecurityException e) {
             throw new IllegalArgumentException("Element converter could not be created: "
                     + context.getConfiguration().get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS), e);
         }
+
+        final Configuration conf = context.getConfiguration();
+        final String summaryTable = conf.get(AccumuloStoreConstants.SUMMARY_TABLE);
+        if (null != summaryTable) {
+            // The vertex summary table is written to directly, as the job output is bulk imported into the main table only
+            try {
+                final Connector connector = InputConfigurator.getInstance(AccumuloInputFormat.class, conf)
+                        .getConnector(InputConfigurator.getPrincipal(AccumuloInputFormat.class, conf),
+                                InputConfigurator.getAuthenticationToken(AccumuloInputFormat.class, conf));
+                summaryWriter = new VertexSummaryWriter(schema,
+                        connector.createBatchWriter(summaryTable, new BatchWriterConfig()),
+                        conf.getBoolean(AccumuloStoreConstants.SUMMARY_TABLE_CARDINALITY, false));
+            } catch (final AccumuloException | AccumuloSecurityException | TableNotFoundException e) {
+                throw new IllegalArgumentException("Vertex summary writer could not be created for table " + summaryTable, e);
+            }
+        }
     }
 
     @Override
@@ -71,5 +98,27 @@ public class AddElementsFromHdfsMapper<KEY_IN, VALUE_IN>
             context.write(keyPair.getSecond(), value);
         }
         context.getCounter("Bulk import", element.getClass().getSimpleName() + " count").increment(1L);
+
+        if (null != summaryWriter) {
+            try {
+                summaryWriter.add(element, keyPair.getFirst().getColumnVisibilityData().toArray());
+            } catch (final SerialisationException e) {
+                throw new IllegalArgumentException(e.getMessage(), e);
+            } catch (final MutationsRejectedException e) {
+                throw new IOException("Failed to write to the vertex summary table", e);
+            }
+        }
+    }
+
+    @Override
+    protected void cleanup(final Context context) throws IOException, InterruptedException {
+        if (null != summaryWriter) {
+            try {
+                summaryWriter.close();
+            } catch (final MutationsRejectedException e) {
+                throw new IOException("Failed to write to the vertex summary table", e);
+            }
+        }
+        super.cleanup(context);
     }
 }
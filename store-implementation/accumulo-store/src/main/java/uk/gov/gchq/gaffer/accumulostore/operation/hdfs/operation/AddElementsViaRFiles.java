@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+import uk.gov.gchq.gaffer.commonutil.Required;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.Validatable;
+import uk.gov.gchq.gaffer.operation.io.MultiInput;
+
+import java.util.Map;
+
+/**
+ * An {@code AddElementsViaRFiles} operation adds elements to the Accumulo store
+ * by bulk importing them, without running a MapReduce job. The elements are
+ * converted and sorted on the Gaffer server using a local pool of threads,
+ * written as RFiles to a temporary directory under the working path and then
+ * imported into the table.
+ * <p>
+ * This is intended for loads that are too large to add efficiently using
+ * {@link uk.gov.gchq.gaffer.operation.impl.add.AddElements}, but too small to
+ * justify the start up cost of
+ * {@link uk.gov.gchq.gaffer.hdfs.operation.AddElementsFromHdfs}.
+ * </p>
+ *
+ * @see AddElementsViaRFiles.Builder
+ */
+public class AddElementsViaRFiles implements
+        Validatable,
+        MultiInput<Element> {
+    private boolean validate = true;
+    private boolean skipInvalidElements;
+    private Iterable<? extends Element> elements;
+    @Required
+    private String workingPath;
+    private Map<String, String> options;
+
+    @Override
+    public boolean isValidate() {
+        return validate;
+    }
+
+    @Override
+    public void setValidate(final boolean validate) {
+        this.validate = validate;
+    }
+
+    @Override
+    public boolean isSkipInvalidElements() {
+        return skipInvalidElements;
+    }
+
+    @Override
+    public void setSkipInvalidElements(final boolean skipInvalidElements) {
+        this.skipInvalidElements = skipInvalidElements;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "class")
+    @Override
+    public Object[] createInputArray() {
+        return MultiInput.super.createInputArray();
+    }
+
+    @Override
+    public Iterable<? extends Element> getInput() {
+        return elements;
+    }
+
+    @Override
+    public void setInput(final Iterable<? extends Element> elements) {
+        this.elements = elements;
+    }
+
+    public String getWorkingPath() {
+        return workingPath;
+    }
+
+    public void setWorkingPath(final String workingPath) {
+        this.workingPath = workingPath;
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    @Override
+    public AddElementsViaRFiles shallowClone() {
+        return new AddElementsViaRFiles.Builder()
+                .validate(validate)
+                .skipInvalidElements(skipInvalidElements)
+                .input(elements)
+                .workingPath(workingPath)
+                .options(options)
+                .build();
+    }
+
+    public static class Builder extends Operation.BaseBuilder<AddElementsViaRFiles, Builder>
+            implements Validatable.Builder<AddElementsViaRFiles, Builder>,
+            MultiInput.Builder<AddElementsViaRFiles, Element, Builder> {
+        public Builder() {
+            super(new AddElementsViaRFiles());
+        }
+
+        public Builder workingPath(final String workingPath) {
+            _getOp().setWorkingPath(workingPath);
+            return _self();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.accumulostore.operation.impl;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import uk.gov.gchq.gaffer.accumulostore.summary.VertexStatistics;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.io.InputOutput;
+import uk.gov.gchq.gaffer.operation.io.MultiInput;
+import uk.gov.gchq.gaffer.operation.serialisation.TypeReferenceImpl;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Retrieves the {@link VertexStatistics} for each of the input vertices from
+ * the vertex summary table, giving the number of entities and edges added for
+ * each vertex in each group with a single lookup per vertex rather than a scan
+ * of all of its edges. If groups are provided then only statistics for those
+ * groups are returned.
+ * <p>
+ * This operation is only available if the summary table has been enabled
+ * using {@link uk.gov.gchq.gaffer.accumulostore.AccumuloProperties#ENABLE_SUMMARY_TABLE}.
+ * </p>
+ */
+public class GetVertexStatistics implements
+        InputOutput<Iterable<? extends EntityId>, CloseableIterable<? extends VertexStatistics>>,
+        MultiInput<EntityId> {
+    private Iterable<? extends EntityId> input;
+    private Set<String> groups;
+    private Map<String, String> options;
+
+    @Override
+    public Iterable<? extends EntityId> getInput() {
+        return input;
+    }
+
+    @Override
+    public void setInput(final Iterable<? extends EntityId> input) {
+        this.input = input;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.EXISTING_PROPERTY, property = "class")
+    @Override
+    public Object[] createInputArray() {
+        return MultiInput.super.createInputArray();
+    }
+
+    public Set<String> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(final Set<String> groups) {
+        this.groups = groups;
+    }
+
+    @Override
+    public TypeReference<CloseableIterable<? extends VertexStatistics>> getOutputTypeReference() {
+        return TypeReferenceImpl.createCloseableIterableT();
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    @Override
+    public GetVertexStatistics shallowClone() {
+        return new GetVertexStatistics.Builder()
+                .input(input)
+                .groups(groups)
+                .options(options)
+                .build();
+    }
+
+    public static class Builder extends Operation.BaseBuilder<GetVertexStatistics, Builder>
+            implements InputOutput.Builder<GetVertexStatistics, Iterable<? extends EntityId>, CloseableIterable<? extends VertexStatistics>, Builder>,
+            MultiInput.Builder<GetVertexStatistics, EntityId, Builder> {
+        public Builder() {
+            super(new GetVertexStatistics());
+        }
+
+        public Builder groups(final Set<String> groups) {
+            _getOp().setGroups(groups);
+            return _self();
+        }
+
+        public Builder groups(final String... groups) {
+            return groups(new LinkedHashSet<>(Arrays.asList(groups)));
+        }
+    }
+}
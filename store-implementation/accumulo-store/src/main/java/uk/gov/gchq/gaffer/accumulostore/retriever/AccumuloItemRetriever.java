@@ -39,13 +39,20 @@ import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Input;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.job.JobCancellation;
+import uk.gov.gchq.gaffer.store.optimiser.LimitPushDownOptimiser;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<? extends Element>> & GraphFilters, I_ITEM>
         extends AccumuloRetriever<OP, Element> {
@@ -53,6 +60,8 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
     protected final boolean includeMatchedVertex;
     private final Iterable<? extends I_ITEM> ids;
+    private final Integer resultLimit;
+    private final IteratorSetting resultLimitIteratorSetting;
 
     protected AccumuloItemRetriever(final AccumuloStore store, final OP operation,
                                     final User user, final boolean includeMatchedVertex,
@@ -60,6 +69,18 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
         super(store, operation, user, iteratorSettings);
         this.includeMatchedVertex = includeMatchedVertex;
         this.ids = operation instanceof Input ? ((Input<Iterable<? extends I_ITEM>>) operation).getInput() : null;
+        this.resultLimit = LimitPushDownOptimiser.getResultLimit(operation);
+
+        // The iterator limits the key-values returned from each range, so it
+        // is only an upper bound; the limit across all ranges is applied by
+        // the client when the elements are returned. Elements removed by the
+        // post transform filters are only removed on the client, so the
+        // tablet servers cannot stop early.
+        if (null != resultLimit && !operation.getView().hasPostTransformFilters()) {
+            this.resultLimitIteratorSetting = iteratorSettingFactory.getResultLimitIteratorSetting(resultLimit);
+        } else {
+            this.resultLimitIteratorSetting = null;
+        }
     }
 
     /**
@@ -88,25 +109,40 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
     protected abstract void addToRanges(final I_ITEM seed, final Set<Range> ranges) throws RangeFactoryException;
 
+    @Override
+    protected BatchScanner getScanner(final Set<Range> ranges) throws TableNotFoundException, StoreException {
+        final BatchScanner scanner = super.getScanner(ranges);
+        if (null != resultLimitIteratorSetting) {
+            scanner.addScanIterator(resultLimitIteratorSetting);
+        }
+        return scanner;
+    }
+
+    private Set<Range> getNextRanges(final Iterator<? extends I_ITEM> idsIterator) {
+        int count = 0;
+        final Set<Range> ranges = new HashSet<>();
+        while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+            count++;
+            try {
+                addToRanges(idsIterator.next(), ranges);
+            } catch (final RangeFactoryException e) {
+                LOGGER.error("Failed to create a range from given seed", e);
+            }
+        }
+        return ranges;
+    }
+
     protected class ElementIterator implements CloseableIterator<Element> {
         private final Iterator<? extends I_ITEM> idsIterator;
-        private int count;
         private BatchScanner scanner;
         private Iterator<Entry<Key, Value>> scannerIterator;
+        private ScannerPrefetcher prefetcher;
         private Element nextElm;
+        private int numReturned;
 
         public ElementIterator(final Iterator<? extends I_ITEM> idIterator) throws RetrieverException {
             idsIterator = idIterator;
-            count = 0;
-            final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                count++;
-                try {
-                    addToRanges(idsIterator.next(), ranges);
-                } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
-                }
-            }
+            final Set<Range> ranges = getNextRanges(idsIterator);
 
             // Create BatchScanner, appropriately configured (i.e. ranges,
             // iterators, etc).
@@ -118,6 +154,14 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
                 throw new RetrieverException(e);
             }
             scannerIterator = scanner.iterator();
+
+            // If the seeds do not fit into a single batch scanner then open
+            // the next batch scanners in the background whilst this one is
+            // being consumed.
+            final int prefetchDepth = store.getProperties().getBatchScannerPrefetchDepth();
+            if (prefetchDepth > 0 && idsIterator.hasNext()) {
+                prefetcher = new ScannerPrefetcher(idsIterator, prefetchDepth);
+            }
         }
 
         @Override
@@ -126,7 +170,17 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
             if (null != nextElm) {
                 return true;
             }
+
+            // The result limit is enforced here, as the tablet servers only
+            // limit the results of each range. Once it has been reached close
+            // the scanners, so their threads stop fetching unused results.
+            if (null != resultLimit && numReturned >= resultLimit) {
+                close();
+                return false;
+            }
+
             while (scannerIterator.hasNext()) {
+                JobCancellation.checkCancelled();
                 final Entry<Key, Value> entry = scannerIterator.next();
                 try {
                     nextElm = elementConverter.getFullElement(
@@ -146,36 +200,18 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
                     nextElm = null;
                 }
             }
-            // If current scanner is spent then go back to the iterator
-            // through the provided entities, and see if there are more.
-            // If so create the next scanner, if there are no more entities
-            // then return false.
-            while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
-                    try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (final RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
-                    }
-                }
+
+            // If current scanner is spent then move on to the next scanner,
+            // if there are no more scanners then return false.
+            if (null != scanner) {
                 scanner.close();
-                try {
-                    scanner = getScanner(ranges);
-                } catch (final TableNotFoundException | StoreException e) {
-                    LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
-                    return false;
-                }
-                scannerIterator = scanner.iterator();
+                scanner = null;
             }
-            if (!scannerIterator.hasNext()) {
-                scanner.close();
+            if (!nextScanner()) {
+                close();
                 return false;
-            } else {
-                return hasNext();
             }
+            return hasNext();
         }
 
         @Override
@@ -187,6 +223,7 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
             }
             Element nextReturn = nextElm;
             nextElm = null;
+            numReturned++;
             return nextReturn;
         }
 
@@ -197,9 +234,152 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
         @Override
         public void close() {
+            if (null != prefetcher) {
+                prefetcher.close();
+            }
             if (null != scanner) {
                 scanner.close();
+                scanner = null;
+            }
+        }
+
+        private boolean nextScanner() {
+            if (null != prefetcher) {
+                final ScannerBatch batch = prefetcher.take();
+                if (null == batch) {
+                    return false;
+                }
+                scanner = batch.scanner;
+                scannerIterator = batch.scannerIterator;
+                return true;
+            }
+
+            // Go back to the iterator through the provided seeds, and see if
+            // there are more. If so create the next scanner.
+            if (!idsIterator.hasNext()) {
+                return false;
+            }
+            final Set<Range> ranges = getNextRanges(idsIterator);
+            try {
+                scanner = getScanner(ranges);
+            } catch (final TableNotFoundException | StoreException e) {
+                LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
+                return false;
+            }
+            scannerIterator = scanner.iterator();
+            return true;
+        }
+    }
+
+    /**
+     * Opens the batch scanners for the next batches of seeds in the background.
+     * At most prefetchDepth batch scanners are opened ahead of the one being
+     * consumed, so the amount of data buffered is bounded by the buffers of
+     * those batch scanners.
+     * <p>
+     * The seed iterator is not thread safe, so the seeds are read and their
+     * ranges created on the thread consuming the elements. Only opening the
+     * batch scanners for those ranges is done on the store's prefetch
+     * executor, with the cancellation flag of the job consuming the elements.
+     * Closing the prefetcher cancels any pending task and closes the batch
+     * scanners it has opened.
+     * </p>
+     */
+    private final class ScannerPrefetcher {
+        private final Iterator<? extends I_ITEM> idsIterator;
+        private final int prefetchDepth;
+        private final Deque<Future<ScannerBatch>> pending = new ArrayDeque<>();
+        // Opened batch scanners that have not been handed to the consumer, guarded by itself
+        private final Set<BatchScanner> openScanners = new HashSet<>();
+        private boolean closed;
+
+        private ScannerPrefetcher(final Iterator<? extends I_ITEM> idsIterator, final int prefetchDepth) {
+            this.idsIterator = idsIterator;
+            this.prefetchDepth = prefetchDepth;
+            schedule();
+        }
+
+        private void schedule() {
+            while (pending.size() < prefetchDepth && idsIterator.hasNext()) {
+                final Set<Range> ranges = getNextRanges(idsIterator);
+                if (!ranges.isEmpty()) {
+                    pending.add(store.getPrefetchExecutor().submit(JobCancellation.propagate(() -> open(ranges))));
+                }
+            }
+        }
+
+        private ScannerBatch open(final Set<Range> ranges) throws TableNotFoundException, StoreException {
+            JobCancellation.checkCancelled();
+            final BatchScanner scanner = getScanner(ranges);
+            synchronized (openScanners) {
+                if (closed) {
+                    scanner.close();
+                    return null;
+                }
+                openScanners.add(scanner);
             }
+            // Creating the iterator starts the scanner fetching results.
+            return new ScannerBatch(scanner, scanner.iterator());
+        }
+
+        /**
+         * Blocks until the next batch scanner has been opened.
+         *
+         * @return the next batch, or null if there are no more batches.
+         */
+        private ScannerBatch take() {
+            final Future<ScannerBatch> next = pending.poll();
+            if (null == next) {
+                return null;
+            }
+            schedule();
+
+            final ScannerBatch batch;
+            try {
+                batch = next.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (final ExecutionException e) {
+                if (e.getCause() instanceof CancellationException) {
+                    throw (CancellationException) e.getCause();
+                }
+                LOGGER.error("{} returning iterator doesn't have any more elements", e.getCause().getMessage(), e.getCause());
+                return null;
+            }
+            if (null != batch) {
+                synchronized (openScanners) {
+                    openScanners.remove(batch.scanner);
+                }
+            }
+            return batch;
+        }
+
+        private void close() {
+            synchronized (openScanners) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                for (final BatchScanner scanner : openScanners) {
+                    scanner.close();
+                }
+                openScanners.clear();
+            }
+            for (final Future<ScannerBatch> task : pending) {
+                task.cancel(true);
+            }
+            pending.clear();
+        }
+    }
+
+    private static final class ScannerBatch {
+        private final BatchScanner scanner;
+        private final Iterator<Entry<Key, Value>> scannerIterator;
+
+        private ScannerBatch(final BatchScanner scanner, final Iterator<Entry<Key, Value>> scannerIterator) {
+            this.scanner = scanner;
+            this.scannerIterator = scannerIterator;
         }
     }
 }
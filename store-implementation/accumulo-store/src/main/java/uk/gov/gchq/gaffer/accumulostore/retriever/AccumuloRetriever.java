@@ -22,6 +22,8 @@ import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.security.Authorizations;
 import org.apache.hadoop.io.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
@@ -38,9 +40,14 @@ import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM> implements CloseableIterable<O_ITEM> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloRetriever.class);
+
     protected CloseableIterator<O_ITEM> iterator;
     protected final AccumuloStore store;
     protected final Authorizations authorisations;
@@ -50,6 +57,7 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
     protected final OP operation;
     protected final AccumuloElementConverter elementConverter;
     protected final IteratorSetting[] iteratorSettings;
+    private RangePlanner rangePlanner;
 
     protected AccumuloRetriever(final AccumuloStore store, final OP operation,
                                 final User user, final IteratorSetting... iteratorSettings)
@@ -105,6 +113,10 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
     /**
      * Create a scanner to use used in your query.
      * <p>
+     * If range coalescing is enabled, the ranges are merged and grouped by
+     * tablet using a {@link RangePlanner}, and the scanner is given no more
+     * threads than there are tablets to scan.
+     * </p>
      *
      * @param ranges the ranges to get the scanner for
      * @return A {@link org.apache.accumulo.core.client.BatchScanner} for the
@@ -113,8 +125,20 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
      * @throws StoreException         if a connection to accumulo could not be created.
      */
     protected BatchScanner getScanner(final Set<Range> ranges) throws TableNotFoundException, StoreException {
+        Collection<Range> scanRanges = ranges;
+        int numThreads = store.getProperties().getThreadsForBatchScanner();
+        if (store.getProperties().getEnableRangeCoalescing() && ranges.size() > 1) {
+            final List<List<Range>> tablets = getRangePlanner().groupByTablet(ranges);
+            final List<Range> plannedRanges = new ArrayList<>();
+            for (final List<Range> tabletRanges : tablets) {
+                plannedRanges.addAll(tabletRanges);
+            }
+            scanRanges = plannedRanges;
+            numThreads = Math.max(1, Math.min(numThreads, tablets.size()));
+        }
+
         final BatchScanner scanner = store.getConnection().createBatchScanner(store.getTableName(),
-                authorisations, store.getProperties().getThreadsForBatchScanner());
+                authorisations, numThreads);
         if (null != iteratorSettings) {
             for (final IteratorSetting iteratorSetting : iteratorSettings) {
                 if (null != iteratorSetting) {
@@ -122,7 +146,7 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
                 }
             }
         }
-        scanner.setRanges(ranges);
+        scanner.setRanges(scanRanges);
 
         for (final String col : operation.getView().getEdgeGroups()) {
             scanner.fetchColumnFamily(new Text(col));
@@ -133,6 +157,20 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
         return scanner;
     }
 
+    // The split points are read once for each retriever. Scanners may be
+    // created on a prefetch thread, so this must be synchronised.
+    private synchronized RangePlanner getRangePlanner() {
+        if (null == rangePlanner) {
+            try {
+                rangePlanner = RangePlanner.create(store);
+            } catch (final StoreException e) {
+                LOGGER.warn("{}, ranges will be merged without grouping them by tablet", e.getMessage(), e);
+                rangePlanner = new RangePlanner(new ArrayList<>());
+            }
+        }
+        return rangePlanner;
+    }
+
     protected void transform(final Element element, final ElementTransformer transformer) {
         if (null != transformer) {
             transformer.apply(element);
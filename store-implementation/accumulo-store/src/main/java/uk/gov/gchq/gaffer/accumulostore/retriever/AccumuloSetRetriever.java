@@ -30,6 +30,8 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
+import uk.gov.gchq.gaffer.accumulostore.membership.MembershipFilter;
+import uk.gov.gchq.gaffer.accumulostore.membership.MembershipFilterBuilder;
 import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloSingleIDRetriever;
 import uk.gov.gchq.gaffer.accumulostore.utils.BloomFilterUtils;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
@@ -43,6 +45,7 @@ import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.InputOutput;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.job.JobCancellation;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.Arrays;
@@ -129,12 +132,26 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         return vertices;
     }
 
-    protected void addToBloomFilter(final Iterable<? extends Object> vertices, final BloomFilter filter)
+    /**
+     * Creates a builder for the {@link MembershipFilter} to pass to the
+     * iterators, of the type and maximum size set in the store properties.
+     *
+     * @param expectedNumItems the number of vertices expected to be added to the filter
+     * @return a new {@link MembershipFilterBuilder}
+     */
+    protected MembershipFilterBuilder createMembershipFilterBuilder(final int expectedNumItems) {
+        return store.getProperties().getMembershipFilterType().createBuilder(
+                store.getProperties().getFalsePositiveRate(),
+                expectedNumItems,
+                store.getProperties().getMaxBloomFilterToPassToAnIterator());
+    }
+
+    protected void addToBloomFilter(final Iterable<? extends Object> vertices, final MembershipFilterBuilder filter)
             throws RetrieverException {
         addToBloomFilter(vertices.iterator(), filter);
     }
 
-    protected void addToBloomFilter(final Iterator<? extends Object> vertices, final BloomFilter filter)
+    protected void addToBloomFilter(final Iterator<? extends Object> vertices, final MembershipFilterBuilder filter)
             throws RetrieverException {
         try {
             while (vertices.hasNext()) {
@@ -145,7 +162,7 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         }
     }
 
-    protected void addToBloomFilter(final Iterator<? extends EntityId> seeds, final BloomFilter filter1,
+    protected void addToBloomFilter(final Iterator<? extends EntityId> seeds, final MembershipFilterBuilder filter1,
                                     final BloomFilter filter2) throws RetrieverException {
         try {
             while (seeds.hasNext()) {
@@ -156,12 +173,20 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         }
     }
 
-    protected void addToBloomFilter(final EntityId seed, final BloomFilter filter1, final BloomFilter filter2)
+    protected void addToBloomFilter(final EntityId seed, final MembershipFilterBuilder filter1, final BloomFilter filter2)
             throws RetrieverException {
         addToBloomFilter(seed.getVertex(), filter1);
         addToBloomFilter(seed.getVertex(), filter2);
     }
 
+    private void addToBloomFilter(final Object vertex, final MembershipFilterBuilder filter) throws RetrieverException {
+        try {
+            filter.add(elementConverter.serialiseVertex(vertex));
+        } catch (final AccumuloElementConversionException e) {
+            throw new RetrieverException("Failed to add identifier to the bloom key", e);
+        }
+    }
+
     private void addToBloomFilter(final Object vertex, final BloomFilter filter) throws RetrieverException {
         try {
             filter.add(new org.apache.hadoop.util.bloom.Key(elementConverter.serialiseVertex(vertex)));
@@ -175,11 +200,11 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         private Iterator<Element> iterator;
         private Element nextElm;
 
-        protected void initialise(final BloomFilter filter) throws RetrieverException {
+        protected void initialise(final MembershipFilter filter) throws RetrieverException {
             IteratorSetting bloomFilter = null;
             IteratorSetting[] iteratorSettings1 = Arrays.copyOf(iteratorSettings, iteratorSettings.length + 1);
             try {
-                bloomFilter = iteratorSettingFactory.getBloomFilterIteratorSetting(filter);
+                bloomFilter = iteratorSettingFactory.getMembershipFilterIteratorSetting(filter);
             } catch (final IteratorSettingException e) {
                 LOGGER.error(
                         "Failed to apply the bloom filter to the retriever, creating the gaffer.accumulostore.retriever without bloom filter",
@@ -205,6 +230,7 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                         "This iterator has not been initialised. Call initialise before using it.");
             }
             while (iterator.hasNext()) {
+                JobCancellation.checkCancelled();
                 nextElm = iterator.next();
                 if (checkIfBothEndsInSet(nextElm)) {
                     return true;
@@ -271,7 +297,9 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         protected BloomFilter clientSideFilter;
         protected Set<Object> currentSeeds;
         protected BatchScanner scanner;
-        protected BloomFilter filter;
+        protected MembershipFilterBuilder filter;
+        private MembershipFilter builtFilter;
+        private IteratorSetting filterIteratorSetting;
         private Iterator<Entry<Key, Value>> scannerIterator;
         private Element nextElm;
         private int count;
@@ -279,10 +307,8 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         public AbstractElementIteratorFromBatches() {
             // Set up client side filter
             clientSideFilter = BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideBloomFilterSize());
-            // Create Bloom filter to be passed to iterators.
-            filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    store.getProperties().getMaxEntriesForBatchScanner(),
-                    store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            // Create filter to be passed to iterators.
+            filter = createMembershipFilterBuilder(store.getProperties().getMaxEntriesForBatchScanner());
             currentSeeds = new HashSet<>();
         }
 
@@ -293,6 +319,7 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
             }
             try {
                 while (_hasNext()) {
+                    JobCancellation.checkCancelled();
                     final Entry<Key, Value> entry = scannerIterator.next();
                     try {
                         nextElm = elementConverter.getFullElement(entry.getKey(), entry.getValue(), true);
@@ -368,7 +395,14 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                 throw new RetrieverException(e);
             }
             try {
-                scanner.addScanIterator(iteratorSettingFactory.getBloomFilterIteratorSetting(filter));
+                // The filter is only rebuilt and reserialised if seeds have
+                // been added to it since the previous batch.
+                final MembershipFilter currentFilter = filter.build();
+                if (currentFilter != builtFilter) {
+                    filterIteratorSetting = iteratorSettingFactory.getMembershipFilterIteratorSetting(currentFilter);
+                    builtFilter = currentFilter;
+                }
+                scanner.addScanIterator(filterIteratorSetting);
             } catch (final IteratorSettingException e) {
                 LOGGER.error("Failed to apply the bloom filter iterator setting continuing without bloom filter", e);
             }
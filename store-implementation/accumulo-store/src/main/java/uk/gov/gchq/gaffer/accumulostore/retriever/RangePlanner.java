@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Range;
+import org.apache.hadoop.io.Text;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.store.StoreException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Plans the ranges to scan for a batch of seeds. The range factories create
+ * one or more ranges for each seed independently, so a batch of seeds can
+ * contain ranges that overlap or are adjacent, for example where the same
+ * vertex is given as an {@link uk.gov.gchq.gaffer.operation.data.EntitySeed}
+ * and as one end of an {@link uk.gov.gchq.gaffer.operation.data.EdgeSeed}.
+ * The planner sorts the ranges by row, merges any that overlap or are
+ * adjacent, and groups the merged ranges by the tablet they fall in using the
+ * table's split points, clipping any range that spans more than one tablet.
+ * <p>
+ * Merging overlapping ranges also stops a batch scanner from returning the
+ * same key-value pair once for each range that contains it.
+ * </p>
+ */
+public class RangePlanner {
+    private final List<Text> splits;
+
+    /**
+     * @param splits the split points of the table
+     */
+    public RangePlanner(final Collection<Text> splits) {
+        this.splits = new ArrayList<>(splits);
+        Collections.sort(this.splits);
+    }
+
+    /**
+     * Creates a planner using the current split points of the store's table.
+     *
+     * @param store the store to plan ranges for
+     * @return a new planner
+     * @throws StoreException if the split points could not be read
+     */
+    public static RangePlanner create(final AccumuloStore store) throws StoreException {
+        try {
+            return new RangePlanner(store.getConnection().tableOperations().listSplits(store.getTableName()));
+        } catch (final TableNotFoundException | AccumuloSecurityException | AccumuloException e) {
+            throw new StoreException("Unable to get the split points of table " + store.getTableName(), e);
+        }
+    }
+
+    /**
+     * Sorts the ranges and merges any that overlap or are adjacent.
+     *
+     * @param ranges the ranges to merge
+     * @return the merged ranges, sorted by start key
+     */
+    public List<Range> coalesce(final Collection<Range> ranges) {
+        return Range.mergeOverlapping(ranges);
+    }
+
+    /**
+     * Merges the ranges and groups them by the tablet that contains them. A
+     * merged range that spans more than one tablet is clipped to each of the
+     * tablets it spans.
+     *
+     * @param ranges the ranges to group
+     * @return the ranges for each tablet that contains at least one range,
+     * in tablet order
+     */
+    public List<List<Range>> groupByTablet(final Collection<Range> ranges) {
+        final List<List<Range>> tablets = new ArrayList<>();
+        List<Range> currentTabletRanges = null;
+        int currentTablet = -1;
+        for (final Range range : coalesce(ranges)) {
+            int tablet = null == range.getStartKey() ? 0 : getTablet(range.getStartKey().getRow());
+            while (tablet <= splits.size()) {
+                final Range clipped = getTabletRange(tablet).clip(range, true);
+                if (null != clipped) {
+                    if (tablet != currentTablet) {
+                        currentTablet = tablet;
+                        currentTabletRanges = new ArrayList<>();
+                        tablets.add(currentTabletRanges);
+                    }
+                    currentTabletRanges.add(clipped);
+                }
+                if (tablet == splits.size()
+                        || (null != range.getEndKey() && range.getEndKey().getRow().compareTo(splits.get(tablet)) <= 0)) {
+                    break;
+                }
+                tablet++;
+            }
+        }
+        return tablets;
+    }
+
+    // A tablet contains the rows after the previous split point, up to and including its own split point
+    private int getTablet(final Text row) {
+        final int index = Collections.binarySearch(splits, row);
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    private Range getTabletRange(final int tablet) {
+        final Text startRow = 0 == tablet ? null : splits.get(tablet - 1);
+        final Text endRow = tablet == splits.size() ? null : splits.get(tablet);
+        return new Range(startRow, false, endRow, true);
+    }
+}
@@ -17,15 +17,14 @@
 package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
 
 import org.apache.accumulo.core.client.IteratorSetting;
-import org.apache.hadoop.util.bloom.BloomFilter;
 import org.apache.hadoop.util.bloom.Key;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.accumulostore.membership.MembershipFilterBuilder;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsBetweenSets;
 import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloSetRetriever;
 import uk.gov.gchq.gaffer.accumulostore.retriever.RetrieverException;
-import uk.gov.gchq.gaffer.accumulostore.utils.BloomFilterUtils;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -52,7 +51,7 @@ import java.util.Set;
  * <p>
  * This operates in two modes. In the first mode the seeds from both sets A and
  * B are loaded into memory (client-side). The seeds from set B are loaded into
- * a {@link org.apache.hadoop.util.bloom.BloomFilter}. This is passed to the
+ * a {@link uk.gov.gchq.gaffer.accumulostore.membership.MembershipFilter}. This is passed to the
  * iterators to filter out all edges for which the non-query end is definitely
  * not in set B. A secondary check is done within this class to check that the
  * edge is definitely between elements of the set (this defeats any false
@@ -128,12 +127,11 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
             verticesA = extractVertices(seedSetAIter);
             verticesB = extractVertices(seedSetBIter);
 
-            // Create Bloom filter, read through set of entities B and add them
-            // to Bloom filter
-            final BloomFilter filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    verticesB.size(), store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            // Create membership filter, read through set of entities B and add them
+            // to membership filter
+            final MembershipFilterBuilder filter = createMembershipFilterBuilder(verticesB.size());
             addToBloomFilter(verticesB, filter);
-            initialise(filter);
+            initialise(filter.build());
         }
 
         /**
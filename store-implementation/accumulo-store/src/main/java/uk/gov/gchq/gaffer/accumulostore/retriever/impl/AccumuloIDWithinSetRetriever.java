@@ -17,15 +17,14 @@
 package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
 
 import org.apache.accumulo.core.client.IteratorSetting;
-import org.apache.hadoop.util.bloom.BloomFilter;
 import org.apache.hadoop.util.bloom.Key;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.accumulostore.membership.MembershipFilterBuilder;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsWithinSet;
 import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloSetRetriever;
 import uk.gov.gchq.gaffer.accumulostore.retriever.RetrieverException;
-import uk.gov.gchq.gaffer.accumulostore.utils.BloomFilterUtils;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -48,7 +47,7 @@ import java.util.Set;
  * <p>
  * This operates in two modes. In the first mode the seeds are loaded into
  * memory (client-side). They are also loaded into a
- * {@link org.apache.hadoop.util.bloom.BloomFilter}. This is passed to the
+ * {@link uk.gov.gchq.gaffer.accumulostore.membership.MembershipFilter}. This is passed to the
  * iterators to filter out all edges that are definitely not between elements of
  * the set. A secondary check is done within this class to check that the edge
  * is definitely between elements of the set (this defeats any false positives,
@@ -120,13 +119,12 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever<GetElemen
         ElementIteratorReadIntoMemory() throws RetrieverException {
             vertices = extractVertices(seedsIter);
 
-            // Create Bloom filter, read through set of entities and add them to
-            // Bloom filter
-            final BloomFilter filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    vertices.size(), store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            // Create membership filter, read through set of entities and add them to
+            // membership filter
+            final MembershipFilterBuilder filter = createMembershipFilterBuilder(vertices.size());
             addToBloomFilter(vertices, filter);
 
-            initialise(filter);
+            initialise(filter.build());
         }
 
         /**
@@ -70,6 +70,6 @@ public class AccumuloRangeIDRetriever<OP extends InputOutput<Iterable<? extends
 
     @Override
     protected void addToRanges(final Pair<ElementId, ElementId> seed, final Set<Range> ranges) throws RangeFactoryException {
-        ranges.add(rangeFactory.getRangeFromPair(seed, operation));
+        ranges.addAll(rangeFactory.getRangesFromPair(seed, operation));
     }
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.accumulostore.summary;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+
+/**
+ * The summary statistics for a vertex in a single group, as returned by
+ * {@link uk.gov.gchq.gaffer.accumulostore.operation.impl.GetVertexStatistics}.
+ * The edge counts are the number of edges added with this vertex at each end,
+ * so an edge that is added more than once is counted each time it is added.
+ * They are not the degree of the vertex: use the distinct neighbours for that.
+ * The distinct neighbours is an estimate and is only populated if the summary
+ * table has been configured to hold cardinality sketches.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class VertexStatistics {
+    private Object vertex;
+    private String group;
+    private long entityCount;
+    private long outEdgeCount;
+    private long inEdgeCount;
+    private long undirectedEdgeCount;
+    private Long distinctNeighbours;
+
+    public VertexStatistics() {
+    }
+
+    public VertexStatistics(final Object vertex, final String group) {
+        this.vertex = vertex;
+        this.group = group;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.WRAPPER_OBJECT)
+    public Object getVertex() {
+        return vertex;
+    }
+
+    public void setVertex(final Object vertex) {
+        this.vertex = vertex;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public void setGroup(final String group) {
+        this.group = group;
+    }
+
+    public long getEntityCount() {
+        return entityCount;
+    }
+
+    public void setEntityCount(final long entityCount) {
+        this.entityCount = entityCount;
+    }
+
+    public long getOutEdgeCount() {
+        return outEdgeCount;
+    }
+
+    public void setOutEdgeCount(final long outEdgeCount) {
+        this.outEdgeCount = outEdgeCount;
+    }
+
+    public long getInEdgeCount() {
+        return inEdgeCount;
+    }
+
+    public void setInEdgeCount(final long inEdgeCount) {
+        this.inEdgeCount = inEdgeCount;
+    }
+
+    public long getUndirectedEdgeCount() {
+        return undirectedEdgeCount;
+    }
+
+    public void setUndirectedEdgeCount(final long undirectedEdgeCount) {
+        this.undirectedEdgeCount = undirectedEdgeCount;
+    }
+
+    /**
+     * @return the total number of edges added in the group that have this
+     * vertex as either end.
+     */
+    @JsonIgnore
+    public long getEdgeCount() {
+        return outEdgeCount + inEdgeCount + undirectedEdgeCount;
+    }
+
+    public Long getDistinctNeighbours() {
+        return distinctNeighbours;
+    }
+
+    public void setDistinctNeighbours(final Long distinctNeighbours) {
+        this.distinctNeighbours = distinctNeighbours;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (null == obj || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final VertexStatistics that = (VertexStatistics) obj;
+
+        return new EqualsBuilder()
+                .append(vertex, that.vertex)
+                .append(group, that.group)
+                .append(entityCount, that.entityCount)
+                .append(outEdgeCount, that.outEdgeCount)
+                .append(inEdgeCount, that.inEdgeCount)
+                .append(undirectedEdgeCount, that.undirectedEdgeCount)
+                .append(distinctNeighbours, that.distinctNeighbours)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(vertex)
+                .append(group)
+                .append(entityCount)
+                .append(outEdgeCount)
+                .append(inEdgeCount)
+                .append(undirectedEdgeCount)
+                .append(distinctNeighbours)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("vertex", vertex)
+                .append("group", group)
+                .append("entityCount", entityCount)
+                .append("outEdgeCount", outEdgeCount)
+                .append("inEdgeCount", inEdgeCount)
+                .append("undirectedEdgeCount", undirectedEdgeCount)
+                .append("distinctNeighbours", distinctNeighbours)
+                .build();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.accumulostore.summary;
+
+import com.clearspring.analytics.stream.cardinality.CardinalityMergeException;
+import com.clearspring.analytics.stream.cardinality.HyperLogLogPlus;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.Combiner;
+
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AggregationException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * The VertexSummaryCombiner is attached to the vertex summary table for all
+ * scopes. Values where the {@link Key} is the same (except for the timestamp)
+ * are summed, apart from the {@link VertexSummaryUtils#DISTINCT_NEIGHBOURS}
+ * column whose sketches are merged.
+ */
+public class VertexSummaryCombiner extends Combiner {
+    @Override
+    public Value reduce(final Key key, final Iterator<Value> iter) {
+        Value value = iter.next();
+        if (!iter.hasNext()) {
+            return value;
+        }
+
+        if (VertexSummaryUtils.DISTINCT_NEIGHBOURS.equals(key.getColumnQualifier().toString())) {
+            try {
+                final HyperLogLogPlus sketch = VertexSummaryUtils.deserialiseSketch(value.get());
+                while (iter.hasNext()) {
+                    sketch.addAll(VertexSummaryUtils.deserialiseSketch(iter.next().get()));
+                }
+                return new Value(VertexSummaryUtils.serialiseSketch(sketch));
+            } catch (final IOException | CardinalityMergeException e) {
+                throw new AggregationException("Failed to merge the distinct neighbour sketches for key " + key, e);
+            }
+        }
+
+        long count = VertexSummaryUtils.decodeCount(value.get());
+        while (iter.hasNext()) {
+            count += VertexSummaryUtils.decodeCount(iter.next().get());
+        }
+        return new Value(VertexSummaryUtils.encodeCount(count));
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(super.describeOptions())
+                .setIteratorName(AccumuloStoreConstants.VERTEX_SUMMARY_COMBINER_ITERATOR_NAME)
+                .setIteratorDescription("Sums the vertex summary counts and merges the distinct neighbour sketches")
+                .build();
+    }
+}
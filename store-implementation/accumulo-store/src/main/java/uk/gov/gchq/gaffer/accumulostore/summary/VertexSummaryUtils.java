@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.accumulostore.summary;
+
+import com.clearspring.analytics.stream.cardinality.HyperLogLogPlus;
+import org.apache.accumulo.core.iterators.LongCombiner;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+
+import java.io.IOException;
+
+/**
+ * Static utilities describing the layout of the vertex summary table.
+ * <p>
+ * Each row of the summary table is a serialised vertex, the column family is
+ * an element group and the column qualifier is one of the statistics below.
+ * Counts are stored as variable length encoded longs and the distinct
+ * neighbours are stored as a serialised {@link HyperLogLogPlus} sketch.
+ * </p>
+ */
+public final class VertexSummaryUtils {
+    public static final String ENTITY_COUNT = "entities";
+    public static final String OUT_EDGE_COUNT = "out";
+    public static final String IN_EDGE_COUNT = "in";
+    public static final String UNDIRECTED_EDGE_COUNT = "undirected";
+    public static final String DISTINCT_NEIGHBOURS = "distinct";
+
+    public static final int SKETCH_PRECISION = 14;
+    public static final int SKETCH_SPARSE_PRECISION = 25;
+
+    private VertexSummaryUtils() {
+        // private constructor to prevent users instantiating this class as it
+        // only contains static methods.
+    }
+
+    public static String getSummaryTableName(final AccumuloStore store) {
+        return store.getTableName() + AccumuloStoreConstants.SUMMARY_TABLE_SUFFIX;
+    }
+
+    public static byte[] encodeCount(final long count) {
+        return LongCombiner.VAR_LEN_ENCODER.encode(count);
+    }
+
+    public static long decodeCount(final byte[] bytes) {
+        return LongCombiner.VAR_LEN_ENCODER.decode(bytes);
+    }
+
+    public static HyperLogLogPlus createSketch() {
+        return new HyperLogLogPlus(SKETCH_PRECISION, SKETCH_SPARSE_PRECISION);
+    }
+
+    public static byte[] serialiseSketch(final HyperLogLogPlus sketch) throws IOException {
+        return sketch.getBytes();
+    }
+
+    public static HyperLogLogPlus deserialiseSketch(final byte[] bytes) throws IOException {
+        return HyperLogLogPlus.Builder.build(bytes);
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.accumulostore.summary;
+
+import com.clearspring.analytics.stream.cardinality.HyperLogLogPlus;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.apache.hadoop.io.Text;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Maintains the vertex summary table as elements are added. The counts for
+ * each (vertex, group, statistic, visibility) are combined in memory and
+ * written to the summary table in batches, where the
+ * {@link VertexSummaryCombiner} combines them with the counts already stored.
+ * <p>
+ * Counts are of the elements added, so an element that is added twice is
+ * counted twice, even though the copies are aggregated in the main table.
+ * This class is thread safe: elements can be added from many threads at once
+ * without contending on a single lock, as only writing the buffered counts
+ * excludes other threads.
+ * </p>
+ * <p>
+ * If the {@link BatchWriter} the elements are written with is provided, it is
+ * flushed before any buffered counts are written, so counts are only written
+ * once the elements they count have been written. If the elements could not be
+ * written then the buffered counts are discarded.
+ * </p>
+ */
+public class VertexSummaryWriter implements AutoCloseable {
+    public static final int DEFAULT_MAX_BUFFERED_ENTRIES = 100000;
+
+    private final ToBytesSerialiser vertexSerialiser;
+    private final BatchWriter writer;
+    private final BatchWriter elementWriter;
+    private final boolean includeDistinctNeighbours;
+    private final int maxBufferedEntries;
+    private final ConcurrentMap<Key, LongAdder> counts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Key, HyperLogLogPlus> sketches = new ConcurrentHashMap<>();
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    public VertexSummaryWriter(final Schema schema, final BatchWriter writer, final boolean includeDistinctNeighbours) {
+        this(schema, writer, null, includeDistinctNeighbours);
+    }
+
+    public VertexSummaryWriter(final Schema schema, final BatchWriter writer, final BatchWriter elementWriter,
+                               final boolean includeDistinctNeighbours) {
+        this(schema, writer, elementWriter, includeDistinctNeighbours, DEFAULT_MAX_BUFFERED_ENTRIES);
+    }
+
+    public VertexSummaryWriter(final Schema schema, final BatchWriter writer, final BatchWriter elementWriter,
+                               final boolean includeDistinctNeighbours, final int maxBufferedEntries) {
+        this.vertexSerialiser = (ToBytesSerialiser) schema.getVertexSerialiser();
+        this.writer = writer;
+        this.elementWriter = elementWriter;
+        this.includeDistinctNeighbours = includeDistinctNeighbours;
+        this.maxBufferedEntries = maxBufferedEntries;
+    }
+
+    /**
+     * Adds the counts for an element to the summary. This should only be
+     * called once the mutations for the element have been added to the
+     * element {@link BatchWriter}.
+     *
+     * @param element          the element that has been added
+     * @param columnVisibility the column visibility the element was written with
+     * @throws SerialisationException     if a vertex of the element could not be serialised
+     * @throws MutationsRejectedException if the buffered counts, or the elements they count, could not be written
+     */
+    public void add(final Element element, final byte[] columnVisibility)
+            throws SerialisationException, MutationsRejectedException {
+        final Text group = new Text(element.getGroup());
+        final Text visibility = new Text(columnVisibility);
+        if (element instanceof Entity) {
+            final byte[] vertex = vertexSerialiser.serialise(((Entity) element).getVertex());
+            flushLock.readLock().lock();
+            try {
+                addCount(vertex, group, VertexSummaryUtils.ENTITY_COUNT, visibility);
+            } finally {
+                flushLock.readLock().unlock();
+            }
+        } else {
+            final Edge edge = (Edge) element;
+            final byte[] source = vertexSerialiser.serialise(edge.getSource());
+            final byte[] destination = vertexSerialiser.serialise(edge.getDestination());
+            flushLock.readLock().lock();
+            try {
+                if (edge.isDirected()) {
+                    addCount(source, group, VertexSummaryUtils.OUT_EDGE_COUNT, visibility);
+                    addCount(destination, group, VertexSummaryUtils.IN_EDGE_COUNT, visibility);
+                } else {
+                    addCount(source, group, VertexSummaryUtils.UNDIRECTED_EDGE_COUNT, visibility);
+                    if (!Arrays.equals(source, destination)) {
+                        addCount(destination, group, VertexSummaryUtils.UNDIRECTED_EDGE_COUNT, visibility);
+                    }
+                }
+                if (includeDistinctNeighbours) {
+                    addNeighbour(source, group, destination, visibility);
+                    addNeighbour(destination, group, source, visibility);
+                }
+            } finally {
+                flushLock.readLock().unlock();
+            }
+        }
+
+        if (isFull()) {
+            flushLock.writeLock().lock();
+            try {
+                // Another thread may have written the counts whilst waiting for the lock
+                if (isFull()) {
+                    writeBufferedCounts();
+                }
+            } finally {
+                flushLock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered counts to the summary table.
+     *
+     * @throws MutationsRejectedException if the counts, or the elements they count, could not be written
+     */
+    public void flush() throws MutationsRejectedException {
+        flushLock.writeLock().lock();
+        try {
+            writeBufferedCounts();
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the buffered counts to the summary table and closes the
+     * underlying {@link BatchWriter}. The element {@link BatchWriter} is
+     * flushed but not closed.
+     *
+     * @throws MutationsRejectedException if the counts, or the elements they count, could not be written
+     */
+    @Override
+    public void close() throws MutationsRejectedException {
+        try {
+            flush();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Discards the buffered counts and closes the underlying
+     * {@link BatchWriter}. This should be used instead of {@link #close()} if
+     * the elements could not be added.
+     *
+     * @throws MutationsRejectedException if counts that were already flushed could not be written
+     */
+    public void discard() throws MutationsRejectedException {
+        flushLock.writeLock().lock();
+        try {
+            counts.clear();
+            sketches.clear();
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+        writer.close();
+    }
+
+    private boolean isFull() {
+        return counts.size() + sketches.size() >= maxBufferedEntries;
+    }
+
+    // Must be called whilst holding the write lock
+    private void writeBufferedCounts() throws MutationsRejectedException {
+        if (counts.isEmpty() && sketches.isEmpty()) {
+            return;
+        }
+
+        if (null != elementWriter) {
+            try {
+                elementWriter.flush();
+            } catch (final MutationsRejectedException e) {
+                counts.clear();
+                sketches.clear();
+                throw e;
+            }
+        }
+
+        for (final Map.Entry<Key, LongAdder> entry : counts.entrySet()) {
+            write(entry.getKey(), VertexSummaryUtils.encodeCount(entry.getValue().sum()));
+        }
+        counts.clear();
+
+        for (final Map.Entry<Key, HyperLogLogPlus> entry : sketches.entrySet()) {
+            try {
+                write(entry.getKey(), VertexSummaryUtils.serialiseSketch(entry.getValue()));
+            } catch (final IOException e) {
+                throw new IllegalArgumentException("Unable to serialise the distinct neighbours sketch for " + entry.getKey(), e);
+            }
+        }
+        sketches.clear();
+    }
+
+    private void addCount(final byte[] vertex, final Text group, final String statistic, final Text visibility) {
+        counts.computeIfAbsent(new Key(new Text(vertex), group, new Text(statistic), visibility), k -> new LongAdder())
+                .increment();
+    }
+
+    private void addNeighbour(final byte[] vertex, final Text group, final byte[] neighbour, final Text visibility) {
+        final HyperLogLogPlus sketch = sketches.computeIfAbsent(
+                new Key(new Text(vertex), group, new Text(VertexSummaryUtils.DISTINCT_NEIGHBOURS), visibility),
+                k -> VertexSummaryUtils.createSketch());
+        // The sketches are not thread safe, but each is only locked by threads adding the same vertex
+        synchronized (sketch) {
+            sketch.offer(neighbour);
+        }
+    }
+
+    private void write(final Key key, final byte[] value) throws MutationsRejectedException {
+        final Mutation mutation = new Mutation(key.getRow());
+        mutation.put(key.getColumnFamily(), key.getColumnQualifier(),
+                new ColumnVisibility(key.getColumnVisibility()), new Value(value));
+        writer.addMutation(mutation);
+    }
+}
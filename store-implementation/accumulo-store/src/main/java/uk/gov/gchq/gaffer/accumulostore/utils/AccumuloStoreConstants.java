@@ -28,10 +28,14 @@ public final class AccumuloStoreConstants {
     public static final String COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_NAME = "Column_Qualifier_Aggregator";
     public static final String ROW_ID_AGGREGATOR_ITERATOR_NAME = "Row_ID_Aggregator";
     public static final String RANGE_ELEMENT_PROPERTY_FILTER_ITERATOR_NAME = "Range_Element_Property_Filter";
+    public static final String RESULT_LIMIT_ITERATOR_NAME = "Result_Limit";
+    public static final String VERTEX_SUMMARY_COMBINER_ITERATOR_NAME = "Vertex_Summary_Combiner";
 
     // Converter class to be used in iterators must be on classpath of all
     // iterators
     public static final String ACCUMULO_ELEMENT_CONVERTER_CLASS = "accumulostore.key.element_converter";
+    // Number of shards used by sharded element converters, in iterator options and job configurations
+    public static final String ACCUMULO_ELEMENT_CONVERTER_NUM_SHARDS = "accumulostore.key.element_converter.num_shards";
 
     // Iterator options
     public static final String VIEW = "View";
@@ -45,6 +49,8 @@ public final class AccumuloStoreConstants {
     public static final String DEDUPLICATE_UNDIRECTED_EDGES = "Deduplicate_Undirected_Edges";
     public static final String BLOOM_FILTER = "Bloom_Filter";
     public static final String BLOOM_FILTER_CHARSET = "ISO-8859-1";
+    public static final String MEMBERSHIP_FILTER = "Membership_Filter";
+    public static final String RESULT_LIMIT = "Result_Limit";
     public static final String COLUMN_FAMILY = "columnFamily";
 
     // Iterator priorities
@@ -52,6 +58,8 @@ public final class AccumuloStoreConstants {
     public static final int AGGREGATOR_ITERATOR_PRIORITY = 10;
     // Applied during major compactions, minor compactions and scans.
     public static final int VALIDATOR_ITERATOR_PRIORITY = 20;
+    // Applied during major compactions, minor compactions and scans of the summary table.
+    public static final int VERTEX_SUMMARY_COMBINER_ITERATOR_PRIORITY = 10;
     // Applied only during scans.
     public static final int BLOOM_FILTER_ITERATOR_PRIORITY = 31;
     // Applied only during scans.
@@ -66,10 +74,17 @@ public final class AccumuloStoreConstants {
     public static final int COLUMN_QUALIFIER_AGGREGATOR_ITERATOR_PRIORITY = 36;
     // Applied only during scans.
     public static final int ELEMENT_POST_AGGREGATION_FILTER_ITERATOR_PRIORITY = 37;
+    // Applied only during scans, must be applied after all other iterators.
+    public static final int RESULT_LIMIT_ITERATOR_PRIORITY = 38;
 
     // Operations options
     public static final String ADD_ELEMENTS_FROM_HDFS_SKIP_IMPORT = "accumulostore.operation.hdfs.skip_import";
 
+    // Summary table
+    public static final String SUMMARY_TABLE_SUFFIX = "_summary";
+    public static final String SUMMARY_TABLE = "accumulostore.summary.table";
+    public static final String SUMMARY_TABLE_CARDINALITY = "accumulostore.summary.table.cardinality";
+
     // General use constants
     public static final byte[] EMPTY_BYTES = new byte[0];
 
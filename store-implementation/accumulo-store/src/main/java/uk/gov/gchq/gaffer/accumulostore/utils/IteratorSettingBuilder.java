@@ -25,7 +25,9 @@ import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
 import org.apache.hadoop.util.bloom.BloomFilter;
 
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.sharded.ShardUtils;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.membership.MembershipFilter;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
@@ -92,6 +94,16 @@ public class IteratorSettingBuilder {
         return this;
     }
 
+    public IteratorSettingBuilder membershipFilter(final MembershipFilter filter) throws IteratorSettingException {
+        try {
+            setting.addOption(AccumuloStoreConstants.MEMBERSHIP_FILTER, new String(filter.toByteArray(), AccumuloStoreConstants.BLOOM_FILTER_CHARSET));
+        } catch (final UnsupportedEncodingException e) {
+            throw new IteratorSettingException("Failed to encode the membership filter to a string", e);
+        }
+
+        return this;
+    }
+
     public IteratorSettingBuilder includeEdges(final boolean includeEdges) {
         if (includeEdges) {
             setting.addOption(AccumuloStoreConstants.INCLUDE_EDGES, "true");
@@ -150,12 +162,21 @@ public class IteratorSettingBuilder {
         return this;
     }
 
+    public IteratorSettingBuilder resultLimit(final int resultLimit) {
+        setting.addOption(AccumuloStoreConstants.RESULT_LIMIT, Integer.toString(resultLimit));
+        return this;
+    }
+
     public IteratorSettingBuilder keyConverter(final Class<? extends AccumuloElementConverter> converter) {
         setting.addOption(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS, converter.getName());
         return this;
     }
 
     public IteratorSettingBuilder keyConverter(final AccumuloElementConverter converter) {
+        final String numShards = ShardUtils.getNumShards(converter);
+        if (null != numShards) {
+            setting.addOption(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_NUM_SHARDS, numShards);
+        }
         return keyConverter(converter.getClass());
     }
 
@@ -28,6 +28,7 @@ import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.client.ZooKeeperInstance;
 import org.apache.accumulo.core.client.security.tokens.PasswordToken;
 import org.apache.accumulo.core.conf.Property;
+import org.apache.accumulo.core.iterators.Combiner;
 import org.apache.accumulo.core.iterators.IteratorUtil.IteratorScope;
 import org.apache.accumulo.core.security.Authorizations;
 import org.apache.hadoop.io.Text;
@@ -38,6 +39,8 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloRuntimeException;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyBloomFunctor;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.summary.VertexSummaryCombiner;
+import uk.gov.gchq.gaffer.accumulostore.summary.VertexSummaryUtils;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.koryphe.ValidationResult;
 
@@ -82,6 +85,51 @@ public final class TableUtils {
                 // Someone else got there first, never mind...
             }
         }
+        if (store.getProperties().getEnableSummaryTable()) {
+            ensureSummaryTableExists(store);
+        }
+    }
+
+    /**
+     * Ensures that the vertex summary table exists, otherwise it creates it
+     * with the {@link VertexSummaryCombiner} attached for all scopes.
+     *
+     * @param store the accumulo store
+     * @throws StoreException if a connection to accumulo could not be created or there is a failure to create the table/iterator
+     */
+    public static synchronized void ensureSummaryTableExists(final AccumuloStore store) throws StoreException {
+        final String tableName = VertexSummaryUtils.getSummaryTableName(store);
+        final Connector connector = store.getConnection();
+        if (connector.tableOperations().exists(tableName)) {
+            return;
+        }
+        try {
+            LOGGER.info("Creating vertex summary table {} as user {}", tableName, connector.whoami());
+            connector.tableOperations().create(tableName);
+
+            LOGGER.info("Removing versioning iterator from table {}", tableName);
+            connector.tableOperations().removeIterator(tableName, "vers", EnumSet.allOf(IteratorScope.class));
+
+            LOGGER.info("Adding vertex summary combiner to table {} for all scopes", tableName);
+            connector.tableOperations().attachIterator(tableName, getVertexSummaryCombinerSetting());
+        } catch (final TableExistsException e) {
+            // Someone else got there first, never mind...
+        } catch (final AccumuloSecurityException | TableNotFoundException | AccumuloException e) {
+            throw new StoreException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates the {@link IteratorSetting} for the {@link VertexSummaryCombiner}
+     * used to combine the counts in the vertex summary table.
+     *
+     * @return the vertex summary combiner iterator setting
+     */
+    public static IteratorSetting getVertexSummaryCombinerSetting() {
+        final IteratorSetting setting = new IteratorSetting(AccumuloStoreConstants.VERTEX_SUMMARY_COMBINER_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.VERTEX_SUMMARY_COMBINER_ITERATOR_NAME, VertexSummaryCombiner.class);
+        Combiner.setCombineAllColumns(setting, true);
+        return setting;
     }
 
     /**
@@ -184,6 +232,18 @@ public final class TableUtils {
         return createBatchWriter(store, store.getTableName());
     }
 
+    /**
+     * Creates a {@link BatchWriter} for the vertex summary table
+     *
+     * @param store the accumulo store
+     * @return A new BatchWriter with the settings defined in the
+     * gaffer.accumulostore properties
+     * @throws StoreException if the table could not be found or other table issues
+     */
+    public static BatchWriter createSummaryBatchWriter(final AccumuloStore store) throws StoreException {
+        return createBatchWriter(store, VertexSummaryUtils.getSummaryTableName(store));
+    }
+
     /**
      * Creates a connection to an accumulo instance using the provided
      * parameters
@@ -244,7 +304,7 @@ public final class TableUtils {
             return store.getConnection().createBatchWriter(tableName, batchConfig);
         } catch (final TableNotFoundException e) {
             throw new StoreException("Table not set up! Use table gaffer.accumulostore.utils to create the table"
-                    + store.getTableName(), e);
+                    + tableName, e);
         }
     }
 
@@ -30,9 +30,11 @@ import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsBetweenSets
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsInRangesHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetElementsWithinSetHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.AddElementsFromHdfsHandler;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.AddElementsViaRFilesHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.ImportAccumuloKeyValueFilesHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.SampleDataForSplitPointsHandler;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.SplitStoreHandler;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.AddElementsViaRFiles;
 import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.ImportAccumuloKeyValueFiles;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsBetweenSets;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsInRanges;
@@ -59,6 +61,7 @@ import uk.gov.gchq.gaffer.operation.impl.Validate;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.generate.GenerateElements;
 import uk.gov.gchq.gaffer.operation.impl.generate.GenerateObjects;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
@@ -79,6 +82,8 @@ import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -327,6 +332,50 @@ public class AccumuloStoreTest {
         assertEquals(0, Iterables.size(relatedResults));
     }
 
+    @Test
+    public void shouldAddAllElementsWhenConvertingOnMultipleThreadsGaffer1() throws OperationException, StoreException {
+        shouldAddAllElementsWhenConvertingOnMultipleThreads(CLASSIC_PROPERTIES);
+    }
+
+    @Test
+    public void shouldAddAllElementsWhenConvertingOnMultipleThreadsByteEntity() throws OperationException, StoreException {
+        shouldAddAllElementsWhenConvertingOnMultipleThreads(PROPERTIES);
+    }
+
+    public void shouldAddAllElementsWhenConvertingOnMultipleThreads(final AccumuloProperties storeProperties) throws OperationException, StoreException {
+        // Given
+        final AccumuloProperties properties = storeProperties.clone();
+        properties.setIngestConverterThreads("4");
+        properties.setIngestConverterBatchSize("7");
+        final SingleUseMockAccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("parallelIngestGraph", SCHEMA, properties);
+
+        final Set<Element> elements = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            final Entity entity = new Entity(TestGroups.ENTITY, "" + i);
+            entity.putProperty(TestPropertyNames.PROP_1, i);
+            entity.putProperty(TestPropertyNames.COUNT, 1);
+            elements.add(entity);
+        }
+
+        // When
+        store.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), store.createContext(new User()));
+
+        // Then
+        final Set<Element> results = new HashSet<>();
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build();
+        try (final CloseableIterable<? extends Element> allElements = store.execute(getAllElements, store.createContext(new User()))) {
+            Iterables.addAll(results, allElements);
+        }
+        assertEquals(elements, results);
+    }
+
     @Test
     public void testStoreReturnsHandlersForRegisteredOperationsGaffer1() throws OperationException, StoreException {
         testStoreReturnsHandlersForRegisteredOperations(gaffer1KeyStore);
@@ -347,6 +396,7 @@ public class AccumuloStoreTest {
         assertTrue(store.getOperationHandlerExposed(SplitStore.class) instanceof SplitStoreHandler);
         assertTrue(store.getOperationHandlerExposed(SampleDataForSplitPoints.class) instanceof SampleDataForSplitPointsHandler);
         assertTrue(store.getOperationHandlerExposed(ImportAccumuloKeyValueFiles.class) instanceof ImportAccumuloKeyValueFilesHandler);
+        assertTrue(store.getOperationHandlerExposed(AddElementsViaRFiles.class) instanceof AddElementsViaRFilesHandler);
         assertTrue(store.getOperationHandlerExposed(GenerateElements.class) instanceof GenerateElementsHandler);
         assertTrue(store.getOperationHandlerExposed(GenerateObjects.class) instanceof GenerateObjectsHandler);
     }
@@ -67,7 +67,7 @@ public class AccumuloEntityValueLoaderTest {
     }
 
     @Test
-    public void shouldLoadAllColumnQualifierPropertiesWhenGetGroupByProperty() throws SerialisationException {
+    public void shouldLoadOnlyRequestedColumnQualifierPropertyWhenGetGroupByProperty() throws SerialisationException {
         // Given
         final String group = TestGroups.ENTITY;
         final Key key = mock(Key.class);
@@ -76,28 +76,27 @@ public class AccumuloEntityValueLoaderTest {
         final Schema schema = createSchema();
         final AccumuloEntityValueLoader loader = new AccumuloEntityValueLoader(group, key, value, converter, schema);
         final LazyProperties lazyProperties = mock(LazyProperties.class);
-        final Properties properties = mock(Properties.class);
         final ByteSequence cqData = mock(ByteSequence.class);
         given(key.getColumnQualifierData()).willReturn(cqData);
         final byte[] cqBytes = {0, 1, 2, 3, 4};
         given(cqData.getBackingArray()).willReturn(cqBytes);
-        given(converter.getPropertiesFromColumnQualifier(group, cqBytes)).willReturn(properties);
-        given(properties.get(TestPropertyNames.PROP_1)).willReturn("propValue1");
+        given(converter.getPropertyFromColumnQualifier(group, TestPropertyNames.PROP_1, cqBytes)).willReturn("propValue1");
 
         // When
         final Object property = loader.getProperty(TestPropertyNames.PROP_1, lazyProperties);
 
         // Then
         assertEquals("propValue1", property);
-        verify(lazyProperties).putAll(properties);
+        verify(converter, never()).getPropertiesFromColumnQualifier(Mockito.eq(group), Mockito.any(byte[].class));
         verify(converter, never()).getElementId(key, false);
         verify(converter, never()).getPropertiesFromColumnVisibility(Mockito.eq(group), Mockito.any(byte[].class));
         verify(converter, never()).getPropertiesFromTimestamp(Mockito.eq(group), Mockito.anyLong());
         verify(converter, never()).getPropertiesFromValue(Mockito.eq(group), Mockito.any(Value.class));
+        verify(converter, never()).getPropertyFromValue(Mockito.eq(group), Mockito.anyString(), Mockito.any(Value.class));
     }
 
     @Test
-    public void shouldLoadAllValuePropertiesWhenGetProperty() throws SerialisationException {
+    public void shouldLoadOnlyRequestedValuePropertyWhenGetProperty() throws SerialisationException {
         // Given
         final String group = TestGroups.ENTITY;
         final Key key = mock(Key.class);
@@ -106,16 +105,14 @@ public class AccumuloEntityValueLoaderTest {
         final Schema schema = createSchema();
         final AccumuloEntityValueLoader loader = new AccumuloEntityValueLoader(group, key, value, converter, schema);
         final LazyProperties lazyProperties = mock(LazyProperties.class);
-        final Properties properties = mock(Properties.class);
-        given(converter.getPropertiesFromValue(group, value)).willReturn(properties);
-        given(properties.get(TestPropertyNames.PROP_3)).willReturn("propValue3");
+        given(converter.getPropertyFromValue(group, TestPropertyNames.PROP_3, value)).willReturn("propValue3");
 
         // When
         final Object property = loader.getProperty(TestPropertyNames.PROP_3, lazyProperties);
 
         // Then
         assertEquals("propValue3", property);
-        verify(lazyProperties).putAll(properties);
+        verify(converter, never()).getPropertiesFromValue(Mockito.eq(group), Mockito.any(Value.class));
         verify(converter, never()).getElementId(key, false);
         verify(converter, never()).getPropertiesFromColumnVisibility(Mockito.eq(group), Mockito.any(byte[].class));
         verify(converter, never()).getPropertiesFromTimestamp(Mockito.eq(group), Mockito.anyLong());
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.accumulostore.integration;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -32,6 +33,9 @@ import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloKeyPackage;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.classic.ClassicKeyPackage;
+import uk.gov.gchq.gaffer.accumulostore.operation.handler.GetVertexStatisticsHandler;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetVertexStatistics;
+import uk.gov.gchq.gaffer.accumulostore.summary.VertexStatistics;
 import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
@@ -47,6 +51,7 @@ import uk.gov.gchq.gaffer.hdfs.operation.AddElementsFromHdfs;
 import uk.gov.gchq.gaffer.hdfs.operation.handler.job.initialiser.TextJobInitialiser;
 import uk.gov.gchq.gaffer.hdfs.operation.mapper.generator.TextMapperGenerator;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
@@ -97,6 +102,32 @@ public class AddElementsFromHdfsIT {
         addElementsFromHdfs(ClassicKeyPackage.class);
     }
 
+    @Test
+    public void shouldMaintainVertexSummaryTableWhenAddingElementsFromHdfs() throws Exception {
+        // Given
+        final AccumuloProperties properties = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setKeyPackageClass(ByteEntityKeyPackage.class.getName());
+        properties.setInstance("instance_summary_" + ByteEntityKeyPackage.class.getName());
+        properties.setEnableSummaryTable(true);
+        final AccumuloStore store = new SingleUseMockAccumuloStoreWithTabletServers();
+        store.initialise("summaryGraph", getSchema(), properties);
+
+        // When
+        addElementsFromHdfs(store, TABLET_SERVERS.size() - 1);
+
+        // Then
+        final List<VertexStatistics> results = Lists.newArrayList(new GetVertexStatisticsHandler().doOperation(
+                new GetVertexStatistics.Builder()
+                        .input(new EntitySeed(VERTEX_ID_PREFIX + 1))
+                        .build(), new User(), store));
+        assertEquals(2, results.size());
+        assertEquals(TestGroups.EDGE, results.get(0).getGroup());
+        assertEquals(2, results.get(0).getOutEdgeCount());
+        assertEquals(2, results.get(0).getInEdgeCount());
+        assertEquals(TestGroups.ENTITY, results.get(1).getGroup());
+        assertEquals(2, results.get(1).getEntityCount());
+    }
+
     @Test
     public void shouldAddElementsFromHdfsWithNoAggregation() throws Exception {
         final Schema defaultSchema = getSchema();
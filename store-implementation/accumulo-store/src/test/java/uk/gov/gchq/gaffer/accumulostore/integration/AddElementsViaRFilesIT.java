@@ -0,0 +1,189 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.accumulostore.integration;
+
+import com.google.common.collect.Sets;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloKeyPackage;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.classic.ClassicKeyPackage;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.handler.rfile.RFileBulkLoader;
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.AddElementsViaRFiles;
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.util.ElementUtil;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class AddElementsViaRFilesIT {
+    private static final String VERTEX_ID_PREFIX = "vertexId";
+    private static final int NUM_ELEMENTS = 1000;
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    private String workingDir;
+
+    @Before
+    public void setup() {
+        workingDir = testFolder.getRoot().getAbsolutePath() + "/workingDir";
+    }
+
+    @Test
+    public void shouldAddElementsViaRFiles() throws Exception {
+        addElementsViaRFiles(createStore(ByteEntityKeyPackage.class, "1"));
+        addElementsViaRFiles(createStore(ClassicKeyPackage.class, "1"));
+    }
+
+    @Test
+    public void shouldAddElementsViaRFilesUsingMultipleThreadsAndRuns() throws Exception {
+        addElementsViaRFiles(createStore(ByteEntityKeyPackage.class, "3"));
+        addElementsViaRFiles(createStore(ClassicKeyPackage.class, "3"));
+    }
+
+    @Test
+    public void shouldAddElementsViaRFilesToSplitTable() throws Exception {
+        shouldAddElementsViaRFilesToSplitTable(ByteEntityKeyPackage.class);
+        shouldAddElementsViaRFilesToSplitTable(ClassicKeyPackage.class);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenWorkingDirectoryAlreadyExists() throws Exception {
+        // Given
+        final AccumuloStore store = createStore(ByteEntityKeyPackage.class, "3");
+        final FileSystem fs = FileSystem.get(new Configuration());
+        fs.mkdirs(new Path(workingDir));
+
+        // When / Then
+        try {
+            new RFileBulkLoader(store, fs, workingDir).load(createElements());
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertEquals("Working directory already exists: " + new Path(workingDir), e.getMessage());
+        }
+    }
+
+    private void shouldAddElementsViaRFilesToSplitTable(final Class<? extends AccumuloKeyPackage> keyPackageClass) throws Exception {
+        final AccumuloStore store = createStore(keyPackageClass, "3");
+        final SortedSet<Text> splits = Sets.newTreeSet();
+        for (int i = 0; i < 10; i++) {
+            splits.add(new Text(store.getKeyPackage().getKeyConverter()
+                    .getRowKeysFromElement(new Entity(TestGroups.ENTITY, VERTEX_ID_PREFIX + (i * 100)))
+                    .getFirst()));
+        }
+        store.getConnection().tableOperations().addSplits(store.getTableName(), splits);
+
+        addElementsViaRFiles(store);
+        assertEquals(splits.size(), store.getConnection().tableOperations().listSplits(store.getTableName()).size());
+    }
+
+    private void addElementsViaRFiles(final AccumuloStore store) throws Exception {
+        // Given
+        final Graph graph = new Graph.Builder()
+                .store(store)
+                .build();
+
+        // When
+        graph.execute(new AddElementsViaRFiles.Builder()
+                .input(createElements())
+                .workingPath(workingDir)
+                .build(), new User());
+
+        // Then
+        final List<Element> expectedElements = new ArrayList<>(NUM_ELEMENTS * 2);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            expectedElements.add(createEntity(i, 2));
+            expectedElements.add(createEdge(i, 2));
+        }
+        ElementUtil.assertElementEquals(expectedElements, graph.execute(new GetAllElements(), new User()));
+
+        final FileSystem fs = FileSystem.get(new Configuration());
+        assertFalse(fs.exists(new Path(workingDir)) && fs.listFiles(new Path(workingDir), true).hasNext());
+    }
+
+    private List<Element> createElements() {
+        final List<Element> elements = new ArrayList<>(NUM_ELEMENTS * 4);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            elements.add(createEntity(i, 1));
+            elements.add(createEdge(i, 1));
+
+            // Add duplicates that should be aggregated by the table
+            elements.add(createEntity(i, 1));
+            elements.add(createEdge(i, 1));
+        }
+        return elements;
+    }
+
+    private Entity createEntity(final int i, final int count) {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex(VERTEX_ID_PREFIX + i)
+                .property(TestPropertyNames.COUNT, count)
+                .build();
+    }
+
+    private Edge createEdge(final int i, final int count) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(VERTEX_ID_PREFIX + i)
+                .dest(VERTEX_ID_PREFIX + (i + 1))
+                .directed(true)
+                .property(TestPropertyNames.COUNT, count)
+                .build();
+    }
+
+    private AccumuloStore createStore(final Class<? extends AccumuloKeyPackage> keyPackageClass, final String numThreads) throws Exception {
+        final AccumuloProperties properties = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setKeyPackageClass(keyPackageClass.getName());
+        properties.setInstance("instance_rfiles_" + keyPackageClass.getName());
+        properties.setBulkLoadThreads(numThreads);
+        properties.setBulkLoadMaxEntriesPerRun("100");
+        properties.setIngestConverterBatchSize("10");
+
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise(keyPackageClass.getSimpleName() + "Graph", Schema.fromJson(StreamUtil.schemas(getClass())), properties);
+        return store;
+    }
+}
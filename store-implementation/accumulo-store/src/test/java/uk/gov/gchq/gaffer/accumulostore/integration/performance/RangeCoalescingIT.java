@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.accumulostore.integration.performance;
+
+import com.google.common.collect.Lists;
+import org.apache.accumulo.core.data.Range;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.RangeFactory;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
+import uk.gov.gchq.gaffer.accumulostore.retriever.RangePlanner;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.util.ElementUtil;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares batched seeded reads with and without range coalescing. The seeds
+ * include each vertex as an {@link EntitySeed} and as the source of an
+ * {@link EdgeSeed}, so without coalescing the batch scanner is given
+ * overlapping ranges. The number of ranges and the time taken are logged.
+ */
+public class RangeCoalescingIT {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RangeCoalescingIT.class);
+    private static final String VERTEX_ID_PREFIX = "vertex";
+    private static final int NUM_VERTICES = 2000;
+    private static final int NUM_SPLITS = 9;
+    private static final int NUM_QUERIES = 5;
+
+    @Test
+    public void shouldReturnSameElementsWithFewerRangesWhenCoalescingRanges() throws Exception {
+        // Given
+        final AccumuloStore coalescingStore = createStore(true);
+        final AccumuloStore nonCoalescingStore = createStore(false);
+        final List<ElementId> seeds = createSeeds();
+
+        // When
+        final Set<Range> ranges = new HashSet<>();
+        final RangeFactory rangeFactory = coalescingStore.getKeyPackage().getRangeFactory();
+        final GetElements operation = new GetElements.Builder()
+                .input(seeds)
+                .view(createView())
+                .build();
+        for (final ElementId seed : seeds) {
+            ranges.addAll(rangeFactory.getRange(seed, operation));
+        }
+        final List<List<Range>> tablets = RangePlanner.create(coalescingStore).groupByTablet(ranges);
+        int numPlannedRanges = 0;
+        for (final List<Range> tabletRanges : tablets) {
+            numPlannedRanges += tabletRanges.size();
+        }
+
+        final List<Element> expectedResults = query(nonCoalescingStore, seeds, 1);
+        final long nonCoalescingTime = time(nonCoalescingStore, seeds);
+        final List<Element> results = query(coalescingStore, seeds, 1);
+        final long coalescingTime = time(coalescingStore, seeds);
+
+        // Then
+        LOGGER.info("Seeds: {}, ranges: {}, coalesced ranges: {}, tablets: {}",
+                seeds.size(), ranges.size(), numPlannedRanges, tablets.size());
+        LOGGER.info("Average query time without coalescing: {}ms, with coalescing: {}ms",
+                nonCoalescingTime / NUM_QUERIES, coalescingTime / NUM_QUERIES);
+        assertTrue(numPlannedRanges < ranges.size());
+        assertEquals(NUM_SPLITS + 1, tablets.size());
+        ElementUtil.assertElementEquals(new HashSet<>(expectedResults), results);
+        assertEquals(new HashSet<>(results).size(), results.size());
+    }
+
+    private long time(final AccumuloStore store, final List<ElementId> seeds) throws Exception {
+        final long start = System.currentTimeMillis();
+        query(store, seeds, NUM_QUERIES);
+        return System.currentTimeMillis() - start;
+    }
+
+    private List<Element> query(final AccumuloStore store, final List<ElementId> seeds, final int numQueries) throws Exception {
+        List<Element> results = null;
+        for (int i = 0; i < numQueries; i++) {
+            results = Lists.newArrayList(store.execute(new GetElements.Builder()
+                    .input(seeds)
+                    .view(createView())
+                    .build(), new Context(new User())));
+        }
+        return results;
+    }
+
+    private View createView() {
+        return new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .edge(TestGroups.EDGE)
+                .build();
+    }
+
+    private List<ElementId> createSeeds() {
+        final List<ElementId> seeds = new ArrayList<>();
+        for (int i = 0; i < NUM_VERTICES; i += 2) {
+            seeds.add(new EntitySeed(VERTEX_ID_PREFIX + i));
+            seeds.add(new EdgeSeed(VERTEX_ID_PREFIX + i, VERTEX_ID_PREFIX + (i + 1), true));
+        }
+        return seeds;
+    }
+
+    private AccumuloStore createStore(final boolean enableRangeCoalescing) throws Exception {
+        final AccumuloProperties properties = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setKeyPackageClass(ByteEntityKeyPackage.class.getName());
+        properties.setEnableRangeCoalescing(enableRangeCoalescing);
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("rangeCoalescingGraph" + enableRangeCoalescing, Schema.fromJson(StreamUtil.schemas(getClass())), properties);
+
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            elements.add(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex(VERTEX_ID_PREFIX + i)
+                    .property(TestPropertyNames.COUNT, 1)
+                    .build());
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source(VERTEX_ID_PREFIX + i)
+                    .dest(VERTEX_ID_PREFIX + (i + 1))
+                    .directed(true)
+                    .property(TestPropertyNames.COUNT, 1)
+                    .build());
+        }
+        store.execute(new AddElements.Builder().input(elements).build(), new Context(new User()));
+
+        final SortedSet<Text> splits = new TreeSet<>();
+        for (int i = 1; i <= NUM_SPLITS; i++) {
+            splits.add(new Text(store.getKeyPackage().getKeyConverter()
+                    .getRowKeysFromElement(new Entity(TestGroups.ENTITY, VERTEX_ID_PREFIX + (i * NUM_VERTICES / (NUM_SPLITS + 1))))
+                    .getFirst()));
+        }
+        store.getConnection().tableOperations().addSplits(store.getTableName(), splits);
+        return store;
+    }
+}
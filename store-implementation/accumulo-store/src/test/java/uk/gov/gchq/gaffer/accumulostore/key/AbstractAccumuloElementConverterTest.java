@@ -306,6 +306,47 @@ public abstract class AbstractAccumuloElementConverterTest<T extends AccumuloEle
         assertEquals(8, deSerialisedProperties.get(AccumuloPropertyNames.COUNT));
     }
 
+    @Test
+    public void shouldDeserialiseSinglePropertyFromValue() {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.PROP_1, 60);
+        properties.put(AccumuloPropertyNames.PROP_3, 299);
+        properties.put(AccumuloPropertyNames.PROP_4, 10);
+        properties.put(AccumuloPropertyNames.COUNT, 8);
+        final Value value = converter.getValueFromProperties(TestGroups.EDGE, properties);
+
+        // When / Then
+        assertEquals(60, converter.getPropertyFromValue(TestGroups.EDGE, AccumuloPropertyNames.PROP_1, value));
+        assertNull(converter.getPropertyFromValue(TestGroups.EDGE, AccumuloPropertyNames.PROP_2, value));
+        assertEquals(299, converter.getPropertyFromValue(TestGroups.EDGE, AccumuloPropertyNames.PROP_3, value));
+        assertEquals(10, converter.getPropertyFromValue(TestGroups.EDGE, AccumuloPropertyNames.PROP_4, value));
+        assertEquals(8, converter.getPropertyFromValue(TestGroups.EDGE, AccumuloPropertyNames.COUNT, value));
+        assertNull(converter.getPropertyFromValue(TestGroups.EDGE, AccumuloPropertyNames.COLUMN_QUALIFIER, value));
+        assertNull(converter.getPropertyFromValue(TestGroups.EDGE, AccumuloPropertyNames.COUNT, new Value()));
+    }
+
+    @Test
+    public void shouldDeserialiseSinglePropertyFromColumnQualifier() {
+        // Given
+        final Edge edge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .dest("2")
+                .source("1")
+                .directed(true)
+                .property(AccumuloPropertyNames.COLUMN_QUALIFIER, 100)
+                .property(AccumuloPropertyNames.COLUMN_QUALIFIER_3, 300)
+                .property(AccumuloPropertyNames.COUNT, 8)
+                .build();
+        final byte[] columnQualifier = converter.getKeysFromElement(edge).getFirst().getColumnQualifierData().getBackingArray();
+
+        // When / Then
+        assertEquals(100, converter.getPropertyFromColumnQualifier(TestGroups.EDGE, AccumuloPropertyNames.COLUMN_QUALIFIER, columnQualifier));
+        assertNull(converter.getPropertyFromColumnQualifier(TestGroups.EDGE, AccumuloPropertyNames.COLUMN_QUALIFIER_2, columnQualifier));
+        assertEquals(300, converter.getPropertyFromColumnQualifier(TestGroups.EDGE, AccumuloPropertyNames.COLUMN_QUALIFIER_3, columnQualifier));
+        assertNull(converter.getPropertyFromColumnQualifier(TestGroups.EDGE, AccumuloPropertyNames.COUNT, columnQualifier));
+    }
+
     @Test
     public void shouldTruncatePropertyBytes() {
         // Given
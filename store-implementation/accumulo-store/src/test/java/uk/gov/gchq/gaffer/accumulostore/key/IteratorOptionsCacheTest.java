@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.key;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.classic.ClassicAccumuloElementConverter;
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestTypes;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.ElementValidator;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class IteratorOptionsCacheTest {
+    @Before
+    @After
+    public void clearCache() {
+        IteratorOptionsCache.clear();
+    }
+
+    @Test
+    public void shouldReuseSchemaParsedFromSameJson() {
+        // Given
+        final String schemaJson = getSchemaJson(TestGroups.ENTITY);
+
+        // When
+        final Schema schema1 = IteratorOptionsCache.getSchema(schemaJson);
+        final Schema schema2 = IteratorOptionsCache.getSchema(new String(schemaJson.toCharArray()));
+
+        // Then
+        assertSame(schema1, schema2);
+        assertTrue(schema1.getEntityGroups().contains(TestGroups.ENTITY));
+        assertEquals(1, IteratorOptionsCache.getHits());
+        assertEquals(1, IteratorOptionsCache.getMisses());
+    }
+
+    @Test
+    public void shouldParseDifferentSchemaJsonSeparately() {
+        // When
+        final Schema schema1 = IteratorOptionsCache.getSchema(getSchemaJson(TestGroups.ENTITY));
+        final Schema schema2 = IteratorOptionsCache.getSchema(getSchemaJson(TestGroups.ENTITY_2));
+
+        // Then
+        assertNotSame(schema1, schema2);
+        assertTrue(schema2.getEntityGroups().contains(TestGroups.ENTITY_2));
+        assertEquals(0, IteratorOptionsCache.getHits());
+        assertEquals(2, IteratorOptionsCache.getMisses());
+    }
+
+    @Test
+    public void shouldReuseViewAndValidators() {
+        // Given
+        final String schemaJson = getSchemaJson(TestGroups.ENTITY);
+        final String viewJson = StringUtil.toString(new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .build()
+                .toCompactJson());
+
+        // When
+        final View view = IteratorOptionsCache.getView(viewJson);
+        final ElementValidator viewValidator = IteratorOptionsCache.getViewValidator(viewJson);
+        final ElementValidator schemaValidator = IteratorOptionsCache.getSchemaValidator(schemaJson);
+
+        // Then
+        assertSame(view, IteratorOptionsCache.getView(viewJson));
+        assertSame(viewValidator, IteratorOptionsCache.getViewValidator(viewJson));
+        assertSame(schemaValidator, IteratorOptionsCache.getSchemaValidator(schemaJson));
+        assertTrue(view.getEntityGroups().contains(TestGroups.ENTITY));
+    }
+
+    @Test
+    public void shouldReuseElementConverterForSameClassAndSchema() throws Exception {
+        // Given
+        final String schemaJson = getSchemaJson(TestGroups.ENTITY);
+
+        // When
+        final AccumuloElementConverter converter1 = IteratorOptionsCache.getElementConverter(
+                ByteEntityAccumuloElementConverter.class.getName(), schemaJson);
+        final AccumuloElementConverter converter2 = IteratorOptionsCache.getElementConverter(
+                ByteEntityAccumuloElementConverter.class.getName(), schemaJson);
+        final AccumuloElementConverter converter3 = IteratorOptionsCache.getElementConverter(
+                ClassicAccumuloElementConverter.class.getName(), schemaJson);
+
+        // Then
+        assertSame(converter1, converter2);
+        assertTrue(converter1 instanceof ByteEntityAccumuloElementConverter);
+        assertTrue(converter3 instanceof ClassicAccumuloElementConverter);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedSchemasWhenFull() {
+        // Given
+        final String firstSchemaJson = getSchemaJson("group0");
+        final Schema firstSchema = IteratorOptionsCache.getSchema(firstSchemaJson);
+
+        // When
+        for (int i = 1; i <= IteratorOptionsCache.getMaxSize(); i++) {
+            IteratorOptionsCache.getSchema(getSchemaJson("group" + i));
+        }
+
+        // Then
+        assertNotSame(firstSchema, IteratorOptionsCache.getSchema(firstSchemaJson));
+        assertEquals(IteratorOptionsCache.getMaxSize() + 2, IteratorOptionsCache.getMisses());
+    }
+
+    private static String getSchemaJson(final String group) {
+        return StringUtil.toString(new Schema.Builder()
+                .type(TestTypes.ID_STRING, new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .build())
+                .entity(group, new SchemaEntityDefinition.Builder()
+                        .vertex(TestTypes.ID_STRING)
+                        .build())
+                .vertexSerialiser(new StringSerialiser())
+                .build()
+                .toCompactJson());
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.core.impl.sharded;
+
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.AbstractCoreKeyAccumuloElementConverterTest;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorSettingBuilder;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests are inherited from AbstractAccumuloElementConverterTest.
+ */
+public class ShardedByteEntityAccumuloElementConverterTest extends AbstractCoreKeyAccumuloElementConverterTest {
+    private static final int NUM_SHARDS = 4;
+
+    @Override
+    protected ShardedByteEntityAccumuloElementConverter createConverter(final Schema schema) {
+        return new ShardedByteEntityAccumuloElementConverter(schema, NUM_SHARDS);
+    }
+
+    @Test
+    public void shouldPrefixByteEntityRowKeysWithShard() {
+        // Given
+        final ByteEntityAccumuloElementConverter byteEntityConverter = new ByteEntityAccumuloElementConverter(getSchema());
+        final Edge edge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("1")
+                .dest("2")
+                .directed(true)
+                .build();
+
+        // When
+        final Pair<byte[], byte[]> rowKeys = converter.getRowKeysFromElement(edge);
+
+        // Then
+        final Pair<byte[], byte[]> expectedRowKeys = byteEntityConverter.getRowKeysFromElement(edge);
+        assertShardedRow(expectedRowKeys.getFirst(), rowKeys.getFirst());
+        assertShardedRow(expectedRowKeys.getSecond(), rowKeys.getSecond());
+    }
+
+    @Test
+    public void shouldSpreadEdgesOfOneVertexOverAllShards() {
+        // Given
+        final Set<Byte> shardPrefixes = new HashSet<>();
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            final Edge edge = new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("supernode")
+                    .dest("vertex" + i)
+                    .directed(true)
+                    .build();
+            shardPrefixes.add(converter.getRowKeysFromElement(edge).getFirst()[0]);
+        }
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList((byte) 1, (byte) 2, (byte) 3, (byte) 4)), shardPrefixes);
+    }
+
+    @Test
+    public void shouldPutEntityInSameShardEachTime() {
+        // Given
+        final Entity entity = new Entity(TestGroups.ENTITY, "vertex");
+
+        // When
+        final byte[] rowKey1 = converter.getRowKeysFromElement(entity).getFirst();
+        final byte[] rowKey2 = createConverter(getSchema()).getRowKeysFromElement(entity).getFirst();
+
+        // Then
+        assertArrayEquals(rowKey1, rowKey2);
+    }
+
+    @Test
+    public void shouldCreateConverterWithNumShardsFromClassName() throws Exception {
+        // Given
+        final Edge edge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("supernode")
+                .dest("vertex")
+                .directed(true)
+                .build();
+
+        // When
+        final AccumuloElementConverter reflectiveConverter = ShardUtils.createElementConverter(
+                ShardedByteEntityAccumuloElementConverter.class.getName(), getSchema(),
+                ShardUtils.getNumShards(converter));
+
+        // Then
+        assertEquals(NUM_SHARDS, ((ShardedByteEntityAccumuloElementConverter) reflectiveConverter).getNumShards());
+        assertArrayEquals(converter.getRowKeysFromElement(edge).getFirst(),
+                reflectiveConverter.getRowKeysFromElement(edge).getFirst());
+    }
+
+    @Test
+    public void shouldAddNumShardsToIteratorOptions() {
+        // When
+        final IteratorSetting setting = new IteratorSettingBuilder(10, "test", ShardedByteEntityRangeElementPropertyFilterIterator.class.getName())
+                .keyConverter(converter)
+                .build();
+
+        // Then
+        assertEquals(String.valueOf(NUM_SHARDS),
+                setting.getOptions().get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_NUM_SHARDS));
+    }
+
+    private Schema getSchema() {
+        return Schema.fromJson(StreamUtil.schemas(getClass()));
+    }
+
+    private void assertShardedRow(final byte[] expectedUnshardedRow, final byte[] shardedRow) {
+        assertEquals(expectedUnshardedRow.length + 1, shardedRow.length);
+        assertTrue(shardedRow[0] >= 1 && shardedRow[0] <= NUM_SHARDS);
+        assertArrayEquals(expectedUnshardedRow, ShardUtils.removeShard(shardedRow));
+    }
+}
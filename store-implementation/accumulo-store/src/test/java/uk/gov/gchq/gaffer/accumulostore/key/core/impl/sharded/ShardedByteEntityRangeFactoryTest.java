@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.core.impl.sharded;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyBloomFunctor;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityRangeFactory;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ShardedByteEntityRangeFactoryTest {
+    private static final int NUM_SHARDS = 4;
+
+    private Schema schema;
+    private ShardedByteEntityRangeFactory rangeFactory;
+    private ShardedByteEntityAccumuloElementConverter converter;
+    private GetElements operation;
+
+    @Before
+    public void setUp() {
+        schema = Schema.fromJson(StreamUtil.schemas(getClass()));
+        rangeFactory = new ShardedByteEntityRangeFactory(schema, NUM_SHARDS);
+        converter = new ShardedByteEntityAccumuloElementConverter(schema, NUM_SHARDS);
+        operation = new GetElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+    }
+
+    @Test
+    public void shouldCreateByteEntityRangesForEachShard() throws RangeFactoryException {
+        // Given
+        final EntitySeed seed = new EntitySeed("vertex");
+        final List<Range> byteEntityRanges = new ByteEntityRangeFactory(schema).getRange(seed, operation);
+
+        // When
+        final List<Range> ranges = rangeFactory.getRange(seed, operation);
+
+        // Then
+        assertEquals(byteEntityRanges.size() * NUM_SHARDS, ranges.size());
+        for (int i = 0; i < ranges.size(); i++) {
+            final Range byteEntityRange = byteEntityRanges.get(i / NUM_SHARDS);
+            final Range range = ranges.get(i);
+            final byte[] startRow = range.getStartKey().getRowData().toArray();
+            assertEquals(i % NUM_SHARDS + 1, startRow[0]);
+            assertEquals(byteEntityRange.getStartKey().getRow().toString(), new String(ShardUtils.removeShard(startRow)));
+            assertEquals(byteEntityRange.getEndKey().getRow().toString(),
+                    new String(ShardUtils.removeShard(range.getEndKey().getRowData().toArray())));
+            assertEquals(byteEntityRange.isStartKeyInclusive(), range.isStartKeyInclusive());
+            assertEquals(byteEntityRange.isEndKeyInclusive(), range.isEndKeyInclusive());
+        }
+    }
+
+    @Test
+    public void shouldCreateRangesThatContainEveryEdgeOfSeed() throws RangeFactoryException {
+        // Given
+        final List<Range> ranges = rangeFactory.getRange(new EntitySeed("supernode"), operation);
+
+        for (int i = 0; i < 100; i++) {
+            final Edge edge = new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("supernode")
+                    .dest("vertex" + i)
+                    .directed(true)
+                    .build();
+
+            // When
+            final Key key = converter.getKeysFromElement(edge).getFirst();
+
+            // Then
+            assertTrue(containsKey(ranges, key));
+        }
+    }
+
+    @Test
+    public void shouldCreateRangesWithTheSameBloomKeyAsTheElementKeys() throws RangeFactoryException {
+        // Given
+        final CoreKeyBloomFunctor bloomFunctor = new CoreKeyBloomFunctor();
+        final Edge edge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("supernode")
+                .dest("vertex")
+                .directed(true)
+                .build();
+        final Key key = converter.getKeysFromElement(edge).getFirst();
+
+        // When
+        final List<Range> ranges = rangeFactory.getRange(new EntitySeed("supernode"), operation);
+
+        // Then
+        boolean matched = false;
+        for (final Range range : ranges) {
+            assertNotNull(bloomFunctor.transform(range));
+            if (range.contains(key)) {
+                assertEquals(bloomFunctor.transform(key), bloomFunctor.transform(range));
+                matched = true;
+            }
+        }
+        assertTrue(matched);
+    }
+
+    @Test
+    public void shouldCreateRangesFromPairForEachShard() throws RangeFactoryException {
+        // Given
+        final Pair<ElementId, ElementId> pair = new Pair<>(new EntitySeed("a"), new EntitySeed("c"));
+        final Key key = converter.getKeysFromElement(new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("b")
+                .dest("z")
+                .directed(true)
+                .build()).getFirst();
+
+        // When
+        final List<Range> ranges = rangeFactory.getRangesFromPair(pair, operation);
+
+        // Then
+        assertEquals(NUM_SHARDS, ranges.size());
+        assertTrue(containsKey(ranges, key));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenGettingSingleRangeFromPair() {
+        // Given
+        final Pair<ElementId, ElementId> pair = new Pair<>(new EntitySeed("a"), new EntitySeed("c"));
+
+        // When / Then
+        try {
+            rangeFactory.getRangeFromPair(pair, operation);
+            fail("Exception expected");
+        } catch (final RangeFactoryException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    private boolean containsKey(final List<Range> ranges, final Key key) {
+        for (final Range range : ranges) {
+            if (range.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.SortedMapIterator;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResultLimitIteratorTest {
+    @Test
+    public void shouldStopReturningKeysWhenLimitReached() throws IOException {
+        // Given
+        final ResultLimitIterator iterator = createIterator(10, "3");
+
+        // When
+        iterator.seek(new Range(), Collections.emptyList(), false);
+        final List<String> rows = readRows(iterator);
+
+        // Then
+        assertEquals(3, rows.size());
+        assertEquals("row0", rows.get(0));
+        assertEquals("row2", rows.get(2));
+    }
+
+    @Test
+    public void shouldResetCountOnSeek() throws IOException {
+        // Given
+        final ResultLimitIterator iterator = createIterator(10, "3");
+        iterator.seek(new Range(), Collections.emptyList(), false);
+        readRows(iterator);
+
+        // When
+        iterator.seek(new Range("row5", null), Collections.emptyList(), false);
+        final List<String> rows = readRows(iterator);
+
+        // Then
+        assertEquals(3, rows.size());
+        assertEquals("row5", rows.get(0));
+    }
+
+    @Test
+    public void shouldReturnAllKeysWhenFewerThanLimit() throws IOException {
+        // Given
+        final ResultLimitIterator iterator = createIterator(2, "3");
+
+        // When
+        iterator.seek(new Range(), Collections.emptyList(), false);
+
+        // Then
+        assertEquals(2, readRows(iterator).size());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenValidateOptionsWithoutResultLimit() {
+        // Given
+        final ResultLimitIterator iterator = new ResultLimitIterator();
+
+        // When / Then
+        try {
+            iterator.validateOptions(new HashMap<>());
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(AccumuloStoreConstants.RESULT_LIMIT));
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenValidateOptionsWithResultLimitLessThanOne() {
+        // Given
+        final ResultLimitIterator iterator = new ResultLimitIterator();
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.RESULT_LIMIT, "0");
+
+        // When / Then
+        try {
+            iterator.validateOptions(options);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(AccumuloStoreConstants.RESULT_LIMIT));
+        }
+    }
+
+    private ResultLimitIterator createIterator(final int numKeys, final String resultLimit) throws IOException {
+        final TreeMap<Key, Value> data = new TreeMap<>();
+        for (int i = 0; i < numKeys; i++) {
+            data.put(new Key("row" + i), new Value(new byte[0]));
+        }
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.RESULT_LIMIT, resultLimit);
+        final ResultLimitIterator iterator = new ResultLimitIterator();
+        iterator.init(new SortedMapIterator(data), options, null);
+        return iterator;
+    }
+
+    private List<String> readRows(final ResultLimitIterator iterator) throws IOException {
+        final List<String> rows = new ArrayList<>();
+        while (iterator.hasTop()) {
+            rows.add(iterator.getTopKey().getRow().toString());
+            iterator.next();
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.membership;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BlockedBloomFilterTest {
+    private static final int NUM_ITEMS = 10000;
+
+    @Test
+    public void shouldContainAllAddedItems() {
+        // Given
+        final BlockedBloomFilter filter = new BlockedBloomFilter(0.001, NUM_ITEMS, Integer.MAX_VALUE);
+
+        // When
+        for (int i = 0; i < NUM_ITEMS; i++) {
+            filter.add(bytes("item" + i));
+        }
+
+        // Then
+        for (int i = 0; i < NUM_ITEMS; i++) {
+            assertTrue(filter.mightContain(bytes("item" + i)));
+        }
+    }
+
+    @Test
+    public void shouldHaveFalsePositiveRateCloseToRequestedRate() {
+        // Given
+        final BlockedBloomFilter filter = new BlockedBloomFilter(0.01, NUM_ITEMS, Integer.MAX_VALUE);
+        for (int i = 0; i < NUM_ITEMS; i++) {
+            filter.add(bytes("item" + i));
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < NUM_ITEMS; i++) {
+            if (filter.mightContain(bytes("other" + i))) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertTrue("False positives: " + falsePositives, falsePositives < NUM_ITEMS * 0.02);
+    }
+
+    @Test
+    public void shouldTestSliceOfArrayInPlace() {
+        // Given
+        final BlockedBloomFilter filter = new BlockedBloomFilter(0.001, 1, Integer.MAX_VALUE);
+        filter.add(bytes("vertex"));
+        final byte[] row = bytes("0vertex12");
+
+        // When / Then
+        assertTrue(filter.mightContain(row, 1, 6));
+        assertFalse(filter.mightContain(row, 0, 7));
+    }
+
+    @Test
+    public void shouldNotExceedMaximumSize() {
+        // When
+        final BlockedBloomFilter filter = new BlockedBloomFilter(0.0001, NUM_ITEMS, 1024);
+
+        // Then
+        assertEquals(2, filter.getNumBlocks());
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialise() {
+        // Given
+        final BlockedBloomFilter filter = new BlockedBloomFilter(0.001, 100, Integer.MAX_VALUE);
+        for (int i = 0; i < 100; i++) {
+            filter.add(bytes("item" + i));
+        }
+
+        // When
+        final MembershipFilter deserialised = MembershipFilterType.deserialise(filter.toByteArray());
+
+        // Then
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(filter.mightContain(bytes("item" + i)), deserialised.mightContain(bytes("item" + i)));
+        }
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.membership;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class XorFilterTest {
+    private static final int NUM_ITEMS = 10000;
+
+    @Test
+    public void shouldContainAllAddedItems() {
+        // Given
+        final XorFilter.Builder builder = new XorFilter.Builder(0.0002, Integer.MAX_VALUE);
+        for (int i = 0; i < NUM_ITEMS; i++) {
+            builder.add(bytes("item" + i));
+        }
+
+        // When
+        final MembershipFilter filter = builder.build();
+
+        // Then
+        for (int i = 0; i < NUM_ITEMS; i++) {
+            assertTrue(filter.mightContain(bytes("item" + i)));
+        }
+    }
+
+    @Test
+    public void shouldContainAllItemsWhenDuplicatesAdded() {
+        // Given
+        final XorFilter.Builder builder = new XorFilter.Builder(0.0002, Integer.MAX_VALUE);
+        for (int i = 0; i < NUM_ITEMS; i++) {
+            builder.add(bytes("item" + (i % 100)));
+        }
+
+        // When
+        final MembershipFilter filter = builder.build();
+
+        // Then
+        for (int i = 0; i < 100; i++) {
+            assertTrue(filter.mightContain(bytes("item" + i)));
+        }
+    }
+
+    @Test
+    public void shouldContainItemsAddedAfterFirstBuild() {
+        // Given
+        final XorFilter.Builder builder = new XorFilter.Builder(0.0002, Integer.MAX_VALUE);
+        builder.add(bytes("first"));
+        builder.build();
+
+        // When
+        builder.add(bytes("second"));
+        final MembershipFilter filter = builder.build();
+
+        // Then
+        assertTrue(filter.mightContain(bytes("first")));
+        assertTrue(filter.mightContain(bytes("second")));
+    }
+
+    @Test
+    public void shouldUseSixteenBitFingerprintsForLowFalsePositiveRate() {
+        // Given
+        final XorFilter.Builder builder = new XorFilter.Builder(0.0002, Integer.MAX_VALUE);
+        for (int i = 0; i < NUM_ITEMS; i++) {
+            builder.add(bytes("item" + i));
+        }
+        final XorFilter filter = (XorFilter) builder.build();
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < NUM_ITEMS * 10; i++) {
+            if (filter.mightContain(bytes("other" + i))) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertEquals(16, filter.getFingerprintBits());
+        assertTrue("False positives: " + falsePositives, falsePositives < 10);
+    }
+
+    @Test
+    public void shouldUseEightBitFingerprintsWhenSixteenBitWouldExceedMaximumSize() {
+        // Given
+        final XorFilter.Builder builder = new XorFilter.Builder(0.0002, NUM_ITEMS * 12);
+        for (int i = 0; i < NUM_ITEMS; i++) {
+            builder.add(bytes("item" + i));
+        }
+
+        // When
+        final MembershipFilter filter = builder.build();
+
+        // Then
+        assertTrue(filter instanceof XorFilter);
+        assertEquals(8, ((XorFilter) filter).getFingerprintBits());
+    }
+
+    @Test
+    public void shouldBuildBlockedBloomFilterWhenEightBitWouldExceedMaximumSize() {
+        // Given
+        final int maxSizeInBits = NUM_ITEMS * 4;
+        final XorFilter.Builder builder = new XorFilter.Builder(0.0002, maxSizeInBits);
+        for (int i = 0; i < NUM_ITEMS; i++) {
+            builder.add(bytes("item" + i));
+        }
+
+        // When
+        final MembershipFilter filter = builder.build();
+        builder.add(bytes("added after build"));
+
+        // Then
+        assertTrue(filter instanceof BlockedBloomFilter);
+        assertTrue(filter.toByteArray().length * 8 <= maxSizeInBits + 1024);
+        for (int i = 0; i < NUM_ITEMS; i++) {
+            assertTrue(filter.mightContain(bytes("item" + i)));
+        }
+        assertSame(filter, builder.build());
+        assertTrue(filter.mightContain(bytes("added after build")));
+    }
+
+    @Test
+    public void shouldOnlyRebuildFilterWhenItemsHaveBeenAdded() {
+        // Given
+        final XorFilter.Builder builder = new XorFilter.Builder(0.0002, Integer.MAX_VALUE);
+        builder.add(bytes("first"));
+        final MembershipFilter first = builder.build();
+
+        // When
+        final MembershipFilter unchanged = builder.build();
+        builder.add(bytes("second"));
+        final MembershipFilter rebuilt = builder.build();
+
+        // Then
+        assertSame(first, unchanged);
+        assertNotSame(first, rebuilt);
+    }
+
+    @Test
+    public void shouldTestSliceOfArrayInPlace() {
+        // Given
+        final XorFilter.Builder builder = new XorFilter.Builder(0.0002, Integer.MAX_VALUE);
+        builder.add(bytes("vertex"));
+        final MembershipFilter filter = builder.build();
+        final byte[] row = bytes("0vertex12");
+
+        // When / Then
+        assertTrue(filter.mightContain(row, 1, 6));
+        assertFalse(filter.mightContain(row, 0, 7));
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialise() {
+        // Given
+        final XorFilter.Builder builder = new XorFilter.Builder(0.0002, Integer.MAX_VALUE);
+        for (int i = 0; i < 100; i++) {
+            builder.add(bytes("item" + i));
+        }
+        final MembershipFilter filter = builder.build();
+
+        // When
+        final MembershipFilter deserialised = MembershipFilterType.deserialise(filter.toByteArray());
+
+        // Then
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(filter.mightContain(bytes("item" + i)), deserialised.mightContain(bytes("item" + i)));
+        }
+    }
+
+    private static byte[] bytes(final String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.handler;
+
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetVertexStatistics;
+import uk.gov.gchq.gaffer.accumulostore.summary.VertexStatistics;
+import uk.gov.gchq.gaffer.accumulostore.summary.VertexSummaryUtils;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class GetVertexStatisticsHandlerTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(GetVertexStatisticsHandlerTest.class));
+    private static final Schema SCHEMA_WITH_VISIBILITIES = Schema.fromJson(StreamUtil.openStreams(GetVertexStatisticsHandlerTest.class, "schemaWithVisibilities"));
+
+    private AccumuloProperties properties;
+
+    @Before
+    public void setup() {
+        properties = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(GetVertexStatisticsHandlerTest.class));
+        properties.setEnableSummaryTable(true);
+    }
+
+    @Test
+    public void shouldCreateSummaryTableAndRegisterHandlerWhenEnabled() throws StoreException {
+        // When
+        final AccumuloStore store = createStore(SCHEMA);
+
+        // Then
+        assertTrue(store.getConnection().tableOperations().exists(VertexSummaryUtils.getSummaryTableName(store)));
+        assertTrue(store.isSupported(GetVertexStatistics.class));
+    }
+
+    @Test
+    public void shouldNotCreateSummaryTableOrRegisterHandlerWhenDisabled() throws StoreException {
+        // Given
+        properties.setEnableSummaryTable(false);
+
+        // When
+        final AccumuloStore store = createStore(SCHEMA);
+
+        // Then
+        assertFalse(store.getConnection().tableOperations().exists(VertexSummaryUtils.getSummaryTableName(store)));
+        assertFalse(store.isSupported(GetVertexStatistics.class));
+    }
+
+    @Test
+    public void shouldCountEntitiesAndEdgesForEachVertexAndGroup() throws Exception {
+        // Given
+        final AccumuloStore store = createStore(SCHEMA);
+        store.addElements(Arrays.asList(
+                createEntity("A"),
+                createEntity("A"),
+                createEdge(TestGroups.EDGE, "A", "B", true),
+                createEdge(TestGroups.EDGE, "A", "C", true),
+                createEdge(TestGroups.EDGE, "C", "A", true),
+                createEdge(TestGroups.EDGE, "A", "D", false),
+                createEdge(TestGroups.EDGE_2, "A", "B", true)));
+        store.addElements(Arrays.asList(
+                createEdge(TestGroups.EDGE, "A", "B", true)));
+
+        // When
+        final List<VertexStatistics> results = getVertexStatistics(store, new GetVertexStatistics.Builder()
+                .input(new EntitySeed("A"), new EntitySeed("B"), new EntitySeed("unknown"))
+                .build(), new User());
+
+        // Then
+        assertEquals(Arrays.asList(
+                createStatistics("A", TestGroups.EDGE, 0, 3, 1, 1),
+                createStatistics("A", TestGroups.EDGE_2, 0, 1, 0, 0),
+                createStatistics("A", TestGroups.ENTITY, 2, 0, 0, 0),
+                createStatistics("B", TestGroups.EDGE, 0, 0, 2, 0),
+                createStatistics("B", TestGroups.EDGE_2, 0, 0, 1, 0)), results);
+        assertEquals(5, results.get(0).getEdgeCount());
+        assertNull(results.get(0).getDistinctNeighbours());
+    }
+
+    @Test
+    public void shouldOnlyReturnStatisticsForRequestedGroups() throws Exception {
+        // Given
+        final AccumuloStore store = createStore(SCHEMA);
+        store.addElements(Arrays.asList(
+                createEntity("A"),
+                createEdge(TestGroups.EDGE, "A", "B", true),
+                createEdge(TestGroups.EDGE_2, "A", "B", true)));
+
+        // When
+        final List<VertexStatistics> results = getVertexStatistics(store, new GetVertexStatistics.Builder()
+                .input(new EntitySeed("A"))
+                .groups(TestGroups.EDGE_2)
+                .build(), new User());
+
+        // Then
+        assertEquals(Arrays.asList(createStatistics("A", TestGroups.EDGE_2, 0, 1, 0, 0)), results);
+    }
+
+    @Test
+    public void shouldEstimateDistinctNeighboursWhenCardinalityEnabled() throws Exception {
+        // Given
+        properties.setEnableSummaryTableCardinality(true);
+        final AccumuloStore store = createStore(SCHEMA);
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            elements.add(createEdge(TestGroups.EDGE, "A", "B" + i, true));
+            elements.add(createEdge(TestGroups.EDGE, "A", "B" + i, true));
+        }
+        store.addElements(elements.subList(0, 100));
+        store.addElements(elements.subList(100, 200));
+
+        // When
+        final List<VertexStatistics> results = getVertexStatistics(store, new GetVertexStatistics.Builder()
+                .input(new EntitySeed("A"))
+                .build(), new User());
+
+        // Then
+        assertEquals(1, results.size());
+        assertEquals(200, results.get(0).getOutEdgeCount());
+        assertEquals(100, (long) results.get(0).getDistinctNeighbours());
+    }
+
+    @Test
+    public void shouldOnlyCountElementsTheUserCanSee() throws Exception {
+        // Given
+        final AccumuloStore store = createStore(SCHEMA_WITH_VISIBILITIES);
+        final Edge publicEdge = createEdge(TestGroups.EDGE, "A", "B", true);
+        publicEdge.putProperty(AccumuloPropertyNames.VISIBILITY, "public");
+        final Edge privateEdge = createEdge(TestGroups.EDGE, "A", "C", true);
+        privateEdge.putProperty(AccumuloPropertyNames.VISIBILITY, "private");
+        store.addElements(Arrays.asList(publicEdge, privateEdge));
+        final GetVertexStatistics operation = new GetVertexStatistics.Builder()
+                .input(new EntitySeed("A"))
+                .build();
+
+        // When
+        final List<VertexStatistics> publicResults = getVertexStatistics(store, operation,
+                new User.Builder().dataAuth("public").build());
+        final List<VertexStatistics> allResults = getVertexStatistics(store, operation,
+                new User.Builder().dataAuths("public", "private").build());
+
+        // Then
+        assertEquals(Arrays.asList(createStatistics("A", TestGroups.EDGE, 0, 1, 0, 0)), publicResults);
+        assertEquals(Arrays.asList(createStatistics("A", TestGroups.EDGE, 0, 2, 0, 0)), allResults);
+    }
+
+    private AccumuloStore createStore(final Schema schema) throws StoreException {
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("vertexStatisticsGraph", schema, properties);
+        return store;
+    }
+
+    private List<VertexStatistics> getVertexStatistics(final AccumuloStore store, final GetVertexStatistics operation,
+                                                       final User user) throws OperationException {
+        return Lists.newArrayList(new GetVertexStatisticsHandler().doOperation(operation, user, store));
+    }
+
+    private Entity createEntity(final String vertex) {
+        return new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex(vertex)
+                .build();
+    }
+
+    private Edge createEdge(final String group, final String source, final String destination, final boolean directed) {
+        return new Edge.Builder()
+                .group(group)
+                .source(source)
+                .dest(destination)
+                .directed(directed)
+                .build();
+    }
+
+    private VertexStatistics createStatistics(final String vertex, final String group, final long entityCount,
+                                              final long outEdgeCount, final long inEdgeCount, final long undirectedEdgeCount) {
+        final VertexStatistics statistics = new VertexStatistics(vertex, group);
+        statistics.setEntityCount(entityCount);
+        statistics.setOutEdgeCount(outEdgeCount);
+        statistics.setInEdgeCount(inEdgeCount);
+        statistics.setUndirectedEdgeCount(undirectedEdgeCount);
+        return statistics;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.accumulostore.operation.hdfs.impl;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.operation.hdfs.operation.AddElementsViaRFiles;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationTest;
+
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class AddElementsViaRFilesTest extends OperationTest<AddElementsViaRFiles> {
+    private static final String WORKING_PATH = "/working";
+    private static final String TEST_OPTION_KEY = "testOption";
+
+    @Override
+    protected Set<String> getRequiredFields() {
+        return Sets.newHashSet("workingPath");
+    }
+
+    @Test
+    public void shouldJSONSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final AddElementsViaRFiles op = new AddElementsViaRFiles.Builder()
+                .input(new Entity(TestGroups.ENTITY, "vertex"))
+                .workingPath(WORKING_PATH)
+                .validate(false)
+                .build();
+
+        // When
+        final byte[] json = JSONSerialiser.serialise(op, true);
+        final AddElementsViaRFiles deserialisedOp = JSONSerialiser.deserialise(json, AddElementsViaRFiles.class);
+
+        // Then
+        assertEquals(WORKING_PATH, deserialisedOp.getWorkingPath());
+        assertFalse(deserialisedOp.isValidate());
+        final Element element = deserialisedOp.getInput().iterator().next();
+        assertEquals(new Entity(TestGroups.ENTITY, "vertex"), element);
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        // When
+        final AddElementsViaRFiles op = new AddElementsViaRFiles.Builder()
+                .input(new Entity(TestGroups.ENTITY, "vertex"))
+                .workingPath(WORKING_PATH)
+                .skipInvalidElements(true)
+                .option(TEST_OPTION_KEY, "true")
+                .build();
+
+        // Then
+        assertEquals(WORKING_PATH, op.getWorkingPath());
+        assertTrue(op.isValidate());
+        assertTrue(op.isSkipInvalidElements());
+        assertEquals("true", op.getOption(TEST_OPTION_KEY));
+        assertEquals(new Entity(TestGroups.ENTITY, "vertex"), op.getInput().iterator().next());
+    }
+
+    @Override
+    public void shouldShallowCloneOperation() {
+        // Given
+        final AddElementsViaRFiles op = new AddElementsViaRFiles.Builder()
+                .input(new Entity(TestGroups.ENTITY, "vertex"))
+                .workingPath(WORKING_PATH)
+                .validate(false)
+                .skipInvalidElements(true)
+                .option(TEST_OPTION_KEY, "true")
+                .build();
+
+        // When
+        final AddElementsViaRFiles clone = op.shallowClone();
+
+        // Then
+        assertNotSame(op, clone);
+        assertEquals(WORKING_PATH, clone.getWorkingPath());
+        assertFalse(clone.isValidate());
+        assertTrue(clone.isSkipInvalidElements());
+        assertEquals("true", clone.getOption(TEST_OPTION_KEY));
+        assertEquals(op.getInput(), clone.getInput());
+    }
+
+    @Override
+    protected AddElementsViaRFiles getTestObject() {
+        return new AddElementsViaRFiles();
+    }
+}
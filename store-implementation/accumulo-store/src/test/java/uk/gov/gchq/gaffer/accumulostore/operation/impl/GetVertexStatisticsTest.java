@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.operation.impl;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloTestData;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationTest;
+
+import java.util.Iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+
+public class GetVertexStatisticsTest extends OperationTest<GetVertexStatistics> {
+    @Test
+    public void shouldJSONSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final GetVertexStatistics op = new GetVertexStatistics.Builder()
+                .input(AccumuloTestData.SEED_SOURCE_1, AccumuloTestData.SEED_DESTINATION_1)
+                .groups(TestGroups.EDGE)
+                .build();
+
+        // When
+        final byte[] json = JSONSerialiser.serialise(op, true);
+        final GetVertexStatistics deserialisedOp = JSONSerialiser.deserialise(json, GetVertexStatistics.class);
+
+        // Then
+        final Iterator itrSeeds = deserialisedOp.getInput().iterator();
+        assertEquals(AccumuloTestData.SEED_SOURCE_1, itrSeeds.next());
+        assertEquals(AccumuloTestData.SEED_DESTINATION_1, itrSeeds.next());
+        assertFalse(itrSeeds.hasNext());
+        assertEquals(Sets.newHashSet(TestGroups.EDGE), deserialisedOp.getGroups());
+    }
+
+    @Test
+    @Override
+    public void builderShouldCreatePopulatedOperation() {
+        // When
+        final GetVertexStatistics getVertexStatistics = new GetVertexStatistics.Builder()
+                .input(AccumuloTestData.SEED_A)
+                .groups(TestGroups.EDGE, TestGroups.ENTITY)
+                .option(AccumuloTestData.TEST_OPTION_PROPERTY_KEY, "true")
+                .build();
+
+        // Then
+        assertEquals("true", getVertexStatistics.getOption(AccumuloTestData.TEST_OPTION_PROPERTY_KEY));
+        assertEquals(AccumuloTestData.SEED_A, getVertexStatistics.getInput().iterator().next());
+        assertEquals(Sets.newHashSet(TestGroups.EDGE, TestGroups.ENTITY), getVertexStatistics.getGroups());
+    }
+
+    @Override
+    public void shouldShallowCloneOperation() {
+        // Given
+        final GetVertexStatistics getVertexStatistics = new GetVertexStatistics.Builder()
+                .input(AccumuloTestData.SEED_A)
+                .groups(TestGroups.EDGE)
+                .option(AccumuloTestData.TEST_OPTION_PROPERTY_KEY, "true")
+                .build();
+
+        // When
+        final GetVertexStatistics clone = getVertexStatistics.shallowClone();
+
+        // Then
+        assertNotSame(getVertexStatistics, clone);
+        assertEquals("true", clone.getOption(AccumuloTestData.TEST_OPTION_PROPERTY_KEY));
+        assertEquals(AccumuloTestData.SEED_A, clone.getInput().iterator().next());
+        assertEquals(Sets.newHashSet(TestGroups.EDGE), clone.getGroups());
+    }
+
+    @Override
+    protected GetVertexStatistics getTestObject() {
+        return new GetVertexStatistics();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package uk.gov.gchq.gaffer.accumulostore.retriever;
+
+import org.apache.accumulo.core.data.Range;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class RangePlannerTest {
+    @Test
+    public void shouldMergeOverlappingAndAdjacentRanges() {
+        // Given
+        final RangePlanner planner = new RangePlanner(Collections.emptyList());
+
+        // When
+        final List<Range> ranges = planner.coalesce(Arrays.asList(
+                new Range("f", true, "h", false),
+                new Range("a", true, "c", true),
+                new Range("b", true, "d", true),
+                new Range("h", true, "j", true),
+                Range.exact("x")));
+
+        // Then
+        assertEquals(Arrays.asList(
+                new Range("a", true, "d", true),
+                new Range("f", true, "j", true),
+                Range.exact("x")), ranges);
+    }
+
+    @Test
+    public void shouldRemoveDuplicateRanges() {
+        // Given
+        final RangePlanner planner = new RangePlanner(Collections.emptyList());
+
+        // When
+        final List<Range> ranges = planner.coalesce(Arrays.asList(Range.exact("a"), Range.exact("a")));
+
+        // Then
+        assertEquals(Collections.singletonList(Range.exact("a")), ranges);
+    }
+
+    @Test
+    public void shouldGroupRangesByTablet() {
+        // Given
+        final RangePlanner planner = new RangePlanner(Arrays.asList(new Text("m"), new Text("g")));
+
+        // When
+        final List<List<Range>> tablets = planner.groupByTablet(Arrays.asList(
+                Range.exact("z"),
+                Range.exact("a"),
+                Range.exact("g"),
+                Range.exact("b"),
+                Range.exact("n")));
+
+        // Then
+        assertEquals(Arrays.asList(
+                Arrays.asList(Range.exact("a"), Range.exact("b"), Range.exact("g")),
+                Arrays.asList(Range.exact("n"), Range.exact("z"))), tablets);
+    }
+
+    @Test
+    public void shouldClipRangesThatSpanTablets() {
+        // Given
+        final RangePlanner planner = new RangePlanner(Arrays.asList(new Text("g"), new Text("m")));
+
+        // When
+        final List<List<Range>> tablets = planner.groupByTablet(Collections.singletonList(
+                new Range("c", true, "p", true)));
+
+        // Then
+        assertEquals(3, tablets.size());
+        assertEquals(Collections.singletonList(new Range("c", true, "g", true)), tablets.get(0));
+        assertEquals(Collections.singletonList(new Range("g", false, "m", true)), tablets.get(1));
+        assertEquals(Collections.singletonList(new Range("m", false, "p", true)), tablets.get(2));
+    }
+
+    @Test
+    public void shouldPlaceUnboundedRangeInEveryTablet() {
+        // Given
+        final RangePlanner planner = new RangePlanner(Arrays.asList(new Text("g"), new Text("m")));
+
+        // When
+        final List<List<Range>> tablets = planner.groupByTablet(Collections.singletonList(new Range()));
+
+        // Then
+        assertEquals(3, tablets.size());
+    }
+}
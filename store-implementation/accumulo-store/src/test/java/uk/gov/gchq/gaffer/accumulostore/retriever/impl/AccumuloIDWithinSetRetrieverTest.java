@@ -29,6 +29,7 @@ import org.junit.Test;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.membership.MembershipFilterType;
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsWithinSet;
 import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloRetriever;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
@@ -127,6 +128,18 @@ public class AccumuloIDWithinSetRetrieverTest {
         shouldGetCorrectEdges(false, gaffer1KeyStore);
     }
 
+    @Test
+    public void shouldGetCorrectEdgesWithXorMembershipFilter() throws StoreException {
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setMembershipFilterType(MembershipFilterType.XOR.name());
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("xorMembershipFilterGraph", schema, properties);
+        setupGraph(store);
+
+        shouldGetCorrectEdges(true, store);
+        shouldGetCorrectEdges(false, store);
+    }
+
     private void shouldGetCorrectEdges(final boolean loadIntoMemory, final AccumuloStore store) throws StoreException {
         // Query for all edges in set {A0, A23}
         final Set<EntityId> seeds = new HashSet<>();
@@ -29,12 +29,16 @@ import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
@@ -42,6 +46,7 @@ import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutg
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.optimiser.LimitPushDownOptimiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.user.User;
 
@@ -50,8 +55,11 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class AccumuloSingleIDRetrieverTest {
@@ -114,6 +122,176 @@ public class AccumuloSingleIDRetrieverTest {
         //Should find both i-B and i-C edges and entities i
     }
 
+    @Test
+    public void shouldRetrieveAllElementsWhenPrefetchingBatchScanners() throws StoreException, IteratorSettingException {
+        testEntityIdQueryWithBatchScannerPrefetchDepth(byteEntityStore, "2");
+        testEntityIdQueryWithBatchScannerPrefetchDepth(gaffer1KeyStore, "2");
+    }
+
+    @Test
+    public void shouldRetrieveAllElementsWhenNotPrefetchingBatchScanners() throws StoreException, IteratorSettingException {
+        testEntityIdQueryWithBatchScannerPrefetchDepth(byteEntityStore, "0");
+        testEntityIdQueryWithBatchScannerPrefetchDepth(gaffer1KeyStore, "0");
+    }
+
+    private void testEntityIdQueryWithBatchScannerPrefetchDepth(final AccumuloStore store, final String prefetchDepth) throws StoreException, IteratorSettingException {
+        // Given
+        final Set<ElementId> ids = new HashSet<>();
+        for (int i = 0; i < numEntries; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements operation = new GetElements.Builder().view(view).input(ids).build();
+        final String maxEntries = String.valueOf(store.getProperties().getMaxEntriesForBatchScanner());
+        store.getProperties().setMaxEntriesForBatchScanner("7");
+        store.getProperties().setBatchScannerPrefetchDepth(prefetchDepth);
+
+        try {
+            // When
+            final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(store, operation, new User());
+            final int size = Iterables.size(retriever);
+            final CloseableIterator<Element> partiallyConsumed = retriever.iterator();
+            final Element first = partiallyConsumed.next();
+            partiallyConsumed.close();
+
+            // Then
+            assertEquals(numEntries * 3, size);
+            assertNotNull(first);
+        } finally {
+            store.getProperties().setMaxEntriesForBatchScanner(maxEntries);
+            store.getProperties().setBatchScannerPrefetchDepth("1");
+        }
+    }
+
+    @Test
+    public void shouldShareBoundedPrefetchThreadsBetweenIterators() throws StoreException, IteratorSettingException {
+        // Given
+        final Set<ElementId> ids = new HashSet<>();
+        for (int i = 0; i < numEntries; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements operation = new GetElements.Builder().view(view).input(ids).build();
+        final String maxEntries = String.valueOf(byteEntityStore.getProperties().getMaxEntriesForBatchScanner());
+        byteEntityStore.getProperties().setMaxEntriesForBatchScanner("7");
+        byteEntityStore.getProperties().setBatchScannerPrefetchDepth("2");
+        final List<CloseableIterator<Element>> iterators = new ArrayList<>();
+
+        try {
+            // When
+            for (int i = 0; i < 2 * AccumuloStore.MAX_PREFETCH_THREADS; i++) {
+                final CloseableIterator<Element> iterator = new AccumuloSingleIDRetriever(byteEntityStore, operation, new User()).iterator();
+                assertNotNull(iterator.next());
+                iterators.add(iterator);
+            }
+
+            // Then
+            final ThreadPoolExecutor prefetchExecutor = (ThreadPoolExecutor) byteEntityStore.getPrefetchExecutor();
+            assertTrue(prefetchExecutor.getLargestPoolSize() <= AccumuloStore.MAX_PREFETCH_THREADS);
+        } finally {
+            for (final CloseableIterator<Element> iterator : iterators) {
+                iterator.close();
+            }
+            byteEntityStore.getProperties().setMaxEntriesForBatchScanner(maxEntries);
+            byteEntityStore.getProperties().setBatchScannerPrefetchDepth("1");
+        }
+    }
+
+    @Test
+    public void shouldStopRetrievingElementsWhenResultLimitReached() throws StoreException, IteratorSettingException {
+        testResultLimit(byteEntityStore);
+        testResultLimit(gaffer1KeyStore);
+    }
+
+    private void testResultLimit(final AccumuloStore store) throws StoreException, IteratorSettingException {
+        // Given
+        final Set<ElementId> ids = new HashSet<>();
+        for (int i = 0; i < numEntries; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        ids.add(new EntitySeed("C"));
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements operation = new GetElements.Builder()
+                .view(view)
+                .input(ids)
+                .option(LimitPushDownOptimiser.RESULT_LIMIT, "10")
+                .build();
+        final String maxEntries = String.valueOf(store.getProperties().getMaxEntriesForBatchScanner());
+        store.getProperties().setMaxEntriesForBatchScanner("7");
+
+        try {
+            // When
+            final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(store, operation, new User());
+
+            // Then
+            assertEquals(10, Iterables.size(retriever));
+        } finally {
+            store.getProperties().setMaxEntriesForBatchScanner(maxEntries);
+        }
+    }
+
+    @Test
+    public void shouldApplyResultLimitAcrossAllRanges() throws StoreException, IteratorSettingException {
+        testResultLimitAcrossRanges(byteEntityStore);
+        testResultLimitAcrossRanges(gaffer1KeyStore);
+    }
+
+    private void testResultLimitAcrossRanges(final AccumuloStore store) throws StoreException, IteratorSettingException {
+        // Given
+        // B and C each have an edge to every vertex, so each of their ranges
+        // on its own has more elements than the limit
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements wideSeedsOperation = new GetElements.Builder()
+                .view(view)
+                .input(new EntitySeed("B"), new EntitySeed("C"))
+                .option(LimitPushDownOptimiser.RESULT_LIMIT, "5")
+                .build();
+        // 1, 2 and 3 each have 3 elements, so the limit can only be reached
+        // with elements from more than one range
+        final GetElements narrowSeedsOperation = new GetElements.Builder()
+                .view(view)
+                .input(new EntitySeed("1"), new EntitySeed("2"), new EntitySeed("3"))
+                .option(LimitPushDownOptimiser.RESULT_LIMIT, "5")
+                .build();
+
+        // When
+        final AccumuloSingleIDRetriever wideSeedsRetriever = new AccumuloSingleIDRetriever(store, wideSeedsOperation, new User());
+        final AccumuloSingleIDRetriever narrowSeedsRetriever = new AccumuloSingleIDRetriever(store, narrowSeedsOperation, new User());
+
+        // Then
+        assertEquals(5, Iterables.size(wideSeedsRetriever));
+        assertEquals(5, Iterables.size(narrowSeedsRetriever));
+    }
+
+    @Test
+    public void shouldApplyPostTransformFilterBeforeResultLimit() throws StoreException, IteratorSettingException {
+        testResultLimitWithPostTransformFilter(byteEntityStore);
+        testResultLimitWithPostTransformFilter(gaffer1KeyStore);
+    }
+
+    private void testResultLimitWithPostTransformFilter(final AccumuloStore store) throws StoreException, IteratorSettingException {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .postTransformFilter(new ElementFilter.Builder()
+                                .select(IdentifierType.SOURCE.name())
+                                .execute("999"::equals)
+                                .build())
+                        .build())
+                .build();
+        final GetElements operation = new GetElements.Builder()
+                .view(view)
+                .input(new EntitySeed("C"))
+                .option(LimitPushDownOptimiser.RESULT_LIMIT, "10")
+                .build();
+
+        // When
+        final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(store, operation, new User());
+
+        // Then
+        assertEquals(1, Iterables.size(retriever));
+    }
+
     @Test
     public void testEntityIdQueryEdgesOnly() throws AccumuloException, StoreException {
         testEntityIdQueryEdgesOnly(byteEntityStore);
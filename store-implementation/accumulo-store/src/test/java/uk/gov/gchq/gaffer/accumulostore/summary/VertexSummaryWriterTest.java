@@ -0,0 +1,179 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.accumulostore.summary;
+
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.ColumnUpdate;
+import org.apache.accumulo.core.data.Mutation;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class VertexSummaryWriterTest {
+    private static final Schema SCHEMA = new Schema.Builder()
+            .type("string", String.class)
+            .type("true", Boolean.class)
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("true")
+                    .build())
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+    private static final byte[] VISIBILITY = new byte[0];
+
+    @Test
+    public void shouldCountEdgesAddedFromMultipleThreads() throws Exception {
+        // Given
+        final BatchWriter writer = mock(BatchWriter.class);
+        final Map<String, Long> written = recordCounts(writer);
+        final VertexSummaryWriter summaryWriter = new VertexSummaryWriter(SCHEMA, writer, false);
+        final int numThreads = 8;
+        final int numEdgesPerThread = 1000;
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+
+        // When
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < numThreads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < numEdgesPerThread; j++) {
+                        summaryWriter.add(createEdge("A", "B" + (j % 10)), VISIBILITY);
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        summaryWriter.close();
+
+        // Then
+        assertEquals((long) numThreads * numEdgesPerThread, (long) written.get("A:" + VertexSummaryUtils.OUT_EDGE_COUNT));
+        for (int i = 0; i < 10; i++) {
+            assertEquals((long) numThreads * numEdgesPerThread / 10, (long) written.get("B" + i + ":" + VertexSummaryUtils.IN_EDGE_COUNT));
+        }
+    }
+
+    @Test
+    public void shouldFlushElementWriterBeforeWritingCounts() throws Exception {
+        // Given
+        final BatchWriter writer = mock(BatchWriter.class);
+        final BatchWriter elementWriter = mock(BatchWriter.class);
+        final VertexSummaryWriter summaryWriter = new VertexSummaryWriter(SCHEMA, writer, elementWriter, false);
+        summaryWriter.add(createEdge("A", "B"), VISIBILITY);
+
+        // When
+        summaryWriter.close();
+
+        // Then
+        final InOrder inOrder = inOrder(elementWriter, writer);
+        inOrder.verify(elementWriter).flush();
+        inOrder.verify(writer, Mockito.atLeastOnce()).addMutation(Mockito.any(Mutation.class));
+        inOrder.verify(writer).close();
+        verify(elementWriter, never()).close();
+    }
+
+    @Test
+    public void shouldNotWriteCountsWhenElementMutationsAreRejected() throws Exception {
+        // Given
+        final BatchWriter writer = mock(BatchWriter.class);
+        final BatchWriter elementWriter = mock(BatchWriter.class);
+        final MutationsRejectedException rejected = mock(MutationsRejectedException.class);
+        willThrow(rejected).given(elementWriter).flush();
+        final VertexSummaryWriter summaryWriter = new VertexSummaryWriter(SCHEMA, writer, elementWriter, false);
+        summaryWriter.add(createEdge("A", "B"), VISIBILITY);
+
+        // When
+        try {
+            summaryWriter.close();
+            fail("Exception expected");
+        } catch (final MutationsRejectedException e) {
+            assertEquals(rejected, e);
+        }
+
+        // Then
+        verify(writer, never()).addMutation(Mockito.any(Mutation.class));
+        verify(writer).close();
+    }
+
+    @Test
+    public void shouldNotWriteCountsWhenDiscarded() throws Exception {
+        // Given
+        final BatchWriter writer = mock(BatchWriter.class);
+        final VertexSummaryWriter summaryWriter = new VertexSummaryWriter(SCHEMA, writer, false);
+        summaryWriter.add(createEdge("A", "B"), VISIBILITY);
+
+        // When
+        summaryWriter.discard();
+
+        // Then
+        verify(writer, never()).addMutation(Mockito.any(Mutation.class));
+        verify(writer).close();
+    }
+
+    private static Map<String, Long> recordCounts(final BatchWriter writer) throws MutationsRejectedException {
+        final Map<String, Long> written = new HashMap<>();
+        willAnswer(invocation -> {
+            final Mutation mutation = (Mutation) invocation.getArguments()[0];
+            final String row = new String(mutation.getRow());
+            for (final ColumnUpdate update : mutation.getUpdates()) {
+                written.merge(row + ":" + new String(update.getColumnQualifier()),
+                        VertexSummaryUtils.decodeCount(update.getValue()), Long::sum);
+            }
+            return null;
+        }).given(writer).addMutation(Mockito.any(Mutation.class));
+        return written;
+    }
+
+    private static Edge createEdge(final String source, final String destination) {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source(source)
+                .dest(destination)
+                .directed(true)
+                .build();
+    }
+}
@@ -42,9 +42,17 @@ public class HBaseProperties extends StoreProperties {
     public static final String WRITE_BUFFER_SIZE = "hbase.writeBufferSize";
     public static final String DEPENDENCY_JARS_HDFS_DIR_PATH = "hbase.hdfs.jars.path";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "hbase.entriesForBatchScanner";
+    public static final String MAX_IN_FLIGHT_BATCHES = "hbase.maxInFlightBatches";
+    public static final String MAX_PARALLEL_REGION_SCANS = "hbase.maxParallelRegionScans";
+    public static final String ROW_KEY_SALT_BUCKETS = "hbase.rowKeySaltBuckets";
+    public static final String SCAN_BATCH_SIZE = "hbase.scanBatchSize";
 
     public static final int WRITE_BUFFER_SIZE_DEFAULT = 1000000;
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    public static final int MAX_IN_FLIGHT_BATCHES_DEFAULT = 1;
+    public static final int MAX_PARALLEL_REGION_SCANS_DEFAULT = 1;
+    public static final int ROW_KEY_SALT_BUCKETS_DEFAULT = 0;
+    public static final int SCAN_BATCH_SIZE_DEFAULT = 0;
 
     public HBaseProperties() {
         super(HBaseStore.class);
@@ -164,6 +172,111 @@ public class HBaseProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Get the maximum number of batches of elements that can be waiting to be
+     * written to HBase while the next batch is aggregated. Each batch holds up
+     * to {@link #getWriteBufferSize()} elements in memory. If this is 0 each
+     * batch is written before the next batch is aggregated.
+     *
+     * @return the maximum number of batches that can be in flight
+     */
+    public int getMaxInFlightBatches() {
+        final String maxInFlightBatches = get(MAX_IN_FLIGHT_BATCHES, null);
+        if (null == maxInFlightBatches) {
+            return MAX_IN_FLIGHT_BATCHES_DEFAULT;
+        }
+
+        return Integer.parseInt(maxInFlightBatches);
+    }
+
+    /**
+     * Set the maximum number of batches of elements that can be waiting to be
+     * written to HBase while the next batch is aggregated.
+     *
+     * @param maxInFlightBatches the maximum number of batches that can be in flight
+     */
+    public void setMaxInFlightBatches(final int maxInFlightBatches) {
+        set(MAX_IN_FLIGHT_BATCHES, String.valueOf(maxInFlightBatches));
+    }
+
+    /**
+     * Get the maximum number of regions that can be scanned in parallel when
+     * retrieving elements related to a set of seeds. If this is 1, the seeds
+     * in each batch are retrieved with a single scan across all regions.
+     *
+     * @return the maximum number of regions that can be scanned in parallel
+     */
+    public int getMaxParallelRegionScans() {
+        final String maxParallelRegionScans = get(MAX_PARALLEL_REGION_SCANS, null);
+        if (null == maxParallelRegionScans) {
+            return MAX_PARALLEL_REGION_SCANS_DEFAULT;
+        }
+
+        return Integer.parseInt(maxParallelRegionScans);
+    }
+
+    /**
+     * Set the maximum number of regions that can be scanned in parallel when
+     * retrieving elements related to a set of seeds.
+     *
+     * @param maxParallelRegionScans the maximum number of regions that can be scanned in parallel
+     */
+    public void setMaxParallelRegionScans(final int maxParallelRegionScans) {
+        set(MAX_PARALLEL_REGION_SCANS, String.valueOf(maxParallelRegionScans));
+    }
+
+    /**
+     * Get the maximum number of elements returned in each result of a scan.
+     * If this is set, rows with more elements are returned over several
+     * results, so the region servers do not need to send a wide row in a
+     * single response. If this is 0 each row is returned in a single result.
+     *
+     * @return the scan batch size
+     */
+    public int getScanBatchSize() {
+        final String scanBatchSize = get(SCAN_BATCH_SIZE, null);
+        if (null == scanBatchSize) {
+            return SCAN_BATCH_SIZE_DEFAULT;
+        }
+
+        return Integer.parseInt(scanBatchSize);
+    }
+
+    /**
+     * Set the maximum number of elements returned in each result of a scan.
+     *
+     * @param scanBatchSize the scan batch size
+     */
+    public void setScanBatchSize(final int scanBatchSize) {
+        set(SCAN_BATCH_SIZE, String.valueOf(scanBatchSize));
+    }
+
+    /**
+     * Get the number of salt buckets used to prefix the row keys, between 0 and
+     * 256. If this is 0 the row keys are not salted. When the table is created
+     * it is split into a region for each salt bucket. This cannot be changed
+     * once the table has been created.
+     *
+     * @return the number of row key salt buckets
+     */
+    public int getRowKeySaltBuckets() {
+        final String rowKeySaltBuckets = get(ROW_KEY_SALT_BUCKETS, null);
+        if (null == rowKeySaltBuckets) {
+            return ROW_KEY_SALT_BUCKETS_DEFAULT;
+        }
+
+        return Integer.parseInt(rowKeySaltBuckets);
+    }
+
+    /**
+     * Set the number of salt buckets used to prefix the row keys.
+     *
+     * @param rowKeySaltBuckets the number of row key salt buckets
+     */
+    public void setRowKeySaltBuckets(final int rowKeySaltBuckets) {
+        set(ROW_KEY_SALT_BUCKETS, String.valueOf(rowKeySaltBuckets));
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
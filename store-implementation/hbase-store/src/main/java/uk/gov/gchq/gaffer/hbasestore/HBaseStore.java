@@ -32,6 +32,7 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.GafferCoprocessor;
 import uk.gov.gchq.gaffer.hbasestore.operation.handler.AddElementsHandler;
 import uk.gov.gchq.gaffer.hbasestore.operation.handler.GetAdjacentIdsHandler;
 import uk.gov.gchq.gaffer.hbasestore.operation.handler.GetAllElementsHandler;
@@ -104,6 +105,7 @@ public class HBaseStore extends Store {
             ));
     private static final Logger LOGGER = LoggerFactory.getLogger(HBaseStore.class);
     private Connection connection;
+    private String schemaFingerprint;
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties)
@@ -122,6 +124,7 @@ public class HBaseStore extends Store {
      */
     public void preInitialise(final String graphId, final Schema schema, final StoreProperties properties)
             throws StoreException {
+        schemaFingerprint = null;
         setProperties(properties);
         final String deprecatedTableName = getProperties().getTableName();
         if (null == graphId && null != deprecatedTableName) {
@@ -159,6 +162,19 @@ public class HBaseStore extends Store {
         return TableName.valueOf(getGraphId());
     }
 
+    /**
+     * Gets a fingerprint of the schema. This is sent with each scan in place of
+     * the full schema json, which the coprocessor already holds.
+     *
+     * @return the schema fingerprint.
+     */
+    public String getSchemaFingerprint() {
+        if (null == schemaFingerprint) {
+            schemaFingerprint = GafferCoprocessor.getSchemaFingerprint(getSchema().toCompactJson());
+        }
+        return schemaFingerprint;
+    }
+
     /**
      * Gets the table.
      *
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hbasestore.coprocessor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A {@code BoundedCache} is a simple thread safe least recently used cache,
+ * used by the coprocessor to hold parsed schemas and views so they can be
+ * shared by all the scanners in a region server.
+ * <p>
+ * Values are created on a cache miss using the loader provided to
+ * {@link #get(Object, Function)}. The loader is called outside of the lock, so
+ * a value may be created more than once if two threads miss at the same time;
+ * the values must therefore be safe to share and interchangeable.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ */
+public class BoundedCache<K, V> {
+    private final int maxSize;
+    private final Map<K, V> cache;
+
+    public BoundedCache(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The maximum cache size must be at least 1");
+        }
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = -2421307005813544468L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                return size() > BoundedCache.this.maxSize;
+            }
+        };
+    }
+
+    public V get(final K key) {
+        synchronized (cache) {
+            return cache.get(key);
+        }
+    }
+
+    public V get(final K key, final Function<K, V> loader) {
+        final V cachedValue = get(key);
+        if (null != cachedValue) {
+            return cachedValue;
+        }
+
+        final V value = loader.apply(key);
+        if (null != value) {
+            synchronized (cache) {
+                cache.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+}
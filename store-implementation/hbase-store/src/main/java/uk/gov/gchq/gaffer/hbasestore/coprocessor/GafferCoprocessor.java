@@ -16,6 +16,7 @@
 package uk.gov.gchq.gaffer.hbasestore.coprocessor;
 
 import org.apache.hadoop.hbase.CoprocessorEnvironment;
+import org.apache.hadoop.hbase.HConstants;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.coprocessor.BaseRegionObserver;
 import org.apache.hadoop.hbase.coprocessor.ObserverContext;
@@ -26,6 +27,9 @@ import org.apache.hadoop.hbase.regionserver.ScanType;
 import org.apache.hadoop.hbase.regionserver.Store;
 import org.apache.hadoop.hbase.regionserver.compactions.CompactionRequest;
 import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.MD5Hash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner.QueryScanner;
@@ -36,17 +40,42 @@ import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.io.IOException;
 
+/**
+ * The {@code GafferCoprocessor} applies the Gaffer schema and view to the cells
+ * of a Gaffer table when they are flushed, compacted and scanned.
+ * <p>
+ * The schema and the number of row key salt buckets are provided in the
+ * coprocessor options when the table is created.
+ * Parsed schemas are held in a cache shared by all regions in the region
+ * server, keyed by a fingerprint of the schema json, so the schema is only
+ * parsed once rather than each time a region is opened. Scans only carry the
+ * fingerprint of the client's schema, which is checked against the
+ * fingerprint of the coprocessor's schema.
+ * </p>
+ */
 public class GafferCoprocessor extends BaseRegionObserver {
+    public static final int MAX_CACHED_SCHEMAS = 20;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GafferCoprocessor.class);
+    private static final BoundedCache<String, Schema> SCHEMA_CACHE = new BoundedCache<>(MAX_CACHED_SCHEMAS);
+
     private Schema schema;
+    private String schemaFingerprint;
     private ElementSerialisation serialisation;
     private boolean includeMatchedVertex;
+    private long scannerTimeLimit;
 
     @Override
     public void start(final CoprocessorEnvironment e) throws IOException {
         final String schemaJson = StringUtil.unescapeComma(e.getConfiguration().get(HBaseStoreConstants.SCHEMA));
-        schema = Schema.fromJson(Bytes.toBytes(schemaJson));
-        serialisation = new ElementSerialisation(schema);
+        final byte[] schemaBytes = Bytes.toBytes(schemaJson);
+        schemaFingerprint = getSchemaFingerprint(schemaBytes);
+        schema = SCHEMA_CACHE.get(schemaFingerprint, k -> Schema.fromJson(schemaBytes));
+        serialisation = new ElementSerialisation(schema, e.getConfiguration().getInt(HBaseStoreConstants.ROW_KEY_SALT_BUCKETS, 0));
         includeMatchedVertex = e.getConfiguration().getBoolean(HBaseStoreConstants.INCLUDE_MATCHED_VERTEX, false);
+        // Return within half the scanner lease period, as the region server does for heartbeats
+        scannerTimeLimit = e.getConfiguration().getLong(HConstants.HBASE_CLIENT_SCANNER_TIMEOUT_PERIOD,
+                HConstants.DEFAULT_HBASE_CLIENT_SCANNER_TIMEOUT_PERIOD) / 2;
     }
 
     @Override
@@ -75,6 +104,24 @@ public class GafferCoprocessor extends BaseRegionObserver {
 
     @Override
     public RegionScanner postScannerOpen(final ObserverContext<RegionCoprocessorEnvironment> e, final Scan scan, final RegionScanner scanner) throws IOException {
-        return new QueryScanner(scanner, scan, schema, serialisation, includeMatchedVertex);
+        final byte[] scanSchemaFingerprint = scan.getAttribute(HBaseStoreConstants.SCHEMA_FINGERPRINT);
+        if (null != scanSchemaFingerprint && !schemaFingerprint.equals(Bytes.toString(scanSchemaFingerprint))) {
+            LOGGER.warn("The schema used by the client (fingerprint {}) does not match the schema of the table coprocessor (fingerprint {}). "
+                            + "The table coprocessor schema will be used - run the TableUtils to update it.",
+                    Bytes.toString(scanSchemaFingerprint), schemaFingerprint);
+        }
+        return new QueryScanner(scanner, scan, schema, serialisation, includeMatchedVertex, scannerTimeLimit);
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    public String getSchemaFingerprint() {
+        return schemaFingerprint;
+    }
+
+    public static String getSchemaFingerprint(final byte[] schemaJson) {
+        return MD5Hash.getMD5AsHex(schemaJson);
     }
 }
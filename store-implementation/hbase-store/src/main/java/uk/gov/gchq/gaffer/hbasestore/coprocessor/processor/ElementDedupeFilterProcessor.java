@@ -27,8 +27,8 @@ import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
 
 public class ElementDedupeFilterProcessor extends FilterProcessor {
-    // This element serialisation does not have the schema so not all methods can be used.
-    private final ElementSerialisation elementSerialisation = new ElementSerialisation(null);
+    // This element serialisation may not have the schema so not all methods can be used.
+    private final ElementSerialisation elementSerialisation;
 
     private final boolean edges;
     private final boolean entities;
@@ -36,6 +36,12 @@ public class ElementDedupeFilterProcessor extends FilterProcessor {
     private final boolean directedEdges;
 
     public ElementDedupeFilterProcessor(final boolean entities, final boolean edges, final DirectedType directedType) {
+        this(entities, edges, directedType, new ElementSerialisation(null));
+    }
+
+    public ElementDedupeFilterProcessor(final boolean entities, final boolean edges, final DirectedType directedType,
+                                        final ElementSerialisation elementSerialisation) {
+        this.elementSerialisation = elementSerialisation;
         this.entities = entities;
         this.edges = edges;
         directedEdges = DirectedType.DIRECTED == directedType;
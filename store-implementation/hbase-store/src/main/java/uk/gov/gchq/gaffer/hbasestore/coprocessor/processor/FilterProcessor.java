@@ -19,14 +19,23 @@ package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 public abstract class FilterProcessor implements GafferScannerProcessor, Predicate<LazyElementCell> {
     @Override
-    public List<LazyElementCell> process(final List<LazyElementCell> elementCells) {
+    public void process(final LazyElementCell elementCell, final Consumer<LazyElementCell> output) {
         // If we filter out a deleted element when compacting then the deleted
         // flag will not be persisted and the element will not get deleted.
         // When querying, deleted cells will have already been filtered out.
+        if (elementCell.isDeleted() || test(elementCell)) {
+            output.accept(elementCell);
+        }
+    }
+
+    @Override
+    public List<LazyElementCell> process(final List<LazyElementCell> elementCells) {
+        // Filter the list in place rather than copying it
         elementCells.removeIf(elementCell -> !elementCell.isDeleted() && !test(elementCell));
 
         return elementCells;
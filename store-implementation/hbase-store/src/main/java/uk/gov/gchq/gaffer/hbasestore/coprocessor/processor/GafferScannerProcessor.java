@@ -17,8 +17,53 @@ package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
 
 import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
+/**
+ * A {@code GafferScannerProcessor} processes the cells returned by each call
+ * to a {@link uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner.GafferScanner}.
+ * Cells are pushed through the processors one at a time, so a chain of
+ * processors is applied in a single pass without creating an intermediate
+ * list for each processor. Processors that need to see more than one cell,
+ * such as the aggregation processors, may hold cells back until
+ * {@link #flush(Consumer)} is called at the end of the batch.
+ * <p>
+ * Processors are not thread safe; a new instance is used for each scanner.
+ * </p>
+ */
 public interface GafferScannerProcessor {
-    List<LazyElementCell> process(List<LazyElementCell> elementCells);
+    /**
+     * Processes a single cell, passing any cells that should be returned to
+     * the output.
+     *
+     * @param elementCell the cell to process
+     * @param output      the consumer of the processed cells
+     */
+    void process(final LazyElementCell elementCell, final Consumer<LazyElementCell> output);
+
+    /**
+     * Passes any cells that are being held back to the output. This is called
+     * after the last cell in each batch has been processed.
+     *
+     * @param output the consumer of the processed cells
+     */
+    default void flush(final Consumer<LazyElementCell> output) {
+    }
+
+    /**
+     * Processes a batch of cells.
+     *
+     * @param elementCells the cells to process
+     * @return the processed cells
+     */
+    default List<LazyElementCell> process(final List<LazyElementCell> elementCells) {
+        final List<LazyElementCell> output = new ArrayList<>(elementCells.size());
+        for (final LazyElementCell elementCell : elementCells) {
+            process(elementCell, output::add);
+        }
+        flush(output::add);
+        return output;
+    }
 }
@@ -30,9 +30,9 @@ import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseUtil;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public class QueryAggregationProcessor implements GafferScannerProcessor {
     private final ElementSerialisation serialisation;
@@ -40,6 +40,12 @@ public class QueryAggregationProcessor implements GafferScannerProcessor {
     private final View view;
     private final List<String> aggregatedGroups;
 
+    private LazyElementCell firstElementCell;
+    private ElementAggregator aggregator;
+    private Properties aggregatedProperties;
+    private int numCells;
+    private LazyElementCell deletedElementCell;
+
     public QueryAggregationProcessor(final ElementSerialisation serialisation,
                                      final Schema schema,
                                      final View view) {
@@ -50,61 +56,60 @@ public class QueryAggregationProcessor implements GafferScannerProcessor {
     }
 
     @Override
-    public List<LazyElementCell> process(final List<LazyElementCell> elementCells) {
-        if (elementCells.size() <= 1) {
-            return elementCells;
-        }
-
-        final List<LazyElementCell> output = new ArrayList<>();
-        ElementAggregator aggregator = null;
-        Properties aggregatedProperties = null;
-        LazyElementCell firstElementCell = null;
-        for (final LazyElementCell elementCell : elementCells) {
-            if (elementCell.isDeleted()) {
-                continue;
+    public void process(final LazyElementCell elementCell, final Consumer<LazyElementCell> output) {
+        numCells++;
+        if (elementCell.isDeleted()) {
+            if (1 == numCells) {
+                deletedElementCell = elementCell;
             }
+            return;
+        }
 
-            if (null == firstElementCell) {
-                firstElementCell = elementCell;
-                aggregatedProperties = null;
-                aggregator = null;
-            } else if (!aggregatedGroups.contains(elementCell.getGroup())) {
-                completeAggregator(firstElementCell, aggregatedProperties, output);
+        if (null == firstElementCell) {
+            firstElementCell = elementCell;
+        } else if (!aggregatedGroups.contains(elementCell.getGroup())) {
+            completeAggregator(output);
+            firstElementCell = elementCell;
+        } else {
+            final String group = elementCell.getGroup();
+            final Set<String> schemaGroupBy = schema.getElement(group).getGroupBy();
+            final ViewElementDefinition elementDef = view.getElement(group);
+            final Set<String> groupBy = null != elementDef ? elementDef.getGroupBy() : null;
+            if (!compareGroupByKeys(firstElementCell.getCell(), elementCell.getCell(), group, schemaGroupBy, groupBy)) {
+                completeAggregator(output);
                 firstElementCell = elementCell;
-                aggregatedProperties = null;
-                aggregator = null;
             } else {
-                final String group = elementCell.getGroup();
-                final Set<String> schemaGroupBy = schema.getElement(group).getGroupBy();
-                final ViewElementDefinition elementDef = view.getElement(group);
-                final Set<String> groupBy = null != elementDef ? elementDef.getGroupBy() : null;
-                if (!compareGroupByKeys(firstElementCell.getCell(), elementCell.getCell(), group, schemaGroupBy, groupBy)) {
-                    completeAggregator(firstElementCell, aggregatedProperties, output);
-                    firstElementCell = elementCell;
-                    aggregatedProperties = null;
-                    aggregator = null;
-                } else {
-                    if (null == aggregator) {
-                        final ElementAggregator viewAggregator = null != elementDef ? elementDef.getAggregator() : null;
-                        aggregator = schema.getElement(group).getQueryAggregator(groupBy, viewAggregator);
-                        aggregatedProperties = firstElementCell.getElement().getProperties();
-                    }
-
-                    final Properties properties = elementCell.getElement().getProperties();
-                    aggregatedProperties = aggregator.apply(properties, aggregatedProperties);
+                if (null == aggregator) {
+                    final ElementAggregator viewAggregator = null != elementDef ? elementDef.getAggregator() : null;
+                    aggregator = schema.getElement(group).getQueryAggregator(groupBy, viewAggregator);
+                    aggregatedProperties = firstElementCell.getElement().getProperties();
                 }
+
+                final Properties properties = elementCell.getElement().getProperties();
+                aggregatedProperties = aggregator.apply(properties, aggregatedProperties);
             }
         }
-        completeAggregator(firstElementCell, aggregatedProperties, output);
-        return output;
     }
 
-    private void completeAggregator(final LazyElementCell elementCell,
-                                    final Properties aggregatedProperties,
-                                    final List<LazyElementCell> output) {
+    @Override
+    public void flush(final Consumer<LazyElementCell> output) {
+        // A batch containing a single cell is returned unchanged, even if the
+        // cell has been deleted.
+        if (1 == numCells && null != deletedElementCell) {
+            output.accept(deletedElementCell);
+        } else {
+            completeAggregator(output);
+        }
+        numCells = 0;
+        deletedElementCell = null;
+    }
+
+    private void completeAggregator(final Consumer<LazyElementCell> output) {
+        final LazyElementCell elementCell = firstElementCell;
+        firstElementCell = null;
         if (null == aggregatedProperties) {
             if (null != elementCell) {
-                output.add(elementCell);
+                output.accept(elementCell);
             }
         } else {
             try {
@@ -124,10 +129,12 @@ public class QueryAggregationProcessor implements GafferScannerProcessor {
 
                 elementCell.setCell(aggregatedCell);
                 elementCell.setElement(element);
-                output.add(elementCell);
-
+                output.accept(elementCell);
             } catch (final SerialisationException e) {
                 throw new RuntimeException(e);
+            } finally {
+                aggregatedProperties = null;
+                aggregator = null;
             }
         }
     }
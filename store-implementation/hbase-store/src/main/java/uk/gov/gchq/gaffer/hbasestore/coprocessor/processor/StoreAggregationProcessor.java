@@ -27,14 +27,20 @@ import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseUtil;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class StoreAggregationProcessor implements GafferScannerProcessor {
     private final ElementSerialisation serialisation;
     private final Schema schema;
     private final List<String> aggregatedGroups;
 
+    private LazyElementCell firstElementCell;
+    private ElementAggregator aggregator;
+    private Properties aggregatedProperties;
+    private int numCells;
+    private LazyElementCell deletedElementCell;
+
     public StoreAggregationProcessor(final ElementSerialisation serialisation,
                                      final Schema schema) {
         this.serialisation = serialisation;
@@ -43,49 +49,52 @@ public class StoreAggregationProcessor implements GafferScannerProcessor {
     }
 
     @Override
-    public List<LazyElementCell> process(final List<LazyElementCell> elementCells) {
-        if (elementCells.size() <= 1) {
-            return elementCells;
+    public void process(final LazyElementCell elementCell, final Consumer<LazyElementCell> output) {
+        numCells++;
+        if (elementCell.isDeleted()) {
+            if (1 == numCells) {
+                deletedElementCell = elementCell;
+            }
+            return;
         }
 
-        final List<LazyElementCell> output = new ArrayList<>();
-        ElementAggregator aggregator = null;
-        Properties aggregatedProperties = null;
-        LazyElementCell firstElementCell = null;
-        for (final LazyElementCell elementCell : elementCells) {
-            if (elementCell.isDeleted()) {
-                continue;
+        if (null == firstElementCell) {
+            firstElementCell = elementCell;
+        } else if (!aggregatedGroups.contains(elementCell.getGroup())
+                || !HBaseUtil.compareKeys(firstElementCell.getCell(), elementCell.getCell())) {
+            completeAggregator(output);
+            firstElementCell = elementCell;
+        } else {
+            final String group = firstElementCell.getGroup();
+            if (null == aggregator) {
+                aggregator = schema.getElement(group).getIngestAggregator();
+                aggregatedProperties = firstElementCell.getElement().getProperties();
             }
 
-            if (null == firstElementCell) {
-                firstElementCell = elementCell;
-                aggregatedProperties = null;
-                aggregator = null;
-            } else if (!aggregatedGroups.contains(elementCell.getGroup())
-                    || !HBaseUtil.compareKeys(firstElementCell.getCell(), elementCell.getCell())) {
-                completeAggregator(firstElementCell, aggregatedProperties, output);
-                firstElementCell = elementCell;
-                aggregatedProperties = null;
-                aggregator = null;
-            } else {
-                final String group = firstElementCell.getGroup();
-                if (null == aggregator) {
-                    aggregator = schema.getElement(group).getIngestAggregator();
-                    aggregatedProperties = firstElementCell.getElement().getProperties();
-                }
+            final Properties properties = elementCell.getElement().getProperties();
+            aggregatedProperties = aggregator.apply(properties, aggregatedProperties);
+        }
+    }
 
-                final Properties properties = elementCell.getElement().getProperties();
-                aggregatedProperties = aggregator.apply(properties, aggregatedProperties);
-            }
+    @Override
+    public void flush(final Consumer<LazyElementCell> output) {
+        // A batch containing a single cell is returned unchanged, even if the
+        // cell has been deleted.
+        if (1 == numCells && null != deletedElementCell) {
+            output.accept(deletedElementCell);
+        } else {
+            completeAggregator(output);
         }
-        completeAggregator(firstElementCell, aggregatedProperties, output);
-        return output;
+        numCells = 0;
+        deletedElementCell = null;
     }
 
-    private void completeAggregator(final LazyElementCell elementCell, final Properties aggregatedProperties, final List<LazyElementCell> output) {
+    private void completeAggregator(final Consumer<LazyElementCell> output) {
+        final LazyElementCell elementCell = firstElementCell;
+        firstElementCell = null;
         if (null == aggregatedProperties) {
             if (null != elementCell) {
-                output.add(elementCell);
+                output.accept(elementCell);
             }
         } else {
             try {
@@ -105,10 +114,12 @@ public class StoreAggregationProcessor implements GafferScannerProcessor {
 
                 elementCell.setCell(aggregatedCell);
                 elementCell.setElement(element);
-                output.add(elementCell);
-
+                output.accept(elementCell);
             } catch (final SerialisationException e) {
                 throw new RuntimeException(e);
+            } finally {
+                aggregatedProperties = null;
+                aggregator = null;
             }
         }
     }
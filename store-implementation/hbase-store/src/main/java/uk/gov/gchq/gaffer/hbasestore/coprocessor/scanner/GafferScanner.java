@@ -16,6 +16,7 @@
 package uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner;
 
 import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.regionserver.InternalScanner;
 import org.apache.hadoop.hbase.regionserver.ScannerContext;
 
@@ -26,13 +27,65 @@ import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Consumer;
 
+/**
+ * A {@code GafferScanner} wraps an HBase {@link InternalScanner} and applies a
+ * chain of {@link GafferScannerProcessor}s to the cells returned by each call
+ * to the scanner. The processors are fused into a single pass: each cell is
+ * pushed through the whole chain before the next cell is read, and the
+ * processors are flushed in order once the row is complete.
+ * <p>
+ * Rows are read from the wrapped scanner in chunks of at most
+ * {@link #READ_BATCH_SIZE} cells, so a wide row is never held in memory in
+ * full. Only the region server's batch limit is applied to these reads, using
+ * a {@link ScannerContext} owned by this scanner. The region server's own
+ * {@link ScannerContext} is deliberately not passed to the wrapped scanner, as
+ * the region server would otherwise count the size of cells that are then
+ * filtered out by the processors towards its limits. It could then return an
+ * empty response, which clients treat as the end of the region. The progress
+ * of a {@link ScannerContext} cannot be updated from a coprocessor, so the
+ * limits of each call are applied by the scanner itself instead. The end of a
+ * row is found when a chunk starts with a different row, so aggregation still
+ * applies across the whole row.
+ * </p>
+ * <p>
+ * If limits are set using {@link #setLimits(int, long, long)}, each call stops
+ * pushing cells through the processors once the number of output cells, the
+ * size of the output cells or the time spent in the call reaches its limit.
+ * The rest of the row is processed by the following calls, so a wide row is
+ * returned in several partial batches. The processors only output a cell once
+ * the element it represents is complete, so rows are only ever split between
+ * elements. The limits are checked after each cell, so each call always makes
+ * progress and a batch may go over the limit by the cells output when the
+ * processors are flushed.
+ * </p>
+ */
 public abstract class GafferScanner implements InternalScanner {
+    /**
+     * The maximum number of cells read from the wrapped scanner at a time.
+     */
+    public static final int READ_BATCH_SIZE = 1000;
+
     private final InternalScanner scanner;
     private final ElementSerialisation serialisation;
     private final List<GafferScannerProcessor> processors;
     private final boolean includeMatchedVertex;
+    private final List<Cell> input = new ArrayList<>();
+    private final List<Consumer<LazyElementCell>> processorInputs;
+    private List<Cell> output;
+    private long outputSize;
+
+    private int batchLimit;
+    private long sizeLimit;
+    private long timeLimit;
+
+    // The state of the chunk and row currently being processed
+    private int inputPosition;
+    private boolean moreInput = true;
+    private byte[] currentRow;
 
     public GafferScanner(final InternalScanner scanner,
                          final ElementSerialisation serialisation,
@@ -46,14 +99,12 @@ public abstract class GafferScanner implements InternalScanner {
             this.processors = processors;
         }
         this.includeMatchedVertex = includeMatchedVertex;
+        this.processorInputs = createProcessorInputs(this.processors);
     }
 
     @Override
     public boolean next(final List<Cell> output) throws IOException {
-        final List<Cell> input = new ArrayList<>();
-        final boolean shouldContinue = scanner.next(input);
-        _next(input, output);
-        return shouldContinue;
+        return _next(scanner::next, output);
     }
 
     @Override
@@ -66,22 +117,125 @@ public abstract class GafferScanner implements InternalScanner {
         scanner.close();
     }
 
-    protected void _next(final List<Cell> input, final List<Cell> output) throws IOException {
-        List<LazyElementCell> elementCells = new ArrayList<>(input.size());
-        for (final Cell cell : input) {
-            elementCells.add(new LazyElementCell(cell, serialisation, includeMatchedVertex));
-        }
+    /**
+     * Sets the limits applied to each call to the scanner. A limit of 0 or
+     * less is not applied.
+     *
+     * @param batchLimit the maximum number of cells to output in each call
+     * @param sizeLimit  the maximum size in bytes of the cells output in each call
+     * @param timeLimit  the maximum time in milliseconds to spend in each call
+     */
+    protected void setLimits(final int batchLimit, final long sizeLimit, final long timeLimit) {
+        this.batchLimit = batchLimit;
+        this.sizeLimit = sizeLimit;
+        this.timeLimit = timeLimit;
+    }
 
-        for (final GafferScannerProcessor processor : processors) {
-            elementCells = processor.process(elementCells);
-        }
+    /**
+     * Processes the next part of the current row, reading further chunks of
+     * the row from the wrapped scanner as required, until the row is complete
+     * or a limit is reached.
+     *
+     * @param reader reads the next chunk of cells from the wrapped scanner
+     * @param output the list to add the output cells to
+     * @return true if there are more cells to read
+     * @throws IOException if the wrapped scanner fails
+     */
+    protected boolean _next(final ChunkReader reader, final List<Cell> output) throws IOException {
+        final long startTime = timeLimit > 0 ? System.currentTimeMillis() : 0;
+        boolean success = false;
+        try {
+            this.output = output;
+            outputSize = 0;
+            final int initialOutputSize = output.size();
+            final Consumer<LazyElementCell> firstInput = processorInputs.get(0);
+            int processed = 0;
+            while (true) {
+                // Flushing the processors is left to the next call if this batch is already full
+                if (processed > 0 && isLimitReached(output.size() - initialOutputSize, startTime)) {
+                    success = true;
+                    return true;
+                }
 
-        for (final LazyElementCell elementCell : elementCells) {
-            output.add(elementCell.getCell());
+                if (inputPosition == input.size()) {
+                    if (!moreInput) {
+                        flushRow();
+                        success = true;
+                        return false;
+                    }
+                    input.clear();
+                    inputPosition = 0;
+                    moreInput = reader.read(input, ScannerContext.newBuilder().setBatchLimit(READ_BATCH_SIZE).build());
+                    continue;
+                }
+
+                final Cell cell = input.get(inputPosition);
+                if (null == currentRow) {
+                    currentRow = CellUtil.cloneRow(cell);
+                } else if (!CellUtil.matchingRow(cell, currentRow)) {
+                    flushRow();
+                    success = true;
+                    return true;
+                }
+                firstInput.accept(new LazyElementCell(cell, serialisation, includeMatchedVertex));
+                inputPosition++;
+                processed++;
+            }
+        } finally {
+            this.output = null;
+            if (!success) {
+                input.clear();
+                inputPosition = 0;
+                currentRow = null;
+            }
         }
     }
 
     protected InternalScanner getScanner() {
         return scanner;
     }
+
+    private void flushRow() {
+        if (null != currentRow) {
+            for (int i = 0; i < processors.size(); i++) {
+                processors.get(i).flush(processorInputs.get(i + 1));
+            }
+            currentRow = null;
+        }
+    }
+
+    private boolean isLimitReached(final int outputCells, final long startTime) {
+        return (batchLimit > 0 && outputCells >= batchLimit)
+                || (sizeLimit > 0 && outputSize >= sizeLimit)
+                || (timeLimit > 0 && System.currentTimeMillis() - startTime >= timeLimit);
+    }
+
+    // Creates a consumer for the input of each processor that passes the
+    // cells it outputs on to the next processor. The last consumer adds the
+    // cells to the output of the current call.
+    private List<Consumer<LazyElementCell>> createProcessorInputs(final List<GafferScannerProcessor> processors) {
+        final LinkedList<Consumer<LazyElementCell>> inputs = new LinkedList<>();
+        inputs.addFirst(elementCell -> {
+            final Cell cell = elementCell.getCell();
+            if (sizeLimit > 0) {
+                outputSize += CellUtil.estimatedSerializedSizeOf(cell);
+            }
+            output.add(cell);
+        });
+        for (int i = processors.size() - 1; i >= 0; i--) {
+            final GafferScannerProcessor processor = processors.get(i);
+            final Consumer<LazyElementCell> processorOutput = inputs.getFirst();
+            inputs.addFirst(elementCell -> processor.process(elementCell, processorOutput));
+        }
+        return new ArrayList<>(inputs);
+    }
+
+    /**
+     * Reads the next chunk of cells from a wrapped scanner, subject to the
+     * limits of the given {@link ScannerContext}.
+     */
+    @FunctionalInterface
+    protected interface ChunkReader {
+        boolean read(final List<Cell> cells, final ScannerContext scannerContext) throws IOException;
+    }
 }
@@ -25,6 +25,7 @@ import org.apache.hadoop.hbase.util.Bytes;
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.BoundedCache;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ElementDedupeFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GafferScannerProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GroupFilterProcessor;
@@ -38,18 +39,52 @@ import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
+/**
+ * A {@code QueryScanner} applies the view and schema to the cells returned
+ * from a scan of a Gaffer table.
+ * <p>
+ * The view json is sent as an attribute on each scan. Parsed views are held in
+ * a cache shared by all the query scanners in the region server, keyed by the
+ * view json, so repeated queries with the same view do not need to parse it
+ * again.
+ * </p>
+ * <p>
+ * If the scan has a batch size, the batch size, the maximum result size of the
+ * scan and the given time limit are applied to each call, so wide rows are
+ * returned in partial batches, see {@link GafferScanner}.
+ * </p>
+ */
 public class QueryScanner extends GafferScanner implements RegionScanner {
+    public static final int MAX_CACHED_VIEWS = 500;
+
+    private static final BoundedCache<ByteBuffer, View> VIEW_CACHE = new BoundedCache<>(MAX_CACHED_VIEWS);
+
     public QueryScanner(final RegionScanner scanner,
                         final Scan scan,
                         final Schema schema,
                         final ElementSerialisation serialisation,
                         final boolean includeMatchedVertex) {
+        this(scanner, scan, schema, serialisation, includeMatchedVertex, 0);
+    }
+
+    public QueryScanner(final RegionScanner scanner,
+                        final Scan scan,
+                        final Schema schema,
+                        final ElementSerialisation serialisation,
+                        final boolean includeMatchedVertex,
+                        final long timeLimit) {
         super(scanner, serialisation, createProcessors(scan, schema, serialisation), includeMatchedVertex);
+        // Rows are only split over several results if the scan is batched, as
+        // HBase clients only expect to see the same row again for batched scans.
+        if (scan.getBatch() > 0) {
+            setLimits(scan.getBatch(), scan.getMaxResultSize(), timeLimit);
+        }
     }
 
     protected static List<GafferScannerProcessor> createProcessors(
@@ -64,7 +99,7 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
         if (null != view) {
             processors.add(new GroupFilterProcessor(view));
             if (extraProcessors.remove(ElementDedupeFilterProcessor.class)) {
-                processors.add(new ElementDedupeFilterProcessor(view.hasEntities(), view.hasEdges(), getDirectedType(scan)));
+                processors.add(new ElementDedupeFilterProcessor(view.hasEntities(), view.hasEdges(), getDirectedType(scan), serialisation));
             }
         }
 
@@ -91,13 +126,10 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
 
     private static View getView(final Scan scan) {
         final byte[] viewJson = scan.getAttribute(HBaseStoreConstants.VIEW);
-        final View view;
         if (null == viewJson) {
-            view = null;
-        } else {
-            view = View.fromJson(viewJson);
+            return null;
         }
-        return view;
+        return VIEW_CACHE.get(ByteBuffer.wrap(viewJson), k -> View.fromJson(viewJson));
     }
 
     private static DirectedType getDirectedType(final Scan scan) {
@@ -153,17 +185,11 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
 
     @Override
     public boolean nextRaw(final List<Cell> output) throws IOException {
-        final List<Cell> input = new ArrayList<>();
-        final boolean shouldContinue = getScanner().nextRaw(input);
-        _next(input, output);
-        return shouldContinue;
+        return _next(getScanner()::nextRaw, output);
     }
 
     @Override
     public boolean nextRaw(final List<Cell> output, final ScannerContext scannerContext) throws IOException {
-        final List<Cell> input = new ArrayList<>();
-        final boolean shouldContinue = getScanner().nextRaw(input);
-        _next(input, output);
-        return shouldContinue;
+        return nextRaw(output);
     }
 }
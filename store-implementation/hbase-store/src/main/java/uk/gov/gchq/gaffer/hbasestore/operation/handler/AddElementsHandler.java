@@ -16,8 +16,8 @@
 
 package uk.gov.gchq.gaffer.hbasestore.operation.handler;
 
+import org.apache.hadoop.hbase.client.BufferedMutator;
 import org.apache.hadoop.hbase.client.Put;
-import org.apache.hadoop.hbase.client.Table;
 
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -26,6 +26,7 @@ import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.hbasestore.utils.PipelinedPutWriter;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.store.Context;
@@ -48,6 +49,13 @@ import java.util.Map;
  * To work around this issue, we need to aggregate elements within each batch before adding them to HBase.
  * Due to this, optimising the batch size could have a big impact on performance.
  * Configure the batch size using store property: hbase.writeBufferSize
+ * <p>
+ * Each batch is written to HBase on a background thread using a
+ * {@link PipelinedPutWriter}, so the next batch is aggregated whilst the
+ * previous batch is written. The number of batches waiting to be written is
+ * limited using the store property: hbase.maxInFlightBatches. Setting this to 0
+ * writes each batch on the calling thread.
+ * </p>
  */
 public class AddElementsHandler implements OperationHandler<AddElements> {
     @Override
@@ -64,12 +72,11 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             return;
         }
 
-        try {
-            final Table table = store.getTable();
+        try (final PipelinedPutWriter writer = createWriter(store)) {
             final boolean hasAggregators = store.getSchema().isAggregationEnabled();
             final String visibilityProperty = store.getSchema().getVisibilityProperty();
             final Iterator<? extends Element> elements = addElementsOperation.getInput().iterator();
-            final ElementSerialisation serialisation = new ElementSerialisation(store.getSchema());
+            final ElementSerialisation serialisation = new ElementSerialisation(store.getSchema(), store.getProperties().getRowKeySaltBuckets());
             final int batchSize = store.getProperties().getWriteBufferSize();
             final Map<ElementKey, Element> keyToElement = new HashMap<>(batchSize);
             final Map<String, ElementAggregator> aggregators = new HashMap<>(store.getSchema().getEdges().size() + store.getSchema().getEntities().size());
@@ -101,20 +108,25 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                         }
                         aggregator.apply(existingElement.getProperties(), properties);
                     } else {
-                        executePuts(table, createPuts(serialisation, keyToElement));
+                        writer.write(createPuts(serialisation, keyToElement));
                         keyToElement.clear();
                         i = 0;
                         keyToElement.put(elementKey, element);
                     }
                 }
 
-                executePuts(table, createPuts(serialisation, keyToElement));
+                writer.write(createPuts(serialisation, keyToElement));
             }
         } catch (final IOException | StoreException e) {
             throw new OperationException("Failed to add elements", e);
         }
     }
 
+    private PipelinedPutWriter createWriter(final HBaseStore store) throws StoreException, IOException {
+        final BufferedMutator mutator = store.getConnection().getBufferedMutator(store.getTableName());
+        return new PipelinedPutWriter(mutator, store.getProperties().getMaxInFlightBatches());
+    }
+
     private List<Put> createPuts(final ElementSerialisation serialisation, final Map<ElementKey, Element> keyToElement) throws SerialisationException {
         final Collection<Element> elementBatch = keyToElement.values();
         final List<Put> puts = new ArrayList<>(elementBatch.size());
@@ -127,10 +139,4 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         }
         return puts;
     }
-
-    private void executePuts(final Table table, final List<Put> puts) throws IOException {
-        if (!puts.isEmpty()) {
-            table.put(puts);
-        }
-    }
 }
@@ -36,7 +36,7 @@ public class SampleElementsForSplitPointsHandler extends AbstractSampleElementsF
 
     @Override
     protected Stream<String> process(final Stream<? extends Element> stream, final HBaseStore store) {
-        final ElementSerialisation serialiser = new ElementSerialisation(store.getSchema());
+        final ElementSerialisation serialiser = new ElementSerialisation(store.getSchema(), store.getProperties().getRowKeySaltBuckets());
         return stream
                 .map(element -> {
                     try {
@@ -58,6 +58,9 @@ public class HBaseAddElementsFromHdfsJobFactory implements AddElementsFromHdfsJo
         LOGGER.info("Added {} of {} to job conf", MAPPER_GENERATOR, mapperGeneratorClassName);
         jobConf.set(VALIDATE, String.valueOf(operation.isValidate()));
         LOGGER.info("Added {} option of {} to job conf", VALIDATE, operation.isValidate());
+        final int rowKeySaltBuckets = ((HBaseStore) store).getProperties().getRowKeySaltBuckets();
+        jobConf.setInt(HBaseStoreConstants.ROW_KEY_SALT_BUCKETS, rowKeySaltBuckets);
+        LOGGER.info("Added {} of {} to job conf", HBaseStoreConstants.ROW_KEY_SALT_BUCKETS, rowKeySaltBuckets);
 
         Integer numTasks = operation.getNumMapTasks();
         if (null != numTasks) {
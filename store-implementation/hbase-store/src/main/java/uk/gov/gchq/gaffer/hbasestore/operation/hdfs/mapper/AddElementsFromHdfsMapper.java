@@ -21,6 +21,7 @@ import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
 import uk.gov.gchq.gaffer.hdfs.operation.mapper.GafferMapper;
 
 import java.io.IOException;
@@ -32,7 +33,8 @@ public class AddElementsFromHdfsMapper<KEY_IN, VALUE_IN>
     @Override
     protected void setup(final Context context) {
         super.setup(context);
-        serialisation = new ElementSerialisation(schema);
+        serialisation = new ElementSerialisation(schema,
+                context.getConfiguration().getInt(HBaseStoreConstants.ROW_KEY_SALT_BUCKETS, 0));
     }
 
     @Override
@@ -17,12 +17,14 @@
 package uk.gov.gchq.gaffer.hbasestore.retriever;
 
 import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.RegionLocator;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
 import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
 import org.apache.hadoop.hbase.security.visibility.Authorizations;
 import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Pair;
 
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
@@ -45,6 +47,7 @@ import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.ElementValidator;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.job.JobCancellation;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
@@ -63,6 +66,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
     private final Authorizations authorisations;
     private final OP operation;
     private final byte[] extraProcessors;
+    private final byte[] viewJson;
     private final boolean includeMatchedVertex;
 
     private CloseableIterator<Element> iterator;
@@ -74,7 +78,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
                           final Iterable<? extends ElementId> ids,
                           final boolean includeMatchedVertex,
                           final Class<?>... extraProcessors) throws StoreException {
-        this.serialisation = new ElementSerialisation(store.getSchema());
+        this.serialisation = new ElementSerialisation(store.getSchema(), store.getProperties().getRowKeySaltBuckets());
         this.rowRangeFactory = new RowRangeFactory(serialisation);
         this.validator = new ElementValidator(operation.getView());
         this.store = store;
@@ -88,6 +92,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         }
 
         this.includeMatchedVertex = includeMatchedVertex;
+        this.viewJson = operation.getView().toCompactJson();
 
         if (null != extraProcessors && extraProcessors.length > 0) {
             this.extraProcessors = StringUtil.toCsv(extraProcessors);
@@ -153,9 +158,10 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         Table table = null;
         try {
             final Scan scan = new Scan();
+            List<MultiRowRangeFilter.RowRange> rowRanges = null;
 
             if (null != idsIterator) {
-                final List<MultiRowRangeFilter.RowRange> rowRanges = new ArrayList<>();
+                rowRanges = new ArrayList<>();
                 final int maxEntriesForBatchScanner = store.getProperties().getMaxEntriesForBatchScanner();
                 int count = 0;
                 while (idsIterator.hasNext() && count < maxEntriesForBatchScanner) {
@@ -171,9 +177,9 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
             }
 
             scan.setAuthorizations(authorisations);
-            scan.setAttribute(HBaseStoreConstants.SCHEMA, store.getSchema().toCompactJson());
+            scan.setAttribute(HBaseStoreConstants.SCHEMA_FINGERPRINT, Bytes.toBytes(store.getSchemaFingerprint()));
             scan.setAttribute(HBaseStoreConstants.INCLUDE_MATCHED_VERTEX, Bytes.toBytes(Boolean.toString(includeMatchedVertex)));
-            scan.setAttribute(HBaseStoreConstants.VIEW, operation.getView().toCompactJson());
+            scan.setAttribute(HBaseStoreConstants.VIEW, viewJson);
             if (null != operation.getDirectedType()) {
                 scan.setAttribute(HBaseStoreConstants.DIRECTED_TYPE, Bytes.toBytes(operation.getDirectedType().name()));
             }
@@ -181,6 +187,16 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
                 scan.setAttribute(HBaseStoreConstants.EXTRA_PROCESSORS, extraProcessors);
             }
             scan.setMaxVersions();
+            final int scanBatchSize = store.getProperties().getScanBatchSize();
+            if (scanBatchSize > 0) {
+                scan.setBatch(scanBatchSize);
+            }
+
+            final int maxParallelRegionScans = store.getProperties().getMaxParallelRegionScans();
+            if (null != rowRanges && maxParallelRegionScans > 1) {
+                return new ParallelRegionScanner(store, createRegionScans(scan, rowRanges), maxParallelRegionScans);
+            }
+
             table = store.getTable();
             return new WrappedCloseableIterable<>(table.getScanner(scan));
         } catch (final IOException | StoreException e) {
@@ -191,6 +207,14 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         }
     }
 
+    private List<Scan> createRegionScans(final Scan scan, final List<MultiRowRangeFilter.RowRange> rowRanges)
+            throws IOException, StoreException {
+        try (final RegionLocator locator = store.getConnection().getRegionLocator(store.getTableName())) {
+            final Pair<byte[][], byte[][]> startEndKeys = locator.getStartEndKeys();
+            return ParallelRegionScanner.createRegionScans(scan, rowRanges, startEndKeys.getFirst(), startEndKeys.getSecond());
+        }
+    }
+
     public class BatchedResultScanner extends BatchedIterable<Result> {
         @Override
         protected Iterable<Result> createBatch() {
@@ -216,6 +240,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
 
         @Override
         protected Iterable<Element> transform(final Result item) {
+            JobCancellation.checkCancelled();
             final Iterator<Cell> cellsItr = item.listCells().iterator();
             return () -> new Iterator<Element>() {
                 private Element nextElement;
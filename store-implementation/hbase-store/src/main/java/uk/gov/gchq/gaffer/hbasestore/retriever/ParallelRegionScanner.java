@@ -0,0 +1,258 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hbasestore.retriever;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+import uk.gov.gchq.gaffer.store.StoreException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * A {@code ParallelRegionScanner} runs a set of {@link Scan}s, normally one for
+ * each region, concurrently on a bounded pool of threads and merges the
+ * {@link Result}s into a single {@link CloseableIterable}. This is the HBase
+ * equivalent of an Accumulo BatchScanner.
+ * <p>
+ * The results of each scan are returned in row order, but the results of
+ * different scans are interleaved in the order they are received. Results are
+ * passed to the consumer through a bounded queue, so the scans are paused if
+ * the consumer falls behind.
+ * </p>
+ * <p>
+ * The scans are started when {@link #iterator()} is first called. Only a
+ * single iterator can be created and the scanner must be closed to stop any
+ * remaining scans.
+ * </p>
+ */
+public class ParallelRegionScanner implements CloseableIterable<Result> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelRegionScanner.class);
+    private static final int MAX_QUEUED_RESULTS = 1000;
+
+    // Marks the end of a scan in the results queue
+    private static final Result END_OF_SCAN = new Result();
+
+    private final HBaseStore store;
+    private final List<Scan> scans;
+    private final int maxParallelScans;
+    private final BlockingQueue<Result> results = new LinkedBlockingQueue<>(MAX_QUEUED_RESULTS);
+    private final Queue<Exception> failures = new ConcurrentLinkedQueue<>();
+    private ExecutorService executor;
+    private volatile boolean closed;
+
+    public ParallelRegionScanner(final HBaseStore store, final List<Scan> scans, final int maxParallelScans) {
+        if (maxParallelScans < 1) {
+            throw new IllegalArgumentException("The maximum number of parallel scans must be at least 1");
+        }
+        this.store = store;
+        this.scans = scans;
+        this.maxParallelScans = maxParallelScans;
+    }
+
+    /**
+     * Creates a copy of the given scan for each region that contains at least
+     * one of the row ranges. Each copy is limited to the rows in the region and
+     * filtered using the row ranges that overlap the region.
+     *
+     * @param scan      the scan to copy, including any attributes
+     * @param rowRanges the row ranges to scan
+     * @param startKeys the start key of each region, as provided by a
+     *                  {@link org.apache.hadoop.hbase.client.RegionLocator}
+     * @param endKeys   the end key of each region, as provided by a
+     *                  {@link org.apache.hadoop.hbase.client.RegionLocator}
+     * @return a scan for each region that contains at least one row range
+     * @throws IOException if the scan could not be copied
+     */
+    public static List<Scan> createRegionScans(final Scan scan,
+                                               final List<RowRange> rowRanges,
+                                               final byte[][] startKeys,
+                                               final byte[][] endKeys) throws IOException {
+        final List<Scan> regionScans = new ArrayList<>();
+        for (int i = 0; i < startKeys.length; i++) {
+            final List<RowRange> regionRowRanges = new ArrayList<>();
+            for (final RowRange rowRange : rowRanges) {
+                if (overlaps(rowRange, startKeys[i], endKeys[i])) {
+                    regionRowRanges.add(rowRange);
+                }
+            }
+
+            if (!regionRowRanges.isEmpty()) {
+                final Scan regionScan = new Scan(scan);
+                regionScan.setStartRow(startKeys[i]);
+                regionScan.setStopRow(endKeys[i]);
+                regionScan.setFilter(new MultiRowRangeFilter(regionRowRanges));
+                regionScans.add(regionScan);
+            }
+        }
+
+        return regionScans;
+    }
+
+    @Override
+    public CloseableIterator<Result> iterator() {
+        if (null != executor) {
+            throw new IllegalStateException("Only one iterator can be created");
+        }
+        if (closed) {
+            throw new IllegalStateException("The scanner has been closed");
+        }
+
+        executor = Executors.newFixedThreadPool(Math.max(1, Math.min(maxParallelScans, scans.size())),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("gaffer-hbase-region-scanner-%d")
+                        .setDaemon(true)
+                        .build());
+        for (final Scan scan : scans) {
+            executor.execute(() -> runScan(scan));
+        }
+        executor.shutdown();
+
+        return new ParallelRegionScannerIterator();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (null != executor) {
+            executor.shutdownNow();
+        }
+        results.clear();
+    }
+
+    // A region start key is inclusive and a region end key is exclusive. An
+    // empty key is unbounded. Ranges that only touch a region boundary are
+    // included, which at worst causes an extra scan that returns nothing.
+    private static boolean overlaps(final RowRange rowRange, final byte[] regionStartKey, final byte[] regionEndKey) {
+        final byte[] rangeStart = rowRange.getStartRow();
+        final byte[] rangeStop = rowRange.getStopRow();
+        final boolean startsBeforeRegionEnd = isEmpty(regionEndKey)
+                || isEmpty(rangeStart)
+                || Bytes.compareTo(rangeStart, regionEndKey) < 0;
+        final boolean stopsAfterRegionStart = isEmpty(regionStartKey)
+                || isEmpty(rangeStop)
+                || Bytes.compareTo(rangeStop, regionStartKey) >= 0;
+        return startsBeforeRegionEnd && stopsAfterRegionStart;
+    }
+
+    private static boolean isEmpty(final byte[] key) {
+        return null == key || 0 == key.length;
+    }
+
+    private void runScan(final Scan scan) {
+        try (final Table table = store.getTable();
+             final ResultScanner scanner = table.getScanner(scan)) {
+            Result result = scanner.next();
+            while (!closed && null != result) {
+                results.put(result);
+                result = scanner.next();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (final IOException | StoreException | RuntimeException e) {
+            if (!closed) {
+                LOGGER.error("Failed to scan region starting at {}", Bytes.toStringBinary(scan.getStartRow()), e);
+                failures.add(e);
+            }
+        }
+
+        if (!closed) {
+            try {
+                results.put(END_OF_SCAN);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void checkForFailures() {
+        final Exception failure = failures.peek();
+        if (null != failure) {
+            close();
+            throw new RuntimeException("Failed to scan " + scans.size() + " regions", failure);
+        }
+    }
+
+    private final class ParallelRegionScannerIterator implements CloseableIterator<Result> {
+        private int completedScans;
+        private Result nextResult;
+
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+
+            while (null == nextResult && completedScans < scans.size()) {
+                checkForFailures();
+                final Result result;
+                try {
+                    result = results.take();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    close();
+                    throw new RuntimeException("Interrupted whilst waiting for scan results", e);
+                }
+
+                if (END_OF_SCAN == result) {
+                    completedScans++;
+                } else {
+                    nextResult = result;
+                }
+            }
+
+            checkForFailures();
+            return null != nextResult;
+        }
+
+        @Override
+        public Result next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Reached the end of the scan results");
+            }
+
+            final Result result = nextResult;
+            nextResult = null;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            ParallelRegionScanner.this.close();
+        }
+    }
+}
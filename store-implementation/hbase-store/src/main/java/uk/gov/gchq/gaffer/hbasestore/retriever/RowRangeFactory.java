@@ -114,7 +114,8 @@ public class RowRangeFactory {
             includeEntities = operation.getView().hasEntities();
         }
 
-        byte[] serialisedVertex = serialiser.serialiseVertex(vertex);
+        // All the rows for a vertex start with the salted vertex
+        byte[] serialisedVertex = serialiser.saltVertex(serialiser.serialiseVertex(vertex));
 
         if (!includeEntities && !includeEdges) {
             throw new IllegalArgumentException("Need to include either Entities or Edges or both when getting RowRange");
@@ -219,7 +220,7 @@ public class RowRangeFactory {
     private byte[] getEdgeRowId(final Object source, final Object destination, final boolean directed, final boolean endKey) throws SerialisationException {
         final byte directionFlag1 = directed ? HBaseStoreConstants.CORRECT_WAY_DIRECTED_EDGE
                 : HBaseStoreConstants.UNDIRECTED_EDGE;
-        byte[] sourceValue = serialiser.serialiseVertex(source);
+        byte[] sourceValue = serialiser.saltVertex(serialiser.serialiseVertex(source));
         byte[] destinationValue = serialiser.serialiseVertex(destination);
         int length;
         byte[] key;
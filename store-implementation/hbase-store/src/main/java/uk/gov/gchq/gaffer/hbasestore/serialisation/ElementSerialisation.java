@@ -47,13 +47,36 @@ import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Iterator;
 
+/**
+ * The {@code ElementSerialisation} converts {@link Element}s to and from HBase
+ * row keys, column qualifiers, values and timestamps.
+ * <p>
+ * Row keys start with a serialised vertex. If row key salting is enabled, by
+ * setting a number of salt buckets, each row key is prefixed with a single
+ * byte salt bucket derived from a hash of the vertex the row key starts with.
+ * All the rows for a vertex are therefore in the same bucket, so the rows for
+ * a seed can still be found with a single range, but sequential vertices are
+ * spread over the buckets.
+ * </p>
+ */
 public class ElementSerialisation {
+    public static final int MAX_SALT_BUCKETS = 256;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(ElementSerialisation.class);
 
     private final Schema schema;
+    private final int saltBuckets;
 
     public ElementSerialisation(final Schema schema) {
+        this(schema, 0);
+    }
+
+    public ElementSerialisation(final Schema schema, final int saltBuckets) {
+        if (saltBuckets < 0 || saltBuckets > MAX_SALT_BUCKETS) {
+            throw new IllegalArgumentException("The number of row key salt buckets must be between 0 and " + MAX_SALT_BUCKETS);
+        }
         this.schema = schema;
+        this.saltBuckets = saltBuckets;
     }
 
     public byte[] getValue(final Element element) throws SerialisationException {
@@ -378,6 +401,51 @@ public class ElementSerialisation {
         }
     }
 
+    public int getSaltBuckets() {
+        return saltBuckets;
+    }
+
+    /**
+     * Gets the number of bytes that prefix each row key. This is 1 if row key
+     * salting is enabled, otherwise 0.
+     *
+     * @return the length of the salt prefix of each row key
+     */
+    public int getSaltLength() {
+        return saltBuckets > 0 ? 1 : 0;
+    }
+
+    /**
+     * Gets the salt bucket for the rows that start with the given vertex.
+     *
+     * @param serialisedVertex the serialised and escaped vertex
+     * @return the salt bucket, or 0 if row key salting is disabled
+     */
+    public int getSaltBucket(final byte[] serialisedVertex) {
+        if (saltBuckets < 1) {
+            return 0;
+        }
+        return (Arrays.hashCode(serialisedVertex) & Integer.MAX_VALUE) % saltBuckets;
+    }
+
+    /**
+     * Prefixes the serialised vertex with its salt bucket, giving the start of
+     * all row keys for the vertex. If row key salting is disabled the
+     * serialised vertex is returned unchanged.
+     *
+     * @param serialisedVertex the serialised and escaped vertex
+     * @return the salted vertex
+     */
+    public byte[] saltVertex(final byte[] serialisedVertex) {
+        if (saltBuckets < 1) {
+            return serialisedVertex;
+        }
+        final byte[] saltedVertex = new byte[serialisedVertex.length + 1];
+        saltedVertex[0] = (byte) getSaltBucket(serialisedVertex);
+        System.arraycopy(serialisedVertex, 0, saltedVertex, 1, serialisedVertex.length);
+        return saltedVertex;
+    }
+
     public boolean isEntity(final Cell cell) throws SerialisationException {
         final byte[] row = CellUtil.cloneRow(cell);
         return row[row.length - 1] == HBaseStoreConstants.ENTITY;
@@ -410,7 +478,7 @@ public class ElementSerialisation {
     public byte[] getRowKey(final Entity entity) throws SerialisationException {
         byte[] value;
         try {
-            value = serialiseVertex(entity.getVertex());
+            value = saltVertex(serialiseVertex(entity.getVertex()));
             final byte[] returnVal = Arrays.copyOf(value, value.length + 2);
             returnVal[returnVal.length - 2] = ByteArrayEscapeUtils.DELIMITER;
             returnVal[returnVal.length - 1] = HBaseStoreConstants.ENTITY;
@@ -432,27 +500,12 @@ public class ElementSerialisation {
         }
         final byte[] source = serialiseVertex(edge.getSource());
         final byte[] destination = serialiseVertex(edge.getDestination());
-        final int length = source.length + destination.length + 5;
-        final byte[] rowKey1 = new byte[length];
-        System.arraycopy(source, 0, rowKey1, 0, source.length);
-        rowKey1[source.length] = ByteArrayEscapeUtils.DELIMITER;
-        rowKey1[source.length + 1] = directionFlag1;
-        rowKey1[source.length + 2] = ByteArrayEscapeUtils.DELIMITER;
-        System.arraycopy(destination, 0, rowKey1, source.length + 3, destination.length);
-        rowKey1[rowKey1.length - 2] = ByteArrayEscapeUtils.DELIMITER;
-        rowKey1[rowKey1.length - 1] = directionFlag1;
+        final byte[] rowKey1 = getEdgeRowKey(source, destination, directionFlag1);
         if (edge.getSource().equals(edge.getDestination())) {
             return new Pair<>(rowKey1, null);
         }
 
-        final byte[] rowKey2 = new byte[length];
-        System.arraycopy(destination, 0, rowKey2, 0, destination.length);
-        rowKey2[destination.length] = ByteArrayEscapeUtils.DELIMITER;
-        rowKey2[destination.length + 1] = directionFlag2;
-        rowKey2[destination.length + 2] = ByteArrayEscapeUtils.DELIMITER;
-        System.arraycopy(source, 0, rowKey2, destination.length + 3, source.length);
-        rowKey2[rowKey2.length - 2] = ByteArrayEscapeUtils.DELIMITER;
-        rowKey2[rowKey2.length - 1] = directionFlag2;
+        final byte[] rowKey2 = getEdgeRowKey(destination, source, directionFlag2);
         return new Pair<>(rowKey1, rowKey2);
     }
 
@@ -492,7 +545,8 @@ public class ElementSerialisation {
         final int[] positionsOfDelimiters = new int[3];
         short numDelims = 0;
         // Last byte will be directional flag so don't count it
-        for (int i = 0; i < rowKey.length - 1; ++i) {
+        final int saltLength = getSaltLength();
+        for (int i = saltLength; i < rowKey.length - 1; ++i) {
             if (rowKey[i] == ByteArrayEscapeUtils.DELIMITER) {
                 if (numDelims >= 3) {
                     throw new SerialisationException(
@@ -514,7 +568,7 @@ public class ElementSerialisation {
         } catch (final NumberFormatException e) {
             throw new SerialisationException("Error parsing direction flag from row cell - " + e);
         }
-        byte[] sourceBytes = ByteArrayEscapeUtils.unEscape(rowKey, 0, positionsOfDelimiters[0]);
+        byte[] sourceBytes = ByteArrayEscapeUtils.unEscape(rowKey, saltLength, positionsOfDelimiters[0]);
         byte[] destBytes = ByteArrayEscapeUtils.unEscape(rowKey, positionsOfDelimiters[1] + 1, positionsOfDelimiters[2]);
         sourceDestValues[0] = sourceBytes;
         sourceDestValues[1] = destBytes;
@@ -541,6 +595,23 @@ public class ElementSerialisation {
         return rtn;
     }
 
+    private byte[] getEdgeRowKey(final byte[] first, final byte[] second, final byte directionFlag) {
+        final int saltLength = getSaltLength();
+        final int length = saltLength + first.length + second.length + 5;
+        final byte[] rowKey = new byte[length];
+        if (saltLength > 0) {
+            rowKey[0] = (byte) getSaltBucket(first);
+        }
+        System.arraycopy(first, 0, rowKey, saltLength, first.length);
+        rowKey[saltLength + first.length] = ByteArrayEscapeUtils.DELIMITER;
+        rowKey[saltLength + first.length + 1] = directionFlag;
+        rowKey[saltLength + first.length + 2] = ByteArrayEscapeUtils.DELIMITER;
+        System.arraycopy(second, 0, rowKey, saltLength + first.length + 3, second.length);
+        rowKey[rowKey.length - 2] = ByteArrayEscapeUtils.DELIMITER;
+        rowKey[rowKey.length - 1] = directionFlag;
+        return rowKey;
+    }
+
     private boolean isStoredInValue(final String propertyName, final SchemaElementDefinition elementDef) {
         return !elementDef.getGroupBy().contains(propertyName)
                 && !propertyName.equals(schema.getTimestampProperty());
@@ -595,7 +666,7 @@ public class ElementSerialisation {
         try {
             final byte[] row = CellUtil.cloneRow(cell);
             final Entity entity = new Entity(getGroup(cell), ((ToBytesSerialiser) schema.getVertexSerialiser())
-                    .deserialise(ByteArrayEscapeUtils.unEscape(row, 0, row.length - 2)));
+                    .deserialise(ByteArrayEscapeUtils.unEscape(row, getSaltLength(), row.length - 2)));
             addPropertiesToElement(entity, cell);
             return entity;
         } catch (final SerialisationException e) {
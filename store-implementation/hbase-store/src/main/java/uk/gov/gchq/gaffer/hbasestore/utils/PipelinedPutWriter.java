@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hbasestore.utils;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.Put;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@code PipelinedPutWriter} writes batches of {@link Put}s to HBase using a
+ * {@link BufferedMutator} on a background thread, so the caller can prepare the
+ * next batch while the previous batch is being written.
+ * <p>
+ * Batches are written in the order they are provided and each batch is flushed
+ * before the next batch is written. The number of batches that have been
+ * provided but not yet flushed is limited to the maxInFlightBatches; once the
+ * limit is reached {@link #write(List)} blocks until a batch has been flushed.
+ * If the maxInFlightBatches is 0, each batch is written and flushed on the
+ * calling thread instead.
+ * </p>
+ * <p>
+ * If a batch fails to be written, no further batches are accepted and the
+ * failure is reported once, along with the batch number, on the next call to
+ * {@link #write(List)} or on {@link #close()}. The writer must always be closed
+ * to wait for the remaining batches to be written and release the mutator.
+ * </p>
+ */
+public class PipelinedPutWriter implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PipelinedPutWriter.class);
+
+    private final BufferedMutator mutator;
+    private final Semaphore inFlightBatches;
+    private final ExecutorService executor;
+    private final Queue<IOException> failures = new ConcurrentLinkedQueue<>();
+    private int batchNumber;
+    private boolean failureReported;
+
+    public PipelinedPutWriter(final BufferedMutator mutator, final int maxInFlightBatches) {
+        if (maxInFlightBatches < 0) {
+            throw new IllegalArgumentException("The maximum number of in flight batches must not be negative");
+        }
+        this.mutator = mutator;
+        this.inFlightBatches = new Semaphore(maxInFlightBatches);
+        if (maxInFlightBatches > 0) {
+            this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("gaffer-hbase-put-writer-%d")
+                    .setDaemon(true)
+                    .build());
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Queues a batch of puts to be written to HBase, blocking if the maximum
+     * number of batches are already in flight.
+     *
+     * @param puts the batch of puts to write
+     * @throws IOException if a previous batch failed to be written or the
+     *                     thread was interrupted whilst waiting
+     */
+    public void write(final List<Put> puts) throws IOException {
+        checkForFailures();
+        if (puts.isEmpty()) {
+            return;
+        }
+
+        if (null == executor) {
+            writeBatch(++batchNumber, puts);
+            checkForFailures();
+            return;
+        }
+
+        try {
+            inFlightBatches.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted whilst waiting to write batch " + (batchNumber + 1));
+        }
+
+        final int batch = ++batchNumber;
+        executor.execute(() -> {
+            try {
+                if (failures.isEmpty()) {
+                    writeBatch(batch, puts);
+                }
+            } finally {
+                inFlightBatches.release();
+            }
+        });
+    }
+
+    public int getBatchCount() {
+        return batchNumber;
+    }
+
+    /**
+     * Waits for all queued batches to be written and closes the mutator.
+     *
+     * @throws IOException if any batch failed to be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (null != executor) {
+                executor.shutdown();
+                while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    LOGGER.info("Waiting for the remaining batches to be written");
+                }
+            }
+        } catch (final InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            failures.add(new InterruptedIOException("Interrupted whilst waiting for batches to be written"));
+        } finally {
+            mutator.close();
+        }
+
+        checkForFailures();
+    }
+
+    private void writeBatch(final int batch, final List<Put> puts) {
+        try {
+            mutator.mutate(puts);
+            mutator.flush();
+            LOGGER.debug("Written batch {} of {} puts", batch, puts.size());
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.error("Failed to write batch {} of {} puts", batch, puts.size(), e);
+            failures.add(new IOException("Failed to write batch " + batch + " of " + puts.size() + " puts", e));
+        }
+    }
+
+    private void checkForFailures() throws IOException {
+        final IOException failure = failures.peek();
+        if (null != failure && !failureReported) {
+            failureReported = true;
+            for (final IOException otherFailure : failures) {
+                if (otherFailure != failure) {
+                    failure.addSuppressed(otherFailure);
+                }
+            }
+            throw failure;
+        }
+    }
+}
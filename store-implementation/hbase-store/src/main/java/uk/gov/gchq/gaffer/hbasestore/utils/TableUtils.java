@@ -36,6 +36,7 @@ import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.hbasestore.HBaseProperties;
 import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.GafferCoprocessor;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 import uk.gov.gchq.gaffer.store.library.FileGraphLibrary;
@@ -180,7 +181,7 @@ public final class TableUtils {
         try {
             final Admin admin = connection.getAdmin();
             if (admin.tableExists(tableName)) {
-                validateTable(tableName, admin);
+                validateTable(tableName, admin, store.getProperties().getRowKeySaltBuckets());
             } else {
                 try {
                     TableUtils.createTable(store);
@@ -201,7 +202,8 @@ public final class TableUtils {
     }
 
     /**
-     * Creates an HBase table for the given HBase store.
+     * Creates an HBase table for the given HBase store. If row key salting is
+     * enabled the table is split into a region for each salt bucket.
      *
      * @param store the hbase store
      * @throws StoreException if a connection to hbase could not be created or there is a failure to create the table
@@ -225,8 +227,19 @@ public final class TableUtils {
             // As soon as HBase have made this update we can set the max versions number to 0.
             col.setMaxVersions(Integer.MAX_VALUE);
             htable.addFamily(col);
+            final int rowKeySaltBuckets = store.getProperties().getRowKeySaltBuckets();
+            if (rowKeySaltBuckets < 0 || rowKeySaltBuckets > ElementSerialisation.MAX_SALT_BUCKETS) {
+                throw new IllegalArgumentException("The number of row key salt buckets must be between 0 and "
+                        + ElementSerialisation.MAX_SALT_BUCKETS + " but was " + rowKeySaltBuckets);
+            }
+            htable.setValue(HBaseStoreConstants.ROW_KEY_SALT_BUCKETS, String.valueOf(rowKeySaltBuckets));
             addCoprocesssor(htable, store);
-            admin.createTable(htable);
+            if (rowKeySaltBuckets > 1) {
+                LOGGER.info("Splitting table {} into {} regions, one for each row key salt bucket", tableName, rowKeySaltBuckets);
+                admin.createTable(htable, getSaltBucketSplitPoints(rowKeySaltBuckets));
+            } else {
+                admin.createTable(htable);
+            }
         } catch (final Exception e) {
             LOGGER.warn("Failed to create table {}", tableName, e);
             throw new StoreException("Failed to create table " + tableName, e);
@@ -297,12 +310,23 @@ public final class TableUtils {
     private static void addCoprocesssor(final HTableDescriptor htable, final HBaseStore store) throws IOException {
         final String schemaJson = StringUtil.escapeComma(
                 Bytes.toString(store.getSchema().toCompactJson()));
-        final Map<String, String> options = new HashMap<>(1);
+        final Map<String, String> options = new HashMap<>(2);
         options.put(HBaseStoreConstants.SCHEMA, schemaJson);
+        options.put(HBaseStoreConstants.ROW_KEY_SALT_BUCKETS, String.valueOf(store.getProperties().getRowKeySaltBuckets()));
         htable.addCoprocessor(GafferCoprocessor.class.getName(), store.getProperties().getDependencyJarsHdfsDirPath(), Coprocessor.PRIORITY_USER, options);
     }
 
-    private static void validateTable(final TableName tableName, final Admin admin) throws StoreException {
+    // The split points are the first row key in each salt bucket, except the first
+    private static byte[][] getSaltBucketSplitPoints(final int rowKeySaltBuckets) {
+        final int numSplitPoints = rowKeySaltBuckets - 1;
+        final byte[][] splitPoints = new byte[numSplitPoints][];
+        for (int i = 0; i < numSplitPoints; i++) {
+            splitPoints[i] = new byte[]{(byte) (i + 1)};
+        }
+        return splitPoints;
+    }
+
+    private static void validateTable(final TableName tableName, final Admin admin, final int rowKeySaltBuckets) throws StoreException {
         final ValidationResult validationResult = new ValidationResult();
 
         final HTableDescriptor descriptor;
@@ -323,6 +347,15 @@ public final class TableUtils {
             validationResult.addError("Missing coprocessor: " + GafferCoprocessor.class.getName());
         }
 
+        // Tables created before row keys could be salted do not record the number of salt buckets
+        final String tableSaltBuckets = descriptor.getValue(HBaseStoreConstants.ROW_KEY_SALT_BUCKETS);
+        final int tableRowKeySaltBuckets = null == tableSaltBuckets ? 0 : Integer.parseInt(tableSaltBuckets);
+        if (tableRowKeySaltBuckets != rowKeySaltBuckets) {
+            validationResult.addError("The table was created with " + tableRowKeySaltBuckets
+                    + " row key salt buckets but the store properties have " + rowKeySaltBuckets
+                    + ". The number of row key salt buckets cannot be changed once the table has been created");
+        }
+
         if (!validationResult.isValid()) {
             throw new StoreException("Your table " + tableName + " is configured incorrectly. "
                     + validationResult.getErrorString()
@@ -38,11 +38,19 @@ public class HBasePropertiesTest {
         // When
         properties.setDependencyJarsHdfsDirPath("pathTo/jars");
         properties.setWriteBufferSize(10);
+        properties.setMaxInFlightBatches(3);
+        properties.setMaxParallelRegionScans(4);
+        properties.setRowKeySaltBuckets(8);
+        properties.setScanBatchSize(100);
         properties.setZookeepers("zookeeper1,zookeeper2");
 
         // Then
         assertEquals(new Path("pathTo/jars"), properties.getDependencyJarsHdfsDirPath());
         assertEquals(10, properties.getWriteBufferSize());
+        assertEquals(3, properties.getMaxInFlightBatches());
+        assertEquals(4, properties.getMaxParallelRegionScans());
+        assertEquals(8, properties.getRowKeySaltBuckets());
+        assertEquals(100, properties.getScanBatchSize());
         assertEquals("zookeeper1,zookeeper2", properties.getZookeepers());
     }
 
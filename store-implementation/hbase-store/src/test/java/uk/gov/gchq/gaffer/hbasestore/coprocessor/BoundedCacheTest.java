@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hbasestore.coprocessor;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class BoundedCacheTest {
+    @Test
+    public void shouldOnlyLoadValueOnCacheMiss() {
+        // Given
+        final BoundedCache<String, Object> cache = new BoundedCache<>(10);
+        final AtomicInteger loadCount = new AtomicInteger();
+
+        // When
+        final Object first = cache.get("key", k -> {
+            loadCount.incrementAndGet();
+            return new Object();
+        });
+        final Object second = cache.get("key", k -> {
+            loadCount.incrementAndGet();
+            return new Object();
+        });
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedValueWhenFull() {
+        // Given
+        final BoundedCache<String, String> cache = new BoundedCache<>(2);
+        cache.get("a", k -> "valueA");
+        cache.get("b", k -> "valueB");
+        cache.get("a");
+
+        // When
+        cache.get("c", k -> "valueC");
+
+        // Then
+        assertEquals(2, cache.size());
+        assertEquals("valueA", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("valueC", cache.get("c"));
+    }
+
+    @Test
+    public void shouldNotCacheNullValues() {
+        // Given
+        final BoundedCache<String, String> cache = new BoundedCache<>(2);
+
+        // When
+        final String value = cache.get("a", k -> null);
+
+        // Then
+        assertNull(value);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenMaxSizeLessThanOne() {
+        // When / Then
+        try {
+            new BoundedCache<String, String>(0);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("The maximum cache size must be at least 1", e.getMessage());
+        }
+    }
+}
@@ -44,7 +44,9 @@ import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
 
 import java.io.IOException;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
@@ -70,12 +72,32 @@ public class GafferCoprocessorTest {
 
     @Before
     public void setup() throws IOException {
-        coprocessor = new GafferCoprocessor();
-        final CoprocessorEnvironment coEnv = mock(CoprocessorEnvironment.class);
-        final Configuration conf = mock(Configuration.class);
-        given(coEnv.getConfiguration()).willReturn(conf);
-        given(conf.get(HBaseStoreConstants.SCHEMA)).willReturn(StringUtil.escapeComma(Bytes.toString(SCHEMA.toCompactJson())));
-        coprocessor.start(coEnv);
+        coprocessor = createCoprocessor();
+    }
+
+    @Test
+    public void shouldShareParsedSchemaBetweenCoprocessorsWithSameSchema() throws IOException {
+        // When
+        final GafferCoprocessor otherCoprocessor = createCoprocessor();
+
+        // Then
+        assertSame(coprocessor.getSchema(), otherCoprocessor.getSchema());
+        assertEquals(GafferCoprocessor.getSchemaFingerprint(SCHEMA.toCompactJson()), otherCoprocessor.getSchemaFingerprint());
+    }
+
+    @Test
+    public void shouldCreateQueryScannerWhenScanSchemaFingerprintDoesNotMatch() throws IOException {
+        // Given
+        final ObserverContext<RegionCoprocessorEnvironment> e = mock(ObserverContext.class);
+        final Scan scan = mock(Scan.class);
+        given(scan.getAttribute(HBaseStoreConstants.SCHEMA_FINGERPRINT)).willReturn(Bytes.toBytes("other fingerprint"));
+        final RegionScanner scanner = mock(RegionScanner.class);
+
+        // When
+        final QueryScanner queryScanner = (QueryScanner) coprocessor.postScannerOpen(e, scan, scanner);
+
+        // Then
+        assertNotNull(queryScanner);
     }
 
     @Test
@@ -134,4 +156,14 @@ public class GafferCoprocessorTest {
         // Then
         assertNotNull(queryScanner);
     }
+
+    private GafferCoprocessor createCoprocessor() throws IOException {
+        final GafferCoprocessor coprocessor = new GafferCoprocessor();
+        final CoprocessorEnvironment coEnv = mock(CoprocessorEnvironment.class);
+        final Configuration conf = mock(Configuration.class);
+        given(coEnv.getConfiguration()).willReturn(conf);
+        given(conf.get(HBaseStoreConstants.SCHEMA)).willReturn(StringUtil.escapeComma(Bytes.toString(SCHEMA.toCompactJson())));
+        coprocessor.start(coEnv);
+        return coprocessor;
+    }
 }
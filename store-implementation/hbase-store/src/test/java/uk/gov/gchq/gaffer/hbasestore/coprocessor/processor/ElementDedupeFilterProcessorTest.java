@@ -140,6 +140,24 @@ public class ElementDedupeFilterProcessorTest {
         }
     }
 
+    @Test
+    public void shouldOnlyAcceptUndirectedEdgesWithSaltedRowKeys() throws OperationException, SerialisationException {
+        // Given
+        final ElementSerialisation saltedSerialisation = new ElementSerialisation(SCHEMA, 4);
+        final ElementDedupeFilterProcessor processor = new ElementDedupeFilterProcessor(false, true, DirectedType.UNDIRECTED, saltedSerialisation);
+
+        // When / Then
+        for (final Element element : ELEMENTS) {
+            final boolean expectedResult = element instanceof Edge && !((Edge) element).isDirected();
+            final Pair<LazyElementCell, LazyElementCell> cells = CellUtil.getLazyCells(element, saltedSerialisation);
+            assertEquals("Failed for element: " + element.toString(), expectedResult, processor.test(cells.getFirst()));
+            if (null != cells.getSecond()) {
+                // self elements are not added the other way round
+                assertEquals("Failed for element: " + element.toString(), false, processor.test(cells.getSecond()));
+            }
+        }
+    }
+
     @Test
     public void shouldAcceptOnlyEntities() throws OperationException, SerialisationException {
         // Given
@@ -20,13 +20,13 @@ import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.regionserver.InternalScanner;
 import org.apache.hadoop.hbase.regionserver.ScannerContext;
 import org.junit.Test;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.data.element.Edge;
-import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GafferScannerProcessor;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
@@ -40,13 +40,19 @@ import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class GafferScannerTest {
@@ -64,40 +70,22 @@ public class GafferScannerTest {
             .vertexSerialiser(new StringSerialiser())
             .build();
 
-    private static final List<Element> ELEMENTS = Arrays.asList(
-            new Entity.Builder()
-                    .group(TestGroups.ENTITY)
-                    .vertex("a")
-                    .build(),
-            new Edge.Builder()
-                    .group(TestGroups.EDGE)
-                    .source("b")
-                    .dest("c")
-                    .directed(true)
-                    .build()
-    );
-
     private final ElementSerialisation serialisation = new ElementSerialisation(SCHEMA);
 
     @Test
-    public void shouldDelegateToEachProcessor() throws OperationException, IOException {
+    public void shouldPassEachCellThroughEachProcessorInASinglePass() throws OperationException, IOException {
         // Given
-        final List<LazyElementCell> lazyCells = CellUtil.getLazyCells(ELEMENTS, serialisation);
-        final List<Cell> cells = new ArrayList<>();
-        for (final LazyElementCell lazyElementCell : lazyCells) {
-            cells.add(lazyElementCell.getCell());
-        }
-
+        final List<Cell> cells = createWideRow(3);
         final InternalScanner internalScanner = new InternalScanner() {
             @Override
             public boolean next(final List<Cell> results) throws IOException {
-                results.addAll(cells);
-                return true;
+                throw new UnsupportedOperationException();
             }
 
             @Override
             public boolean next(final List<Cell> result, final ScannerContext scannerContext) throws IOException {
-                throw new UnsupportedOperationException();
+                result.addAll(cells);
+                return false;
             }
 
             @Override
@@ -106,27 +94,161 @@ public class GafferScannerTest {
             }
         };
 
-        final GafferScannerProcessor processor1 = mock(GafferScannerProcessor.class);
-        final GafferScannerProcessor processor2 = mock(GafferScannerProcessor.class);
-        final GafferScanner scanner = new GafferScanner(internalScanner, serialisation, Arrays.asList(processor1, processor2), false) {
+        final List<String> calls = new ArrayList<>();
+        final GafferScanner scanner = new GafferScanner(internalScanner, serialisation,
+                Arrays.asList(new RecordingProcessor("p1", calls), new RecordingProcessor("p2", calls)), false) {
         };
-        final List<LazyElementCell> processedCells1 = mock(List.class);
-        given(processor1.process(Mockito.anyList())).willReturn(processedCells1);
-        given(processor2.process(processedCells1)).willReturn(lazyCells);
-
-
         final List<Cell> outputResult = new ArrayList<>();
 
         // When
         final boolean result = scanner.next(outputResult, null);
 
-        // When / Then
-        assertTrue(result);
-        final ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
-        verify(processor1).process(captor.capture());
-        assertEquals(lazyCells, captor.getValue());
-        verify(processor2).process(processedCells1);
+        // Then
+        assertFalse(result);
         assertEquals(cells, outputResult);
+        final List<String> expectedCalls = new ArrayList<>();
+        for (int i = 0; i < cells.size(); i++) {
+            expectedCalls.add("p1 process " + i);
+            expectedCalls.add("p2 process " + i);
+        }
+        expectedCalls.add("p1 flush");
+        expectedCalls.add("p2 flush");
+        assertEquals(expectedCalls, calls);
+    }
+
+    @Test
+    public void shouldHoldBackCellsUntilProcessorIsFlushed() throws OperationException, IOException {
+        // Given
+        final List<Cell> cells = createWideRow(3);
+        final InternalScanner internalScanner = mock(InternalScanner.class);
+        given(internalScanner.next(Mockito.anyList(), Mockito.any(ScannerContext.class))).willAnswer(addCells(cells, false));
+        final GafferScannerProcessor reverseProcessor = new GafferScannerProcessor() {
+            private final LinkedList<LazyElementCell> heldBack = new LinkedList<>();
+
+            @Override
+            public void process(final LazyElementCell elementCell, final Consumer<LazyElementCell> output) {
+                heldBack.addFirst(elementCell);
+            }
+
+            @Override
+            public void flush(final Consumer<LazyElementCell> output) {
+                heldBack.forEach(output);
+                heldBack.clear();
+            }
+        };
+        final GafferScanner scanner = new GafferScanner(internalScanner, serialisation,
+                Collections.singletonList(reverseProcessor), false) {
+        };
+        final List<Cell> outputResult = new ArrayList<>();
+
+        // When
+        final boolean result = scanner.next(outputResult);
+
+        // Then
+        assertFalse(result);
+        final List<Cell> expectedCells = new ArrayList<>(cells);
+        Collections.reverse(expectedCells);
+        assertEquals(expectedCells, outputResult);
+    }
+
+    @Test
+    public void shouldReadWideRowInChunksWithoutPassingScannerContextToInternalScanner() throws OperationException, IOException {
+        // Given
+        final List<Cell> rowA = createWideRow(4);
+        final Cell rowB = CellUtil.getCell(new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("b")
+                .build(), serialisation);
+        final ScannerContext scannerContext = ScannerContext.newBuilder().setBatchLimit(1).build();
+        final InternalScanner internalScanner = mock(InternalScanner.class);
+        given(internalScanner.next(Mockito.anyList(), Mockito.any(ScannerContext.class)))
+                .willAnswer(addCells(rowA.subList(0, 2), true))
+                .willAnswer(addCells(rowA.subList(2, 4), true))
+                .willAnswer(addCells(Collections.singletonList(rowB), false));
+        final List<String> calls = new ArrayList<>();
+        final GafferScanner scanner = new GafferScanner(internalScanner, serialisation,
+                Collections.singletonList(new RecordingProcessor("p1", calls)), false) {
+        };
+        final List<Cell> batch1 = new ArrayList<>();
+        final List<Cell> batch2 = new ArrayList<>();
+
+        // When
+        final boolean result1 = scanner.next(batch1, scannerContext);
+        final List<String> callsAfterBatch1 = new ArrayList<>(calls);
+        final boolean result2 = scanner.next(batch2, scannerContext);
+
+        // Then
+        assertTrue(result1);
+        assertFalse(result2);
+        assertEquals(rowA, batch1);
+        assertEquals(Collections.singletonList(rowB), batch2);
+        assertEquals("p1 flush", callsAfterBatch1.get(callsAfterBatch1.size() - 1));
+        assertEquals(1, callsAfterBatch1.stream().filter("p1 flush"::equals).count());
+        assertEquals(2, calls.stream().filter("p1 flush"::equals).count());
+        verify(internalScanner, times(3)).next(Mockito.anyList(), Mockito.any(ScannerContext.class));
+        verify(internalScanner, never()).next(Mockito.anyList(), Mockito.same(scannerContext));
+        verify(internalScanner, never()).next(Mockito.anyList());
+    }
+
+    @Test
+    public void shouldReturnWideRowInPartialBatchesWhenBatchLimitIsSet() throws OperationException, IOException {
+        // Given
+        final List<Cell> cells = createWideRow(5);
+        final InternalScanner internalScanner = mock(InternalScanner.class);
+        given(internalScanner.next(Mockito.anyList(), Mockito.any(ScannerContext.class))).willAnswer(addCells(cells, false));
+        final List<String> calls = new ArrayList<>();
+        final GafferScanner scanner = new GafferScanner(internalScanner, serialisation,
+                Collections.singletonList(new RecordingProcessor("p1", calls)), false) {
+            {
+                setLimits(2, 0, 0);
+            }
+        };
+        final List<Cell> batch1 = new ArrayList<>();
+        final List<Cell> batch2 = new ArrayList<>();
+        final List<Cell> batch3 = new ArrayList<>();
+
+        // When
+        final boolean result1 = scanner.next(batch1);
+        final boolean result2 = scanner.next(batch2);
+        final boolean result3 = scanner.next(batch3);
+
+        // Then
+        assertTrue(result1);
+        assertTrue(result2);
+        assertFalse(result3);
+        assertEquals(cells.subList(0, 2), batch1);
+        assertEquals(cells.subList(2, 4), batch2);
+        assertEquals(cells.subList(4, 5), batch3);
+        verify(internalScanner).next(Mockito.anyList(), Mockito.any(ScannerContext.class));
+        assertEquals("p1 flush", calls.get(calls.size() - 1));
+        assertEquals(1, calls.stream().filter("p1 flush"::equals).count());
+    }
+
+    @Test
+    public void shouldReturnWideRowInPartialBatchesWhenSizeLimitIsSet() throws OperationException, IOException {
+        // Given
+        final List<Cell> cells = createWideRow(4);
+        final InternalScanner internalScanner = mock(InternalScanner.class);
+        given(internalScanner.next(Mockito.anyList(), Mockito.any(ScannerContext.class))).willAnswer(addCells(cells, true));
+        final GafferScanner scanner = new GafferScanner(internalScanner, serialisation, null, false) {
+            {
+                setLimits(0, 1, 0);
+            }
+        };
+        final List<List<Cell>> batches = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            final List<Cell> batch = new ArrayList<>();
+            assertTrue(scanner.next(batch));
+            batches.add(batch);
+        }
+
+        // Then
+        for (int i = 0; i < 4; i++) {
+            assertEquals(Collections.singletonList(cells.get(i)), batches.get(i));
+        }
+        verify(internalScanner).next(Mockito.anyList(), Mockito.any(ScannerContext.class));
     }
 
     @Test
@@ -143,4 +265,47 @@ public class GafferScannerTest {
         verify(internalScanner).close();
         assertSame(internalScanner, scanner.getScanner());
     }
+
+    // Creates the cells in the row of vertex a for edges from a to other vertices
+    private List<Cell> createWideRow(final int numEdges) throws SerialisationException {
+        final List<Cell> cells = new ArrayList<>(numEdges);
+        for (int i = 0; i < numEdges; i++) {
+            cells.add(CellUtil.getCell(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("a")
+                    .dest("b" + i)
+                    .directed(true)
+                    .build(), serialisation));
+        }
+        return cells;
+    }
+
+    private static Answer<Boolean> addCells(final List<Cell> cells, final boolean moreCells) {
+        return invocation -> {
+            ((List<Cell>) invocation.getArguments()[0]).addAll(cells);
+            return moreCells;
+        };
+    }
+
+    private static final class RecordingProcessor implements GafferScannerProcessor {
+        private final String name;
+        private final List<String> calls;
+        private int count;
+
+        private RecordingProcessor(final String name, final List<String> calls) {
+            this.name = name;
+            this.calls = calls;
+        }
+
+        @Override
+        public void process(final LazyElementCell elementCell, final Consumer<LazyElementCell> output) {
+            calls.add(name + " process " + count++);
+            output.accept(elementCell);
+        }
+
+        @Override
+        public void flush(final Consumer<LazyElementCell> output) {
+            calls.add(name + " flush");
+        }
+    }
 }
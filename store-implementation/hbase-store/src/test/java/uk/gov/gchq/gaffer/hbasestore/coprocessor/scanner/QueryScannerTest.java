@@ -16,14 +16,18 @@
 
 package uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner;
 
+import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.HRegionInfo;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.regionserver.RegionScanner;
+import org.apache.hadoop.hbase.regionserver.ScannerContext;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ElementDedupeFilterProcessor;
@@ -35,6 +39,7 @@ import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.QueryAggregationProce
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.StoreAggregationProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ValidationProcessor;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.hbasestore.util.CellUtil;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
@@ -45,6 +50,7 @@ import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
 import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -255,6 +261,42 @@ public class QueryScannerTest {
         }
     }
 
+    @Test
+    public void shouldReturnRowsInBatchesWhenScanIsBatched() throws Exception {
+        // Given
+        final ElementSerialisation noAggSerialisation = new ElementSerialisation(SCHEMA_NO_AGGREGATION);
+        final List<Cell> cells = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            cells.add(CellUtil.getCell(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("a")
+                    .dest("b" + i)
+                    .directed(true)
+                    .build(), noAggSerialisation));
+        }
+        final RegionScanner scanner = mock(RegionScanner.class);
+        given(scanner.nextRaw(Mockito.anyList(), Mockito.any(ScannerContext.class))).willAnswer(invocation -> {
+            ((List<Cell>) invocation.getArguments()[0]).addAll(cells);
+            return false;
+        });
+        final Scan scan = new Scan();
+        scan.setBatch(2);
+        final QueryScanner queryScanner = new QueryScanner(scanner, scan, SCHEMA_NO_AGGREGATION, noAggSerialisation, false);
+        final List<Cell> batch1 = new ArrayList<>();
+        final List<Cell> batch2 = new ArrayList<>();
+
+        // When
+        final boolean result1 = queryScanner.nextRaw(batch1);
+        final boolean result2 = queryScanner.nextRaw(batch2);
+
+        // Then
+        assertTrue(result1);
+        assertFalse(result2);
+        assertEquals(cells.subList(0, 2), batch1);
+        assertEquals(cells.subList(2, 3), batch2);
+        verify(scanner).nextRaw(Mockito.anyList(), Mockito.any(ScannerContext.class));
+    }
+
     @Test
     public void shouldDelegateMethodsToInternalScanner() throws IOException {
         final RegionScanner scanner = mock(RegionScanner.class);
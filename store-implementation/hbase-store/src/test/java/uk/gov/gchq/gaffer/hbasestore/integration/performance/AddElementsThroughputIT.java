@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hbasestore.integration.performance;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.hbasestore.HBaseProperties;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+import uk.gov.gchq.gaffer.hbasestore.SingleUseMiniHBaseStore;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Measures the throughput of adding elements to a mini HBase cluster using the
+ * {@link uk.gov.gchq.gaffer.hbasestore.operation.handler.AddElementsHandler}
+ * with different limits on the number of in flight batches. A limit of 0 writes
+ * each batch synchronously. The throughputs are logged.
+ */
+public class AddElementsThroughputIT {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AddElementsThroughputIT.class);
+    private static final int NUM_ELEMENTS = 100000;
+    private static final int BATCH_SIZE = 5000;
+    private static final int[] MAX_IN_FLIGHT_BATCHES = {0, 1, 4};
+
+    private static final Schema SCHEMA = new Schema.Builder()
+            .type("string", new TypeDefinition.Builder()
+                    .clazz(String.class)
+                    .serialiser(new StringSerialiser())
+                    .build())
+            .type("int", new TypeDefinition.Builder()
+                    .clazz(Integer.class)
+                    .serialiser(new CompactRawIntegerSerialiser())
+                    .aggregateFunction(new Sum())
+                    .build())
+            .type("true", Boolean.class)
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("true")
+                    .property("count", "int")
+                    .build())
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    @Test
+    public void shouldMeasureAddElementsThroughput() throws Exception {
+        // Given
+        final List<Element> elements = createElements();
+        addElements(createStore(1), elements);
+
+        for (final int maxInFlightBatches : MAX_IN_FLIGHT_BATCHES) {
+            // When
+            final HBaseStore store = createStore(maxInFlightBatches);
+            final long time = addElements(store, elements);
+            LOGGER.info("Added elements with {} in flight batches: {} elements/s",
+                    maxInFlightBatches, NUM_ELEMENTS * 1000L / Math.max(1, time));
+
+            // Then
+            assertEquals(NUM_ELEMENTS, countElements(store));
+        }
+    }
+
+    private long addElements(final HBaseStore store, final List<Element> elements) throws Exception {
+        final long start = System.currentTimeMillis();
+        store.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), new Context(new User()));
+        return System.currentTimeMillis() - start;
+    }
+
+    private HBaseStore createStore(final int maxInFlightBatches) throws Exception {
+        final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setWriteBufferSize(BATCH_SIZE);
+        properties.setMaxInFlightBatches(maxInFlightBatches);
+        final SingleUseMiniHBaseStore store = new SingleUseMiniHBaseStore();
+        store.initialise("throughputGraph", SCHEMA, properties);
+        return store;
+    }
+
+    private long countElements(final HBaseStore store) throws Exception {
+        long count = 0;
+        try (final CloseableIterable<? extends Element> results = store.execute(new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build(), new Context(new User()))) {
+            for (final Element ignored : results) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private List<Element> createElements() {
+        final List<Element> elements = new ArrayList<>(NUM_ELEMENTS);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("source" + (i % 1000))
+                    .dest("dest" + i)
+                    .directed(true)
+                    .property("count", 1)
+                    .build());
+        }
+        return elements;
+    }
+}
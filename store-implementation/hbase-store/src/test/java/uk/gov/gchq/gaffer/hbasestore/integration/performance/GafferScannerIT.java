@@ -0,0 +1,182 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hbasestore.integration.performance;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.regionserver.RegionScanner;
+import org.apache.hadoop.hbase.regionserver.ScannerContext;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GafferScannerProcessor;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner.GafferScanner;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner.QueryScanner;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
+import uk.gov.gchq.gaffer.hbasestore.util.CellUtil;
+import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares the time taken by a {@link QueryScanner} to process a wide row,
+ * such as the row of a supernode, with the cells passed through the fused
+ * processor chain and with each processor applied to the whole batch in turn.
+ * The times are logged.
+ */
+public class GafferScannerIT {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GafferScannerIT.class);
+    private static final int NUM_CELLS = 100000;
+    private static final int NUM_GROUP_BY_VALUES = 100;
+    private static final int NUM_RUNS = 10;
+
+    private static final Schema SCHEMA = new Schema.Builder()
+            .type("string", new TypeDefinition.Builder()
+                    .clazz(String.class)
+                    .serialiser(new StringSerialiser())
+                    .aggregateFunction(new StringConcat())
+                    .build())
+            .type("int", new TypeDefinition.Builder()
+                    .clazz(Integer.class)
+                    .serialiser(new CompactRawIntegerSerialiser())
+                    .aggregateFunction(new Sum())
+                    .build())
+            .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                    .vertex("string")
+                    .property("prop1", "string")
+                    .property("count", "int")
+                    .groupBy("prop1")
+                    .build())
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    private static final View VIEW = new View.Builder()
+            .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                    .groupBy()
+                    .build())
+            .build();
+
+    private final ElementSerialisation serialisation = new ElementSerialisation(SCHEMA);
+
+    @Test
+    public void shouldProcessWideRowInASinglePass() throws Exception {
+        // Given
+        final List<Cell> row = createWideRow();
+        final Scan scan = new Scan();
+        scan.setAttribute(HBaseStoreConstants.VIEW, VIEW.toCompactJson());
+
+        // When
+        final List<Cell> fusedResult = runFused(row, scan);
+        final List<Cell> batchResult = runBatchPerProcessor(row, scan);
+        long fusedTime = 0;
+        long batchTime = 0;
+        for (int i = 0; i < NUM_RUNS; i++) {
+            long start = System.nanoTime();
+            runFused(row, scan);
+            fusedTime += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            runBatchPerProcessor(row, scan);
+            batchTime += System.nanoTime() - start;
+        }
+
+        // Then
+        LOGGER.info("Average time to process {} cells - fused: {}ms, batch per processor: {}ms",
+                NUM_CELLS, fusedTime / NUM_RUNS / 1000000, batchTime / NUM_RUNS / 1000000);
+        assertEquals(1, fusedResult.size());
+        assertEquals(1, batchResult.size());
+        assertEquals(serialisation.getElement(batchResult.get(0), false),
+                serialisation.getElement(fusedResult.get(0), false));
+        assertEquals(NUM_CELLS, serialisation.getElement(fusedResult.get(0), false).getProperty("count"));
+    }
+
+    private List<Cell> runFused(final List<Cell> row, final Scan scan) throws IOException {
+        final RegionScanner regionScanner = mock(RegionScanner.class);
+        // Return the row in chunks, as the region server would for the batch limit set by the scanner
+        final int[] position = {0};
+        given(regionScanner.nextRaw(Mockito.anyList(), Mockito.any(ScannerContext.class))).willAnswer(invocation -> {
+            final int end = Math.min(position[0] + GafferScanner.READ_BATCH_SIZE, row.size());
+            ((List<Cell>) invocation.getArguments()[0]).addAll(row.subList(position[0], end));
+            position[0] = end;
+            return end < row.size();
+        });
+        final QueryScanner scanner = new QueryScanner(regionScanner, scan, SCHEMA, serialisation, false);
+        final List<Cell> output = new ArrayList<>();
+        scanner.nextRaw(output, ScannerContext.newBuilder().build());
+        return output;
+    }
+
+    private List<Cell> runBatchPerProcessor(final List<Cell> row, final Scan scan) {
+        List<LazyElementCell> elementCells = new ArrayList<>(row.size());
+        for (final Cell cell : row) {
+            elementCells.add(new LazyElementCell(cell, serialisation, false));
+        }
+        for (final GafferScannerProcessor processor : ProcessorFactory.getProcessors(scan, SCHEMA, serialisation)) {
+            elementCells = new ArrayList<>(processor.process(elementCells));
+        }
+        final List<Cell> output = new ArrayList<>(elementCells.size());
+        for (final LazyElementCell elementCell : elementCells) {
+            output.add(elementCell.getCell());
+        }
+        return output;
+    }
+
+    private List<Cell> createWideRow() throws Exception {
+        final List<Cell> row = new ArrayList<>(NUM_CELLS);
+        for (int i = 0; i < NUM_CELLS; i++) {
+            row.add(CellUtil.getCell(new Entity.Builder()
+                    .group(TestGroups.ENTITY)
+                    .vertex("supernode")
+                    .property("prop1", "value" + (i % NUM_GROUP_BY_VALUES))
+                    .property("count", 1)
+                    .build(), serialisation));
+        }
+        row.sort(KeyValue.COMPARATOR);
+        return row;
+    }
+
+    private abstract static class ProcessorFactory extends QueryScanner {
+        private ProcessorFactory() {
+            super(null, null, null, null, false);
+        }
+
+        private static List<GafferScannerProcessor> getProcessors(final Scan scan, final Schema schema,
+                                                                  final ElementSerialisation serialisation) {
+            return QueryScanner.createProcessors(scan, schema, serialisation);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hbasestore.integration.performance;
+
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.hbasestore.HBaseProperties;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+import uk.gov.gchq.gaffer.hbasestore.SingleUseMiniHBaseStore;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Measures the throughput of getting elements related to a set of seeds from a
+ * mini HBase cluster with a table split into several regions, using different
+ * limits on the number of regions scanned in parallel. The throughputs are
+ * logged.
+ */
+public class GetElementsThroughputIT {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GetElementsThroughputIT.class);
+    private static final int NUM_SOURCES = 1000;
+    private static final int NUM_ELEMENTS = 100000;
+    private static final int NUM_QUERIES = 5;
+    private static final String[] SPLIT_POINTS = {"source250", "source500", "source750"};
+    private static final int[] MAX_PARALLEL_REGION_SCANS = {1, 2, 4};
+
+    private static final Schema SCHEMA = new Schema.Builder()
+            .type("string", new TypeDefinition.Builder()
+                    .clazz(String.class)
+                    .serialiser(new StringSerialiser())
+                    .build())
+            .type("int", new TypeDefinition.Builder()
+                    .clazz(Integer.class)
+                    .serialiser(new CompactRawIntegerSerialiser())
+                    .aggregateFunction(new Sum())
+                    .build())
+            .type("true", Boolean.class)
+            .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                    .source("string")
+                    .destination("string")
+                    .directed("true")
+                    .property("count", "int")
+                    .build())
+            .vertexSerialiser(new StringSerialiser())
+            .build();
+
+    @Test
+    public void shouldMeasureGetElementsThroughput() throws Exception {
+        // Given
+        final HBaseStore store = createStore();
+        splitTable(store);
+        store.execute(new AddElements.Builder()
+                .input(createElements())
+                .build(), new Context(new User()));
+        final List<EntitySeed> seeds = new ArrayList<>(NUM_SOURCES);
+        for (int i = 0; i < NUM_SOURCES; i++) {
+            seeds.add(new EntitySeed("source" + i));
+        }
+        getElements(store, seeds);
+
+        for (final int maxParallelRegionScans : MAX_PARALLEL_REGION_SCANS) {
+            store.getProperties().setMaxParallelRegionScans(maxParallelRegionScans);
+
+            // When
+            long count = 0;
+            final long start = System.currentTimeMillis();
+            for (int i = 0; i < NUM_QUERIES; i++) {
+                count = getElements(store, seeds);
+            }
+            final long time = System.currentTimeMillis() - start;
+            LOGGER.info("Got elements with {} parallel region scans: {} elements/s",
+                    maxParallelRegionScans, NUM_QUERIES * count * 1000L / Math.max(1, time));
+
+            // Then
+            assertEquals(NUM_ELEMENTS, count);
+        }
+    }
+
+    private HBaseStore createStore() throws Exception {
+        final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setMaxEntriesForBatchScanner(String.valueOf(NUM_SOURCES));
+        final SingleUseMiniHBaseStore store = new SingleUseMiniHBaseStore();
+        store.initialise("throughputGraph", SCHEMA, properties);
+        return store;
+    }
+
+    // Recreates the empty table using the same descriptor, split into regions
+    private void splitTable(final HBaseStore store) throws Exception {
+        final TableName tableName = store.getTableName();
+        try (final Admin admin = store.getConnection().getAdmin()) {
+            final HTableDescriptor descriptor = admin.getTableDescriptor(tableName);
+            admin.disableTable(tableName);
+            admin.deleteTable(tableName);
+            final byte[][] splitKeys = new byte[SPLIT_POINTS.length][];
+            for (int i = 0; i < SPLIT_POINTS.length; i++) {
+                splitKeys[i] = Bytes.toBytes(SPLIT_POINTS[i]);
+            }
+            admin.createTable(descriptor, splitKeys);
+        }
+    }
+
+    private long getElements(final HBaseStore store, final List<EntitySeed> seeds) throws Exception {
+        long count = 0;
+        try (final CloseableIterable<? extends Element> results = store.execute(new GetElements.Builder()
+                .input(seeds)
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build(), new Context(new User()))) {
+            for (final Element ignored : results) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private List<Element> createElements() {
+        final List<Element> elements = new ArrayList<>(NUM_ELEMENTS);
+        for (int i = 0; i < NUM_ELEMENTS; i++) {
+            elements.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("source" + (i % NUM_SOURCES))
+                    .dest("dest" + i)
+                    .directed(true)
+                    .property("count", 1)
+                    .build());
+        }
+        return elements;
+    }
+}
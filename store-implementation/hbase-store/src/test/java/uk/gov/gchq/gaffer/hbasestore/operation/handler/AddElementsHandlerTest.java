@@ -17,11 +17,14 @@
 package uk.gov.gchq.gaffer.hbasestore.operation.handler;
 
 import com.google.common.collect.Lists;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.Put;
-import org.apache.hadoop.hbase.client.Table;
 import org.hamcrest.core.IsCollectionContaining;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
@@ -47,12 +50,19 @@ import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -137,8 +147,7 @@ public class AddElementsHandlerTest {
         final Context context = mock(Context.class);
         final HBaseStore store = mock(HBaseStore.class);
 
-        final Table table = mock(Table.class);
-        given(store.getTable()).willReturn(table);
+        final BufferedMutator mutator = mockMutator(store);
 
         final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
         given(store.getProperties()).willReturn(properties);
@@ -150,7 +159,7 @@ public class AddElementsHandlerTest {
 
         // Then
         final ArgumentCaptor<List> putsCaptor = ArgumentCaptor.forClass(List.class);
-        verify(table).put(putsCaptor.capture());
+        verify(mutator).mutate(putsCaptor.capture());
         final List<Put> puts = putsCaptor.getValue();
 
         final List<Element> expectedElements = new ArrayList<>();
@@ -181,8 +190,7 @@ public class AddElementsHandlerTest {
         final Context context = mock(Context.class);
         final HBaseStore store = mock(HBaseStore.class);
 
-        final Table table = mock(Table.class);
-        given(store.getTable()).willReturn(table);
+        final BufferedMutator mutator = mockMutator(store);
 
         final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
         given(store.getProperties()).willReturn(properties);
@@ -202,7 +210,7 @@ public class AddElementsHandlerTest {
         }
         final Element[] expectedElementsArr = expectedElements.toArray(new Element[expectedElements.size()]);
         final ArgumentCaptor<List> putsCaptor = ArgumentCaptor.forClass(List.class);
-        verify(table, times(2)).put(putsCaptor.capture());
+        verify(mutator, times(2)).mutate(putsCaptor.capture());
         final List<Put> puts1 = putsCaptor.getAllValues().get(0);
         final List<Put> puts2 = putsCaptor.getAllValues().get(1);
 
@@ -231,8 +239,7 @@ public class AddElementsHandlerTest {
         final Context context = mock(Context.class);
         final HBaseStore store = mock(HBaseStore.class);
 
-        final Table table = mock(Table.class);
-        given(store.getTable()).willReturn(table);
+        final BufferedMutator mutator = mockMutator(store);
 
         final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
         given(store.getProperties()).willReturn(properties);
@@ -244,7 +251,7 @@ public class AddElementsHandlerTest {
 
         // Then
         final ArgumentCaptor<List> putsCaptor = ArgumentCaptor.forClass(List.class);
-        verify(table).put(putsCaptor.capture());
+        verify(mutator).mutate(putsCaptor.capture());
         final List<Put> puts = putsCaptor.getValue();
 
         final List<Element> expectedElements = new ArrayList<>();
@@ -271,8 +278,7 @@ public class AddElementsHandlerTest {
         final Context context = mock(Context.class);
         final HBaseStore store = mock(HBaseStore.class);
 
-        final Table table = mock(Table.class);
-        given(store.getTable()).willReturn(table);
+        final BufferedMutator mutator = mockMutator(store);
 
         final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
         given(store.getProperties()).willReturn(properties);
@@ -283,7 +289,112 @@ public class AddElementsHandlerTest {
         handler.doOperation(addElements, context, store);
 
         // Then
-        verify(table, never()).put(anyListOf(Put.class));
+        verify(mutator, never()).mutate(anyListOf(Put.class));
+    }
+
+    @Test
+    public void shouldWriteEachBatchInOrderAndCloseMutator() throws OperationException, StoreException, IOException {
+        // Given
+        final AddElementsHandler handler = new AddElementsHandler();
+        final List<Element> elements = createElements();
+
+        final AddElements addElements = new AddElements.Builder()
+                .input(elements)
+                .build();
+        final Context context = mock(Context.class);
+        final HBaseStore store = mock(HBaseStore.class);
+
+        final BufferedMutator mutator = mockMutator(store);
+
+        final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setWriteBufferSize(2);
+        properties.setMaxInFlightBatches(2);
+        given(store.getProperties()).willReturn(properties);
+
+        given(store.getSchema()).willReturn(SCHEMA);
+
+        // When
+        handler.doOperation(addElements, context, store);
+
+        // Then
+        final ArgumentCaptor<List> putsCaptor = ArgumentCaptor.forClass(List.class);
+        final InOrder inOrder = inOrder(mutator);
+        inOrder.verify(mutator, times(3)).mutate(putsCaptor.capture());
+        inOrder.verify(mutator).close();
+        final List<Element> firstBatch = CellUtil.getElements(putsCaptor.getAllValues().get(0), new ElementSerialisation(SCHEMA), false);
+        assertThat(firstBatch, IsCollectionContaining.hasItems(elements.get(0), elements.get(1)));
+        final List<Element> lastBatch = CellUtil.getElements(putsCaptor.getAllValues().get(2), new ElementSerialisation(SCHEMA), false);
+        assertThat(lastBatch, IsCollectionContaining.hasItems(elements.get(4), elements.get(5)));
+        verify(mutator, times(3)).flush();
+    }
+
+    @Test
+    public void shouldReportBatchThatFailedToBeWritten() throws StoreException, IOException {
+        // Given
+        final AddElementsHandler handler = new AddElementsHandler();
+        final AddElements addElements = new AddElements.Builder()
+                .input(createElements())
+                .build();
+        final Context context = mock(Context.class);
+        final HBaseStore store = mock(HBaseStore.class);
+
+        final BufferedMutator mutator = mockMutator(store);
+        doNothing().doThrow(new IOException("Region server unavailable")).when(mutator).flush();
+
+        final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setWriteBufferSize(2);
+        given(store.getProperties()).willReturn(properties);
+
+        given(store.getSchema()).willReturn(SCHEMA);
+
+        // When / Then
+        try {
+            handler.doOperation(addElements, context, store);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertTrue(e.getCause().getMessage(), e.getCause().getMessage().startsWith("Failed to write batch 2 of "));
+            assertEquals("Region server unavailable", e.getCause().getCause().getMessage());
+        }
+        verify(mutator, times(2)).mutate(anyListOf(Put.class));
+        verify(mutator).close();
+    }
+
+    @Test
+    public void shouldWriteEachBatchOnCallingThreadWhenNoBatchesInFlight() throws OperationException, StoreException, IOException {
+        // Given
+        final AddElementsHandler handler = new AddElementsHandler();
+        final AddElements addElements = new AddElements.Builder()
+                .input(createElements())
+                .build();
+        final Context context = mock(Context.class);
+        final HBaseStore store = mock(HBaseStore.class);
+
+        final BufferedMutator mutator = mockMutator(store);
+        final List<String> writerThreads = new ArrayList<>();
+        doAnswer(invocation -> writerThreads.add(Thread.currentThread().getName())).when(mutator).flush();
+
+        final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setWriteBufferSize(2);
+        properties.setMaxInFlightBatches(0);
+        given(store.getProperties()).willReturn(properties);
+
+        given(store.getSchema()).willReturn(SCHEMA);
+
+        // When
+        handler.doOperation(addElements, context, store);
+
+        // Then
+        verify(mutator, times(3)).mutate(anyListOf(Put.class));
+        assertEquals(Collections.nCopies(3, Thread.currentThread().getName()), writerThreads);
+        verify(mutator).close();
+    }
+
+    private BufferedMutator mockMutator(final HBaseStore store) throws StoreException, IOException {
+        final Connection connection = mock(Connection.class);
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        given(store.getConnection()).willReturn(connection);
+        given(connection.getBufferedMutator(any(TableName.class))).willReturn(mutator);
+        return mutator;
     }
 
     private List<Element> createElements() {
@@ -26,6 +26,7 @@ import org.junit.Test;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.hbasestore.HBaseProperties;
 import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.SampleElementsForSplitPoints;
@@ -58,6 +59,7 @@ public class SampleElementsForSplitPointsHandlerTest extends AbstractSampleEleme
         final List<HRegionInfo> tableRegions = Collections.nCopies(NUM_TABLE_REGIONS, null);
 
         given(store.getSchema()).willReturn(schema);
+        given(store.getProperties()).willReturn(new HBaseProperties());
         given(store.getConnection()).willReturn(connection);
         given(store.getTableName()).willReturn(tableName);
         given(connection.getAdmin()).willReturn(admin);
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.hbasestore.retriever;
+
+import com.google.common.collect.Lists;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+import uk.gov.gchq.gaffer.store.StoreException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class ParallelRegionScannerTest {
+    private static final byte[][] START_KEYS = {new byte[0], Bytes.toBytes("m"), Bytes.toBytes("t")};
+    private static final byte[][] END_KEYS = {Bytes.toBytes("m"), Bytes.toBytes("t"), new byte[0]};
+
+    @Test
+    public void shouldCreateAScanForEachRegionContainingARowRange() throws IOException {
+        // Given
+        final Scan scan = new Scan();
+        scan.setAttribute("attribute", Bytes.toBytes("value"));
+        final RowRange firstRegionRange = new RowRange("a", true, "c", true);
+        final RowRange spanningRange = new RowRange("k", true, "p", true);
+        final RowRange secondRegionRange = new RowRange("q", true, "r", false);
+
+        // When
+        final List<Scan> scans = ParallelRegionScanner.createRegionScans(scan,
+                Arrays.asList(firstRegionRange, spanningRange, secondRegionRange), START_KEYS, END_KEYS);
+
+        // Then
+        assertEquals(2, scans.size());
+        assertArrayEquals(new byte[0], scans.get(0).getStartRow());
+        assertArrayEquals(Bytes.toBytes("m"), scans.get(0).getStopRow());
+        assertEquals(Arrays.asList("a", "k"), getRangeStartRows(scans.get(0)));
+        assertArrayEquals(Bytes.toBytes("m"), scans.get(1).getStartRow());
+        assertArrayEquals(Bytes.toBytes("t"), scans.get(1).getStopRow());
+        assertEquals(Arrays.asList("k", "q"), getRangeStartRows(scans.get(1)));
+        for (final Scan regionScan : scans) {
+            assertArrayEquals(Bytes.toBytes("value"), regionScan.getAttribute("attribute"));
+        }
+    }
+
+    @Test
+    public void shouldCreateAScanForEveryRegionWhenARowRangeIsUnbounded() throws IOException {
+        // Given
+        final RowRange unboundedRange = new RowRange(new byte[0], true, new byte[0], false);
+
+        // When
+        final List<Scan> scans = ParallelRegionScanner.createRegionScans(new Scan(),
+                Lists.newArrayList(unboundedRange), START_KEYS, END_KEYS);
+
+        // Then
+        assertEquals(3, scans.size());
+    }
+
+    @Test
+    public void shouldMergeResultsFromAllScans() throws StoreException, IOException {
+        // Given
+        final HBaseStore store = mock(HBaseStore.class);
+        final Table table = mock(Table.class);
+        given(store.getTable()).willReturn(table);
+        final List<Scan> scans = new ArrayList<>();
+        final List<Result> expectedResults = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final Scan scan = new Scan();
+            final ResultScanner scanner = mock(ResultScanner.class);
+            final Result result1 = new Result();
+            final Result result2 = new Result();
+            given(scanner.next()).willReturn(result1, result2, null);
+            given(table.getScanner(scan)).willReturn(scanner);
+            scans.add(scan);
+            expectedResults.add(result1);
+            expectedResults.add(result2);
+        }
+
+        // When
+        final List<Result> results = new ArrayList<>();
+        try (final ParallelRegionScanner scanner = new ParallelRegionScanner(store, scans, 2)) {
+            for (final Result result : scanner) {
+                results.add(result);
+            }
+        }
+
+        // Then
+        assertEquals(expectedResults.size(), results.size());
+        assertEquals(new HashSet<>(expectedResults), new HashSet<>(results));
+    }
+
+    @Test
+    public void shouldReportScanThatFailed() throws StoreException, IOException {
+        // Given
+        final HBaseStore store = mock(HBaseStore.class);
+        final Table table = mock(Table.class);
+        given(store.getTable()).willReturn(table);
+        final Scan scan = new Scan();
+        final IOException failure = new IOException("Region unavailable");
+        given(table.getScanner(scan)).willThrow(failure);
+
+        // When / Then
+        try (final ParallelRegionScanner scanner = new ParallelRegionScanner(store, Lists.newArrayList(scan), 2)) {
+            scanner.iterator().hasNext();
+            fail("Exception expected");
+        } catch (final RuntimeException e) {
+            assertEquals(failure, e.getCause());
+        }
+    }
+
+    @Test
+    public void shouldStopScansWhenClosed() throws StoreException, IOException {
+        // Given
+        final HBaseStore store = mock(HBaseStore.class);
+        final Table table = mock(Table.class);
+        given(store.getTable()).willReturn(table);
+        final Scan scan = new Scan();
+        final ResultScanner resultScanner = mock(ResultScanner.class);
+        given(resultScanner.next()).willAnswer(invocation -> new Result());
+        given(table.getScanner(scan)).willReturn(resultScanner);
+        final ParallelRegionScanner scanner = new ParallelRegionScanner(store, Lists.newArrayList(scan), 1);
+        final CloseableIterator<Result> itr = scanner.iterator();
+        assertTrue(itr.hasNext());
+
+        // When
+        itr.close();
+
+        // Then
+        assertFalse(itr.hasNext());
+        verify(resultScanner, timeout(10000)).close();
+        verify(table, timeout(10000)).close();
+    }
+
+    @Test
+    public void shouldNotAllowLessThanOneParallelScan() {
+        // When / Then
+        try {
+            new ParallelRegionScanner(mock(HBaseStore.class), new ArrayList<>(), 0);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("at least 1"));
+        }
+    }
+
+    private List<String> getRangeStartRows(final Scan scan) {
+        final List<String> startRows = new ArrayList<>();
+        for (final RowRange rowRange : ((MultiRowRangeFilter) scan.getFilter()).getRowRanges()) {
+            startRows.add(Bytes.toString(rowRange.getStartRow()));
+        }
+        return startRows;
+    }
+}
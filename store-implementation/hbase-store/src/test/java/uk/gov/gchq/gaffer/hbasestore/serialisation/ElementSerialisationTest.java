@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.hbasestore.serialisation;
 
+import com.google.common.collect.Sets;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -41,8 +42,11 @@ import uk.gov.gchq.gaffer.types.FreqMap;
 import uk.gov.gchq.gaffer.types.function.FreqMapAggregator;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
@@ -633,6 +637,109 @@ public class ElementSerialisationTest {
         assertEquals(EdgeDirection.UNDIRECTED, direction);
     }
 
+    @Test
+    public void shouldPrefixRowKeysWithSaltBucketOfFirstVertex() throws SerialisationException {
+        // Given
+        final ElementSerialisation saltedSerialisation = createSaltedSerialisation(4);
+        final Edge edge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("1")
+                .dest("2")
+                .directed(true)
+                .build();
+        final Entity entity = new Entity(TestGroups.ENTITY, "1");
+
+        // When
+        final Pair<byte[], byte[]> edgeKeys = saltedSerialisation.getRowKeys(edge);
+        final byte[] entityKey = saltedSerialisation.getRowKey(entity);
+
+        // Then
+        final byte[] sourceBucket = {(byte) saltedSerialisation.getSaltBucket(serialisation.serialiseVertex("1"))};
+        final byte[] destBucket = {(byte) saltedSerialisation.getSaltBucket(serialisation.serialiseVertex("2"))};
+        assertArrayEquals(concat(sourceBucket, serialisation.getRowKeys(edge).getFirst()), edgeKeys.getFirst());
+        assertArrayEquals(concat(destBucket, serialisation.getRowKeys(edge).getSecond()), edgeKeys.getSecond());
+        assertArrayEquals(concat(sourceBucket, serialisation.getRowKey(entity)), entityKey);
+    }
+
+    @Test
+    public void shouldDeserialiseElementsFromSaltedRowKeys() throws SerialisationException {
+        // Given
+        final ElementSerialisation saltedSerialisation = createSaltedSerialisation(4);
+        final Edge edge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("1")
+                .dest("2")
+                .directed(true)
+                .build();
+        final Entity entity = new Entity(TestGroups.ENTITY, "3");
+        final Pair<byte[], byte[]> edgeKeys = saltedSerialisation.getRowKeys(edge);
+        final byte[][] sourceDestValues = new byte[2][];
+
+        // When
+        final Edge edgeFromFirstKey = (Edge) saltedSerialisation.getPartialElement(TestGroups.EDGE, edgeKeys.getFirst(), false);
+        final Edge edgeFromSecondKey = (Edge) saltedSerialisation.getPartialElement(TestGroups.EDGE, edgeKeys.getSecond(), false);
+        final Entity entityFromKey = (Entity) saltedSerialisation.getPartialElement(TestGroups.ENTITY, saltedSerialisation.getRowKey(entity), false);
+        final EdgeDirection direction = saltedSerialisation.getSourceAndDestination(edgeKeys.getSecond(), sourceDestValues);
+
+        // Then
+        assertEquals("1", edgeFromFirstKey.getSource());
+        assertEquals("2", edgeFromFirstKey.getDestination());
+        assertEquals("1", edgeFromSecondKey.getSource());
+        assertEquals("2", edgeFromSecondKey.getDestination());
+        assertEquals("3", entityFromKey.getVertex());
+        assertEquals(EdgeDirection.DIRECTED_REVERSED, direction);
+        assertArrayEquals(ByteArrayEscapeUtils.unEscape(serialisation.serialiseVertex("1")), sourceDestValues[0]);
+    }
+
+    @Test
+    public void shouldSpreadSequentialVerticesOverAllSaltBuckets() throws SerialisationException {
+        // Given
+        final ElementSerialisation saltedSerialisation = createSaltedSerialisation(4);
+        final Set<Byte> buckets = new HashSet<>();
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            buckets.add(saltedSerialisation.getRowKey(new Entity(TestGroups.ENTITY, "vertex" + i))[0]);
+        }
+
+        // Then
+        assertEquals(Sets.newHashSet((byte) 0, (byte) 1, (byte) 2, (byte) 3), buckets);
+    }
+
+    @Test
+    public void shouldNotSaltVertexWhenSaltingIsDisabled() throws SerialisationException {
+        // Given
+        final byte[] serialisedVertex = serialisation.serialiseVertex("1");
+
+        // When
+        final byte[] saltedVertex = serialisation.saltVertex(serialisedVertex);
+
+        // Then
+        assertArrayEquals(serialisedVertex, saltedVertex);
+        assertEquals(0, serialisation.getSaltLength());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenTooManySaltBuckets() {
+        // When / Then
+        try {
+            createSaltedSerialisation(ElementSerialisation.MAX_SALT_BUCKETS + 1);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    private ElementSerialisation createSaltedSerialisation(final int saltBuckets) {
+        return new ElementSerialisation(Schema.fromJson(StreamUtil.schemas(getClass())), saltBuckets);
+    }
+
+    private byte[] concat(final byte[] first, final byte[] second) {
+        final byte[] bytes = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, bytes, first.length, second.length);
+        return bytes;
+    }
+
     private Entity getExampleEntity(final int value) {
         final Entity entity = new Entity(TestGroups.ENTITY);
         entity.putProperty(HBasePropertyNames.COLUMN_QUALIFIER, value);
@@ -20,6 +20,7 @@ import org.apache.commons.io.FileUtils;
 import org.apache.hadoop.hbase.HTableDescriptor;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.client.RegionLocator;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -45,9 +46,11 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Paths;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class TableUtilsTest {
@@ -132,6 +135,47 @@ public class TableUtilsTest {
         }
     }
 
+    @Test
+    public void shouldCreateTableWithARegionForEachSaltBucket() throws Exception {
+        // Given
+        final SingleUseMiniHBaseStore store = new SingleUseMiniHBaseStore();
+        final HBaseProperties props = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(TableUtilsTest.class));
+        props.setRowKeySaltBuckets(4);
+
+        // When
+        store.initialise(GRAPH_ID, createSchema(), props);
+
+        // Then
+        try (final RegionLocator locator = store.getConnection().getRegionLocator(store.getTableName())) {
+            final byte[][] startKeys = locator.getStartKeys();
+            assertEquals(4, startKeys.length);
+            assertArrayEquals(new byte[0], startKeys[0]);
+            assertArrayEquals(new byte[]{1}, startKeys[1]);
+            assertArrayEquals(new byte[]{2}, startKeys[2]);
+            assertArrayEquals(new byte[]{3}, startKeys[3]);
+        }
+    }
+
+    @Test
+    public void shouldFailTableValidationWhenSaltBucketsHaveChanged() throws Exception {
+        // Given
+        final SingleUseMiniHBaseStore store = new SingleUseMiniHBaseStore();
+        final HBaseProperties props = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(TableUtilsTest.class));
+        props.setRowKeySaltBuckets(4);
+        store.initialise(GRAPH_ID, createSchema(), props);
+
+        // When
+        props.setRowKeySaltBuckets(8);
+
+        // Then
+        try {
+            TableUtils.ensureTableExists(store);
+            fail("Exception expected");
+        } catch (final StoreException e) {
+            assertTrue(e.getMessage().contains("row key salt buckets"));
+        }
+    }
+
     @Test
     public void shouldRunMainWithFileGraphLibrary() throws Exception {
         // Given
@@ -180,4 +224,19 @@ public class TableUtilsTest {
         final Pair<Schema, StoreProperties> pair = new FileGraphLibrary(FILE_GRAPH_LIBRARY_TEST_PATH).get(GRAPH_ID);
         assertNull("Graph should not have been stored", pair);
     }
+
+    private Schema createSchema() {
+        return new Schema.Builder()
+                .type(TestTypes.ID_STRING, new TypeDefinition.Builder()
+                        .aggregateFunction(new StringConcat())
+                        .clazz(String.class)
+                        .build())
+                .type(TestTypes.DIRECTED_TRUE, Boolean.class)
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source(TestTypes.ID_STRING)
+                        .destination(TestTypes.ID_STRING)
+                        .directed(TestTypes.DIRECTED_TRUE)
+                        .build())
+                .build();
+    }
 }
@@ -28,7 +28,10 @@ import uk.gov.gchq.gaffer.mapstore.impl.GetAdjacentIdsHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.GetElementsHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.MapImpl;
+import uk.gov.gchq.gaffer.mapstore.impl.MapSnapshot;
+import uk.gov.gchq.gaffer.mapstore.impl.WriteSnapshotHandler;
 import uk.gov.gchq.gaffer.mapstore.operation.CountAllElementsDefaultView;
+import uk.gov.gchq.gaffer.mapstore.operation.WriteSnapshot;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
@@ -42,6 +45,10 @@ import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
@@ -79,8 +86,54 @@ public class MapStore extends Store {
         // Initialise store
         super.initialise(graphId, schema, properties);
 
-        // Initialise maps
+        // Initialise maps, releasing the maps of any previous initialisation
+        if (null != mapImpl && mapImpl != staticMapImpl) {
+            mapImpl.close();
+        }
         mapImpl = createMapImpl();
+        restoreSnapshot();
+    }
+
+    /**
+     * Write a snapshot of the elements in this store to the path set in
+     * {@link MapStoreProperties#SNAPSHOT_PATH}.
+     *
+     * @throws StoreException if the snapshot path is not set or the snapshot could not be written
+     */
+    public void writeSnapshot() throws StoreException {
+        final String snapshotPath = getProperties().getSnapshotPath();
+        if (null == snapshotPath) {
+            throw new StoreException("The snapshot path has not been set in the store properties: " + MapStoreProperties.SNAPSHOT_PATH);
+        }
+        writeSnapshot(Paths.get(snapshotPath));
+    }
+
+    /**
+     * Write a snapshot of the elements in this store.
+     *
+     * @param path the path to write the snapshot to
+     * @throws StoreException if the snapshot could not be written
+     */
+    public void writeSnapshot(final Path path) throws StoreException {
+        LOGGER.info("Writing MapStore snapshot to {}", path);
+        try {
+            MapSnapshot.write(mapImpl, path);
+        } catch (final IOException e) {
+            throw new StoreException("Unable to write MapStore snapshot to " + path, e);
+        }
+    }
+
+    private void restoreSnapshot() throws StoreException {
+        final String snapshotPath = getProperties().getSnapshotPath();
+        if (null != snapshotPath && Files.exists(Paths.get(snapshotPath))) {
+            try {
+                if (MapSnapshot.restore(mapImpl, Paths.get(snapshotPath))) {
+                    LOGGER.info("Restored MapStore snapshot from {}", snapshotPath);
+                }
+            } catch (final IOException e) {
+                throw new StoreException("Unable to restore MapStore snapshot from " + snapshotPath, e);
+            }
+        }
     }
 
     public MapImpl getMapImpl() {
@@ -119,6 +172,7 @@ public class MapStore extends Store {
     @Override
     protected void addAdditionalOperationHandlers() {
         addOperationHandler(CountAllElementsDefaultView.class, new CountAllElementsDefaultViewHandler());
+        addOperationHandler(WriteSnapshot.class, new WriteSnapshotHandler());
     }
 
     @Override
@@ -38,6 +38,15 @@ public class MapStoreProperties extends StoreProperties {
     public static final String STATIC_MAP = "gaffer.store.mapstore.static";
     public static final String STATIC_MAP_DEFAULT = "false";
 
+    /**
+     * Property name for enabling concurrent access to the maps. If set to true
+     * then the maps and indexes are created as concurrent collections and
+     * ingest aggregation does not mutate the stored properties in place, so
+     * elements can be added and retrieved from multiple threads at once.
+     */
+    public static final String CONCURRENT = "gaffer.store.mapstore.concurrent";
+    public static final String CONCURRENT_DEFAULT = "false";
+
     /**
      * Property name for the ingest buffer size. If the value is set to less
      * than 1 then
@@ -47,6 +56,30 @@ public class MapStoreProperties extends StoreProperties {
     public static final String INGEST_BUFFER_SIZE = "gaffer.store.mapstore.map.ingest.buffer.size";
     public static final int INGEST_BUFFER_SIZE_DEFAULT = 0;
 
+    /**
+     * Property name for the parallelism to use when applying views to the
+     * results of GetAllElements and GetElements. If set to more than 1 then
+     * the results are processed in batches on a
+     * {@link java.util.concurrent.ForkJoinPool} with this parallelism.
+     */
+    public static final String PARALLELISM = "gaffer.store.mapstore.parallelism";
+    public static final int PARALLELISM_DEFAULT = 1;
+
+    /**
+     * Property name for the number of elements to read into each batch when
+     * the parallelism is more than 1.
+     */
+    public static final String PARALLEL_BATCH_SIZE = "gaffer.store.mapstore.parallel.batch.size";
+    public static final int PARALLEL_BATCH_SIZE_DEFAULT = 10000;
+
+    /**
+     * Property name for the path of the snapshot file. If the file exists
+     * then elements are restored from it when an empty store is initialised.
+     * Snapshots are written using {@link MapStore#writeSnapshot()}.
+     */
+    public static final String SNAPSHOT_PATH = "gaffer.store.mapstore.snapshot.path";
+    public static final String SNAPSHOT_PATH_DEFAULT = null;
+
     public MapStoreProperties() {
         super(MapStore.class);
     }
@@ -120,4 +153,46 @@ public class MapStoreProperties extends StoreProperties {
     public void setStaticMap(final boolean staticMap) {
         set(STATIC_MAP, Boolean.toString(staticMap));
     }
+
+    public boolean isConcurrent() {
+        return Boolean.parseBoolean(get(CONCURRENT, CONCURRENT_DEFAULT));
+    }
+
+    public void setConcurrent(final boolean concurrent) {
+        set(CONCURRENT, Boolean.toString(concurrent));
+    }
+
+    public int getParallelism() {
+        final String parallelism = get(PARALLELISM, null);
+        if (null == parallelism) {
+            return PARALLELISM_DEFAULT;
+        }
+
+        return Integer.parseInt(parallelism);
+    }
+
+    public void setParallelism(final int parallelism) {
+        set(PARALLELISM, String.valueOf(parallelism));
+    }
+
+    public int getParallelBatchSize() {
+        final String batchSize = get(PARALLEL_BATCH_SIZE, null);
+        if (null == batchSize) {
+            return PARALLEL_BATCH_SIZE_DEFAULT;
+        }
+
+        return Integer.parseInt(batchSize);
+    }
+
+    public void setParallelBatchSize(final int parallelBatchSize) {
+        set(PARALLEL_BATCH_SIZE, String.valueOf(parallelBatchSize));
+    }
+
+    public String getSnapshotPath() {
+        return get(SNAPSHOT_PATH, SNAPSHOT_PATH_DEFAULT);
+    }
+
+    public void setSnapshotPath(final String snapshotPath) {
+        set(SNAPSHOT_PATH, snapshotPath);
+    }
 }
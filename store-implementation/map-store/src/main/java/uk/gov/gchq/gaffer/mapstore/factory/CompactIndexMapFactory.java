@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.CompactMultiMap;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link SimpleMapFactory} that creates {@link CompactMultiMap}s for the
+ * {@link uk.gov.gchq.gaffer.mapstore.MapStore} indexes. This greatly reduces
+ * the amount of heap used by the indexes on large graphs, at the cost of
+ * slightly slower index updates.
+ * <p>
+ * The {@link CompactMultiMap} is not thread safe so this factory cannot be used
+ * with a concurrent map store.
+ * </p>
+ */
+public class CompactIndexMapFactory extends SimpleMapFactory {
+    private final Map<String, MultiMap> multiMaps = new HashMap<>();
+
+    @Override
+    public void initialise(final Schema schema, final MapStoreProperties properties) {
+        if (properties.isConcurrent()) {
+            throw new IllegalArgumentException(getClass().getSimpleName() + " does not support concurrent map stores");
+        }
+        super.initialise(schema, properties);
+    }
+
+    @Override
+    public <K, V> MultiMap<K, V> getMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return multiMaps.computeIfAbsent(mapName, n -> new CompactMultiMap<>(getMap(n, keyClass, int[].class)));
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        multiMaps.clear();
+    }
+}
@@ -82,6 +82,22 @@ public interface MapFactory {
      */
     void clear();
 
+    /**
+     * Write any changes to the maps that are buffered in memory to durable
+     * storage.
+     */
+    default void flush() {
+        // no action required.
+    }
+
+    /**
+     * Release any resources held by the maps. The maps can no longer be used
+     * once the factory has been closed.
+     */
+    default void close() {
+        // no action required.
+    }
+
     /**
      * Clone an element.
      *
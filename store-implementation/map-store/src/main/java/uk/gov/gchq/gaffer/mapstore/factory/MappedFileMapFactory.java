@@ -0,0 +1,330 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.mapped.MappedFile;
+import uk.gov.gchq.gaffer.mapstore.mapped.MappedFileMap;
+import uk.gov.gchq.gaffer.mapstore.mapped.MappedFileMultiMap;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.utils.CopyOnWriteElementCloner;
+import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.serialiser.EdgeIdSerialiser;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+import uk.gov.gchq.gaffer.store.serialiser.EntityIdSerialiser;
+import uk.gov.gchq.gaffer.store.serialiser.GroupedPropertiesSerialiser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.UnsupportedEncodingException;
+import java.math.BigInteger;
+import java.net.URLEncoder;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A {@link MapFactory} that creates maps holding serialised elements off heap
+ * in memory mapped files, using the {@link ToBytesSerialiser}s from the schema.
+ * This keeps the Java heap small for large graphs and allows a
+ * {@link uk.gov.gchq.gaffer.mapstore.MapStore} to be restarted without
+ * re-ingesting its data.
+ * <p>
+ * The directory to hold the files must be set using
+ * {@link MapStoreProperties#MAP_FACTORY_CONFIG}. If the directory already
+ * contains files then they are reopened. Files are shared between all stores in
+ * the same JVM that use the same directory. Each file is closed when the last
+ * factory using it is closed, so closing one store does not affect the others.
+ * </p>
+ * <p>
+ * The schema and segment size must not change between restarts. A fingerprint
+ * of them is stored in the directory when it is first used and checked when it
+ * is reopened, so the files are never read with the wrong serialisers. If
+ * {@link #CLEAR_ON_MISMATCH} is set then the existing maps are cleared when the
+ * fingerprint does not match, otherwise the factory fails to initialise.
+ * Changes to the maps are flushed to disk at the end of each
+ * {@link uk.gov.gchq.gaffer.operation.impl.add.AddElements} operation and when
+ * the last factory using a file is closed.
+ * </p>
+ * <p>
+ * The maps are not thread safe so this factory cannot be used with a
+ * concurrent map store.
+ * </p>
+ */
+public class MappedFileMapFactory implements MapFactory {
+    public static final String SEGMENT_SIZE = "gaffer.store.mapstore.map.mapped.segment.size";
+    public static final int SEGMENT_SIZE_DEFAULT = 64 * 1024 * 1024;
+    public static final String CLEAR_ON_MISMATCH = "gaffer.store.mapstore.map.mapped.clear.on.mismatch";
+    public static final String FINGERPRINT_FILE = "fingerprint.properties";
+
+    private static final String SCHEMA_FINGERPRINT = "schema.sha256";
+
+    /**
+     * The files opened by all factories in this JVM, guarded by synchronising on this map.
+     */
+    private static final Map<Path, SharedFile> OPEN_FILES = new HashMap<>();
+
+    private final ElementCloner cloner;
+    private final Map<String, Map> maps = new HashMap<>();
+    private final Map<String, MultiMap> multiMaps = new HashMap<>();
+    private final Map<Path, MappedFile> files = new HashMap<>();
+    private Schema schema;
+    private Path directory;
+    private int segmentSize = SEGMENT_SIZE_DEFAULT;
+    private boolean clearOnMismatch;
+
+    public MappedFileMapFactory() {
+        this(new CopyOnWriteElementCloner());
+    }
+
+    protected MappedFileMapFactory(final ElementCloner cloner) {
+        this.cloner = cloner;
+    }
+
+    @Override
+    public void initialise(final Schema schema, final MapStoreProperties properties) {
+        if (properties.isConcurrent()) {
+            throw new IllegalArgumentException(getClass().getSimpleName() + " does not support concurrent map stores");
+        }
+
+        final String directoryName = properties.getMapFactoryConfig();
+        if (null == directoryName) {
+            throw new IllegalArgumentException(MapStoreProperties.MAP_FACTORY_CONFIG + " must be set to the directory to store the maps in");
+        }
+
+        this.schema = schema;
+        directory = Paths.get(directoryName).toAbsolutePath();
+        segmentSize = Integer.parseInt(properties.get(SEGMENT_SIZE, String.valueOf(SEGMENT_SIZE_DEFAULT)));
+        clearOnMismatch = Boolean.parseBoolean(properties.get(CLEAR_ON_MISMATCH, "false"));
+        try {
+            Files.createDirectories(directory);
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Unable to create map directory: " + directory, e);
+        }
+        checkFingerprint();
+    }
+
+    @Override
+    public <K, V> Map<K, V> getMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return maps.computeIfAbsent(mapName, n -> new MappedFileMap<>(
+                openFile(n + ".map"), getSerialiser(keyClass), getSerialiser(valueClass)));
+    }
+
+    @Override
+    public <K, V> MultiMap<K, V> getMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        return multiMaps.computeIfAbsent(mapName, n -> new MappedFileMultiMap<>(
+                openFile(n + ".heads"), openFile(n + ".entries"), getSerialiser(keyClass), getSerialiser(valueClass)));
+    }
+
+    @Override
+    public <K, V> void updateValue(final Map<K, V> map, final K key, final V updatedValue) {
+        map.put(key, updatedValue);
+    }
+
+    @Override
+    public void clear() {
+        maps.clear();
+        multiMaps.clear();
+    }
+
+    @Override
+    public Element cloneElement(final Element element, final Schema schema) {
+        return cloner.cloneElement(element, schema);
+    }
+
+    /**
+     * Flush all changes to the mapped files used by this factory to disk.
+     */
+    @Override
+    public void flush() {
+        synchronized (OPEN_FILES) {
+            files.values().forEach(MappedFile::flush);
+        }
+    }
+
+    /**
+     * Release the mapped files used by this factory. Each file is flushed and
+     * closed once no other factory is using it. The maps created by this
+     * factory can no longer be used.
+     */
+    @Override
+    public void close() {
+        synchronized (OPEN_FILES) {
+            for (final Path path : files.keySet()) {
+                final SharedFile sharedFile = OPEN_FILES.get(path);
+                sharedFile.references--;
+                if (0 == sharedFile.references) {
+                    OPEN_FILES.remove(path);
+                    try {
+                        sharedFile.file.close();
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException("Unable to close map file: " + path, e);
+                    }
+                }
+            }
+            files.clear();
+        }
+        maps.clear();
+        multiMaps.clear();
+    }
+
+    protected Path getDirectory() {
+        return directory;
+    }
+
+    private void checkFingerprint() {
+        final Properties fingerprint = new Properties();
+        fingerprint.setProperty(SCHEMA_FINGERPRINT, getSchemaFingerprint());
+        fingerprint.setProperty(SEGMENT_SIZE, String.valueOf(segmentSize));
+
+        final Path path = directory.resolve(FINGERPRINT_FILE);
+        synchronized (OPEN_FILES) {
+            try {
+                if (Files.exists(path)) {
+                    final Properties existingFingerprint = new Properties();
+                    try (final InputStream input = Files.newInputStream(path)) {
+                        existingFingerprint.load(input);
+                    }
+                    if (fingerprint.equals(existingFingerprint)) {
+                        return;
+                    }
+                    if (!clearOnMismatch) {
+                        throw new IllegalArgumentException("The map files in " + directory
+                                + " were written with a different schema or segment size. Expected "
+                                + existingFingerprint + " but was " + fingerprint);
+                    }
+                    clearFiles();
+                }
+                try (final OutputStream output = Files.newOutputStream(path)) {
+                    fingerprint.store(output, "The schema and segment size the map files were written with");
+                }
+            } catch (final IOException e) {
+                throw new IllegalArgumentException("Unable to check the fingerprint of the map files in " + directory, e);
+            }
+        }
+    }
+
+    // Must be called whilst synchronised on OPEN_FILES
+    private void clearFiles() throws IOException {
+        try (final DirectoryStream<Path> paths = Files.newDirectoryStream(directory)) {
+            for (final Path path : paths) {
+                final SharedFile sharedFile = OPEN_FILES.get(path);
+                if (null != sharedFile) {
+                    sharedFile.file.clear();
+                } else if (!FINGERPRINT_FILE.equals(path.getFileName().toString())) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    private String getSchemaFingerprint() {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(schema.toCompactJson());
+            return String.format("%064x", new BigInteger(1, digest));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private MappedFile openFile(final String fileName) {
+        final Path path;
+        try {
+            path = directory.resolve(URLEncoder.encode(fileName, "UTF-8"));
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalArgumentException("Unable to encode file name: " + fileName, e);
+        }
+
+        synchronized (OPEN_FILES) {
+            return files.computeIfAbsent(path, p -> {
+                final SharedFile sharedFile = OPEN_FILES.computeIfAbsent(p, newPath -> {
+                    try {
+                        return new SharedFile(new MappedFile(newPath, segmentSize));
+                    } catch (final IOException e) {
+                        throw new IllegalArgumentException("Unable to open map file: " + newPath, e);
+                    }
+                });
+                sharedFile.references++;
+                return sharedFile.file;
+            });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ToBytesSerialiser<T> getSerialiser(final Class<T> clazz) {
+        final ToBytesSerialiser serialiser;
+        if (Element.class.isAssignableFrom(clazz)) {
+            serialiser = new ElementSerialiser(schema);
+        } else if (GroupedProperties.class.isAssignableFrom(clazz)) {
+            serialiser = new NonGroupByPropertiesSerialiser(schema);
+        } else if (EntityId.class.isAssignableFrom(clazz)) {
+            serialiser = new EntityIdSerialiser(schema);
+        } else if (EdgeId.class.isAssignableFrom(clazz)) {
+            serialiser = new EdgeIdSerialiser(schema);
+        } else if (Long.class.equals(clazz)) {
+            serialiser = new CompactRawLongSerialiser();
+        } else {
+            throw new IllegalArgumentException("No serialiser available for map class: " + clazz.getName());
+        }
+        return serialiser;
+    }
+
+    private static final class SharedFile {
+        private final MappedFile file;
+        private int references;
+
+        private SharedFile(final MappedFile file) {
+            this.file = file;
+        }
+    }
+
+    /**
+     * The {@link GroupedPropertiesSerialiser} writes every property in the
+     * schema, so the group-by properties, which are not held in the aggregated
+     * properties, would otherwise be deserialised as empty values and
+     * overwrite the group-by properties from the element.
+     */
+    private static final class NonGroupByPropertiesSerialiser extends GroupedPropertiesSerialiser {
+        private static final long serialVersionUID = 6107813546366441284L;
+
+        private NonGroupByPropertiesSerialiser(final Schema schema) {
+            super(schema);
+        }
+
+        @Override
+        public GroupedProperties deserialise(final byte[] bytes) throws SerialisationException {
+            final GroupedProperties properties = super.deserialise(bytes);
+            properties.remove(schema.getElement(properties.getGroup()).getGroupBy());
+            return properties;
+        }
+    }
+}
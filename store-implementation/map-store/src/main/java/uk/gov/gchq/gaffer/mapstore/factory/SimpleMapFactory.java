@@ -17,30 +17,40 @@ package uk.gov.gchq.gaffer.mapstore.factory;
 
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.ConcurrentMapOfSets;
 import uk.gov.gchq.gaffer.mapstore.multimap.MapOfSets;
 import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.utils.CopyOnWriteElementCloner;
 import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Default implementation of the {@link MapFactory} interface, used to create map
  * instances for the {@link uk.gov.gchq.gaffer.mapstore.MapStore}.
+ * <p>
+ * If the store properties request a concurrent map store then the configured map
+ * class must be a {@link ConcurrentMap} and defaults to {@link ConcurrentHashMap}.
+ * </p>
  */
 public class SimpleMapFactory implements MapFactory {
     public static final String MAP_CLASS = "gaffer.store.mapstore.map.class";
     public static final String MAP_CLASS_DEFAULT = HashMap.class.getName();
+    public static final String CONCURRENT_MAP_CLASS_DEFAULT = ConcurrentHashMap.class.getName();
 
     private final ElementCloner cloner;
     private Class<? extends Map> mapClass = HashMap.class;
+    private boolean concurrent;
 
     private Map<String, Map> maps = new HashMap<>();
     private Map<String, MultiMap> multiMaps = new HashMap<>();
 
     public SimpleMapFactory() {
-        this(new ElementCloner());
+        this(new CopyOnWriteElementCloner());
     }
 
     protected SimpleMapFactory(final ElementCloner cloner) {
@@ -49,9 +59,13 @@ public class SimpleMapFactory implements MapFactory {
 
     @Override
     public void initialise(final Schema schema, final MapStoreProperties properties) {
-        final String mapClassName = properties.get(MAP_CLASS, MAP_CLASS_DEFAULT);
+        concurrent = properties.isConcurrent();
+        final String mapClassName = properties.get(MAP_CLASS, concurrent ? CONCURRENT_MAP_CLASS_DEFAULT : MAP_CLASS_DEFAULT);
         try {
             mapClass = Class.forName(mapClassName).asSubclass(Map.class);
+            if (concurrent) {
+                mapClass.asSubclass(ConcurrentMap.class);
+            }
         } catch (final ClassNotFoundException | ClassCastException e) {
             throw new IllegalArgumentException("Map Class is invalid: " + mapClassName, e);
         }
@@ -73,6 +87,9 @@ public class SimpleMapFactory implements MapFactory {
 
     @Override
     public <K, V> MultiMap<K, V> getMultiMap(final String mapName, final Class<K> keyClass, final Class<V> valueClass) {
+        if (concurrent) {
+            return multiMaps.computeIfAbsent(mapName, n -> new ConcurrentMapOfSets((ConcurrentMap) getMap(n, keyClass, valueClass)));
+        }
         return multiMaps.computeIfAbsent(mapName, n -> new MapOfSets(getMap(n, keyClass, valueClass)));
     }
 
@@ -90,4 +107,8 @@ public class SimpleMapFactory implements MapFactory {
     protected Class<? extends Map> getMapClass() {
         return mapClass;
     }
+
+    protected boolean isConcurrent() {
+        return concurrent;
+    }
 }
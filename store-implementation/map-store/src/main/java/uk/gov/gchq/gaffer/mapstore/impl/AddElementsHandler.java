@@ -35,7 +35,6 @@ import uk.gov.gchq.gaffer.store.ValidatedElements;
 import uk.gov.gchq.gaffer.store.operation.handler.OperationHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
-import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -54,6 +53,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         }
 
         addElements(elements, (MapStore) store);
+        ((MapStore) store).getMapImpl().flush();
         return null;
     }
 
@@ -75,7 +75,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
                     batch.add(element);
                     count++;
                     if (count >= bufferSize) {
-                        addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema));
+                        addBatch(mapImpl, schema, mapImpl.ingestAggregate(batch));
                         batch.clear();
                         count = 0;
                     }
@@ -83,7 +83,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             }
 
             if (count > 0) {
-                addBatch(mapImpl, schema, AggregatorUtil.ingestAggregate(batch, schema));
+                addBatch(mapImpl, schema, mapImpl.ingestAggregate(batch));
             }
         }
     }
@@ -139,7 +139,7 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
         return elementClone;
     }
 
-    private void updateElementIndex(final Element element, final MapImpl mapImpl) {
+    static void updateElementIndex(final Element element, final MapImpl mapImpl) {
         if (element instanceof Entity) {
             final Entity entity = (Entity) element;
             final EntityId entityId = new EntitySeed(entity.getVertex());
@@ -150,9 +150,9 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             final EntityId sourceEntityId = new EntitySeed(edge.getSource());
             mapImpl.addIndex(sourceEntityId, edge);
 
-            final Edge destMatchedEdge = new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.DESTINATION, edge.getProperties());
+            // The destination matched edge is created on lookup
             final EntityId destinationEntityId = new EntitySeed(edge.getDestination());
-            mapImpl.addIndex(destinationEntityId, destMatchedEdge);
+            mapImpl.addIndex(destinationEntityId, edge);
 
             final EdgeId edgeId = new EdgeSeed(edge.getSource(), edge.getDestination(), edge.isDirected());
             mapImpl.addIndex(edgeId, edge);
@@ -18,7 +18,6 @@ package uk.gov.gchq.gaffer.mapstore.impl;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
@@ -62,13 +61,12 @@ public class GetAllElementsHandler implements OutputOperationHandler<GetAllEleme
         public CloseableIterator<Element> iterator() {
             Stream<Element> elements = mapImpl.getAllElements(getAllElements.getView().getGroups());
             elements = GetElementsUtil.applyDirectedTypeFilter(elements, getAllElements.getView().hasEdges(), getAllElements.getDirectedType());
-            elements = GetElementsUtil.applyView(elements, schema, getAllElements.getView());
-            elements = elements.map(element -> mapImpl.cloneElement(element, schema));
-            elements = elements.map(element -> {
-                ViewUtil.removeProperties(getAllElements.getView(), element);
-                return element;
-            });
-            return new WrappedCloseableIterator<>(elements.iterator());
+            return mapImpl.iterator(elements, getAllElements.getView(), (stream, view) ->
+                    GetElementsUtil.applyView(stream.map(element -> mapImpl.cloneElement(element, schema)), schema, view)
+                            .map(element -> {
+                                ViewUtil.removeProperties(view, element);
+                                return element;
+                            }));
         }
     }
 }
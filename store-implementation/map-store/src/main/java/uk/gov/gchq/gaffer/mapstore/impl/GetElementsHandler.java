@@ -19,7 +19,6 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
@@ -76,13 +75,12 @@ public class GetElementsHandler
             Stream<Element> elements = Streams.toStream(getElements.getInput())
                     .flatMap(elementId -> GetElementsUtil.getRelevantElements(mapImpl, elementId, getElements.getView(), getElements.getDirectedType(), getElements.getIncludeIncomingOutGoing(), getElements.getSeedMatching()).stream());
             elements = elements.flatMap(e -> Streams.toStream(mapImpl.getElements(e)));
-            elements = GetElementsUtil.applyView(elements, schema, getElements.getView());
-            elements = elements.map(element -> mapImpl.cloneElement(element, schema));
-            elements = elements.map(element -> {
-                ViewUtil.removeProperties(getElements.getView(), element);
-                return element;
-            });
-            return new WrappedCloseableIterator<>(elements.iterator());
+            return mapImpl.iterator(elements, getElements.getView(), (stream, view) ->
+                    GetElementsUtil.applyView(stream.map(element -> mapImpl.cloneElement(element, schema)), schema, view)
+                            .map(element -> {
+                                ViewUtil.removeProperties(view, element);
+                                return element;
+                            }));
         }
     }
 }
@@ -15,27 +15,39 @@
  */
 package uk.gov.gchq.gaffer.mapstore.impl;
 
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.RepeatItemIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
 import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
 import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
+import uk.gov.gchq.gaffer.store.job.JobCancellation;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 import java.util.stream.Stream;
 
 /**
@@ -53,6 +65,15 @@ import java.util.stream.Stream;
  * handlers for the {@link uk.gov.gchq.gaffer.mapstore.MapStore} to be placed in the
  * same package and get access to the maps, without exposing the internal state of
  * the MapStore to classes outside of this package.
+ *
+ * If {@link MapStoreProperties#isConcurrent()} is true then the backing maps are
+ * concurrent and ingest aggregation aggregates the stored properties into the
+ * newly added properties rather than mutating the stored properties in place.
+ * This means readers never observe partially aggregated properties and several
+ * threads can add and retrieve elements without any external locking.
+ *
+ * If {@link MapStoreProperties#getParallelism()} is more than 1 then views are
+ * applied to the retrieved elements in parallel on a {@link ForkJoinPool}.
  */
 public class MapImpl {
     public static final String AGG_ELEMENTS = "aggElements";
@@ -89,13 +110,43 @@ public class MapImpl {
     private final List<String> aggregatedGroups;
     private final Schema schema;
     private final boolean maintainIndex;
-    private final AggregatorUtil.IngestPropertiesBinaryOperator propertyAggregator;
+    private final BinaryOperator<GroupedProperties> propertyAggregator;
+    private final Queue<Schema> aggregationSchemas;
+    private final ForkJoinPool forkJoinPool;
+    private final int parallelBatchSize;
 
     public MapImpl(final Schema schema, final MapStoreProperties mapStoreProperties) {
         this.schema = schema;
-        propertyAggregator = new AggregatorUtil.IngestPropertiesBinaryOperator(schema);
+        if (mapStoreProperties.isConcurrent()) {
+            // The schema aggregators are stateful so each ingest thread borrows
+            // its own copy from a pool owned by this MapImpl.
+            aggregationSchemas = new ConcurrentLinkedQueue<>();
+            propertyAggregator = (existing, added) -> {
+                // The existing properties may be read by other threads, so
+                // they are aggregated into a copy rather than modified. The
+                // values are copied too as aggregators may update them in place.
+                final SchemaElementDefinition elementDefinition = schema.getElement(existing.getGroup());
+                final GroupedProperties aggregated = new GroupedProperties(existing.getGroup());
+                for (final Map.Entry<String, Object> entry : existing.entrySet()) {
+                    aggregated.put(entry.getKey(), ElementCloner.isImmutable(entry.getValue())
+                            ? entry.getValue()
+                            : ElementCloner.cloneProperty(elementDefinition, entry.getKey(), entry.getValue()));
+                }
+                final Schema aggregationSchema = borrowAggregationSchema();
+                try {
+                    return new AggregatorUtil.IngestPropertiesBinaryOperator(aggregationSchema).apply(aggregated, added);
+                } finally {
+                    releaseAggregationSchema(aggregationSchema);
+                }
+            };
+        } else {
+            aggregationSchemas = null;
+            propertyAggregator = new AggregatorUtil.IngestPropertiesBinaryOperator(schema);
+        }
         mapFactory = createMapFactory(schema, mapStoreProperties);
         maintainIndex = mapStoreProperties.getCreateIndex();
+        forkJoinPool = mapStoreProperties.getParallelism() > 1 ? new ForkJoinPool(mapStoreProperties.getParallelism()) : null;
+        parallelBatchSize = mapStoreProperties.getParallelBatchSize();
 
         for (final String group : schema.getGroups()) {
             aggElements.put(group, mapFactory.getMap(group + "|" + AGG_ELEMENTS, Element.class, GroupedProperties.class));
@@ -116,14 +167,33 @@ public class MapImpl {
     }
 
     public void clear() {
-        aggElements.clear();
-        nonAggElements.clear();
+        aggElements.values().forEach(Map::clear);
+        nonAggElements.values().forEach(Map::clear);
         if (maintainIndex) {
             entityIdToElements.clear();
             edgeIdToElements.clear();
         }
     }
 
+    /**
+     * Writes any changes to the maps that are buffered in memory to durable
+     * storage, if the maps are backed by durable storage.
+     */
+    public void flush() {
+        mapFactory.flush();
+    }
+
+    /**
+     * Releases the resources held by the maps. The maps can no longer be used
+     * once they have been closed.
+     */
+    public void close() {
+        if (null != forkJoinPool) {
+            forkJoinPool.shutdown();
+        }
+        mapFactory.close();
+    }
+
     void addNonAggElement(final Element element) {
         nonAggElements.get(element.getGroup()).merge(element, 1L, (a, b) -> a + b);
     }
@@ -133,13 +203,36 @@ public class MapImpl {
                 .merge(elementWithGroupByProperties, properties, propertyAggregator);
     }
 
+    Map<Element, GroupedProperties> getAggElementsMap(final String group) {
+        return aggElements.get(group);
+    }
+
+    Map<Element, Long> getNonAggElementsMap(final String group) {
+        return nonAggElements.get(group);
+    }
+
     Collection<Element> lookup(final EntityId entitId) {
-        Collection<Element> results = entityIdToElements.get(entitId);
+        final Collection<Element> results = entityIdToElements.get(entitId);
         if (null == results) {
-            results = Collections.emptySet();
+            return Collections.emptySet();
         }
 
-        return results;
+        // Only one version of each edge is indexed, so the matched vertex
+        // needs to be set based on the vertex that was looked up.
+        final List<Element> matchedResults = new ArrayList<>(results.size());
+        for (final Element element : results) {
+            if (element instanceof Edge) {
+                final Edge edge = (Edge) element;
+                final EdgeId.MatchedVertex matchedVertex = entitId.getVertex().equals(edge.getSource())
+                        ? EdgeId.MatchedVertex.SOURCE : EdgeId.MatchedVertex.DESTINATION;
+                if (matchedVertex != edge.getMatchedVertex()) {
+                    matchedResults.add(new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), matchedVertex, edge.getProperties()));
+                    continue;
+                }
+            }
+            matchedResults.add(element);
+        }
+        return matchedResults;
     }
 
     Collection<Element> lookup(final EdgeId edgeId) {
@@ -183,7 +276,7 @@ public class MapImpl {
                     final Element element = x.getKey().emptyClone();
                     element.copyProperties(x.getKey().getProperties());
                     element.copyProperties(x.getValue());
-                    return cloneElement(element, schema);
+                    return element;
                 });
     }
 
@@ -192,7 +285,7 @@ public class MapImpl {
                 .filter(entry -> groups.contains(entry.getKey()))
                 .map(Map.Entry::getValue)
                 .flatMap(map -> map.entrySet().stream())
-                .map(x -> new RepeatItemIterable<>(cloneElement(x.getKey(), schema), x.getValue()))
+                .map(x -> new RepeatItemIterable<>(x.getKey(), x.getValue()))
                 .flatMap(Streams::toStream);
     }
 
@@ -200,6 +293,28 @@ public class MapImpl {
         return Stream.concat(getAllAggElements(groups), getAllNonAggElements(groups));
     }
 
+    /**
+     * Apply a pipeline of stream operations, such as applying a view, to the
+     * provided elements. If the parallelism is more than 1 then the pipeline
+     * is applied to batches of elements in parallel.
+     *
+     * @param elements the elements retrieved from this class
+     * @param view     the view the pipeline applies
+     * @param pipeline the function that applies the pipeline to a stream using the provided view
+     * @return an iterator of the resulting elements
+     */
+    CloseableIterator<Element> iterator(final Stream<Element> elements,
+                                        final View view,
+                                        final BiFunction<Stream<Element>, View, Stream<Element>> pipeline) {
+        // The source elements are always consumed by the calling thread, so
+        // cancellation of a job can be checked here.
+        final Stream<Element> cancellableElements = elements.peek(element -> JobCancellation.checkCancelled());
+        if (null == forkJoinPool) {
+            return new WrappedCloseableIterator<>(pipeline.apply(cancellableElements, view).iterator());
+        }
+        return new ParallelElementIterator(cancellableElements, view, pipeline, forkJoinPool, parallelBatchSize);
+    }
+
     void addIndex(final EntityId entityId, final Element element) {
         entityIdToElements.put(entityId, element);
     }
@@ -212,10 +327,53 @@ public class MapImpl {
         return maintainIndex;
     }
 
+    /**
+     * Clone an element returned from this class. The elements returned from
+     * this class may share state with the stored elements, so they must be
+     * cloned before they are modified or returned to the user.
+     *
+     * @param element the element to clone
+     * @param schema  the schema
+     * @return the cloned element
+     */
     Element cloneElement(final Element element, final Schema schema) {
         return mapFactory.cloneElement(element, schema);
     }
 
+    /**
+     * Applies ingest aggregation to a batch of elements, using a copy of the
+     * schema that is not used by any other thread at the same time.
+     *
+     * @param elements the elements to aggregate
+     * @return the aggregated elements
+     */
+    Iterable<Element> ingestAggregate(final Iterable<? extends Element> elements) {
+        final Schema aggregationSchema = borrowAggregationSchema();
+        try {
+            return AggregatorUtil.ingestAggregate(elements, aggregationSchema);
+        } finally {
+            releaseAggregationSchema(aggregationSchema);
+        }
+    }
+
+    private Schema borrowAggregationSchema() {
+        if (null == aggregationSchemas) {
+            return schema;
+        }
+        final Schema aggregationSchema = aggregationSchemas.poll();
+        return null != aggregationSchema ? aggregationSchema : schema.clone();
+    }
+
+    private void releaseAggregationSchema(final Schema aggregationSchema) {
+        if (null != aggregationSchemas) {
+            aggregationSchemas.offer(aggregationSchema);
+        }
+    }
+
+    Schema getSchema() {
+        return schema;
+    }
+
     Set<String> getGroupByProperties(final String group) {
         return groupToGroupByProperties.get(group);
     }
@@ -0,0 +1,337 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.serialiser.ElementSerialiser;
+import uk.gov.gchq.gaffer.store.serialiser.GroupedPropertiesSerialiser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes and restores snapshots of the elements held in a {@link MapImpl}.
+ * <p>
+ * A snapshot is a binary file containing the aggregated elements with their
+ * properties and the non aggregated elements with their counts, serialised
+ * using the serialisers from the schema. The records are written in blocks,
+ * followed by a table of the blocks, so the blocks can be deserialised in
+ * parallel when the snapshot is restored. The indexes are rebuilt from the
+ * restored elements rather than being written to the snapshot.
+ * </p>
+ * <p>
+ * The schema must not change between writing and restoring a snapshot.
+ * </p>
+ */
+public final class MapSnapshot {
+    private static final int MAGIC = 0x4741464D;
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = Integer.BYTES * 2;
+    private static final int TRAILER_LENGTH = Long.BYTES + Integer.BYTES;
+    private static final int BLOCK_SIZE = 16 * 1024 * 1024;
+    private static final byte AGG_BLOCK = 0;
+    private static final byte NON_AGG_BLOCK = 1;
+
+    private MapSnapshot() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * Write a snapshot of all the elements in the {@link MapImpl}. The snapshot
+     * is written to a temporary file which then replaces any existing file at
+     * the path.
+     *
+     * @param mapImpl the map to write a snapshot of
+     * @param path    the path to write the snapshot to
+     * @throws IOException if the snapshot could not be written
+     */
+    public static void write(final MapImpl mapImpl, final Path path) throws IOException {
+        final Schema schema = mapImpl.getSchema();
+        final ElementSerialiser elementSerialiser = new ElementSerialiser(schema);
+        final GroupedPropertiesSerialiser propertiesSerialiser = new GroupedPropertiesSerialiser(schema);
+        final Path tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (final FileChannel channel = FileChannel.open(tmpPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            header.putInt(MAGIC).putInt(VERSION).flip();
+            writeFully(channel, header);
+
+            final BlockWriter writer = new BlockWriter(channel);
+            for (final String group : schema.getGroups()) {
+                writer.startBlock(AGG_BLOCK, group);
+                for (final Map.Entry<Element, GroupedProperties> entry : mapImpl.getAggElementsMap(group).entrySet()) {
+                    final DataOutputStream record = writer.startRecord();
+                    writeBytes(record, serialise(elementSerialiser, entry.getKey()));
+                    writeBytes(record, serialise(propertiesSerialiser, entry.getValue()));
+                }
+                writer.endBlock();
+
+                writer.startBlock(NON_AGG_BLOCK, group);
+                for (final Map.Entry<Element, Long> entry : mapImpl.getNonAggElementsMap(group).entrySet()) {
+                    final DataOutputStream record = writer.startRecord();
+                    writeBytes(record, serialise(elementSerialiser, entry.getKey()));
+                    record.writeLong(entry.getValue());
+                }
+                writer.endBlock();
+            }
+
+            final long blocksOffset = channel.position();
+            final ByteArrayOutputStream blocksBytes = new ByteArrayOutputStream();
+            final DataOutputStream blocksOutput = new DataOutputStream(blocksBytes);
+            blocksOutput.writeInt(writer.blocks.size());
+            for (final Block block : writer.blocks) {
+                block.write(blocksOutput);
+            }
+            blocksOutput.writeLong(blocksOffset);
+            blocksOutput.writeInt(MAGIC);
+            blocksOutput.flush();
+            writeFully(channel, ByteBuffer.wrap(blocksBytes.toByteArray()));
+            channel.force(true);
+        }
+        Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restore the elements from a snapshot into the {@link MapImpl}. The blocks
+     * in the snapshot are deserialised in parallel and the elements are added
+     * directly to the maps without being aggregated, so nothing is restored
+     * if the {@link MapImpl} already contains elements.
+     *
+     * @param mapImpl the map to restore the elements into
+     * @param path    the path of the snapshot
+     * @return true if the snapshot was restored, false if the map was not empty
+     * @throws IOException if the snapshot could not be read
+     */
+    public static boolean restore(final MapImpl mapImpl, final Path path) throws IOException {
+        if (mapImpl.countAggElements() > 0 || mapImpl.countNonAggElements() > 0) {
+            return false;
+        }
+
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < HEADER_LENGTH + TRAILER_LENGTH) {
+                throw new IOException("File is not a MapStore snapshot: " + path);
+            }
+
+            final ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_LENGTH);
+            if (MAGIC != header.getInt()) {
+                throw new IOException("File is not a MapStore snapshot: " + path);
+            }
+            final int version = header.getInt();
+            if (VERSION != version) {
+                throw new IOException("Unsupported MapStore snapshot version " + version + ": " + path);
+            }
+
+            final ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - TRAILER_LENGTH, TRAILER_LENGTH);
+            final long blocksOffset = trailer.getLong();
+            if (MAGIC != trailer.getInt() || blocksOffset < HEADER_LENGTH || blocksOffset > size - TRAILER_LENGTH) {
+                throw new IOException("MapStore snapshot is incomplete: " + path);
+            }
+
+            final ByteBuffer blocksBuffer = channel.map(FileChannel.MapMode.READ_ONLY, blocksOffset, size - TRAILER_LENGTH - blocksOffset);
+            final byte[] blocksBytes = new byte[blocksBuffer.remaining()];
+            blocksBuffer.get(blocksBytes);
+            final DataInputStream blocksInput = new DataInputStream(new ByteArrayInputStream(blocksBytes));
+            final int numBlocks = blocksInput.readInt();
+            final List<Block> blocks = new ArrayList<>(numBlocks);
+            for (int i = 0; i < numBlocks; i++) {
+                final Block block = Block.read(blocksInput);
+                if (null == mapImpl.getAggElementsMap(block.group)) {
+                    throw new IllegalArgumentException("MapStore snapshot contains group " + block.group + " which is not in the schema");
+                }
+                blocks.add(block);
+            }
+
+            final Object lock = new Object();
+            try {
+                blocks.parallelStream().forEach(block -> restoreBlock(mapImpl, channel, block, lock));
+            } catch (final UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        return true;
+    }
+
+    private static void restoreBlock(final MapImpl mapImpl, final FileChannel channel, final Block block, final Object lock) {
+        final ByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, block.offset, block.length);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final Schema schema = mapImpl.getSchema();
+        final ElementSerialiser elementSerialiser = new ElementSerialiser(schema);
+        final List<Element> elements = new ArrayList<>(block.count);
+        if (AGG_BLOCK == block.type) {
+            final GroupedPropertiesSerialiser propertiesSerialiser = new GroupedPropertiesSerialiser(schema);
+            final List<GroupedProperties> properties = new ArrayList<>(block.count);
+            for (int i = 0; i < block.count; i++) {
+                elements.add(deserialise(elementSerialiser, readBytes(buffer)));
+                // Group-by properties are serialised as empty values so must be removed.
+                final GroupedProperties groupedProperties = deserialise(propertiesSerialiser, readBytes(buffer));
+                groupedProperties.remove(mapImpl.getGroupByProperties(block.group));
+                properties.add(groupedProperties);
+            }
+            synchronized (lock) {
+                final Map<Element, GroupedProperties> map = mapImpl.getAggElementsMap(block.group);
+                for (int i = 0; i < block.count; i++) {
+                    map.put(elements.get(i), properties.get(i));
+                    updateIndex(mapImpl, elements.get(i));
+                }
+            }
+        } else {
+            final long[] counts = new long[block.count];
+            for (int i = 0; i < block.count; i++) {
+                elements.add(deserialise(elementSerialiser, readBytes(buffer)));
+                counts[i] = buffer.getLong();
+            }
+            synchronized (lock) {
+                final Map<Element, Long> map = mapImpl.getNonAggElementsMap(block.group);
+                for (int i = 0; i < block.count; i++) {
+                    map.put(elements.get(i), counts[i]);
+                    updateIndex(mapImpl, elements.get(i));
+                }
+            }
+        }
+    }
+
+    private static void updateIndex(final MapImpl mapImpl, final Element element) {
+        if (mapImpl.isMaintainIndex()) {
+            AddElementsHandler.updateElementIndex(element, mapImpl);
+        }
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void writeBytes(final DataOutputStream output, final byte[] bytes) throws IOException {
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static byte[] readBytes(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static <T> byte[] serialise(final ToBytesSerialiser<T> serialiser, final T value) {
+        try {
+            return serialiser.serialise(value);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("Unable to serialise value for MapStore snapshot", e);
+        }
+    }
+
+    private static <T> T deserialise(final ToBytesSerialiser<T> serialiser, final byte[] bytes) {
+        try {
+            return serialiser.deserialise(bytes);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("Unable to deserialise value from MapStore snapshot", e);
+        }
+    }
+
+    /**
+     * Buffers records into blocks of around {@link #BLOCK_SIZE} bytes and
+     * writes each block to the channel.
+     */
+    private static final class BlockWriter {
+        private final FileChannel channel;
+        private final List<Block> blocks = new ArrayList<>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream output = new DataOutputStream(bytes);
+        private byte type;
+        private String group;
+        private int count;
+
+        private BlockWriter(final FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private void startBlock(final byte blockType, final String blockGroup) {
+            this.type = blockType;
+            this.group = blockGroup;
+        }
+
+        private DataOutputStream startRecord() throws IOException {
+            if (bytes.size() >= BLOCK_SIZE) {
+                endBlock();
+            }
+            count++;
+            return output;
+        }
+
+        private void endBlock() throws IOException {
+            output.flush();
+            if (count > 0) {
+                blocks.add(new Block(type, group, channel.position(), bytes.size(), count));
+                bytes.writeTo(Channels.newOutputStream(channel));
+            }
+            bytes.reset();
+            count = 0;
+        }
+    }
+
+    private static final class Block {
+        private final byte type;
+        private final String group;
+        private final long offset;
+        private final int length;
+        private final int count;
+
+        private Block(final byte type, final String group, final long offset, final int length, final int count) {
+            this.type = type;
+            this.group = group;
+            this.offset = offset;
+            this.length = length;
+            this.count = count;
+        }
+
+        private void write(final DataOutputStream output) throws IOException {
+            output.writeByte(type);
+            output.writeUTF(group);
+            output.writeLong(offset);
+            output.writeInt(length);
+            output.writeInt(count);
+        }
+
+        private static Block read(final DataInputStream input) throws IOException {
+            return new Block(input.readByte(), input.readUTF(), input.readLong(), input.readInt(), input.readInt());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A {@link CloseableIterator} that applies a pipeline of stream operations,
+ * such as view filters and transforms, to batches of elements in parallel on
+ * a {@link ForkJoinPool}.
+ * <p>
+ * The source elements are read sequentially into batches. Each batch is split
+ * into one chunk per thread in the pool and the results are returned in the
+ * same order as the source elements. Only one batch of results is held in
+ * memory at a time.
+ * </p>
+ * <p>
+ * The filters and transformers in a {@link View} are not thread safe, so each
+ * chunk is processed with a clone of the view that no other chunk is using at
+ * the same time. The clones are reused between batches and are held by this
+ * iterator rather than by the threads in the shared pool, so they are released
+ * along with the iterator.
+ * </p>
+ */
+class ParallelElementIterator implements CloseableIterator<Element> {
+    private final Stream<Element> sourceStream;
+    private final Iterator<Element> source;
+    private final BiFunction<Stream<Element>, View, Stream<Element>> pipeline;
+    private final View view;
+    private final Queue<View> idleViews = new ConcurrentLinkedQueue<>();
+    private final ForkJoinPool pool;
+    private final int batchSize;
+    private Iterator<Element> results = Collections.emptyIterator();
+
+    ParallelElementIterator(final Stream<Element> source,
+                            final View view,
+                            final BiFunction<Stream<Element>, View, Stream<Element>> pipeline,
+                            final ForkJoinPool pool,
+                            final int batchSize) {
+        this.sourceStream = source;
+        this.source = source.iterator();
+        this.view = view;
+        this.pipeline = pipeline;
+        this.pool = pool;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!results.hasNext() && source.hasNext()) {
+            results = processBatch(readBatch()).iterator();
+        }
+        return results.hasNext();
+    }
+
+    @Override
+    public Element next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return results.next();
+    }
+
+    @Override
+    public void close() {
+        results = Collections.emptyIterator();
+        idleViews.clear();
+        sourceStream.close();
+    }
+
+    private List<Element> readBatch() {
+        final List<Element> batch = new ArrayList<>(batchSize);
+        while (batch.size() < batchSize && source.hasNext()) {
+            batch.add(source.next());
+        }
+        return batch;
+    }
+
+    private List<Element> processBatch(final List<Element> batch) {
+        final int chunkSize = Math.max(1, (batch.size() + pool.getParallelism() - 1) / pool.getParallelism());
+        final List<Future<List<Element>>> chunks = new ArrayList<>();
+        for (int start = 0; start < batch.size(); start += chunkSize) {
+            final List<Element> chunk = batch.subList(start, Math.min(start + chunkSize, batch.size()));
+            chunks.add(pool.submit(() -> processChunk(chunk)));
+        }
+
+        final List<Element> processed = new ArrayList<>(batch.size());
+        try {
+            for (final Future<List<Element>> chunk : chunks) {
+                processed.addAll(chunk.get());
+            }
+        } catch (final InterruptedException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted whilst processing elements", e);
+        } catch (final ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Unable to process elements", e.getCause());
+        }
+        return processed;
+    }
+
+    private List<Element> processChunk(final List<Element> chunk) {
+        View chunkView = idleViews.poll();
+        if (null == chunkView) {
+            chunkView = view.clone();
+        }
+        try {
+            return pipeline.apply(chunk.stream(), chunkView).collect(Collectors.toList());
+        } finally {
+            idleViews.offer(chunkView);
+        }
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.mapped;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A log of key value records held off heap in a memory mapped file, with a
+ * compact on heap hash index from the key bytes to the offset of the record.
+ * <p>
+ * The file is mapped in fixed size segments and records never span a segment.
+ * Each record is laid out as: key length, value capacity, value length, key
+ * bytes, value bytes. Values are overwritten in place if the new value fits
+ * within the value capacity, otherwise the old record is marked as removed and
+ * a new record is appended. Removed records are not reclaimed.
+ * </p>
+ * <p>
+ * When an existing file is opened the index is rebuilt with a single
+ * sequential scan of the file.
+ * </p>
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ */
+public class MappedFile implements Closeable {
+    private static final int HEADER_LENGTH = 12;
+    private static final int VALUE_CAPACITY_OFFSET = 4;
+    private static final int VALUE_LENGTH_OFFSET = 8;
+    private static final int END_OF_SEGMENT = -1;
+    private static final int REMOVED = -1;
+    private static final int INITIAL_INDEX_CAPACITY = 64;
+    private static final long EMPTY_SLOT = 0;
+    private static final long DELETED_SLOT = -1;
+
+    private final Path path;
+    private final int segmentSize;
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private long end;
+
+    /**
+     * Open addressing hash index. Each slot holds the record offset + 1.
+     */
+    private long[] slots;
+    private int[] hashes;
+    private int size;
+    private int usedSlots;
+
+    public MappedFile(final Path path, final int segmentSize) throws IOException {
+        if (segmentSize <= HEADER_LENGTH) {
+            throw new IllegalArgumentException("Segment size must be greater than " + HEADER_LENGTH);
+        }
+        this.path = path;
+        this.segmentSize = segmentSize;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        resetIndex();
+        load();
+    }
+
+    /**
+     * @param key the key bytes
+     * @return the offset of the record for the key, or -1 if there is no record
+     */
+    public long find(final byte[] key) {
+        final int hash = hash(key);
+        int slot = hash & (slots.length - 1);
+        while (EMPTY_SLOT != slots[slot]) {
+            if (DELETED_SLOT != slots[slot] && hash == hashes[slot] && keyEquals(slots[slot] - 1, key)) {
+                return slots[slot] - 1;
+            }
+            slot = (slot + 1) & (slots.length - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * Add or replace the value for a key.
+     *
+     * @param key   the key bytes
+     * @param value the value bytes
+     * @return the offset of the record holding the value
+     */
+    public long put(final byte[] key, final byte[] value) {
+        final long offset = find(key);
+        if (offset > -1) {
+            final ByteBuffer segment = segment(offset);
+            final int position = position(offset);
+            if (value.length <= segment.getInt(position + VALUE_CAPACITY_OFFSET)) {
+                write(segment, position + HEADER_LENGTH + key.length, value);
+                segment.putInt(position + VALUE_LENGTH_OFFSET, value.length);
+                return offset;
+            }
+            segment.putInt(position + VALUE_LENGTH_OFFSET, REMOVED);
+            removeFromIndex(key);
+        }
+
+        final long newOffset = append(key, value);
+        addToIndex(hash(key), newOffset);
+        return newOffset;
+    }
+
+    /**
+     * @param key the key bytes
+     * @return true if a record was removed
+     */
+    public boolean remove(final byte[] key) {
+        final long offset = find(key);
+        if (offset < 0) {
+            return false;
+        }
+
+        segment(offset).putInt(position(offset) + VALUE_LENGTH_OFFSET, REMOVED);
+        removeFromIndex(key);
+        return true;
+    }
+
+    public byte[] getKey(final long offset) {
+        final ByteBuffer segment = segment(offset);
+        final int position = position(offset);
+        return read(segment, position + HEADER_LENGTH, segment.getInt(position));
+    }
+
+    public byte[] getValue(final long offset) {
+        final ByteBuffer segment = segment(offset);
+        final int position = position(offset);
+        return read(segment, position + HEADER_LENGTH + segment.getInt(position), segment.getInt(position + VALUE_LENGTH_OFFSET));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return an iterator over the offsets of all records, in the order they were written
+     */
+    public PrimitiveIterator.OfLong offsets() {
+        return new PrimitiveIterator.OfLong() {
+            private long next = advance(0);
+
+            @Override
+            public boolean hasNext() {
+                return next < end;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final long offset = next;
+                next = advance(offset + recordLength(offset));
+                return offset;
+            }
+        };
+    }
+
+    /**
+     * Remove all records and truncate the file.
+     */
+    public void clear() {
+        segments.clear();
+        try {
+            channel.truncate(0);
+        } catch (final IOException e) {
+            throw new RuntimeException("Unable to truncate " + path, e);
+        }
+        end = 0;
+        resetIndex();
+    }
+
+    public void flush() {
+        for (final MappedByteBuffer segment : segments) {
+            if (null != segment) {
+                segment.force();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        segments.clear();
+        channel.close();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    private void load() {
+        long offset = 0;
+        final long fileSize;
+        try {
+            fileSize = channel.size();
+        } catch (final IOException e) {
+            throw new RuntimeException("Unable to read " + path, e);
+        }
+
+        while (offset < fileSize) {
+            if (position(offset) + HEADER_LENGTH > segmentSize || END_OF_SEGMENT == segment(offset).getInt(position(offset))) {
+                offset = nextSegment(offset);
+                continue;
+            }
+            final ByteBuffer segment = segment(offset);
+            final int position = position(offset);
+            final int keyLength = segment.getInt(position);
+            if (0 == keyLength) {
+                break;
+            }
+            if (REMOVED != segment.getInt(position + VALUE_LENGTH_OFFSET)) {
+                addToIndex(hash(read(segment, position + HEADER_LENGTH, keyLength)), offset);
+            }
+            offset += recordLength(offset);
+        }
+        end = offset;
+    }
+
+    private long advance(final long from) {
+        long offset = from;
+        while (offset < end) {
+            final int position = position(offset);
+            if (position + HEADER_LENGTH > segmentSize || END_OF_SEGMENT == segment(offset).getInt(position)) {
+                offset = nextSegment(offset);
+            } else if (REMOVED == segment(offset).getInt(position + VALUE_LENGTH_OFFSET)) {
+                offset += recordLength(offset);
+            } else {
+                break;
+            }
+        }
+        return offset;
+    }
+
+    private long append(final byte[] key, final byte[] value) {
+        final int valueCapacity = value.length + (value.length >> 2);
+        final int recordLength = HEADER_LENGTH + key.length + valueCapacity;
+        if (recordLength > segmentSize) {
+            throw new IllegalArgumentException("Record of " + recordLength + " bytes is larger than the segment size " + segmentSize);
+        }
+
+        if (position(end) + recordLength > segmentSize) {
+            if (position(end) + HEADER_LENGTH <= segmentSize) {
+                segment(end).putInt(position(end), END_OF_SEGMENT);
+            }
+            end = nextSegment(end);
+        }
+
+        final long offset = end;
+        final ByteBuffer segment = segment(offset);
+        final int position = position(offset);
+        write(segment, position + HEADER_LENGTH, key);
+        write(segment, position + HEADER_LENGTH + key.length, value);
+        segment.putInt(position + VALUE_CAPACITY_OFFSET, valueCapacity);
+        segment.putInt(position + VALUE_LENGTH_OFFSET, value.length);
+        // The key length is written last so partially written records are ignored when loading.
+        segment.putInt(position, key.length);
+        end += recordLength;
+        return offset;
+    }
+
+    private int recordLength(final long offset) {
+        final ByteBuffer segment = segment(offset);
+        final int position = position(offset);
+        return HEADER_LENGTH + segment.getInt(position) + segment.getInt(position + VALUE_CAPACITY_OFFSET);
+    }
+
+    private boolean keyEquals(final long offset, final byte[] key) {
+        final ByteBuffer segment = segment(offset);
+        final int position = position(offset);
+        if (key.length != segment.getInt(position)) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != segment.get(position + HEADER_LENGTH + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addToIndex(final int hash, final long offset) {
+        if ((usedSlots + 1) * 2 > slots.length) {
+            rehash(size * 2 >= slots.length / 2 ? slots.length * 2 : slots.length);
+        }
+        int slot = hash & (slots.length - 1);
+        while (EMPTY_SLOT != slots[slot] && DELETED_SLOT != slots[slot]) {
+            slot = (slot + 1) & (slots.length - 1);
+        }
+        if (EMPTY_SLOT == slots[slot]) {
+            usedSlots++;
+        }
+        slots[slot] = offset + 1;
+        hashes[slot] = hash;
+        size++;
+    }
+
+    private void removeFromIndex(final byte[] key) {
+        final int hash = hash(key);
+        int slot = hash & (slots.length - 1);
+        while (EMPTY_SLOT != slots[slot]) {
+            if (DELETED_SLOT != slots[slot] && hash == hashes[slot] && keyEquals(slots[slot] - 1, key)) {
+                slots[slot] = DELETED_SLOT;
+                size--;
+                return;
+            }
+            slot = (slot + 1) & (slots.length - 1);
+        }
+    }
+
+    private void rehash(final int capacity) {
+        final long[] oldSlots = slots;
+        final int[] oldHashes = hashes;
+        slots = new long[capacity];
+        hashes = new int[capacity];
+        usedSlots = 0;
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (EMPTY_SLOT != oldSlots[i] && DELETED_SLOT != oldSlots[i]) {
+                int slot = oldHashes[i] & (capacity - 1);
+                while (EMPTY_SLOT != slots[slot]) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                slots[slot] = oldSlots[i];
+                hashes[slot] = oldHashes[i];
+                usedSlots++;
+            }
+        }
+    }
+
+    private void resetIndex() {
+        slots = new long[INITIAL_INDEX_CAPACITY];
+        hashes = new int[INITIAL_INDEX_CAPACITY];
+        size = 0;
+        usedSlots = 0;
+    }
+
+    private ByteBuffer segment(final long offset) {
+        final int index = (int) (offset / segmentSize);
+        while (segments.size() <= index) {
+            segments.add(null);
+        }
+        MappedByteBuffer segment = segments.get(index);
+        if (null == segment) {
+            try {
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, (long) index * segmentSize, segmentSize);
+            } catch (final IOException e) {
+                throw new RuntimeException("Unable to map segment " + index + " of " + path, e);
+            }
+            segments.set(index, segment);
+        }
+        return segment;
+    }
+
+    private int position(final long offset) {
+        return (int) (offset % segmentSize);
+    }
+
+    private long nextSegment(final long offset) {
+        return ((offset / segmentSize) + 1) * segmentSize;
+    }
+
+    private static byte[] read(final ByteBuffer segment, final int position, final int length) {
+        final byte[] bytes = new byte[length];
+        final ByteBuffer duplicate = segment.duplicate();
+        duplicate.position(position);
+        duplicate.get(bytes);
+        return bytes;
+    }
+
+    private static void write(final ByteBuffer segment, final int position, final byte[] bytes) {
+        final ByteBuffer duplicate = segment.duplicate();
+        duplicate.position(position);
+        duplicate.put(bytes);
+    }
+
+    private static int hash(final byte[] bytes) {
+        int hash = 1;
+        for (final byte b : bytes) {
+            hash = 31 * hash + b;
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
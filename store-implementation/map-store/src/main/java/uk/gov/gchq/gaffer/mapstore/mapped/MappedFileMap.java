@@ -0,0 +1,170 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.mapped;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * A {@link Map} that holds its keys and values serialised in a {@link MappedFile}.
+ * Keys are compared using their serialised bytes, so the key serialiser must
+ * always produce the same bytes for equal keys.
+ * <p>
+ * All keys and values returned from this map are newly deserialised objects, so
+ * changes to them are not reflected in the map until they are put back into the map.
+ * </p>
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ */
+public class MappedFileMap<K, V> extends AbstractMap<K, V> {
+    private final MappedFile file;
+    private final ToBytesSerialiser<K> keySerialiser;
+    private final ToBytesSerialiser<V> valueSerialiser;
+
+    public MappedFileMap(final MappedFile file, final ToBytesSerialiser<K> keySerialiser, final ToBytesSerialiser<V> valueSerialiser) {
+        this.file = file;
+        this.keySerialiser = keySerialiser;
+        this.valueSerialiser = valueSerialiser;
+    }
+
+    @Override
+    public int size() {
+        return file.size();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return file.find(serialiseKey(key)) > -1;
+    }
+
+    @Override
+    public V get(final Object key) {
+        final long offset = file.find(serialiseKey(key));
+        if (offset < 0) {
+            return null;
+        }
+        return deserialise(valueSerialiser, file.getValue(offset));
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        final byte[] keyBytes = serialise(keySerialiser, key);
+        final long offset = file.find(keyBytes);
+        final V previousValue = offset > -1 ? deserialise(valueSerialiser, file.getValue(offset)) : null;
+        file.put(keyBytes, serialise(valueSerialiser, value));
+        return previousValue;
+    }
+
+    @Override
+    public V merge(final K key, final V value, final BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(value);
+        final byte[] keyBytes = serialise(keySerialiser, key);
+        final long offset = file.find(keyBytes);
+        if (offset < 0) {
+            file.put(keyBytes, serialise(valueSerialiser, value));
+            return value;
+        }
+
+        final V newValue = remappingFunction.apply(deserialise(valueSerialiser, file.getValue(offset)), value);
+        if (null == newValue) {
+            file.remove(keyBytes);
+        } else {
+            file.put(keyBytes, serialise(valueSerialiser, newValue));
+        }
+        return newValue;
+    }
+
+    @Override
+    public V remove(final Object key) {
+        final byte[] keyBytes = serialiseKey(key);
+        final long offset = file.find(keyBytes);
+        if (offset < 0) {
+            return null;
+        }
+
+        final V previousValue = deserialise(valueSerialiser, file.getValue(offset));
+        file.remove(keyBytes);
+        return previousValue;
+    }
+
+    @Override
+    public void clear() {
+        file.clear();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                final PrimitiveIterator.OfLong offsets = file.offsets();
+                return new Iterator<Entry<K, V>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return offsets.hasNext();
+                    }
+
+                    @Override
+                    public Entry<K, V> next() {
+                        final long offset = offsets.nextLong();
+                        return new SimpleImmutableEntry<>(
+                                deserialise(keySerialiser, file.getKey(offset)),
+                                deserialise(valueSerialiser, file.getValue(offset)));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return file.size();
+            }
+        };
+    }
+
+    public MappedFile getFile() {
+        return file;
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] serialiseKey(final Object key) {
+        return serialise(keySerialiser, (K) key);
+    }
+
+    static <T> byte[] serialise(final ToBytesSerialiser<T> serialiser, final T object) {
+        try {
+            return serialiser.serialise(object);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("Unable to serialise " + object, e);
+        }
+    }
+
+    static <T> T deserialise(final ToBytesSerialiser<T> serialiser, final byte[] bytes) {
+        try {
+            return serialiser.deserialise(bytes);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("Unable to deserialise bytes using " + serialiser.getClass().getName(), e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.mapped;
+
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+
+import static uk.gov.gchq.gaffer.mapstore.mapped.MappedFileMap.deserialise;
+import static uk.gov.gchq.gaffer.mapstore.mapped.MappedFileMap.serialise;
+
+/**
+ * A {@link MultiMap} that holds its keys and values serialised in two
+ * {@link MappedFile}s. The entries file holds a record for each distinct key
+ * and value pair, which links to the previous entry for the same key. The heads
+ * file maps each key to its most recently added entry.
+ * <p>
+ * Keys and values are compared using their serialised bytes.
+ * </p>
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ */
+public class MappedFileMultiMap<K, V> implements MultiMap<K, V> {
+    private static final long NO_ENTRY = -1;
+
+    private final MappedFile heads;
+    private final MappedFile entries;
+    private final ToBytesSerialiser<K> keySerialiser;
+    private final ToBytesSerialiser<V> valueSerialiser;
+
+    public MappedFileMultiMap(final MappedFile heads, final MappedFile entries, final ToBytesSerialiser<K> keySerialiser, final ToBytesSerialiser<V> valueSerialiser) {
+        this.heads = heads;
+        this.entries = entries;
+        this.keySerialiser = keySerialiser;
+        this.valueSerialiser = valueSerialiser;
+    }
+
+    @Override
+    public boolean put(final K key, final V value) {
+        final byte[] keyBytes = serialise(keySerialiser, key);
+        final byte[] entryKey = toEntryKey(keyBytes, serialise(valueSerialiser, value));
+        if (entries.find(entryKey) > -1) {
+            return false;
+        }
+
+        final long head = heads.find(keyBytes);
+        final long previousEntry = head > -1 ? toLong(heads.getValue(head)) : NO_ENTRY;
+        final long entry = entries.put(entryKey, toBytes(previousEntry));
+        heads.put(keyBytes, toBytes(entry));
+        return true;
+    }
+
+    @Override
+    public void put(final K key, final Collection<V> values) {
+        for (final V value : values) {
+            put(key, value);
+        }
+    }
+
+    @Override
+    public Collection<V> get(final K key) {
+        final long head = heads.find(serialise(keySerialiser, key));
+        if (head < 0) {
+            return null;
+        }
+
+        final List<V> values = new ArrayList<>();
+        long entry = toLong(heads.getValue(head));
+        while (NO_ENTRY != entry) {
+            final byte[] entryKey = entries.getKey(entry);
+            final int keyLength = ByteBuffer.wrap(entryKey).getInt();
+            values.add(deserialise(valueSerialiser, Arrays.copyOfRange(entryKey, 4 + keyLength, entryKey.length)));
+            entry = toLong(entries.getValue(entry));
+        }
+        return values;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return new AbstractSet<K>() {
+            @Override
+            public Iterator<K> iterator() {
+                final PrimitiveIterator.OfLong offsets = heads.offsets();
+                return new Iterator<K>() {
+                    @Override
+                    public boolean hasNext() {
+                        return offsets.hasNext();
+                    }
+
+                    @Override
+                    public K next() {
+                        return deserialise(keySerialiser, heads.getKey(offsets.nextLong()));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return heads.size();
+            }
+        };
+    }
+
+    @Override
+    public void clear() {
+        heads.clear();
+        entries.clear();
+    }
+
+    private static byte[] toEntryKey(final byte[] keyBytes, final byte[] valueBytes) {
+        return ByteBuffer.allocate(4 + keyBytes.length + valueBytes.length)
+                .putInt(keyBytes.length)
+                .put(keyBytes)
+                .put(valueBytes)
+                .array();
+    }
+
+    private static byte[] toBytes(final long value) {
+        return ByteBuffer.allocate(8).putLong(value).array();
+    }
+
+    private static long toLong(final byte[] bytes) {
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+}
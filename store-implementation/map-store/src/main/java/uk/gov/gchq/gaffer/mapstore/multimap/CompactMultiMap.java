@@ -0,0 +1,221 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A {@link MultiMap} that uses much less memory than a {@link MapOfSets} when
+ * the same values are stored against many keys, as is the case for the
+ * {@link uk.gov.gchq.gaffer.mapstore.MapStore} indexes.
+ * <p>
+ * Each distinct value is interned once into a value table and given an int id.
+ * Each key then maps to a sorted primitive int array of value ids rather than
+ * a {@link Set} of values. The value table is an open addressing hash table of
+ * ints, so no objects are allocated per entry.
+ * </p>
+ * <p>
+ * This class is not thread safe. The collections returned from {@link #get(Object)}
+ * are snapshots and are not updated when further values are added.
+ * </p>
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ */
+public class CompactMultiMap<K, V> implements MultiMap<K, V> {
+    private static final int INITIAL_VALUE_CAPACITY = 16;
+    private static final int INITIAL_VALUE_IDS_CAPACITY = 2;
+
+    /**
+     * Maps each key to a sorted array of value ids. The first item in each
+     * array is the number of value ids in the array.
+     */
+    private final Map<K, int[]> keyToValueIds;
+
+    private Object[] values;
+    private int[] valueHashes;
+    private int numValues;
+
+    /**
+     * Open addressing hash table of value id + 1. A 0 entry marks an empty slot.
+     */
+    private int[] valueIdTable;
+
+    public CompactMultiMap(final Map<K, int[]> keyToValueIds) {
+        this.keyToValueIds = keyToValueIds;
+        resetValues();
+    }
+
+    @Override
+    public boolean put(final K key, final V value) {
+        final int valueId = internValue(value);
+        final int[] valueIds = keyToValueIds.get(key);
+        if (null == valueIds) {
+            final int[] newValueIds = new int[1 + INITIAL_VALUE_IDS_CAPACITY];
+            newValueIds[0] = 1;
+            newValueIds[1] = valueId;
+            keyToValueIds.put(key, newValueIds);
+            return true;
+        }
+
+        final int size = valueIds[0];
+        final int index = Arrays.binarySearch(valueIds, 1, size + 1, valueId);
+        if (index >= 0) {
+            return false;
+        }
+
+        final int insertionPoint = -(index + 1);
+        int[] updatedValueIds = valueIds;
+        if (size + 1 == valueIds.length) {
+            updatedValueIds = Arrays.copyOf(valueIds, 1 + (size * 2));
+        }
+        System.arraycopy(valueIds, insertionPoint, updatedValueIds, insertionPoint + 1, size + 1 - insertionPoint);
+        updatedValueIds[insertionPoint] = valueId;
+        updatedValueIds[0] = size + 1;
+        if (updatedValueIds != valueIds) {
+            keyToValueIds.put(key, updatedValueIds);
+        }
+        return true;
+    }
+
+    @Override
+    public void put(final K key, final Collection<V> values) {
+        for (final V value : values) {
+            put(key, value);
+        }
+    }
+
+    @Override
+    public Collection<V> get(final K key) {
+        final int[] valueIds = keyToValueIds.get(key);
+        if (null == valueIds) {
+            return null;
+        }
+
+        return new ValueCollection(values, Arrays.copyOfRange(valueIds, 1, valueIds[0] + 1));
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return keyToValueIds.keySet();
+    }
+
+    @Override
+    public void clear() {
+        keyToValueIds.clear();
+        resetValues();
+    }
+
+    /**
+     * @return the number of distinct values held in the value table.
+     */
+    public int getNumValues() {
+        return numValues;
+    }
+
+    private int internValue(final V value) {
+        final int hash = hash(value);
+        int slot = hash & (valueIdTable.length - 1);
+        while (0 != valueIdTable[slot]) {
+            final int valueId = valueIdTable[slot] - 1;
+            if (hash == valueHashes[valueId] && value.equals(values[valueId])) {
+                return valueId;
+            }
+            slot = (slot + 1) & (valueIdTable.length - 1);
+        }
+
+        final int valueId = numValues++;
+        if (valueId == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+            valueHashes = Arrays.copyOf(valueHashes, valueHashes.length * 2);
+        }
+        values[valueId] = value;
+        valueHashes[valueId] = hash;
+        valueIdTable[slot] = valueId + 1;
+
+        // Keep the load factor of the table at or below 0.5
+        if (numValues * 2 > valueIdTable.length) {
+            rehash(valueIdTable.length * 2);
+        }
+        return valueId;
+    }
+
+    private void rehash(final int capacity) {
+        valueIdTable = new int[capacity];
+        for (int valueId = 0; valueId < numValues; valueId++) {
+            int slot = valueHashes[valueId] & (capacity - 1);
+            while (0 != valueIdTable[slot]) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            valueIdTable[slot] = valueId + 1;
+        }
+    }
+
+    private void resetValues() {
+        values = new Object[INITIAL_VALUE_CAPACITY];
+        valueHashes = new int[INITIAL_VALUE_CAPACITY];
+        valueIdTable = new int[INITIAL_VALUE_CAPACITY * 2];
+        numValues = 0;
+    }
+
+    private static int hash(final Object value) {
+        final int hash = value.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    private final class ValueCollection extends AbstractCollection<V> {
+        private final Object[] values;
+        private final int[] valueIds;
+
+        private ValueCollection(final Object[] values, final int[] valueIds) {
+            this.values = values;
+            this.valueIds = valueIds;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new Iterator<V>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < valueIds.length;
+                }
+
+                @SuppressWarnings("unchecked")
+                @Override
+                public V next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return (V) values[valueIds[index++]];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return valueIds.length;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.operation;
+
+import uk.gov.gchq.gaffer.operation.Operation;
+
+import java.util.Map;
+
+/**
+ * A {@code WriteSnapshot} operation writes a snapshot of all the elements in a
+ * {@link uk.gov.gchq.gaffer.mapstore.MapStore} to a file. If no path is set
+ * the snapshot is written to the path in the store properties, from which it
+ * is restored when the store is next initialised.
+ */
+public class WriteSnapshot implements Operation {
+    private String path;
+    private Map<String, String> options;
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(final String path) {
+        this.path = path;
+    }
+
+    @Override
+    public Map<String, String> getOptions() {
+        return options;
+    }
+
+    @Override
+    public void setOptions(final Map<String, String> options) {
+        this.options = options;
+    }
+
+    @Override
+    public WriteSnapshot shallowClone() {
+        return new WriteSnapshot.Builder()
+                .path(path)
+                .options(options)
+                .build();
+    }
+
+    public static final class Builder extends Operation.BaseBuilder<WriteSnapshot, Builder> {
+        public Builder() {
+            super(new WriteSnapshot());
+        }
+
+        public Builder path(final String path) {
+            _getOp().setPath(path);
+            return _self();
+        }
+    }
+}
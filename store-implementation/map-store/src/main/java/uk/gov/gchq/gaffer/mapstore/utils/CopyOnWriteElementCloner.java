@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+/**
+ * An {@link ElementCloner} that avoids cloning the property values up front.
+ * The cloned element has its own identifiers and {@link CopyOnWriteProperties},
+ * so the values of mutable properties are only cloned if they are accessed.
+ */
+public class CopyOnWriteElementCloner extends ElementCloner {
+    @Override
+    public Element cloneElement(final Element element, final Schema schema) {
+        final Properties properties = new CopyOnWriteProperties(element.getProperties(), schema.getElement(element.getGroup()));
+        if (element instanceof Entity) {
+            return new Entity(element.getGroup(), ((Entity) element).getVertex(), properties);
+        }
+
+        if (element instanceof Edge) {
+            final Edge edge = (Edge) element;
+            return new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), edge.getMatchedVertex(), properties);
+        }
+
+        return super.cloneElement(element, schema);
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * {@code CopyOnWriteProperties} is a {@link Properties} that initially shares
+ * its property values with the {@link Properties} it was created from.
+ * <p>
+ * Adding, replacing and removing properties only ever changes this map, so
+ * values of immutable types are never copied. Values of mutable types could
+ * be changed in place by whoever they are handed out to, so each of these is
+ * cloned using its schema serialiser the first time it is accessed.
+ * </p>
+ * <p>
+ * This allows elements to be returned from a store without cloning all of
+ * their properties up front, whilst still ensuring the stored properties
+ * cannot be modified through the returned elements.
+ * </p>
+ */
+public class CopyOnWriteProperties extends Properties {
+    private static final long serialVersionUID = -3260396815862525006L;
+
+    private final transient SchemaElementDefinition elementDefinition;
+
+    /**
+     * The names of the properties with mutable values that are still shared
+     * with the original properties. Null if there are none.
+     */
+    private transient Set<String> sharedProperties;
+
+    /**
+     * Constructs a {@code CopyOnWriteProperties} that shares the values in the
+     * provided {@link Properties}.
+     *
+     * @param properties        the properties to share
+     * @param elementDefinition the schema element definition containing the
+     *                          serialisers to clone the mutable properties with
+     */
+    public CopyOnWriteProperties(final Properties properties, final SchemaElementDefinition elementDefinition) {
+        super(properties);
+        this.elementDefinition = elementDefinition;
+        for (final Map.Entry<String, Object> entry : properties.entrySet()) {
+            if (!ElementCloner.isImmutable(entry.getValue())) {
+                if (null == sharedProperties) {
+                    sharedProperties = new HashSet<>();
+                }
+                sharedProperties.add(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * @param name the property name
+     * @return true if the property value is still shared with the original properties.
+     */
+    public boolean isShared(final String name) {
+        return null != sharedProperties && sharedProperties.contains(name);
+    }
+
+    @Override
+    public Object get(final Object name) {
+        copy(name);
+        return super.get(name);
+    }
+
+    @Override
+    public Object getOrDefault(final Object name, final Object defaultValue) {
+        copy(name);
+        return super.getOrDefault(name, defaultValue);
+    }
+
+    @Override
+    public Object put(final String name, final Object value) {
+        copy(name);
+        return super.put(name, value);
+    }
+
+    @Override
+    public Object putIfAbsent(final String name, final Object value) {
+        copy(name);
+        return super.putIfAbsent(name, value);
+    }
+
+    @Override
+    public Object remove(final Object name) {
+        copy(name);
+        return super.remove(name);
+    }
+
+    @Override
+    public boolean remove(final Object name, final Object value) {
+        copy(name);
+        return super.remove(name, value);
+    }
+
+    @Override
+    public Object replace(final String name, final Object value) {
+        copy(name);
+        return super.replace(name, value);
+    }
+
+    @Override
+    public boolean replace(final String name, final Object oldValue, final Object newValue) {
+        copy(name);
+        return super.replace(name, oldValue, newValue);
+    }
+
+    @Override
+    public Object computeIfAbsent(final String name, final Function<? super String, ?> mappingFunction) {
+        copy(name);
+        return super.computeIfAbsent(name, mappingFunction);
+    }
+
+    @Override
+    public Object computeIfPresent(final String name, final BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        copy(name);
+        return super.computeIfPresent(name, remappingFunction);
+    }
+
+    @Override
+    public Object compute(final String name, final BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        copy(name);
+        return super.compute(name, remappingFunction);
+    }
+
+    @Override
+    public Object merge(final String name, final Object value, final BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        copy(name);
+        return super.merge(name, value, remappingFunction);
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        copyAll();
+        return super.entrySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        copyAll();
+        return super.values();
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super String, ? super Object> action) {
+        copyAll();
+        super.forEach(action);
+    }
+
+    @Override
+    public void replaceAll(final BiFunction<? super String, ? super Object, ?> function) {
+        copyAll();
+        super.replaceAll(function);
+    }
+
+    @Override
+    public void keepOnly(final Collection<String> propertiesToKeep) {
+        // Properties that are removed do not need to be copied.
+        keySet().removeIf(name -> !propertiesToKeep.contains(name));
+        if (null != sharedProperties) {
+            sharedProperties.retainAll(propertiesToKeep);
+        }
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        sharedProperties = null;
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @SuppressFBWarnings(value = "CN_IDIOM_NO_SUPER_CALL", justification = "The shared values must be copied before cloning")
+    @Override
+    public Properties clone() {
+        return new Properties(this);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    private void copy(final Object name) {
+        if (null != sharedProperties && sharedProperties.remove(name)) {
+            final String propertyName = (String) name;
+            super.put(propertyName, ElementCloner.cloneProperty(elementDefinition, propertyName, super.get(propertyName)));
+        }
+    }
+
+    private void copyAll() {
+        if (null != sharedProperties) {
+            for (final String name : sharedProperties) {
+                super.put(name, ElementCloner.cloneProperty(elementDefinition, name, super.get(name)));
+            }
+            sharedProperties = null;
+        }
+    }
+}
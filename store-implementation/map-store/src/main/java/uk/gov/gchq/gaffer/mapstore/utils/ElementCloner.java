@@ -24,11 +24,21 @@ import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Utility class to create a clone of an {@link Element}.
  */
 public class ElementCloner {
     private static final Logger LOGGER = LoggerFactory.getLogger(ElementCloner.class);
+    private static final Set<Class<?>> IMMUTABLE_CLASSES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class,
+            Long.class, Float.class, Double.class, BigInteger.class, BigDecimal.class)));
 
     /**
      * Clone an {@link Element}, based on a target {@link Schema}.
@@ -38,25 +48,49 @@ public class ElementCloner {
      * @return the cloned element
      */
     public Element cloneElement(final Element element, final Schema schema) {
+        final Element clone = element.emptyClone();
+        final SchemaElementDefinition sed = schema.getElement(clone.getGroup());
+        for (final String propertyName : element.getProperties().keySet()) {
+            clone.putProperty(propertyName, cloneProperty(sed, propertyName, element.getProperty(propertyName)));
+        }
+        return clone;
+    }
+
+    /**
+     * Clone a property value using the serialiser from the schema.
+     *
+     * @param sed          the schema element definition the property belongs to
+     * @param propertyName the name of the property
+     * @param property     the property value to clone
+     * @return the cloned property value
+     */
+    public static Object cloneProperty(final SchemaElementDefinition sed, final String propertyName, final Object property) {
+        if (null == property) {
+            return null;
+        }
+
+        if (null == sed.getPropertyTypeDef(propertyName) || null == sed.getPropertyTypeDef(propertyName).getSerialiser()) {
+            // This can happen if transient properties are derived - they will not have serialisers.
+            LOGGER.warn("Can't find Serialisation for {}, returning uncloned property", propertyName);
+            return property;
+        }
+
+        final Serialiser serialiser = sed.getPropertyTypeDef(propertyName).getSerialiser();
         try {
-            final Element clone = element.emptyClone();
-            final SchemaElementDefinition sed = schema.getElement(clone.getGroup());
-            for (final String propertyName : element.getProperties().keySet()) {
-                final Object property = element.getProperty(propertyName);
-                if (null == sed.getPropertyTypeDef(propertyName) || null == sed.getPropertyTypeDef(propertyName).getSerialiser()) {
-                    // This can happen if transient properties are derived - they will not have serialisers.
-                    LOGGER.warn("Can't find Serialisation for {}, returning uncloned property", propertyName);
-                    clone.putProperty(propertyName, property);
-                } else if (null != property) {
-                    final Serialiser serialiser = sed.getPropertyTypeDef(propertyName).getSerialiser();
-                    clone.putProperty(propertyName, serialiser.deserialise(serialiser.serialise(property)));
-                } else {
-                    clone.putProperty(propertyName, null);
-                }
-            }
-            return clone;
+            return serialiser.deserialise(serialiser.serialise(property));
         } catch (final SerialisationException e) {
             throw new RuntimeException("SerialisationException converting elements", e);
         }
     }
+
+    /**
+     * @param property the property value to check
+     * @return true if the property value is of a type that is known to be immutable,
+     * so it can be shared between elements without being cloned.
+     */
+    public static boolean isImmutable(final Object property) {
+        return null == property
+                || IMMUTABLE_CLASSES.contains(property.getClass())
+                || property.getClass().isEnum();
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.benchmark;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
+import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
+import uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest;
+import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the per element cost of a {@link GetAllElements} on a
+ * {@link uk.gov.gchq.gaffer.mapstore.MapStore} when the returned elements are
+ * deep cloned with the {@link ElementCloner}, compared with the default
+ * copy on write cloning.
+ * <p>
+ * This is not run as part of the build. Run the main method, optionally
+ * passing the number of edges to add as the first argument.
+ * </p>
+ */
+public final class GetAllElementsBenchmark {
+    private static final int DEFAULT_NUM_EDGES = 200000;
+    private static final int NUM_VERTICES = 10000;
+    private static final int WARM_UP_ITERATIONS = 5;
+    private static final int ITERATIONS = 10;
+    private static final String EDGE_GROUP = "BasicEdge";
+
+    private GetAllElementsBenchmark() {
+        // Private constructor to prevent instantiation.
+    }
+
+    public static void main(final String[] args) throws OperationException {
+        final int numEdges = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_EDGES;
+        for (final Class<? extends MapFactory> factory : new Class[]{DeepCloneMapFactory.class, SimpleMapFactory.class}) {
+            final Graph graph = createGraph(factory, numEdges);
+            for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+                getAllElements(graph);
+            }
+
+            long count = 0;
+            final long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                count += getAllElements(graph);
+            }
+            final long duration = System.nanoTime() - start;
+            System.out.println(String.format("%s: %,d elements per query, %,d ns per element",
+                    factory.getSimpleName(), count / ITERATIONS, duration / count));
+        }
+    }
+
+    private static long getAllElements(final Graph graph) throws OperationException {
+        long count = 0;
+        try (final CloseableIterable<? extends Element> elements = graph.execute(new GetAllElements(), new User())) {
+            for (final Element element : elements) {
+                // Read a property as a consumer would.
+                if (null != element.getProperty("count")) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static Graph createGraph(final Class<? extends MapFactory> factory, final int numEdges) throws OperationException {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setMapFactory(factory);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(factory.getSimpleName())
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+
+        final List<Element> elements = new ArrayList<>(numEdges);
+        for (int i = 0; i < numEdges; i++) {
+            elements.add(new Edge.Builder()
+                    .group(EDGE_GROUP)
+                    .source("vertex" + (i % NUM_VERTICES))
+                    .dest("vertex" + ((i * 31) % NUM_VERTICES))
+                    .directed(true)
+                    .property("property1", "p" + i)
+                    .property("count", i)
+                    .build());
+        }
+        graph.execute(new AddElements.Builder().input(elements).build(), new User());
+        return graph;
+    }
+
+    /**
+     * A {@link SimpleMapFactory} that deep clones the returned elements,
+     * as the {@link uk.gov.gchq.gaffer.mapstore.MapStore} used to.
+     */
+    public static class DeepCloneMapFactory extends SimpleMapFactory {
+        public DeepCloneMapFactory() {
+            super(new ElementCloner());
+        }
+    }
+}
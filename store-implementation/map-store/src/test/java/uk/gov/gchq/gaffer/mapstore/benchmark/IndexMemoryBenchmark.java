@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.benchmark;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.factory.CompactIndexMapFactory;
+import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
+import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
+import uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the heap used by a {@link uk.gov.gchq.gaffer.mapstore.MapStore}
+ * using the {@link SimpleMapFactory} with one using the {@link CompactIndexMapFactory}.
+ * <p>
+ * This is not run as part of the build. Run the main method with a large heap,
+ * e.g. -Xmx8g, optionally passing the number of edges to add as the first argument.
+ * </p>
+ */
+public final class IndexMemoryBenchmark {
+    private static final int DEFAULT_NUM_EDGES = 1000000;
+    private static final int NUM_VERTICES = 100000;
+    private static final int BATCH_SIZE = 10000;
+    private static final String EDGE_GROUP = "BasicEdge";
+
+    private IndexMemoryBenchmark() {
+        // Private constructor to prevent instantiation.
+    }
+
+    public static void main(final String[] args) throws OperationException {
+        final int numEdges = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NUM_EDGES;
+        for (final Class<? extends MapFactory> factory : new Class[]{SimpleMapFactory.class, CompactIndexMapFactory.class}) {
+            final long before = usedMemory();
+            final long start = System.currentTimeMillis();
+            final Graph graph = createGraph(factory, numEdges);
+            final long duration = System.currentTimeMillis() - start;
+            final long after = usedMemory();
+            System.out.println(String.format("%s: %,d edges, %,d bytes used (%,d bytes per edge), %,d ms to load",
+                    factory.getSimpleName(), numEdges, after - before, (after - before) / numEdges, duration));
+
+            // Keep the graph reachable until the memory has been measured.
+            System.out.println("Loaded graph " + graph.getGraphId());
+        }
+    }
+
+    private static Graph createGraph(final Class<? extends MapFactory> factory, final int numEdges) throws OperationException {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setMapFactory(factory);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(factory.getSimpleName())
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+
+        final List<Element> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < numEdges; i++) {
+            batch.add(new Edge.Builder()
+                    .group(EDGE_GROUP)
+                    .source("vertex" + (i % NUM_VERTICES))
+                    .dest("vertex" + ((i * 31) % NUM_VERTICES))
+                    .directed(true)
+                    .property("property1", "p" + i)
+                    .property("count", 1)
+                    .build());
+            if (batch.size() == BATCH_SIZE) {
+                graph.execute(new AddElements.Builder().input(batch).build(), new User());
+                batch.clear();
+            }
+        }
+        graph.execute(new AddElements.Builder().input(batch).build(), new User());
+        return graph;
+    }
+
+    private static long usedMemory() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
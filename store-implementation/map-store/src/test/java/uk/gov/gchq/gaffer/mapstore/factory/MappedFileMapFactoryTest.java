@@ -0,0 +1,351 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest;
+import uk.gov.gchq.gaffer.mapstore.mapped.MappedFileMap;
+import uk.gov.gchq.gaffer.mapstore.mapped.MappedFileMultiMap;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MappedFileMapFactoryTest {
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final List<MapStore> stores = new ArrayList<>();
+    private final List<MapFactory> factories = new ArrayList<>();
+
+    @After
+    public void after() {
+        stores.forEach(store -> store.getMapImpl().close());
+        factories.forEach(MapFactory::close);
+    }
+
+    @Test
+    public void shouldThrowExceptionIfNoDirectoryConfigured() {
+        // Given
+        final MapStoreProperties properties = new MapStoreProperties();
+        final MappedFileMapFactory factory = new MappedFileMapFactory();
+
+        // When / Then
+        try {
+            factory.initialise(GetAllElementsHandlerTest.getSchema(), properties);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionIfConcurrent() {
+        // Given
+        final MapStoreProperties properties = createProperties();
+        properties.setConcurrent(true);
+        final MappedFileMapFactory factory = new MappedFileMapFactory();
+
+        // When / Then
+        try {
+            factory.initialise(GetAllElementsHandlerTest.getSchema(), properties);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldCreateMappedFileMapsAndMultiMaps() {
+        // Given
+        final MappedFileMapFactory factory = createFactory();
+        final Schema schema = new Schema.Builder()
+                .merge(GetAllElementsHandlerTest.getSchema())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+        factory.initialise(schema, createProperties());
+
+        // When
+        final Object map = factory.getMap("map", Element.class, Long.class);
+        final Object multiMap = factory.getMultiMap("multiMap", EdgeId.class, Element.class);
+
+        // Then
+        assertTrue(map instanceof MappedFileMap);
+        assertTrue(multiMap instanceof MappedFileMultiMap);
+        assertTrue(factory.getDirectory().resolve("map.map").toFile().exists());
+        assertTrue(factory.getDirectory().resolve("multiMap.heads").toFile().exists());
+        assertTrue(factory.getDirectory().resolve("multiMap.entries").toFile().exists());
+    }
+
+    @Test
+    public void shouldReopenExistingMapsWithoutReingesting() throws OperationException, StoreException {
+        // Given
+        final Graph graph = createGraph();
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+        final Set<Element> expectedAllElements = getAllElements(graph);
+        final Set<Element> expectedElements = getElements(graph);
+        stores.remove(0).getMapImpl().close();
+
+        // When
+        final Graph reopenedGraph = createGraph();
+
+        // Then
+        assertEquals(expectedAllElements, getAllElements(reopenedGraph));
+        assertEquals(expectedElements, getElements(reopenedGraph));
+        assertEquals(4, expectedAllElements.size());
+        for (final Element element : expectedAllElements) {
+            assertEquals("p", element.getProperty("property1"));
+        }
+        assertEquals(2, expectedElements.size());
+    }
+
+    @Test
+    public void shouldKeepFilesOpenUntilLastFactoryUsingThemIsClosed() {
+        // Given
+        final Schema schema = new Schema.Builder()
+                .merge(GetAllElementsHandlerTest.getSchema())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+        final MappedFileMapFactory factory1 = createFactory();
+        final MappedFileMapFactory factory2 = createFactory();
+        factory1.initialise(schema, createProperties());
+        factory2.initialise(schema, createProperties());
+        final Map<Element, Long> map1 = factory1.getMap("map", Element.class, Long.class);
+        final Map<Element, Long> map2 = factory2.getMap("map", Element.class, Long.class);
+        final Element element = getElements().get(0);
+        map1.put(element, 1L);
+
+        // When
+        factory1.close();
+        factories.remove(factory1);
+
+        // Then
+        assertEquals(Long.valueOf(1L), map2.get(element));
+        map2.put(element, 2L);
+        assertEquals(Long.valueOf(2L), map2.get(element));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenReopenedWithDifferentSchema() {
+        // Given
+        final Schema schema = new Schema.Builder()
+                .merge(GetAllElementsHandlerTest.getSchema())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+        createFactory().initialise(schema, createProperties());
+        final MappedFileMapFactory factory = createFactory();
+
+        // When / Then
+        try {
+            factory.initialise(GetAllElementsHandlerTest.getSchema(), createProperties());
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("different schema"));
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenReopenedWithDifferentSegmentSize() {
+        // Given
+        final Schema schema = GetAllElementsHandlerTest.getSchema();
+        createFactory().initialise(schema, createProperties());
+        final MapStoreProperties properties = createProperties();
+        properties.set(MappedFileMapFactory.SEGMENT_SIZE, "1024");
+        final MappedFileMapFactory factory = createFactory();
+
+        // When / Then
+        try {
+            factory.initialise(schema, properties);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("segment size"));
+        }
+    }
+
+    @Test
+    public void shouldClearMapsWhenReopenedWithDifferentSchemaAndClearOnMismatchIsSet() {
+        // Given
+        final Schema schema = new Schema.Builder()
+                .merge(GetAllElementsHandlerTest.getSchema())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+        final MappedFileMapFactory factory1 = createFactory();
+        factory1.initialise(schema, createProperties());
+        factory1.getMap("map", Element.class, Long.class).put(getElements().get(0), 1L);
+        factory1.close();
+        factories.remove(factory1);
+        final MapStoreProperties properties = createProperties();
+        properties.set(MappedFileMapFactory.CLEAR_ON_MISMATCH, "true");
+        final MappedFileMapFactory factory2 = createFactory();
+
+        // When
+        factory2.initialise(GetAllElementsHandlerTest.getSchema(), properties);
+
+        // Then
+        assertFalse(factory2.getDirectory().resolve("map.map").toFile().exists());
+        assertTrue(factory2.getDirectory().resolve(MappedFileMapFactory.FINGERPRINT_FILE).toFile().exists());
+    }
+
+    @Test
+    public void shouldFlushMapsAtEndOfEachAddElements() throws OperationException, StoreException {
+        // Given
+        final MapStoreProperties properties = createProperties();
+        properties.setMapFactory(FlushCountingMapFactory.class);
+        final MapStore store = new MapStore();
+        store.initialise("mappedGraph", GetAllElementsHandlerTest.getSchema(), properties);
+        stores.add(store);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("mappedGraph")
+                        .build())
+                .store(store)
+                .build();
+        FlushCountingMapFactory.FLUSHES.set(0);
+
+        // When
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+
+        // Then
+        assertEquals(2, FlushCountingMapFactory.FLUSHES.get());
+    }
+
+    private Set<Element> getAllElements(final Graph graph) throws OperationException {
+        final Set<Element> results = new HashSet<>();
+        try (final CloseableIterable<? extends Element> elements = graph.execute(new GetAllElements(), new User())) {
+            elements.forEach(results::add);
+        }
+        return results;
+    }
+
+    private Set<Element> getElements(final Graph graph) throws OperationException {
+        final Set<Element> results = new HashSet<>();
+        try (final CloseableIterable<? extends Element> elements = graph.execute(new GetElements.Builder()
+                .input(new EntitySeed("B"))
+                .build(), new User())) {
+            elements.forEach(results::add);
+        }
+        return results;
+    }
+
+    private List<Element> getElements() {
+        return Arrays.asList(
+                new Entity.Builder()
+                        .group("BasicEntity")
+                        .vertex("A")
+                        .property("property1", "p")
+                        .property("count", 1)
+                        .build(),
+                new Entity.Builder()
+                        .group("BasicEntity")
+                        .vertex("B")
+                        .property("property1", "p")
+                        .property("count", 2)
+                        .build(),
+                new Edge.Builder()
+                        .group("BasicEdge")
+                        .source("A")
+                        .dest("B")
+                        .directed(true)
+                        .property("property1", "p")
+                        .property("count", 3)
+                        .build(),
+                new Edge.Builder()
+                        .group("BasicEdge")
+                        .source("C")
+                        .dest("A")
+                        .directed(true)
+                        .property("property1", "p")
+                        .property("count", 3)
+                        .build());
+    }
+
+    private Graph createGraph() throws StoreException {
+        final MapStore store = new MapStore();
+        store.initialise("mappedGraph", GetAllElementsHandlerTest.getSchema(), createProperties());
+        stores.add(store);
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("mappedGraph")
+                        .build())
+                .store(store)
+                .build();
+    }
+
+    private MappedFileMapFactory createFactory() {
+        final MappedFileMapFactory factory = new MappedFileMapFactory();
+        factories.add(factory);
+        return factory;
+    }
+
+    private MapStoreProperties createProperties() {
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setMapFactory(MappedFileMapFactory.class);
+        properties.setMapFactoryConfig(tempFolder.getRoot().getAbsolutePath());
+        return properties;
+    }
+
+    public static class FlushCountingMapFactory extends MappedFileMapFactory {
+        private static final AtomicInteger FLUSHES = new AtomicInteger();
+
+        @Override
+        public void flush() {
+            FLUSHES.incrementAndGet();
+            super.flush();
+        }
+    }
+}
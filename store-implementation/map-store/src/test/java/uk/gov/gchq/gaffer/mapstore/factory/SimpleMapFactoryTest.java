@@ -19,13 +19,17 @@ import org.junit.Test;
 
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.ConcurrentMapOfSets;
 import uk.gov.gchq.gaffer.mapstore.multimap.MapOfSets;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
 import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
@@ -58,6 +62,48 @@ public class SimpleMapFactoryTest {
         }
     }
 
+    @Test
+    public void shouldThrowExceptionIfMapClassIsNotConcurrentWhenConcurrent() throws StoreException {
+        // Given
+        final Class mapClass = HashMap.class;
+        final Schema schema = mock(Schema.class);
+        final MapStoreProperties properties = mock(MapStoreProperties.class);
+        final SimpleMapFactory factory = new SimpleMapFactory();
+
+        given(properties.isConcurrent()).willReturn(true);
+        given(properties.get(SimpleMapFactory.MAP_CLASS, SimpleMapFactory.CONCURRENT_MAP_CLASS_DEFAULT)).willReturn(mapClass.getName());
+
+        // When / Then
+        try {
+            factory.initialise(schema, properties);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertNotNull(e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldCreateConcurrentMapsAndMultiMapsWhenConcurrent() throws StoreException {
+        // Given
+        final Schema schema = mock(Schema.class);
+        final MapStoreProperties properties = mock(MapStoreProperties.class);
+        final SimpleMapFactory factory = new SimpleMapFactory();
+
+        given(properties.isConcurrent()).willReturn(true);
+        given(properties.get(SimpleMapFactory.MAP_CLASS, SimpleMapFactory.CONCURRENT_MAP_CLASS_DEFAULT)).willReturn(SimpleMapFactory.CONCURRENT_MAP_CLASS_DEFAULT);
+
+        factory.initialise(schema, properties);
+
+        // When
+        final Map<Object, Object> map = factory.getMap("mapName1", Object.class, Object.class);
+        final MultiMap<Object, Object> multiMap = factory.getMultiMap("mapName2", Object.class, Object.class);
+
+        // Then
+        assertTrue(map instanceof ConcurrentHashMap);
+        assertTrue(multiMap instanceof ConcurrentMapOfSets);
+        assertTrue(((ConcurrentMapOfSets) multiMap).getWrappedMap() instanceof ConcurrentHashMap);
+    }
+
     @Test
     public void shouldExtractMapClassFromPropertiesWhenInitialised() throws StoreException {
         // Given
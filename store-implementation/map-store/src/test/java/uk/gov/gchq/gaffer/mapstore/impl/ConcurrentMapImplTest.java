@@ -0,0 +1,278 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.serialisation.implementation.TreeSetStringSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.binaryoperator.KorypheBinaryOperator;
+import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class ConcurrentMapImplTest {
+    private static final int NUM_THREADS = 8;
+    private static final int NUM_BATCHES_PER_THREAD = 20;
+    private static final int BATCH_SIZE = 100;
+    private static final int NUM_VERTICES = 50;
+
+    @Test
+    public void shouldAggregateSameAsSingleThreadedWhenAddingFromMultipleThreads() throws Exception {
+        // Given
+        final Graph singleThreadedGraph = getGraph(false, 0);
+        final Graph concurrentGraph = getGraph(true, 0);
+
+        // When
+        addElementsSingleThreaded(singleThreadedGraph);
+        addElementsConcurrently(concurrentGraph);
+
+        // Then
+        assertEquals(getAllElements(singleThreadedGraph), getAllElements(concurrentGraph));
+    }
+
+    @Test
+    public void shouldAggregateSameAsSingleThreadedWhenAddingFromMultipleThreadsWithIngestBuffer() throws Exception {
+        // Given
+        final Graph singleThreadedGraph = getGraph(false, 7);
+        final Graph concurrentGraph = getGraph(true, 7);
+
+        // When
+        addElementsSingleThreaded(singleThreadedGraph);
+        addElementsConcurrently(concurrentGraph);
+
+        // Then
+        assertEquals(getAllElements(singleThreadedGraph), getAllElements(concurrentGraph));
+    }
+
+    @Test
+    public void shouldAggregateNewPropertiesAfterExistingProperties() throws OperationException {
+        // Given
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graph1")
+                        .build())
+                .addSchema(new Schema.Builder()
+                        .entity(GetAllElementsHandlerTest.BASIC_ENTITY, new SchemaEntityDefinition.Builder()
+                                .vertex("vertex.string")
+                                .property(GetAllElementsHandlerTest.PROPERTY1, "string")
+                                .build())
+                        .type("vertex.string", String.class)
+                        .type("string", new TypeDefinition.Builder()
+                                .clazz(String.class)
+                                .aggregateFunction(new StringConcat())
+                                .build())
+                        .build())
+                .storeProperties(getProperties(true, 0))
+                .build();
+
+        // When
+        for (final String value : Arrays.asList("a", "b", "c")) {
+            graph.execute(new AddElements.Builder()
+                    .input(new Entity.Builder()
+                            .group(GetAllElementsHandlerTest.BASIC_ENTITY)
+                            .vertex("vertex")
+                            .property(GetAllElementsHandlerTest.PROPERTY1, value)
+                            .build())
+                    .build(), new User());
+        }
+
+        // Then
+        final Set<Element> results = getAllElements(graph);
+        assertEquals(1, results.size());
+        assertEquals("a,b,c", results.iterator().next().getProperty(GetAllElementsHandlerTest.PROPERTY1));
+    }
+
+    @Test
+    public void shouldNotModifyStoredPropertiesWhenAggregatingMutableProperties() throws OperationException {
+        // Given
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graph1")
+                        .build())
+                .addSchema(new Schema.Builder()
+                        .entity(GetAllElementsHandlerTest.BASIC_ENTITY, new SchemaEntityDefinition.Builder()
+                                .vertex("vertex.string")
+                                .property(GetAllElementsHandlerTest.PROPERTY1, "set")
+                                .build())
+                        .type("vertex.string", String.class)
+                        .type("set", new TypeDefinition.Builder()
+                                .clazz(TreeSet.class)
+                                .serialiser(new TreeSetStringSerialiser())
+                                .aggregateFunction(new InPlaceSetUnion())
+                                .build())
+                        .build())
+                .storeProperties(getProperties(true, 0))
+                .build();
+        graph.execute(new AddElements.Builder()
+                .input(getSetEntity("a"))
+                .build(), new User());
+        final Element elementBefore;
+        try (final CloseableIterable<? extends Element> elements = graph.execute(new GetAllElements(), new User())) {
+            elementBefore = elements.iterator().next();
+        }
+
+        // When
+        graph.execute(new AddElements.Builder()
+                .input(getSetEntity("b"))
+                .build(), new User());
+
+        // Then
+        assertEquals(new TreeSet<>(Collections.singleton("a")), elementBefore.getProperty(GetAllElementsHandlerTest.PROPERTY1));
+        assertEquals(new TreeSet<>(Arrays.asList("a", "b")), getAllElements(graph).iterator().next().getProperty(GetAllElementsHandlerTest.PROPERTY1));
+    }
+
+    private void addElementsSingleThreaded(final Graph graph) throws OperationException {
+        for (int thread = 0; thread < NUM_THREADS; thread++) {
+            for (int batch = 0; batch < NUM_BATCHES_PER_THREAD; batch++) {
+                graph.execute(new AddElements.Builder()
+                        .input(getBatch(thread, batch))
+                        .build(), new User());
+            }
+        }
+    }
+
+    private void addElementsConcurrently(final Graph graph) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS * 2);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < NUM_THREADS; i++) {
+                final int thread = i;
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    for (int batch = 0; batch < NUM_BATCHES_PER_THREAD; batch++) {
+                        graph.execute(new AddElements.Builder()
+                                .input(getBatch(thread, batch))
+                                .build(), new User());
+                    }
+                    return null;
+                }));
+
+                // Read at the same time as writing to check readers are not disrupted.
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    for (int batch = 0; batch < NUM_BATCHES_PER_THREAD; batch++) {
+                        getAllElements(graph);
+                        try (final CloseableIterable<? extends Element> results = graph.execute(new GetElements.Builder()
+                                .input(new EntitySeed("vertex" + (batch % NUM_VERTICES)))
+                                .build(), new User())) {
+                            results.forEach(e -> {
+                                // consume the results
+                            });
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private static Set<Element> getAllElements(final Graph graph) throws OperationException {
+        final Set<Element> results = new HashSet<>();
+        try (final CloseableIterable<? extends Element> elements = graph.execute(new GetAllElements(), new User())) {
+            elements.forEach(results::add);
+        }
+        return results;
+    }
+
+    private static List<Element> getBatch(final int thread, final int batch) {
+        final List<Element> elements = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            final int vertex = (thread + batch + i) % NUM_VERTICES;
+            elements.add(new Entity.Builder()
+                    .group(GetAllElementsHandlerTest.BASIC_ENTITY)
+                    .vertex("vertex" + vertex)
+                    .property(GetAllElementsHandlerTest.PROPERTY1, "p" + (i % 2))
+                    .property(GetAllElementsHandlerTest.COUNT, 1)
+                    .build());
+            elements.add(new Edge.Builder()
+                    .group(GetAllElementsHandlerTest.BASIC_EDGE1)
+                    .source("vertex" + vertex)
+                    .dest("vertex" + ((vertex + 1) % NUM_VERTICES))
+                    .directed(true)
+                    .property(GetAllElementsHandlerTest.PROPERTY1, "p" + (i % 3))
+                    .property(GetAllElementsHandlerTest.COUNT, i)
+                    .build());
+        }
+        return elements;
+    }
+
+    private static Entity getSetEntity(final String value) {
+        return new Entity.Builder()
+                .group(GetAllElementsHandlerTest.BASIC_ENTITY)
+                .vertex("vertex")
+                .property(GetAllElementsHandlerTest.PROPERTY1, new TreeSet<>(Collections.singleton(value)))
+                .build();
+    }
+
+    private static Graph getGraph(final boolean concurrent, final int ingestBufferSize) {
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graph1")
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(getProperties(concurrent, ingestBufferSize))
+                .build();
+    }
+
+    private static MapStoreProperties getProperties(final boolean concurrent, final int ingestBufferSize) {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setConcurrent(concurrent);
+        storeProperties.setIngestBufferSize(ingestBufferSize);
+        return storeProperties;
+    }
+
+    public static class InPlaceSetUnion extends KorypheBinaryOperator<TreeSet<String>> {
+        @Override
+        protected TreeSet<String> _apply(final TreeSet<String> a, final TreeSet<String> b) {
+            a.addAll(b);
+            return a;
+        }
+    }
+}
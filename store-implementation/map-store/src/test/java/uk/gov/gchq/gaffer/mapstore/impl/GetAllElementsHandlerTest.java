@@ -136,6 +136,30 @@ public class GetAllElementsHandlerTest {
         assertEquals(expectedResults, resultsSet);
     }
 
+    @Test
+    public void shouldNotModifyStoredElementsWhenResultsAreModified() throws OperationException {
+        // Given
+        final Graph graph = getGraph();
+        graph.execute(new AddElements.Builder()
+                .input(getElements())
+                .build(), new User());
+
+        // When
+        try (final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements(), new User())) {
+            for (final Element element : results) {
+                element.putProperty(COUNT, -1);
+                element.getProperties().remove(PROPERTY1);
+            }
+        }
+
+        // Then
+        final Set<Element> resultsSet = new HashSet<>();
+        try (final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements(), new User())) {
+            Streams.toStream(results).forEach(resultsSet::add);
+        }
+        assertEquals(new HashSet<>(getElements()), resultsSet);
+    }
+
     static Map<Element, Integer> streamToCount(final Stream<? extends Element> elements) {
         final Map<Element, Integer> elementToCount = new HashMap<>();
         elements.forEach(element -> {
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MapSnapshotTest {
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldWriteAndRestoreSnapshot() throws Exception {
+        // Given
+        final File snapshot = new File(tempFolder.getRoot(), "snapshot");
+        final MapStore store = createStore(snapshot);
+        addElements(store);
+        final Map<Element, Integer> expectedAllElements = execute(store, new GetAllElements());
+        final Map<Element, Integer> expectedElements = execute(store, getElements());
+
+        // When
+        store.writeSnapshot();
+        final MapStore restoredStore = createStore(snapshot);
+
+        // Then
+        assertTrue(snapshot.exists());
+        assertFalse(new File(tempFolder.getRoot(), "snapshot.tmp").exists());
+        assertEquals(expectedAllElements, execute(restoredStore, new GetAllElements()));
+        assertEquals(expectedElements, execute(restoredStore, getElements()));
+    }
+
+    @Test
+    public void shouldAggregateElementsAddedAfterRestoringSnapshot() throws Exception {
+        // Given
+        final File snapshot = new File(tempFolder.getRoot(), "snapshot");
+        final MapStore store = createStore(snapshot);
+        addElements(store);
+        addElements(store);
+        final Map<Element, Integer> expectedAllElements = execute(store, new GetAllElements());
+        final MapStore storeToSnapshot = createStore(snapshot);
+        addElements(storeToSnapshot);
+        storeToSnapshot.writeSnapshot();
+
+        // When
+        final MapStore restoredStore = createStore(snapshot);
+        addElements(restoredStore);
+
+        // Then
+        assertEquals(expectedAllElements, execute(restoredStore, new GetAllElements()));
+    }
+
+    @Test
+    public void shouldNotRestoreSnapshotIntoStoreThatIsNotEmpty() throws Exception {
+        // Given
+        final File snapshot = new File(tempFolder.getRoot(), "snapshot");
+        final MapStore store = createStore(snapshot);
+        addElements(store);
+        store.writeSnapshot();
+        final Map<Element, Integer> expectedAllElements = execute(store, new GetAllElements());
+
+        // When
+        final boolean restored = MapSnapshot.restore(store.getMapImpl(), snapshot.toPath());
+
+        // Then
+        assertFalse(restored);
+        assertEquals(expectedAllElements, execute(store, new GetAllElements()));
+    }
+
+    @Test
+    public void shouldThrowExceptionIfSnapshotIsInvalid() throws IOException {
+        // Given
+        final File snapshot = tempFolder.newFile("snapshot");
+        Files.write(snapshot.toPath(), "not a snapshot".getBytes("UTF-8"));
+
+        // When / Then
+        try {
+            createStore(snapshot);
+            fail("Exception expected");
+        } catch (final StoreException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionIfSnapshotPathIsNotSet() throws StoreException {
+        // Given
+        final MapStore store = new MapStore();
+        store.initialise("graphId", GetAllElementsHandlerTest.getSchema(), new MapStoreProperties());
+
+        // When / Then
+        try {
+            store.writeSnapshot();
+            fail("Exception expected");
+        } catch (final StoreException e) {
+            assertTrue(e.getMessage().contains(MapStoreProperties.SNAPSHOT_PATH));
+        }
+    }
+
+    private static GetElements getElements() {
+        return new GetElements.Builder()
+                .input(new EntitySeed("A"), new EntitySeed("B0"), new EntitySeed("X"))
+                .build();
+    }
+
+    private static void addElements(final MapStore store) throws OperationException {
+        final List<Element> elements = new ArrayList<>(GetAllElementsHandlerTest.getElements());
+        elements.addAll(GetAllElementsHandlerTest.getDuplicateElements());
+        toGraph(store).execute(new AddElements.Builder()
+                .input(elements)
+                .build(), new User());
+    }
+
+    private static Map<Element, Integer> execute(final MapStore store, final Output<CloseableIterable<? extends Element>> operation) throws OperationException {
+        try (final CloseableIterable<? extends Element> results = toGraph(store).execute(operation, new User())) {
+            return GetAllElementsHandlerTest.streamToCount(Streams.toStream(results));
+        }
+    }
+
+    private static Graph toGraph(final MapStore store) {
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(store.getGraphId())
+                        .build())
+                .store(store)
+                .build();
+    }
+
+    private static MapStore createStore(final File snapshot) throws StoreException {
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setSnapshotPath(snapshot.getAbsolutePath());
+        final MapStore store = new MapStore();
+        store.initialise("graphId", GetAllElementsHandlerTest.getSchema(), properties);
+        return store;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelElementIteratorTest {
+    private static final int PARALLELISM = 4;
+
+    @Test
+    public void shouldProcessChunksWithViewClonesThatAreNotInUseByOtherChunks() {
+        // Given
+        final View view = new View.Builder()
+                .entity("entity")
+                .build();
+        final List<Element> elements = IntStream.range(0, 1000)
+                .mapToObj(i -> new Entity("entity", "vertex" + i))
+                .collect(Collectors.toList());
+        final Set<View> viewsInUse = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Set<View> viewsUsed = Collections.newSetFromMap(new IdentityHashMap<>());
+        final AtomicBoolean shared = new AtomicBoolean();
+        final ForkJoinPool pool = new ForkJoinPool(PARALLELISM);
+        final List<Element> results = new ArrayList<>();
+
+        // When
+        try (final ParallelElementIterator itr = new ParallelElementIterator(elements.stream(), view,
+                (stream, chunkView) -> {
+                    synchronized (viewsInUse) {
+                        shared.compareAndSet(false, !viewsInUse.add(chunkView));
+                        viewsUsed.add(chunkView);
+                    }
+                    final List<Element> chunk = stream.collect(Collectors.toList());
+                    synchronized (viewsInUse) {
+                        viewsInUse.remove(chunkView);
+                    }
+                    return chunk.stream();
+                }, pool, 20)) {
+            while (itr.hasNext()) {
+                results.add(itr.next());
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        // Then
+        assertEquals(elements, results);
+        assertFalse(shared.get());
+        assertFalse(viewsUsed.contains(view));
+        assertTrue("Expected at most " + PARALLELISM + " clones of the view, but there were " + viewsUsed.size(),
+                viewsUsed.size() <= PARALLELISM);
+    }
+}
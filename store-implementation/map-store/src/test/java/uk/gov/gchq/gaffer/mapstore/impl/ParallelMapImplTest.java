@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.impl.function.MultiplyBy;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ParallelMapImplTest {
+    private static final int NUM_VERTICES = 100;
+    private static final String DOUBLE_COUNT = "doubleCount";
+
+    @Test
+    public void shouldGetAllElementsInParallelWithView() throws OperationException {
+        // Given
+        final Graph sequentialGraph = getGraph(1);
+        final Graph parallelGraph = getGraph(4);
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(getView())
+                .build();
+
+        // When
+        final List<Element> sequentialResults = execute(sequentialGraph, getAllElements);
+        final List<Element> parallelResults = execute(parallelGraph, getAllElements);
+
+        // Then
+        assertFalse(sequentialResults.isEmpty());
+        assertEquals(sequentialResults, parallelResults);
+    }
+
+    @Test
+    public void shouldGetElementsInParallelWithView() throws OperationException {
+        // Given
+        final Graph sequentialGraph = getGraph(1);
+        final Graph parallelGraph = getGraph(4);
+        final GetElements getElements = new GetElements.Builder()
+                .input(IntStream.range(0, NUM_VERTICES)
+                        .mapToObj(i -> new EntitySeed("vertex" + i))
+                        .collect(Collectors.toList()))
+                .view(getView())
+                .build();
+
+        // When
+        final List<Element> sequentialResults = execute(sequentialGraph, getElements);
+        final List<Element> parallelResults = execute(parallelGraph, getElements);
+
+        // Then
+        assertFalse(sequentialResults.isEmpty());
+        assertEquals(sequentialResults, parallelResults);
+    }
+
+    private static List<Element> execute(final Graph graph, final Output<CloseableIterable<? extends Element>> operation) throws OperationException {
+        final List<Element> results = new ArrayList<>();
+        try (final CloseableIterable<? extends Element> elements = graph.execute(operation, new User())) {
+            elements.forEach(results::add);
+        }
+        return results;
+    }
+
+    private static View getView() {
+        final ViewElementDefinition elementDefinition = new ViewElementDefinition.Builder()
+                .preAggregationFilter(new ElementFilter.Builder()
+                        .select(GetAllElementsHandlerTest.COUNT)
+                        .execute(new IsMoreThan(2))
+                        .build())
+                .transientProperty(DOUBLE_COUNT, Integer.class)
+                .transformer(new ElementTransformer.Builder()
+                        .select(GetAllElementsHandlerTest.COUNT)
+                        .execute(new MultiplyBy(2))
+                        .project(DOUBLE_COUNT)
+                        .build())
+                .excludeProperties(GetAllElementsHandlerTest.PROPERTY1)
+                .build();
+        return new View.Builder()
+                .entity(GetAllElementsHandlerTest.BASIC_ENTITY, elementDefinition)
+                .edge(GetAllElementsHandlerTest.BASIC_EDGE1, elementDefinition)
+                .build();
+    }
+
+    private static Graph getGraph(final int parallelism) throws OperationException {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setParallelism(parallelism);
+        storeProperties.setParallelBatchSize(7);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graph1")
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            elements.add(new Entity.Builder()
+                    .group(GetAllElementsHandlerTest.BASIC_ENTITY)
+                    .vertex("vertex" + i)
+                    .property(GetAllElementsHandlerTest.PROPERTY1, "p")
+                    .property(GetAllElementsHandlerTest.COUNT, i % 5)
+                    .build());
+            elements.add(new Edge.Builder()
+                    .group(GetAllElementsHandlerTest.BASIC_EDGE1)
+                    .source("vertex" + i)
+                    .dest("vertex" + ((i * 7) % NUM_VERTICES))
+                    .directed(true)
+                    .property(GetAllElementsHandlerTest.PROPERTY1, "q")
+                    .property(GetAllElementsHandlerTest.COUNT, i % 7)
+                    .build());
+        }
+        graph.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), new User());
+        return graph;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.operation.WriteSnapshot;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.File;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class WriteSnapshotHandlerTest {
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldWriteSnapshotToPathInStoreProperties() throws Exception {
+        // Given
+        final File snapshot = new File(tempFolder.getRoot(), "snapshot");
+        final Graph graph = createGraph(snapshot);
+        addElements(graph);
+        final Map<Element, Integer> expected = getAllElements(graph);
+
+        // When
+        graph.execute(new WriteSnapshot(), new User());
+
+        // Then
+        assertTrue(snapshot.exists());
+        assertEquals(expected, getAllElements(createGraph(snapshot)));
+    }
+
+    @Test
+    public void shouldWriteSnapshotToPathInOperation() throws Exception {
+        // Given
+        final File snapshot = new File(tempFolder.getRoot(), "snapshot");
+        final File otherSnapshot = new File(tempFolder.getRoot(), "otherSnapshot");
+        final Graph graph = createGraph(snapshot);
+        addElements(graph);
+        final Map<Element, Integer> expected = getAllElements(graph);
+
+        // When
+        graph.execute(new WriteSnapshot.Builder()
+                .path(otherSnapshot.getAbsolutePath())
+                .build(), new User());
+
+        // Then
+        assertTrue(otherSnapshot.exists());
+        assertEquals(expected, getAllElements(createGraph(otherSnapshot)));
+    }
+
+    @Test
+    public void shouldThrowExceptionIfNoSnapshotPathIsSet() throws StoreException {
+        // Given
+        final Graph graph = createGraph(null);
+
+        // When / Then
+        try {
+            graph.execute(new WriteSnapshot(), new User());
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertTrue(e.getMessage().contains(MapStoreProperties.SNAPSHOT_PATH));
+        }
+    }
+
+    private static void addElements(final Graph graph) throws OperationException {
+        graph.execute(new AddElements.Builder()
+                .input(GetAllElementsHandlerTest.getElements())
+                .build(), new User());
+    }
+
+    private static Map<Element, Integer> getAllElements(final Graph graph) throws OperationException {
+        try (final CloseableIterable<? extends Element> results = graph.execute(new GetAllElements(), new User())) {
+            return GetAllElementsHandlerTest.streamToCount(Streams.toStream(results));
+        }
+    }
+
+    private static Graph createGraph(final File snapshot) throws StoreException {
+        final MapStoreProperties properties = new MapStoreProperties();
+        if (null != snapshot) {
+            properties.setSnapshotPath(snapshot.getAbsolutePath());
+        }
+        final MapStore store = new MapStore();
+        store.initialise("graphId", GetAllElementsHandlerTest.getSchema(), properties);
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(store.getGraphId())
+                        .build())
+                .store(store)
+                .build();
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.mapped;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MappedFileTest {
+    private static final int SEGMENT_SIZE = 1024;
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldPutAndFindValues() throws IOException {
+        // Given
+        try (final MappedFile file = createFile()) {
+            // When
+            file.put(bytes("key1"), bytes("value1"));
+            file.put(bytes("key2"), bytes("value2"));
+
+            // Then
+            assertEquals(2, file.size());
+            assertArrayEquals(bytes("value1"), file.getValue(file.find(bytes("key1"))));
+            assertArrayEquals(bytes("value2"), file.getValue(file.find(bytes("key2"))));
+            assertArrayEquals(bytes("key1"), file.getKey(file.find(bytes("key1"))));
+            assertEquals(-1, file.find(bytes("key3")));
+        }
+    }
+
+    @Test
+    public void shouldOverwriteSmallerValuesInPlace() throws IOException {
+        // Given
+        try (final MappedFile file = createFile()) {
+            final long offset = file.put(bytes("key1"), bytes("value1"));
+
+            // When
+            final long newOffset = file.put(bytes("key1"), bytes("val1"));
+
+            // Then
+            assertEquals(offset, newOffset);
+            assertEquals(1, file.size());
+            assertArrayEquals(bytes("val1"), file.getValue(file.find(bytes("key1"))));
+        }
+    }
+
+    @Test
+    public void shouldRelocateLargerValues() throws IOException {
+        // Given
+        try (final MappedFile file = createFile()) {
+            final long offset = file.put(bytes("key1"), bytes("value1"));
+
+            // When
+            final long newOffset = file.put(bytes("key1"), bytes("a much larger value1"));
+
+            // Then
+            assertTrue(newOffset > offset);
+            assertEquals(1, file.size());
+            assertArrayEquals(bytes("a much larger value1"), file.getValue(file.find(bytes("key1"))));
+            assertEquals(1, count(file.offsets()));
+        }
+    }
+
+    @Test
+    public void shouldRemoveValues() throws IOException {
+        // Given
+        try (final MappedFile file = createFile()) {
+            file.put(bytes("key1"), bytes("value1"));
+            file.put(bytes("key2"), bytes("value2"));
+
+            // When
+            final boolean removed = file.remove(bytes("key1"));
+            final boolean removedAgain = file.remove(bytes("key1"));
+
+            // Then
+            assertTrue(removed);
+            assertFalse(removedAgain);
+            assertEquals(1, file.size());
+            assertEquals(-1, file.find(bytes("key1")));
+            assertEquals(1, count(file.offsets()));
+        }
+    }
+
+    @Test
+    public void shouldStoreRecordsAcrossManySegmentsAndReopen() throws IOException {
+        // Given
+        final Path path = tempFolder.getRoot().toPath().resolve("file.map");
+        final Map<String, String> expected = new HashMap<>();
+        try (final MappedFile file = new MappedFile(path, SEGMENT_SIZE)) {
+            for (int i = 0; i < 1000; i++) {
+                file.put(bytes("key" + (i % 700)), bytes("value" + i));
+                expected.put("key" + (i % 700), "value" + i);
+            }
+            file.remove(bytes("key5"));
+            expected.remove("key5");
+        }
+
+        // When
+        try (final MappedFile file = new MappedFile(path, SEGMENT_SIZE)) {
+            // Then
+            assertEquals(expected.size(), file.size());
+            assertEquals(expected.size(), count(file.offsets()));
+            for (final Map.Entry<String, String> entry : expected.entrySet()) {
+                assertArrayEquals(bytes(entry.getValue()), file.getValue(file.find(bytes(entry.getKey()))));
+            }
+        }
+    }
+
+    @Test
+    public void shouldClearFile() throws IOException {
+        // Given
+        try (final MappedFile file = createFile()) {
+            file.put(bytes("key1"), bytes("value1"));
+
+            // When
+            file.clear();
+            file.put(bytes("key2"), bytes("value2"));
+
+            // Then
+            assertEquals(1, file.size());
+            assertEquals(-1, file.find(bytes("key1")));
+            assertArrayEquals(bytes("value2"), file.getValue(file.find(bytes("key2"))));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionIfRecordIsLargerThanSegment() throws IOException {
+        try (final MappedFile file = createFile()) {
+            file.put(bytes("key1"), new byte[SEGMENT_SIZE]);
+        }
+    }
+
+    private MappedFile createFile() throws IOException {
+        return new MappedFile(tempFolder.newFile().toPath(), SEGMENT_SIZE);
+    }
+
+    private static int count(final PrimitiveIterator.OfLong offsets) {
+        int count = 0;
+        while (offsets.hasNext()) {
+            offsets.nextLong();
+            count++;
+        }
+        return count;
+    }
+
+    private static byte[] bytes(final String value) {
+        return StringUtil.toBytes(value);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.multimap;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompactMultiMapTest {
+    @Test
+    public void shouldPutAndGetValues() {
+        // Given
+        final CompactMultiMap<String, String> multiMap = new CompactMultiMap<>(new HashMap<>());
+
+        // When
+        final boolean putResult1 = multiMap.put("key1", "value1");
+        final boolean putResult2 = multiMap.put("key1", "value2");
+        final boolean putResult3 = multiMap.put("key2", "value1");
+
+        // Then
+        assertTrue(putResult1);
+        assertTrue(putResult2);
+        assertTrue(putResult3);
+        assertEquals(Sets.newHashSet("value1", "value2"), new HashSet<>(multiMap.get("key1")));
+        assertEquals(Sets.newHashSet("value1"), new HashSet<>(multiMap.get("key2")));
+        assertEquals(Sets.newHashSet("key1", "key2"), multiMap.keySet());
+    }
+
+    @Test
+    public void shouldNotAddDuplicateValuesAndShouldInternValues() {
+        // Given
+        final CompactMultiMap<String, String> multiMap = new CompactMultiMap<>(new HashMap<>());
+        multiMap.put("key1", "value1");
+        multiMap.put("key2", "value1");
+
+        // When
+        final boolean putResult = multiMap.put("key1", new String("value1"));
+
+        // Then
+        assertFalse(putResult);
+        assertEquals(1, multiMap.get("key1").size());
+        assertEquals(1, multiMap.getNumValues());
+    }
+
+    @Test
+    public void shouldReturnNullForMissingKey() {
+        // Given
+        final CompactMultiMap<String, String> multiMap = new CompactMultiMap<>(new HashMap<>());
+
+        // When
+        final Collection<String> result = multiMap.get("key1");
+
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    public void shouldPutManyValuesAgainstManyKeys() {
+        // Given
+        final int numKeys = 100;
+        final int numValues = 1000;
+        final CompactMultiMap<Integer, Integer> multiMap = new CompactMultiMap<>(new HashMap<>());
+
+        // When - add in reverse order to force insertions in to the middle of the arrays
+        for (int value = numValues - 1; value >= 0; value--) {
+            for (int key = 0; key < numKeys; key++) {
+                if (value % (key + 1) == 0) {
+                    multiMap.put(key, value);
+                    multiMap.put(key, value);
+                }
+            }
+        }
+
+        // Then
+        assertEquals(numValues, multiMap.getNumValues());
+        for (int key = 0; key < numKeys; key++) {
+            final Set<Integer> expected = new HashSet<>();
+            for (int value = 0; value < numValues; value++) {
+                if (value % (key + 1) == 0) {
+                    expected.add(value);
+                }
+            }
+            final Collection<Integer> result = multiMap.get(key);
+            assertEquals(expected.size(), result.size());
+            assertEquals(expected, new HashSet<>(result));
+        }
+    }
+
+    @Test
+    public void shouldPutCollectionOfValues() {
+        // Given
+        final CompactMultiMap<String, String> multiMap = new CompactMultiMap<>(new HashMap<>());
+        multiMap.put("key1", "value1");
+
+        // When
+        multiMap.put("key1", Arrays.asList("value1", "value2", "value3"));
+
+        // Then
+        assertEquals(Sets.newHashSet("value1", "value2", "value3"), new HashSet<>(multiMap.get("key1")));
+    }
+
+    @Test
+    public void shouldNotChangeSnapshotWhenValuesAdded() {
+        // Given
+        final CompactMultiMap<String, String> multiMap = new CompactMultiMap<>(new HashMap<>());
+        multiMap.put("key1", "value1");
+        final Collection<String> snapshot = multiMap.get("key1");
+
+        // When
+        multiMap.put("key1", "value2");
+        multiMap.clear();
+
+        // Then
+        assertEquals(Sets.newHashSet("value1"), new HashSet<>(snapshot));
+    }
+
+    @Test
+    public void shouldClearMap() {
+        // Given
+        final CompactMultiMap<String, String> multiMap = new CompactMultiMap<>(new HashMap<>());
+        multiMap.put("key1", "value1");
+
+        // When
+        multiMap.clear();
+
+        // Then
+        assertNull(multiMap.get("key1"));
+        assertTrue(multiMap.keySet().isEmpty());
+        assertEquals(0, multiMap.getNumValues());
+    }
+}
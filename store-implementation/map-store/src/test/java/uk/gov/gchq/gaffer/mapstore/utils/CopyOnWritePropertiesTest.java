@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.serialisation.implementation.TreeSetStringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CopyOnWritePropertiesTest {
+    private static final String GROUP = "BasicEntity";
+    private static final String COUNT = "count";
+    private static final String SET = "set";
+
+    private SchemaElementDefinition elementDefinition;
+    private Properties storedProperties;
+    private TreeSet<String> storedSet;
+
+    @Before
+    public void before() {
+        final Schema schema = new Schema.Builder()
+                .entity(GROUP, new SchemaEntityDefinition.Builder()
+                        .vertex("string")
+                        .property(COUNT, "int")
+                        .property(SET, "set")
+                        .build())
+                .type("string", String.class)
+                .type("int", new TypeDefinition.Builder()
+                        .clazz(Integer.class)
+                        .serialiser(new CompactRawIntegerSerialiser())
+                        .build())
+                .type("set", new TypeDefinition.Builder()
+                        .clazz(TreeSet.class)
+                        .serialiser(new TreeSetStringSerialiser())
+                        .build())
+                .build();
+        elementDefinition = schema.getElement(GROUP);
+
+        storedSet = new TreeSet<>(Arrays.asList("a", "b"));
+        storedProperties = new Properties();
+        storedProperties.put(COUNT, 1);
+        storedProperties.put(SET, storedSet);
+    }
+
+    @Test
+    public void shouldShareImmutablePropertiesWithoutCopying() {
+        // Given
+        final Integer storedCount = (Integer) storedProperties.get(COUNT);
+
+        // When
+        final CopyOnWriteProperties properties = new CopyOnWriteProperties(storedProperties, elementDefinition);
+
+        // Then
+        assertFalse(properties.isShared(COUNT));
+        assertSame(storedCount, properties.get(COUNT));
+    }
+
+    @Test
+    public void shouldCopyMutablePropertiesWhenAccessed() {
+        // Given
+        final CopyOnWriteProperties properties = new CopyOnWriteProperties(storedProperties, elementDefinition);
+        assertTrue(properties.isShared(SET));
+
+        // When
+        final TreeSet<String> set = (TreeSet<String>) properties.get(SET);
+        set.add("c");
+
+        // Then
+        assertFalse(properties.isShared(SET));
+        assertNotSame(storedSet, set);
+        assertEquals(new TreeSet<>(Arrays.asList("a", "b")), storedSet);
+        assertEquals(new TreeSet<>(Arrays.asList("a", "b", "c")), properties.get(SET));
+    }
+
+    @Test
+    public void shouldCopyMutablePropertiesWhenIterated() {
+        // Given
+        final CopyOnWriteProperties properties = new CopyOnWriteProperties(storedProperties, elementDefinition);
+
+        // When
+        properties.values().forEach(value -> {
+            if (value instanceof TreeSet) {
+                ((TreeSet<String>) value).clear();
+            }
+        });
+
+        // Then
+        assertEquals(new TreeSet<>(Arrays.asList("a", "b")), storedSet);
+        assertEquals(new TreeSet<>(), properties.get(SET));
+    }
+
+    @Test
+    public void shouldNotChangeStoredPropertiesWhenPropertiesAreAddedAndRemoved() {
+        // Given
+        final CopyOnWriteProperties properties = new CopyOnWriteProperties(storedProperties, elementDefinition);
+
+        // When
+        properties.put(COUNT, 2);
+        properties.put("transient", "value");
+        properties.keepOnly(Arrays.asList(COUNT, "transient"));
+
+        // Then
+        assertFalse(properties.isShared(SET));
+        assertEquals(2, properties.size());
+        assertEquals(2, properties.get(COUNT));
+        assertEquals(2, storedProperties.size());
+        assertEquals(1, storedProperties.get(COUNT));
+        assertSame(storedSet, storedProperties.get(SET));
+    }
+
+    @Test
+    public void shouldBeEqualToStoredProperties() {
+        // When
+        final CopyOnWriteProperties properties = new CopyOnWriteProperties(storedProperties, elementDefinition);
+
+        // Then
+        assertEquals(storedProperties, properties);
+        assertEquals(storedProperties, properties.clone());
+        assertEquals(storedProperties.hashCode(), properties.hashCode());
+    }
+
+    @Test
+    public void shouldClearProperties() {
+        // Given
+        final CopyOnWriteProperties properties = new CopyOnWriteProperties(storedProperties, elementDefinition);
+
+        // When
+        properties.clear();
+
+        // Then
+        assertEquals(Collections.emptyMap(), properties);
+        assertFalse(properties.isShared(SET));
+        assertEquals(2, storedProperties.size());
+    }
+}